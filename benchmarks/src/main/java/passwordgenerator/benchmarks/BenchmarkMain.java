@@ -0,0 +1,41 @@
+package passwordgenerator.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of {@code benchmarks.jar}: the JMH command line, with the GC profiler always on so every result comes
+ * with its allocation rate ({@code gc.alloc.rate.norm}, bytes per operation). Allocation-free paths must stay at 0.
+ * Point d'entrée de {@code benchmarks.jar} : la ligne de commande de JMH, avec le profileur GC toujours actif pour
+ * que chaque résultat soit accompagné de son taux d'allocation ({@code gc.alloc.rate.norm}, octets par opération).
+ * Les chemins sans allocation doivent rester à 0.
+ */
+public final class BenchmarkMain {
+    private static final String PROFILER_OPTION = "-prof";
+    private static final String GC_PROFILER = "gc";
+
+    private BenchmarkMain() {
+    }
+
+    /**
+     * Runs JMH with the given arguments and the GC profiler.
+     * Lance JMH avec les arguments donnés et le profileur GC.
+     * @param args JMH arguments, e.g. {@code Evaluation -p input=RANDOM_16}; {@code -h} lists them.
+     * @throws Exception If JMH fails.
+     * @param args Arguments de JMH, par exemple {@code Evaluation -p input=RANDOM_16} ; {@code -h} les liste.
+     * @throws Exception Si JMH échoue.
+     */
+    public static void main(final String[] args) throws Exception {
+        final List<String> arguments = new ArrayList<String>(Arrays.asList(args));
+        boolean gcProfiler = false;
+        for (int i = 0; i + 1 < arguments.size(); i++) {
+            gcProfiler |= PROFILER_OPTION.equals(arguments.get(i)) && arguments.get(i + 1).startsWith(GC_PROFILER);
+        }
+        if (!gcProfiler) {
+            arguments.add(0, GC_PROFILER);
+            arguments.add(0, PROFILER_OPTION);
+        }
+        org.openjdk.jmh.Main.main(arguments.toArray(new String[arguments.size()]));
+    }
+}
@@ -0,0 +1,57 @@
+package passwordgenerator.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import passwordgenerator.core.EntropyModel;
+import passwordgenerator.core.PasswordEvaluationResult;
+import passwordgenerator.core.PasswordService;
+import passwordgenerator.core.RandomnessMode;
+
+/**
+ * Full strength evaluation of random and adversarial passwords, with each entropy model.
+ * Évaluation complète de la force de mots de passe aléatoires et hostiles, avec chaque modèle d'entropie.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark {
+    @Param
+    public PasswordInput input;
+
+    @Param
+    public EntropyModel entropyModel;
+
+    private PasswordService service;
+    private String[] samples;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new PasswordService(RandomnessMode.ENTROPY_EFFICIENT, true);
+        service.setEntropyModel(entropyModel);
+        samples = input.samples();
+    }
+
+    @Benchmark
+    public PasswordEvaluationResult evaluate() {
+        final String password = samples[next];
+        next = (next + 1 == samples.length) ? 0 : next + 1;
+        return service.evaluatePasswordStrength(password);
+    }
+}
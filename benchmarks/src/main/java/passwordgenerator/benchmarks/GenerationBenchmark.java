@@ -0,0 +1,98 @@
+package passwordgenerator.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import passwordgenerator.core.GenerationPolicy;
+import passwordgenerator.core.PasswordService;
+import passwordgenerator.core.RandomnessMode;
+
+/**
+ * Password generation across lengths and character set combinations: from raw options (policy compiled on each
+ * call), from a precompiled policy, and into a reused buffer, the path meant to allocate nothing.
+ * Génération de mots de passe selon la longueur et les combinaisons d'ensembles de caractères : à partir des options
+ * brutes (politique compilée à chaque appel), d'une politique précompilée, et dans un tampon réutilisé, le chemin
+ * censé ne rien allouer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerationBenchmark {
+    /**
+     * Combinations of character classes, as the four checkboxes of the interface.
+     * Combinaisons de classes de caractères, comme les quatre cases à cocher de l'interface.
+     */
+    public enum Charsets {
+        DIGITS(false, false, true, false),
+        LOWERCASE(false, true, false, false),
+        ALPHANUMERIC(true, true, true, false),
+        ALL(true, true, true, true);
+
+        final boolean upperCase;
+        final boolean lowerCase;
+        final boolean numbers;
+        final boolean symbols;
+
+        Charsets(final boolean upperCase, final boolean lowerCase, final boolean numbers, final boolean symbols) {
+            this.upperCase = upperCase;
+            this.lowerCase = lowerCase;
+            this.numbers = numbers;
+            this.symbols = symbols;
+        }
+    }
+
+    @Param({"8", "16", "32", "64", "256", "1024", "4096"})
+    public int length;
+
+    @Param
+    public Charsets charsets;
+
+    private PasswordService service;
+    private GenerationPolicy policy;
+    private char[] buffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new PasswordService(RandomnessMode.ENTROPY_EFFICIENT, true);
+        policy = service.compilePolicy(length, charsets.upperCase, charsets.lowerCase,
+                charsets.numbers, charsets.symbols, "");
+        buffer = new char[length];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Arrays.fill(buffer, '\0');
+    }
+
+    @Benchmark
+    public String fromOptions() {
+        return service.generatePassword(length, charsets.upperCase, charsets.lowerCase, charsets.numbers, charsets.symbols, "");
+    }
+
+    @Benchmark
+    public String fromPolicy() {
+        return service.generatePassword(policy);
+    }
+
+    @Benchmark
+    public int intoBuffer() {
+        return service.generatePassword(policy, buffer);
+    }
+}
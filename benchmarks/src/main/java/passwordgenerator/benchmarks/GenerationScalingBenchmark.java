@@ -0,0 +1,110 @@
+package passwordgenerator.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import passwordgenerator.core.GenerationPolicy;
+import passwordgenerator.core.PasswordService;
+import passwordgenerator.core.RandomnessMode;
+
+/**
+ * Generation throughput of one PasswordService shared by several threads, with a SecureRandom per thread or a single
+ * shared one. JMH takes the thread count from the command line ({@code -t}); {@link #main(String[])} runs the
+ * benchmark for 1, 2, 4, 8 and 16 threads (or the counts given) and prints the scaling.
+ * Débit de génération d'un PasswordService partagé par plusieurs threads, avec un SecureRandom par thread ou un seul
+ * partagé. JMH prend le nombre de threads sur la ligne de commande ({@code -t}) ; {@link #main(String[])} lance le
+ * benchmark pour 1, 2, 4, 8 et 16 threads (ou les nombres donnés) et affiche la montée en charge.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerationScalingBenchmark {
+    private static final int[] DEFAULT_THREAD_COUNTS = {1, 2, 4, 8, 16};
+    private static final int PASSWORD_LENGTH = 16;
+
+    @Param({"true", "false"})
+    public boolean perThreadRandomness;
+
+    private PasswordService service;
+    private GenerationPolicy policy;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new PasswordService(RandomnessMode.ENTROPY_EFFICIENT, perThreadRandomness);
+        policy = service.compilePolicy(PASSWORD_LENGTH, true, true, true, true, "");
+    }
+
+    /**
+     * Each thread's own buffer, so the threads only share the service.
+     * Le tampon propre à chaque thread, pour que les threads ne partagent que le service.
+     */
+    @State(Scope.Thread)
+    public static class ThreadBuffer {
+        final char[] chars = new char[PASSWORD_LENGTH];
+    }
+
+    @Benchmark
+    public int generate(final ThreadBuffer buffer) {
+        return service.generatePassword(policy, buffer.chars);
+    }
+
+    /**
+     * Runs the benchmark for each thread count and prints the throughput relative to one thread.
+     * Lance le benchmark pour chaque nombre de threads et affiche le débit relatif à un seul thread.
+     * @param args Thread counts, default 1 2 4 8 16.
+     * @param args Nombres de threads, par défaut 1 2 4 8 16.
+     * @throws RunnerException If JMH fails.
+     * @throws RunnerException Si JMH échoue.
+     */
+    public static void main(final String[] args) throws RunnerException {
+        int[] threadCounts = DEFAULT_THREAD_COUNTS;
+        if (args.length > 0) {
+            threadCounts = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                threadCounts[i] = Integer.parseInt(args[i]);
+            }
+        }
+        final String[] modes = {"true", "false"};
+        final double[][] scores = new double[modes.length][threadCounts.length];
+        for (int m = 0; m < modes.length; m++) {
+            for (int t = 0; t < threadCounts.length; t++) {
+                final Options options = new OptionsBuilder()
+                        .include(GenerationScalingBenchmark.class.getName() + ".generate")
+                        .param("perThreadRandomness", modes[m])
+                        .threads(threadCounts[t])
+                        .addProfiler(GCProfiler.class)
+                        .build();
+                for (final RunResult result : new Runner(options).run()) {
+                    scores[m][t] = result.getPrimaryResult().getScore();
+                }
+            }
+        }
+        System.out.println();
+        System.out.println("threads  per-thread ops/s  (x1)      shared ops/s  (x1)");
+        for (int t = 0; t < threadCounts.length; t++) {
+            System.out.println(String.format("%7d  %16.0f  %5.2f  %12.0f  %5.2f", threadCounts[t],
+                    scores[0][t], scores[0][t] / scores[0][0], scores[1][t], scores[1][t] / scores[1][0]));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package passwordgenerator.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Password inputs for the evaluation benchmarks: random passwords, and adversarial ones that exercise the slow paths
+ * of the pattern matchers. Random inputs come as a pool of distinct samples, cycled through so branch predictors
+ * cannot learn a single string; adversarial inputs are a few hand-picked strings. Samples are deterministic.
+ * Mots de passe d'entrée des benchmarks d'évaluation : aléatoires, et hostiles pour solliciter les chemins lents des
+ * recherches de motifs. Les entrées aléatoires forment un lot d'échantillons distincts, parcourus en boucle pour que
+ * les prédicteurs de branchement ne puissent pas apprendre une seule chaîne ; les entrées hostiles sont quelques
+ * chaînes choisies à la main. Les échantillons sont déterministes.
+ */
+public enum PasswordInput {
+    RANDOM_16,     // Generated-looking passwords over the 94 printable ASCII characters
+    RANDOM_64,
+    RANDOM_4096,
+    WEAK_WORDS,    // "password", "admin", "qwerty"... as is
+    LEETSPEAK,     // Weak and dictionary words with substitutions, e.g. "P@ssw0rd!"
+    KEYBOARD_WALK, // "1qaz2wsx3edc", "azertyuiop"...
+    SEQUENCE,      // "abcdefgh12345678"
+    REPEATED,      // One character 64 times
+    SUBSTITUTES;   // 64 substitute characters ("1|!"), the worst case of the leetspeak walk
+
+    private static final int POOL_SIZE = 1024;
+    private static final long SEED = 20240601L;
+    private static final String PRINTABLE;
+
+    static {
+        final StringBuilder printable = new StringBuilder();
+        for (char c = '!'; c <= '~'; c++) {
+            printable.append(c);
+        }
+        PRINTABLE = printable.toString();
+    }
+
+    /**
+     * Returns the samples of this input.
+     * Retourne les échantillons de cette entrée.
+     * @return A pool of passwords, at least one.
+     * @return Un lot de mots de passe, au moins un.
+     */
+    public String[] samples() {
+        final Random random = new Random(SEED + ordinal());
+        switch (this) {
+            case RANDOM_16:
+                return randomPool(random, 16);
+            case RANDOM_64:
+                return randomPool(random, 64);
+            case RANDOM_4096:
+                return randomPool(random, 4096);
+            case WEAK_WORDS:
+                return new String[] {"password", "admin123", "qwerty2024", "Welcome1", "changeme!", "letmein99", "rootroot", "secret007"};
+            case LEETSPEAK:
+                return new String[] {"P@ssw0rd!", "4dm1n2024", "l0g1n$ecure", "w3lc0m3", "$3cr3t!", "dr4g0n", "m0nk3y#1", "5upp0rt"};
+            case KEYBOARD_WALK:
+                return new String[] {"1qaz2wsx3edc", "azertyuiop", "qwertzuiop", "zxcvbnm,./", "7894561230", "wxcvbn", "poiuytreza", "!QAZ@WSX"};
+            case SEQUENCE:
+                return new String[] {"abcdefgh12345678", "zyxwvuts98765432", "ABCDEF123456", "mnopqrst", "0123456789", "uvwxyz7890"};
+            case REPEATED:
+                return new String[] {repeat('a', 64)};
+            case SUBSTITUTES:
+                final StringBuilder substitutes = new StringBuilder();
+                for (int i = 0; i < 64; i++) {
+                    substitutes.append("1|!".charAt(i % 3));
+                }
+                return new String[] {substitutes.toString()};
+            default:
+                throw new AssertionError(this);
+        }
+    }
+
+    private static String[] randomPool(final Random random, final int length) {
+        final String[] pool = new String[POOL_SIZE];
+        final char[] chars = new char[length];
+        for (int i = 0; i < pool.length; i++) {
+            for (int j = 0; j < length; j++) {
+                chars[j] = PRINTABLE.charAt(random.nextInt(PRINTABLE.length()));
+            }
+            pool[i] = new String(chars);
+        }
+        return pool;
+    }
+
+    private static String repeat(final char c, final int count) {
+        final char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,62 @@
+package passwordgenerator.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Character exclusion on the full character pool, for exclusion strings of various sizes, alone and as part of
+ * compiling a generation policy. Declared in the core package, as filterChars is package-private.
+ * Exclusion de caractères sur le pool complet, pour des chaînes d'exclusion de tailles diverses, seule et dans la
+ * compilation d'une politique de génération. Déclaré dans le paquetage core, filterChars n'étant visible que de
+ * ce paquetage.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterCharsBenchmark {
+    private static final String ALL_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$%^&*()_-+=<>?/{}[]|";
+    private static final String EXCLUSION_ORDER = "0O1lI|5S2Z8B" + ALL_CHARS; // Ambiguous characters first, as users exclude them
+
+    @Param({"0", "1", "4", "12", "32", "85"})
+    public int exclusionSize;
+
+    private PasswordService service;
+    private String excludeChars;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new PasswordService(RandomnessMode.ENTROPY_EFFICIENT, true);
+        final StringBuilder exclusions = new StringBuilder();
+        for (int i = 0; i < EXCLUSION_ORDER.length() && exclusions.length() < exclusionSize; i++) {
+            if (exclusions.indexOf(String.valueOf(EXCLUSION_ORDER.charAt(i))) == -1) {
+                exclusions.append(EXCLUSION_ORDER.charAt(i));
+            }
+        }
+        excludeChars = exclusions.toString();
+    }
+
+    @Benchmark
+    public String filterChars() {
+        return service.filterChars(ALL_CHARS, excludeChars);
+    }
+
+    @Benchmark
+    public GenerationPolicy compilePolicy() {
+        return service.compilePolicy(16, true, true, true, true, excludeChars);
+    }
+}
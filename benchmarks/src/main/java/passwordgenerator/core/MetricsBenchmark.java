@@ -0,0 +1,59 @@
+package passwordgenerator.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of recording one call in {@link PasswordMetrics}, which must stay under 50 ns: {@code recordCall} is the
+ * average over timed and untimed calls, as {@link PasswordService} pays it, {@code timedCall} the cost of a call
+ * that is timed, and {@code contended} the average on four threads sharing one histogram. In the core package
+ * because the recording methods are not public.
+ * Coût de l'enregistrement d'un appel dans {@link PasswordMetrics}, qui doit rester sous 50 ns : {@code recordCall}
+ * est la moyenne sur les appels chronométrés ou non, telle que la paie {@link PasswordService}, {@code timedCall} le
+ * coût d'un appel chronométré, et {@code contended} la moyenne sur quatre threads partageant un histogramme. Dans le
+ * paquetage core car les méthodes d'enregistrement ne sont pas publiques.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+    private PasswordMetrics metrics;
+    private GenerationPolicy policy;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        metrics = PasswordMetrics.get();
+        policy = new PasswordService(RandomnessMode.ENTROPY_EFFICIENT, true).compilePolicy(16, true, true, true, true, "");
+    }
+
+    @Benchmark
+    public void recordCall() {
+        metrics.recordGeneration(policy, PasswordMetrics.start());
+    }
+
+    @Benchmark
+    public void timedCall() {
+        metrics.recordGeneration(policy, System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void contended() {
+        metrics.recordGeneration(policy, PasswordMetrics.start());
+    }
+}
@@ -0,0 +1,56 @@
+package passwordgenerator.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import passwordgenerator.benchmarks.PasswordInput;
+
+/**
+ * Penalty detection alone, without the rest of the evaluation: the pattern automaton (sequences, weak words, and weak
+ * words in leetspeak) then the penalty sum. There is no separate penalty pass in the evaluation any more, it is fused
+ * into the single scan of the password; this measures the part of that scan spent on patterns. It lives in the core package
+ * to reach the matcher, which is not public API.
+ * Détection des pénalités seule, sans le reste de l'évaluation : l'automate de motifs (séquences, mots faibles, et
+ * mots faibles en leetspeak) puis la somme des pénalités. L'évaluation n'a plus de passe séparée pour les pénalités,
+ * elle est fusionnée dans le parcours unique du mot de passe ; ceci mesure la part de ce parcours consacrée aux motifs.
+ * Il est dans le paquetage core pour atteindre l'automate, qui ne fait pas partie de l'API publique.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PenaltyBenchmark {
+    @Param
+    public PasswordInput input;
+
+    private PenaltyPatternMatcher matcher;
+    private String[] samples;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        matcher = new PasswordService(RandomnessMode.ENTROPY_EFFICIENT, true).getPenaltyMatcher();
+        samples = input.samples();
+    }
+
+    @Benchmark
+    public int applyPenalties() {
+        final String password = samples[next];
+        next = (next + 1 == samples.length) ? 0 : next + 1;
+        return PasswordService.penaltyFor(matcher.match(password), 0);
+    }
+}
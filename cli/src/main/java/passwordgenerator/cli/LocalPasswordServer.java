@@ -0,0 +1,371 @@
+package passwordgenerator.cli;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import passwordgenerator.core.GenerationPolicy;
+import passwordgenerator.core.PasswordEvaluationResult;
+import passwordgenerator.core.PasswordMetrics;
+import passwordgenerator.core.PasswordReservoir;
+import passwordgenerator.core.PasswordService;
+import passwordgenerator.core.ReservedPassword;
+
+/**
+ * Small HTTP service exposing password generation and evaluation on the loopback interface,
+ * built on the JDK's {@code com.sun.net.httpserver}. Each request runs on its own virtual thread when the
+ * runtime supports them (Java 21+), otherwise on a cached thread pool.
+ * <ul>
+ * <li>{@code GET /generate?length=16&upper=true&lower=true&numbers=true&symbols=true&exclude=0O&count=10}
+ * returns {@code count} passwords, one per line. Every parameter is optional. A response may hold at most
+ * {@value #MAX_RESPONSE_BYTES} bytes, {@code count * (length + 1)}. Small requests are served from a
+ * {@link PasswordReservoir} of passwords generated in advance for the most recent policies.</li>
+ * <li>{@code POST /evaluate} takes passwords one per line in the body (never in the URL, where they would
+ * end up in logs) and returns one {@code LEVEL<TAB>entropy} line per password. A line longer than
+ * {@value #MAX_LENGTH} characters ends the response with an {@code ERROR} line.</li>
+ * <li>{@code GET /metrics} returns the latency histograms of {@link PasswordMetrics} as text; they are also
+ * registered with JMX.</li>
+ * </ul>
+ * Petit service HTTP exposant la génération et l'évaluation de mots de passe sur l'interface de bouclage,
+ * construit sur {@code com.sun.net.httpserver} du JDK. Chaque requête s'exécute sur son propre thread virtuel
+ * lorsque l'environnement d'exécution les prend en charge (Java 21+), sinon sur un pool de threads à la demande.
+ */
+final class LocalPasswordServer {
+    private static final int DEFAULT_LENGTH = 16;
+    private static final int BACKLOG = 4096;         // Pending connections queued by the OS while all handlers are busy
+    private static final int MAX_LENGTH = 4096;
+    private static final long MAX_COUNT = 1000000L;  // Upper bound on passwords returned by one request
+    private static final long MAX_RESPONSE_BYTES = 64L * 1024 * 1024; // Upper bound on count * (length + 1)
+    private static final int RESERVOIR_CAPACITY = 64; // Passwords kept ready per policy; larger requests are generated inline
+    private static final int RESERVOIR_POLICIES = 8;
+    private static final String TEXT_CONTENT_TYPE = "text/plain; charset=UTF-8";
+    private static final int LINE_READ = 0;        // readLine() results
+    private static final int LINE_TOO_LONG = 1;
+    private static final int END_OF_INPUT = -1;
+
+    // --- Messages / Messages ---
+    private static final String SERVER_STARTED_MESSAGE = "Password service listening on http://";
+    private static final String VIRTUAL_THREADS_UNAVAILABLE_MESSAGE = "Virtual threads unavailable (Java 21+ required), using a cached thread pool.";
+    private static final String ERROR_NO_CHARSET = "No character type selected, or the character pool is empty after exclusions.";
+    private static final String ERROR_METHOD_NOT_ALLOWED = "Method not allowed.";
+    private static final String ERROR_RESPONSE_TOO_LARGE = "count * (length + 1) must not exceed " + MAX_RESPONSE_BYTES;
+    private static final String ERROR_LINE_TOO_LONG = "ERROR\tpassword longer than " + MAX_LENGTH + " characters\n";
+
+    private final PasswordService passwordService;
+    private final PasswordReservoir reservoir;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Creates the server, bound to the loopback address. Call {@link #start()} to accept requests.
+     * Crée le serveur, lié à l'adresse de bouclage. Appeler {@link #start()} pour accepter les requêtes.
+     * @param passwordService The service handling generation and evaluation.
+     * @param port The TCP port, or 0 for any free port.
+     * @throws IOException If the port cannot be bound.
+     * @param passwordService Le service gérant la génération et l'évaluation.
+     * @param port Le port TCP, ou 0 pour n'importe quel port libre.
+     * @throws IOException Si le port ne peut pas être lié.
+     */
+    LocalPasswordServer(final PasswordService passwordService, final int port) throws IOException {
+        this.passwordService = passwordService;
+        // /generate never reports strength: evaluating in advance would only leave unwipeable String copies behind
+        this.reservoir = new PasswordReservoir(passwordService, RESERVOIR_CAPACITY, RESERVOIR_POLICIES, false);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        this.executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/generate", new GenerateHandler());
+        server.createContext("/evaluate", new EvaluateHandler());
+        server.createContext("/metrics", new MetricsHandler());
+    }
+
+    /**
+     * Starts accepting requests and reports the listening address on standard output.
+     * Commence à accepter les requêtes et affiche l'adresse d'écoute sur la sortie standard.
+     */
+    void start() {
+        PasswordMetrics.registerMBean();
+        server.start();
+        final InetSocketAddress address = server.getAddress();
+        System.out.println(SERVER_STARTED_MESSAGE + address.getAddress().getHostAddress() + ":" + address.getPort());
+    }
+
+    /**
+     * Returns the TCP port the server is bound to, e.g. the one picked for port 0.
+     * Retourne le port TCP auquel le serveur est lié, par exemple celui choisi pour le port 0.
+     */
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server and its request executor, and wipes the passwords kept ready.
+     * Arrête le serveur et son exécuteur de requêtes, et efface les mots de passe tenus prêts.
+     */
+    void stop() {
+        server.stop(0);
+        executor.shutdown();
+        reservoir.shutdown();
+    }
+
+    /**
+     * Returns a virtual-thread-per-task executor when available, looked up reflectively so the application
+     * still runs on older Java versions.
+     * Retourne un exécuteur à thread virtuel par tâche lorsqu'il est disponible, recherché par réflexion afin que
+     * l'application fonctionne toujours sur des versions plus anciennes de Java.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final Exception e) {
+            System.err.println(VIRTUAL_THREADS_UNAVAILABLE_MESSAGE);
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Parses an URL query string into a parameter map. Repeated parameters keep their last value.
+     * Analyse la chaîne de requête d'une URL en une table de paramètres. Les paramètres répétés gardent leur dernière valeur.
+     */
+    private static Map<String, String> parseQuery(final String query) throws UnsupportedEncodingException {
+        final Map<String, String> parameters = new HashMap<String, String>();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (final String pair : query.split("&")) {
+            final int separator = pair.indexOf('=');
+            if (separator > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, separator), "UTF-8"), URLDecoder.decode(pair.substring(separator + 1), "UTF-8"));
+            } else if (!pair.isEmpty()) {
+                parameters.put(URLDecoder.decode(pair, "UTF-8"), "");
+            }
+        }
+        return parameters;
+    }
+
+    private static boolean booleanParameter(final Map<String, String> parameters, final String name) {
+        final String value = parameters.get(name);
+        return value == null || !"false".equalsIgnoreCase(value); // Every character type is selected by default, like the UI
+    }
+
+    private static long longParameter(final Map<String, String> parameters, final String name, final long defaultValue, final long min, final long max) {
+        final String value = parameters.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        final long parsed;
+        try {
+            parsed = Long.parseLong(value);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+        if (parsed < min || parsed > max) {
+            throw new IllegalArgumentException(name + " must be between " + min + " and " + max);
+        }
+        return parsed;
+    }
+
+    /**
+     * Reads one line, without its terminator, like {@link BufferedReader#readLine()} but never holding more than
+     * {@code maxLength} characters, so that a body without line breaks cannot exhaust the memory.
+     * Lit une ligne, sans son terminateur, comme {@link BufferedReader#readLine()} mais sans jamais conserver plus de
+     * {@code maxLength} caractères, pour qu'un corps sans saut de ligne ne puisse pas épuiser la mémoire.
+     * @param reader The source.
+     * @param line Receives the line; cleared first.
+     * @param maxLength The longest line accepted.
+     * @return {@link #LINE_READ}, {@link #LINE_TOO_LONG}, or {@link #END_OF_INPUT} if nothing was left to read.
+     * @param reader La source.
+     * @param line Reçoit la ligne ; vidé d'abord.
+     * @param maxLength La plus longue ligne acceptée.
+     * @return {@link #LINE_READ}, {@link #LINE_TOO_LONG}, ou {@link #END_OF_INPUT} s'il n'y avait plus rien à lire.
+     * @throws IOException If reading fails.
+     * @throws IOException Si la lecture échoue.
+     */
+    private static int readLine(final Reader reader, final StringBuilder line, final int maxLength) throws IOException {
+        line.setLength(0);
+        int c = reader.read();
+        if (c == -1) {
+            return END_OF_INPUT;
+        }
+        while (c != -1 && c != '\n') {
+            line.append((char) c);
+            if (line.length() > maxLength + 1) { // One extra for the \r of a \r\n terminator
+                return LINE_TOO_LONG;
+            }
+            c = reader.read();
+        }
+        final int last = line.length() - 1;
+        if (last >= 0 && line.charAt(last) == '\r') {
+            line.setLength(last);
+        }
+        return (line.length() > maxLength) ? LINE_TOO_LONG : LINE_READ;
+    }
+
+    // Leaves the exchange open: every handler closes it once, in its finally block
+    private static void sendText(final HttpExchange exchange, final int status, final String text) throws IOException {
+        final byte[] body = text.getBytes("UTF-8");
+        exchange.getResponseHeaders().set("Content-Type", TEXT_CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    /**
+     * Handles {@code GET /generate}. The exact response size is known up front, so no chunked encoding is needed;
+     * large responses are streamed through the fixed buffer of bulk generation, never built in memory.
+     * Gère {@code GET /generate}. La taille exacte de la réponse est connue d'avance : pas besoin d'encodage par
+     * blocs ; les grandes réponses passent par le tampon fixe de la génération en masse, sans être construites en
+     * mémoire.
+     */
+    private final class GenerateHandler implements HttpHandler {
+        public void handle(final HttpExchange exchange) throws IOException {
+            try {
+                if (!"GET".equals(exchange.getRequestMethod())) {
+                    sendText(exchange, 405, ERROR_METHOD_NOT_ALLOWED);
+                    return;
+                }
+                final Map<String, String> parameters;
+                final long count;
+                final GenerationPolicy policy;
+                try {
+                    parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+                    count = longParameter(parameters, "count", 1, 1, MAX_COUNT);
+                    policy = passwordService.compilePolicy(
+                            (int) longParameter(parameters, "length", DEFAULT_LENGTH, 1, MAX_LENGTH),
+                            booleanParameter(parameters, "upper"),
+                            booleanParameter(parameters, "lower"),
+                            booleanParameter(parameters, "numbers"),
+                            booleanParameter(parameters, "symbols"),
+                            parameters.get("exclude"));
+                } catch (final IllegalArgumentException e) {
+                    sendText(exchange, 400, e.getMessage());
+                    return;
+                }
+                if (policy == null) {
+                    sendText(exchange, 400, ERROR_NO_CHARSET);
+                    return;
+                }
+                // Bounds the time and bandwidth one request can take, whatever the mix of count and length
+                if (count * (policy.getLength() + 1) > MAX_RESPONSE_BYTES) {
+                    sendText(exchange, 400, ERROR_RESPONSE_TOO_LARGE);
+                    return;
+                }
+                exchange.getResponseHeaders().set("Content-Type", TEXT_CONTENT_TYPE);
+                exchange.getResponseHeaders().set("Cache-Control", "no-store");
+                exchange.sendResponseHeaders(200, count * (policy.getLength() + 1));
+                if (count <= RESERVOIR_CAPACITY) {
+                    writeReserved((int) count, policy, exchange.getResponseBody());
+                } else {
+                    passwordService.generatePasswords(count, policy, exchange.getResponseBody());
+                }
+            } finally {
+                exchange.close();
+            }
+        }
+
+        /**
+         * Writes passwords taken from the reservoir, generating inline whenever it runs dry.
+         * Écrit des mots de passe pris dans le réservoir, en les générant sur place dès qu'il est vide.
+         */
+        private void writeReserved(final int count, final GenerationPolicy policy, final OutputStream out) throws IOException {
+            final int length = policy.getLength();
+            final byte[] body = new byte[count * (length + 1)];
+            final char[] generated = new char[length];
+            int position = 0;
+            for (int n = 0; n < count; n++) {
+                final ReservedPassword reserved = reservoir.take(policy);
+                final char[] chars;
+                if (reserved != null) {
+                    chars = reserved.getChars();
+                } else {
+                    passwordService.generatePassword(policy, generated);
+                    chars = generated;
+                }
+                // All character sets are ASCII, so each char maps to exactly one byte
+                for (int i = 0; i < length; i++) {
+                    body[position++] = (byte) chars[i];
+                }
+                body[position++] = '\n';
+                if (reserved != null) {
+                    reserved.wipe();
+                }
+            }
+            Arrays.fill(generated, '\0');
+            try {
+                out.write(body);
+            } finally {
+                Arrays.fill(body, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * Handles {@code POST /evaluate}, streaming results line by line as the body is read.
+     * Gère {@code POST /evaluate}, en renvoyant les résultats ligne par ligne au fil de la lecture du corps.
+     */
+    private final class EvaluateHandler implements HttpHandler {
+        public void handle(final HttpExchange exchange) throws IOException {
+            try {
+                if (!"POST".equals(exchange.getRequestMethod())) {
+                    sendText(exchange, 405, ERROR_METHOD_NOT_ALLOWED);
+                    return;
+                }
+                exchange.getResponseHeaders().set("Content-Type", TEXT_CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, 0); // Chunked: the number of passwords is not known in advance
+                final BufferedReader reader = new BufferedReader(new InputStreamReader(exchange.getRequestBody(), "UTF-8"));
+                final Writer writer = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), "UTF-8"));
+                final StringBuilder line = new StringBuilder();
+                int status;
+                while ((status = readLine(reader, line, MAX_LENGTH)) != END_OF_INPUT) {
+                    if (status == LINE_TOO_LONG) {
+                        writer.write(ERROR_LINE_TOO_LONG); // The rest of the body is never read
+                        break;
+                    }
+                    final PasswordEvaluationResult result = passwordService.evaluatePasswordStrength(line.toString());
+                    writer.write(result.getStrengthLevel().name());
+                    writer.write('\t');
+                    writer.write(String.format(Locale.ROOT, "%.2f", result.getEntropy()));
+                    writer.write('\n');
+                }
+                writer.flush();
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+
+    /**
+     * Handles {@code GET /metrics} with the text dump of the process metrics.
+     * Gère {@code GET /metrics} avec le texte des métriques du processus.
+     */
+    private static final class MetricsHandler implements HttpHandler {
+        public void handle(final HttpExchange exchange) throws IOException {
+            try {
+                if (!"GET".equals(exchange.getRequestMethod())) {
+                    sendText(exchange, 405, ERROR_METHOD_NOT_ALLOWED);
+                    return;
+                }
+                exchange.getResponseHeaders().set("Cache-Control", "no-store");
+                sendText(exchange, 200, PasswordMetrics.get().dump());
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+}
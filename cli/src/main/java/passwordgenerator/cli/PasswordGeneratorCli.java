@@ -0,0 +1,332 @@
+package passwordgenerator.cli;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+
+import passwordgenerator.core.BulkGenerationReport;
+import passwordgenerator.core.GenerationPolicy;
+import passwordgenerator.core.ParallelPasswordGenerator;
+import passwordgenerator.core.PasswordAuditor;
+import passwordgenerator.core.PasswordEvaluationResult;
+import passwordgenerator.core.PasswordMetrics;
+import passwordgenerator.core.PasswordService;
+import passwordgenerator.core.RandomnessMode;
+
+/**
+ * Headless command-line entry point of the password generator.
+ * It only loads {@link PasswordService} and its helpers and never touches {@code java.awt} or
+ * {@code javax.swing}, so it starts fast enough to be called in tight shell loops and provisioning scripts.
+ * Point d'entrée en ligne de commande, sans interface graphique, du générateur de mots de passe.
+ * Il ne charge que {@link PasswordService} et ses classes auxiliaires et ne touche jamais à {@code java.awt}
+ * ni à {@code javax.swing}, ce qui lui permet de démarrer assez vite pour être appelé dans des boucles shell
+ * et des scripts de provisionnement.
+ *
+ * <p>Example: {@code java PasswordGeneratorCli --length 24 --no-symbols --exclude "0O1l" --count 5 --evaluate}</p>
+ * <p>Audit: {@code java PasswordGeneratorCli --audit exported-passwords.txt > results.tsv}</p>
+ */
+public final class PasswordGeneratorCli {
+
+    // --- Options de la ligne de commande / Command line options ---
+    private static final String LENGTH_OPTION = "--length";
+    private static final String COUNT_OPTION = "--count";
+    private static final String EXCLUDE_OPTION = "--exclude";
+    private static final String NO_UPPERCASE_OPTION = "--no-upper";
+    private static final String NO_LOWERCASE_OPTION = "--no-lower";
+    private static final String NO_NUMBERS_OPTION = "--no-numbers";
+    private static final String NO_SYMBOLS_OPTION = "--no-symbols";
+    private static final String EVALUATE_OPTION = "--evaluate";
+    private static final String THREADS_OPTION = "--threads";
+    private static final String UNORDERED_OPTION = "--unordered";
+    private static final String STATS_OPTION = "--stats";
+    private static final String METRICS_OPTION = "--metrics";
+    private static final String SERVER_OPTION = "--server";
+    private static final String PORT_OPTION = "--port";
+    private static final String AUDIT_OPTION = "--audit";
+    private static final String HELP_OPTION = "--help";
+
+    // --- Valeurs par défaut / Default values ---
+    private static final int DEFAULT_LENGTH = 16;
+    private static final int DEFAULT_SERVER_PORT = 8080;
+    private static final int MAX_PORT = 65535;
+    private static final String STANDARD_INPUT = "-";
+    private static final int OUTPUT_BUFFER_SIZE = 1024 * 1024;
+    private static final int SERVER_RANDOM_STRIPES_PER_CORE = 2; // Generators shared by the service's request threads
+
+    // --- Codes de sortie / Exit codes ---
+    private static final int EXIT_OK = 0;
+    private static final int EXIT_GENERATION_ERROR = 1;
+    private static final int EXIT_USAGE_ERROR = 2;
+
+    // --- Messages / Messages ---
+    private static final String USAGE_MESSAGE =
+            "Usage: java -jar password-generator-cli.jar [options]\n"
+            + "  --length N        Password length (default " + DEFAULT_LENGTH + ")\n"
+            + "  --count N         Number of passwords to generate (default 1)\n"
+            + "  --no-upper        Exclude uppercase letters\n"
+            + "  --no-lower        Exclude lowercase letters\n"
+            + "  --no-numbers      Exclude numbers\n"
+            + "  --no-symbols      Exclude symbols\n"
+            + "  --exclude CHARS   Characters never to use\n"
+            + "  --evaluate        Print strength level and entropy after each password (not with --threads)\n"
+            + "  --threads N       Generate in parallel on N threads; with --server, the number of SecureRandom\n"
+            + "                    generators shared by requests (default " + SERVER_RANDOM_STRIPES_PER_CORE + " per core)\n"
+            + "  --unordered       With --threads, write chunks as soon as they are ready\n"
+            + "  --stats           Print the throughput on standard error when done\n"
+            + "  --metrics         Print generation and evaluation latency histograms on standard error when done\n"
+            + "  --server          Start the local HTTP service instead; the passwordgenerator.rng.* system\n"
+            + "                    properties still select the SecureRandom algorithm and provider\n"
+            + "  --port N          Port of the HTTP service, 0 for any free port (default " + DEFAULT_SERVER_PORT + ")\n"
+            + "  --audit FILE      Evaluate the passwords of FILE (- for standard input), one per line, instead;\n"
+            + "                    writes LEVEL, entropy and weaknesses per line, then a histogram on standard error.\n"
+            + "                    Runs on every core unless --threads is given";
+    private static final String ERROR_NO_CHARSET_SELECTED = "No character type selected, or the character pool is empty after exclusions.";
+    private static final String ERROR_MISSING_VALUE = "Missing value for ";
+    private static final String ERROR_INVALID_NUMBER = "Invalid number for ";
+    private static final String ERROR_UNKNOWN_OPTION = "Unknown option: ";
+    private static final String ERROR_EVALUATE_WITH_THREADS = EVALUATE_OPTION + " cannot be combined with " + THREADS_OPTION + ": evaluated passwords are generated one at a time";
+    private static final String ERROR_OUTPUT = "Unable to write passwords: ";
+    private static final String ERROR_AUDIT = "Unable to audit passwords: ";
+    private static final String SERVER_START_ERROR_MESSAGE = "Unable to start the password service: ";
+
+    private PasswordGeneratorCli() {
+    }
+
+    /**
+     * Runs the command line and exits with a non-zero status on error.
+     * Exécute la ligne de commande et se termine avec un code non nul en cas d'erreur.
+     * @param args Command line arguments.
+     * @param args Arguments de la ligne de commande.
+     */
+    public static void main(final String[] args) {
+        final int status = run(args);
+        if (status != EXIT_OK) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Parses the arguments and performs the requested generation, or starts the HTTP service.
+     * Analyse les arguments et effectue la génération demandée, ou démarre le service HTTP.
+     * @param args Command line arguments.
+     * @return The process exit status.
+     * @param args Arguments de la ligne de commande.
+     * @return Le code de sortie du processus.
+     */
+    static int run(final String[] args) {
+        int length = DEFAULT_LENGTH;
+        long count = 1;
+        String excludeChars = "";
+        boolean useUpperCase = true;
+        boolean useLowerCase = true;
+        boolean useNumbers = true;
+        boolean useSymbols = true;
+        boolean evaluate = false;
+        int threads = 0; // Not set: one thread to generate, every core to audit
+        boolean ordered = true;
+        boolean stats = false;
+        boolean metrics = false;
+        boolean server = false;
+        int port = DEFAULT_SERVER_PORT;
+        String auditInput = null;
+
+        for (int i = 0; i < args.length; i++) {
+            final String option = args[i];
+            if (HELP_OPTION.equals(option)) {
+                System.out.println(USAGE_MESSAGE);
+                return EXIT_OK;
+            } else if (NO_UPPERCASE_OPTION.equals(option)) {
+                useUpperCase = false;
+            } else if (NO_LOWERCASE_OPTION.equals(option)) {
+                useLowerCase = false;
+            } else if (NO_NUMBERS_OPTION.equals(option)) {
+                useNumbers = false;
+            } else if (NO_SYMBOLS_OPTION.equals(option)) {
+                useSymbols = false;
+            } else if (EVALUATE_OPTION.equals(option)) {
+                evaluate = true;
+            } else if (UNORDERED_OPTION.equals(option)) {
+                ordered = false;
+            } else if (STATS_OPTION.equals(option)) {
+                stats = true;
+            } else if (METRICS_OPTION.equals(option)) {
+                metrics = true;
+            } else if (SERVER_OPTION.equals(option)) {
+                server = true;
+            } else if (LENGTH_OPTION.equals(option) || COUNT_OPTION.equals(option) || EXCLUDE_OPTION.equals(option)
+                    || THREADS_OPTION.equals(option) || PORT_OPTION.equals(option) || AUDIT_OPTION.equals(option)) {
+                if (i + 1 >= args.length) {
+                    return usageError(ERROR_MISSING_VALUE + option);
+                }
+                final String value = args[++i];
+                if (EXCLUDE_OPTION.equals(option)) {
+                    excludeChars = value;
+                    continue;
+                }
+                if (AUDIT_OPTION.equals(option)) {
+                    auditInput = value;
+                    continue;
+                }
+                final long number;
+                try {
+                    number = Long.parseLong(value);
+                } catch (final NumberFormatException e) {
+                    return usageError(ERROR_INVALID_NUMBER + option + ": " + value);
+                }
+                if (number < 0 || number > Integer.MAX_VALUE && !COUNT_OPTION.equals(option)
+                        || number > MAX_PORT && PORT_OPTION.equals(option)) {
+                    return usageError(ERROR_INVALID_NUMBER + option + ": " + value);
+                }
+                if (LENGTH_OPTION.equals(option)) {
+                    length = (int) number;
+                } else if (COUNT_OPTION.equals(option)) {
+                    count = number;
+                } else if (THREADS_OPTION.equals(option)) {
+                    threads = Math.max(1, (int) number);
+                } else {
+                    port = (int) number;
+                }
+            } else {
+                return usageError(ERROR_UNKNOWN_OPTION + option);
+            }
+        }
+
+        if (evaluate && threads > 0 && auditInput == null && !server) {
+            return usageError(ERROR_EVALUATE_WITH_THREADS);
+        }
+        if (server) {
+            // A new virtual thread per request: per-thread generators would be seeded and filled for every request
+            final int stripes = (threads > 0) ? threads : SERVER_RANDOM_STRIPES_PER_CORE * Runtime.getRuntime().availableProcessors();
+            return startServer(new PasswordService(RandomnessMode.ENTROPY_EFFICIENT, stripes), port);
+        }
+        // A single-threaded run does not need the per-thread generators, which saves seeding a second SecureRandom
+        final PasswordService passwordService = new PasswordService(RandomnessMode.ENTROPY_EFFICIENT, threads > 1);
+        if (auditInput != null) {
+            final int status = audit(passwordService, auditInput, (threads > 0) ? threads : Runtime.getRuntime().availableProcessors());
+            if (metrics) {
+                System.err.print(PasswordMetrics.get().dump());
+            }
+            return status;
+        }
+
+        final GenerationPolicy policy = passwordService.compilePolicy(length, useUpperCase, useLowerCase, useNumbers, useSymbols, excludeChars);
+        if (policy == null) {
+            System.err.println(ERROR_NO_CHARSET_SELECTED);
+            return EXIT_GENERATION_ERROR;
+        }
+
+        try {
+            final BulkGenerationReport report;
+            if (evaluate) {
+                report = generateAndEvaluate(passwordService, policy, count);
+            } else if (threads > 1) {
+                final ParallelPasswordGenerator generator = new ParallelPasswordGenerator(passwordService, threads);
+                try {
+                    report = generator.generate(count, policy, System.out, ordered);
+                } finally {
+                    generator.shutdown();
+                }
+            } else {
+                report = passwordService.generatePasswords(count, policy, System.out);
+            }
+            if (stats) {
+                System.err.println(report);
+            }
+            if (metrics) {
+                System.err.print(PasswordMetrics.get().dump());
+            }
+        } catch (final IOException e) {
+            System.err.println(ERROR_OUTPUT + e.getMessage());
+            return EXIT_GENERATION_ERROR;
+        }
+        return EXIT_OK;
+    }
+
+    /**
+     * Generates passwords one at a time and prints each with its strength level and entropy, tab-separated.
+     * Génère les mots de passe un par un et affiche chacun avec son niveau de force et son entropie, séparés par des tabulations.
+     */
+    private static BulkGenerationReport generateAndEvaluate(final PasswordService passwordService, final GenerationPolicy policy, final long count) throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(System.out, "US-ASCII"));
+        final char[] passwordChars = new char[policy.getLength()];
+        final long start = System.nanoTime();
+        for (long n = 0; n < count; n++) {
+            final int passwordLength = passwordService.generatePassword(policy, passwordChars);
+            final PasswordEvaluationResult result = passwordService.evaluatePasswordStrength(new String(passwordChars, 0, passwordLength));
+            writer.write(passwordChars, 0, passwordLength);
+            writer.write('\t');
+            writer.write(result.getStrengthLevel().name());
+            writer.write('\t');
+            writer.write(String.format(Locale.ROOT, "%.2f", result.getEntropy()));
+            writer.write('\n');
+        }
+        writer.flush();
+        final long elapsedNanos = System.nanoTime() - start;
+        Arrays.fill(passwordChars, '\0');
+        return new BulkGenerationReport(count, elapsedNanos);
+    }
+
+    /**
+     * Audits the passwords of a file or of standard input in parallel, writing results to standard output and the
+     * histogram of strength levels to standard error.
+     * Audite en parallèle les mots de passe d'un fichier ou de l'entrée standard, en écrivant les résultats sur la
+     * sortie standard et l'histogramme des niveaux de force sur la sortie d'erreur.
+     */
+    private static int audit(final PasswordService passwordService, final String input, final int threads) {
+        final PasswordAuditor auditor = new PasswordAuditor(passwordService, threads);
+        try {
+            final ReadableByteChannel channel = STANDARD_INPUT.equals(input)
+                    ? Channels.newChannel(System.in)
+                    : FileChannel.open(Paths.get(input), StandardOpenOption.READ);
+            try {
+                final OutputStream out = new BufferedOutputStream(System.out, OUTPUT_BUFFER_SIZE);
+                System.err.println(auditor.audit(channel, out));
+            } finally {
+                channel.close();
+            }
+            return EXIT_OK;
+        } catch (final IOException e) {
+            System.err.println(ERROR_AUDIT + e.getMessage());
+            return EXIT_GENERATION_ERROR;
+        } finally {
+            auditor.shutdown();
+        }
+    }
+
+    /**
+     * Starts the local HTTP service and stops it when the JVM shuts down.
+     * Démarre le service HTTP local et l'arrête à l'arrêt de la JVM.
+     */
+    private static int startServer(final PasswordService passwordService, final int port) {
+        try {
+            final LocalPasswordServer server = new LocalPasswordServer(passwordService, port);
+            Runtime.getRuntime().addShutdownHook(new Thread() {
+                @Override
+                public void run() {
+                    server.stop();
+                }
+            });
+            server.start();
+            return EXIT_OK;
+        } catch (final IOException e) {
+            System.err.println(SERVER_START_ERROR_MESSAGE + e.getMessage());
+            return EXIT_GENERATION_ERROR;
+        }
+    }
+
+    private static int usageError(final String message) {
+        System.err.println(message);
+        System.err.println(USAGE_MESSAGE);
+        return EXIT_USAGE_ERROR;
+    }
+}
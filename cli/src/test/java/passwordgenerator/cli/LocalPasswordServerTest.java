@@ -0,0 +1,131 @@
+package passwordgenerator.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import passwordgenerator.core.PasswordService;
+
+/**
+ * Request limits of the local HTTP service, checked against a server on a free loopback port: every bound on
+ * {@code count}, {@code length} and their product is answered with a 400 before anything is generated, a password
+ * line too long for {@code /evaluate} ends the response with an error line, and other methods are refused.
+ * Limites de requête du service HTTP local, vérifiées sur un serveur lié à un port libre de bouclage : chaque borne
+ * sur {@code count}, {@code length} et leur produit est refusée par un 400 avant toute génération, une ligne de mot de
+ * passe trop longue pour {@code /evaluate} termine la réponse par une ligne d'erreur, et les autres méthodes sont
+ * refusées.
+ */
+class LocalPasswordServerTest {
+    private static LocalPasswordServer server;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = new LocalPasswordServer(new PasswordService(), 0);
+        server.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void generatesCountPasswordsOfLength() throws IOException {
+        final Response response = request("GET", "/generate?count=100&length=20&symbols=false", null);
+        assertEquals(200, response.status);
+        final String[] lines = response.body.split("\n");
+        assertEquals(100, lines.length);
+        for (final String line : lines) {
+            assertEquals(20, line.length());
+            assertTrue(line.matches("[A-Za-z0-9]+"), line);
+        }
+    }
+
+    @Test
+    void rejectsOutOfRangeParameters() throws IOException {
+        assertEquals(400, request("GET", "/generate?count=0", null).status);
+        assertEquals(400, request("GET", "/generate?count=1000001", null).status);
+        assertEquals(400, request("GET", "/generate?length=4097", null).status);
+        assertEquals(400, request("GET", "/generate?length=abc", null).status);
+        assertEquals(400, request("GET", "/generate?upper=false&lower=false&numbers=false&symbols=false", null).status);
+    }
+
+    // Each bound allows it on its own, their product does not
+    @Test
+    void rejectsResponsesOverTheSizeCap() throws IOException {
+        final Response response = request("GET", "/generate?count=1000000&length=4096", null);
+        assertEquals(400, response.status);
+        assertTrue(response.body.startsWith("count * (length + 1)"), response.body);
+        assertEquals(400, request("GET", "/generate?count=16385&length=4095", null).status); // 1 line over 64 MiB
+        assertEquals(200, request("GET", "/generate?count=1000&length=4095", null).status);
+    }
+
+    @Test
+    void evaluatesLineByLineAndStopsAtAnOverlongLine() throws IOException {
+        final char[] overlong = new char[4097];
+        Arrays.fill(overlong, 'x');
+        final Response response = request("POST", "/evaluate", "password\r\nTr0ub4dor&3-correct-horse\n" + new String(overlong) + "\nnever read\n");
+        assertEquals(200, response.status);
+        final String[] lines = response.body.split("\n");
+        assertEquals(3, lines.length, response.body);
+        assertTrue(lines[0].startsWith("WEAK\t"), lines[0]);
+        assertTrue(lines[2].startsWith("ERROR\t"), lines[2]);
+    }
+
+    @Test
+    void refusesOtherMethods() throws IOException {
+        assertEquals(405, request("POST", "/generate", "").status);
+        assertEquals(405, request("GET", "/evaluate", null).status);
+        assertEquals(405, request("POST", "/metrics", "").status);
+        assertEquals(200, request("GET", "/metrics", null).status);
+    }
+
+    private static Response request(final String method, final String path, final String body) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + path).openConnection();
+        try {
+            connection.setRequestMethod(method);
+            if (body != null) {
+                connection.setDoOutput(true);
+                final OutputStream out = connection.getOutputStream();
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+                out.close();
+            }
+            final int status = connection.getResponseCode();
+            final InputStream in = (status < 400) ? connection.getInputStream() : connection.getErrorStream();
+            final ByteArrayOutputStream received = new ByteArrayOutputStream();
+            if (in != null) {
+                final byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    received.write(buffer, 0, read);
+                }
+                in.close();
+            }
+            return new Response(status, new String(received.toByteArray(), StandardCharsets.UTF_8));
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static final class Response {
+        final int status;
+        final String body;
+
+        Response(final int status, final String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
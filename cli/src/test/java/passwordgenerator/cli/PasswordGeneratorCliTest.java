@@ -0,0 +1,123 @@
+package passwordgenerator.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import passwordgenerator.core.PasswordService;
+
+/**
+ * Option checks of the command line, and what a one-password run loads: it is started in a fresh JVM with class
+ * loading logged, and must not load any of the packages that made startup slow.
+ * Vérifications des options de la ligne de commande, et de ce que charge une exécution pour un seul mot de passe :
+ * elle est lancée dans une nouvelle JVM avec la journalisation du chargement des classes, et ne doit charger aucun
+ * des paquetages qui ralentissaient le démarrage.
+ */
+class PasswordGeneratorCliTest {
+    private static final int EXIT_USAGE_ERROR = 2;
+    // Class name prefixes a generation-only run must never load
+    private static final String[] FORBIDDEN_PREFIXES = {
+        "java.awt.", "javax.swing.", "sun.awt.", "sun.java2d.",
+        "java.util.Calendar", "passwordgenerator.core.PatternEntropyEstimator", "passwordgenerator.core.KeyboardLayout"
+    };
+    // The Flight Recorder event machinery, which no run loads unless a recording was started
+    private static final String[] EVENT_PREFIXES = {
+        "jdk.jfr.Event", "jdk.jfr.internal.", "passwordgenerator.core.GenerationEvent",
+        "passwordgenerator.core.EvaluationEvent", "passwordgenerator.core.DictionaryLookupEvent"
+    };
+
+    @Test
+    void rejectsOutOfRangePorts() {
+        assertEquals(EXIT_USAGE_ERROR, PasswordGeneratorCli.run(new String[] {"--server", "--port", "99999"}));
+        assertEquals(EXIT_USAGE_ERROR, PasswordGeneratorCli.run(new String[] {"--server", "--port", "65536"}));
+        assertEquals(EXIT_USAGE_ERROR, PasswordGeneratorCli.run(new String[] {"--server", "--port", "-1"}));
+    }
+
+    @Test
+    void rejectsEvaluateWithThreads() {
+        assertEquals(EXIT_USAGE_ERROR, PasswordGeneratorCli.run(new String[] {"--evaluate", "--threads", "4"}));
+    }
+
+    @Test
+    void rejectsBadValues() {
+        assertEquals(EXIT_USAGE_ERROR, PasswordGeneratorCli.run(new String[] {"--length"}));
+        assertEquals(EXIT_USAGE_ERROR, PasswordGeneratorCli.run(new String[] {"--count", "ten"}));
+        assertEquals(EXIT_USAGE_ERROR, PasswordGeneratorCli.run(new String[] {"--length", "-3"}));
+        assertEquals(EXIT_USAGE_ERROR, PasswordGeneratorCli.run(new String[] {"--colour"}));
+    }
+
+    @Test
+    void generationLoadsNoSlowStartupClasses() throws IOException, InterruptedException {
+        final List<String> loaded = loadedClasses("--count", "1");
+        assertNoneLoaded(loaded, FORBIDDEN_PREFIXES, "a generation-only run");
+        assertNoneLoaded(loaded, EVENT_PREFIXES, "a generation-only run");
+    }
+
+    @Test
+    void evaluationLoadsNoFlightRecorderEvents() throws IOException, InterruptedException {
+        assertNoneLoaded(loadedClasses("--count", "1", "--evaluate"), EVENT_PREFIXES, "an evaluation run");
+    }
+
+    private static void assertNoneLoaded(final List<String> loaded, final String[] prefixes, final String run) {
+        for (final String name : loaded) {
+            for (final String prefix : prefixes) {
+                assertFalse(name.startsWith(prefix), name + " loaded by " + run);
+            }
+        }
+        assertTrue(loaded.contains(PasswordService.class.getName()), "class loading was not logged");
+    }
+
+    /**
+     * Runs the command line in a new JVM and returns the name of every class it loaded.
+     * Exécute la ligne de commande dans une nouvelle JVM et retourne le nom de chaque classe qu'elle a chargée.
+     */
+    static List<String> loadedClasses(final String... args) throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<String>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add("-Xlog:class+load=info:stdout");
+        command.add("-cp");
+        command.add(codeSource(PasswordGeneratorCli.class) + File.pathSeparator + codeSource(PasswordService.class));
+        command.add(PasswordGeneratorCli.class.getName());
+        command.addAll(Arrays.asList(args));
+        final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        final List<String> loaded = new ArrayList<String>();
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final int tag = line.indexOf("[class,load] ");
+                if (tag >= 0) {
+                    final String rest = line.substring(tag + "[class,load] ".length());
+                    final int end = rest.indexOf(' ');
+                    loaded.add((end < 0) ? rest : rest.substring(0, end));
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        assertTrue(process.waitFor(60, TimeUnit.SECONDS), "the command line did not exit");
+        assertEquals(0, process.exitValue());
+        return loaded;
+    }
+
+    private static String codeSource(final Class<?> type) {
+        try {
+            return new File(type.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+        } catch (final URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package passwordgenerator.core;
+
+/**
+ * Data class summarizing a batch audit: how many passwords were evaluated at each strength level, and how long it took.
+ * Classe de données résumant un audit en masse : nombre de mots de passe évalués à chaque niveau de force, et durée totale.
+ */
+public final class AuditReport {
+    private static final int HISTOGRAM_BAR_WIDTH = 40;
+
+    final long[] levelCounts; // Indexed by PasswordStrengthLevel.ordinal()
+    final long passwordCount;
+    final long elapsedNanos;
+
+    /**
+     * Constructs a new AuditReport.
+     * @param levelCounts The number of passwords at each strength level, indexed by ordinal.
+     * @param elapsedNanos The wall-clock duration of the audit in nanoseconds.
+     * Construit un nouveau AuditReport.
+     * @param levelCounts Le nombre de mots de passe à chaque niveau de force, indexé par ordinal.
+     * @param elapsedNanos La durée réelle de l'audit en nanosecondes.
+     */
+    AuditReport(long[] levelCounts, long elapsedNanos) {
+        this.levelCounts = levelCounts;
+        this.elapsedNanos = elapsedNanos;
+        long total = 0;
+        for (final long count : levelCounts) {
+            total += count;
+        }
+        this.passwordCount = total;
+    }
+
+    /**
+     * Returns the number of passwords rated at the given level.
+     * @param level The strength level.
+     * @return The number of passwords at that level.
+     * Retourne le nombre de mots de passe évalués au niveau donné.
+     * @param level Le niveau de force.
+     * @return Le nombre de mots de passe à ce niveau.
+     */
+    public long getCount(PasswordStrengthLevel level) {
+        return levelCounts[level.ordinal()];
+    }
+
+    /**
+     * Returns the number of passwords audited.
+     * Retourne le nombre de mots de passe audités.
+     */
+    public long getPasswordCount() {
+        return passwordCount;
+    }
+
+    /**
+     * Returns the wall-clock duration of the audit.
+     * Retourne la durée réelle de l'audit.
+     * @return The duration in nanoseconds.
+     * @return La durée en nanosecondes.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the measured throughput.
+     * @return The number of passwords evaluated per second.
+     * Retourne le débit mesuré.
+     * @return Le nombre de mots de passe évalués par seconde.
+     */
+    public double getPasswordsPerSecond() {
+        if (elapsedNanos <= 0) {
+            return 0.0;
+        }
+        return passwordCount * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder text = new StringBuilder();
+        text.append(passwordCount).append(" passwords audited in ").append(String.format("%.3f", elapsedNanos / 1e9))
+                .append(" s (").append(String.format("%.0f", getPasswordsPerSecond())).append(" passwords/s)");
+        for (final PasswordStrengthLevel level : PasswordStrengthLevel.values()) {
+            final long count = levelCounts[level.ordinal()];
+            final double share = (passwordCount == 0) ? 0.0 : (double) count / passwordCount;
+            text.append('\n').append(String.format("%-12s %12d %6.2f%% ", level.name(), count, share * 100));
+            for (int i = 0; i < Math.round(share * HISTOGRAM_BAR_WIDTH); i++) {
+                text.append('#');
+            }
+        }
+        return text.toString();
+    }
+}
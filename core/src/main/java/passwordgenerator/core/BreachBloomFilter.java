@@ -0,0 +1,202 @@
+package passwordgenerator.core;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Off-heap Bloom filter over the SHA-1 digests of a {@link BreachedPasswordCorpus}, used to answer most lookups,
+ * which are misses, without touching the corpus itself.
+ * The filter lives in a memory-mapped file: a 16-byte header (magic number, hash count, bit count) followed by the
+ * bit array. Bit positions come from double hashing on two 64-bit words of the digest, which is already uniformly
+ * distributed, so no further hashing is needed.
+ * Filtre de Bloom hors tas sur les empreintes SHA-1 d'un {@link BreachedPasswordCorpus}, utilisé pour répondre à la
+ * plupart des recherches, qui échouent, sans toucher au corpus lui-même.
+ * Le filtre réside dans un fichier projeté en mémoire : un en-tête de 16 octets (nombre magique, nombre de hachages,
+ * nombre de bits) suivi du tableau de bits. Les positions des bits sont obtenues par double hachage sur deux mots de
+ * 64 bits de l'empreinte, déjà uniformément répartie, sans autre hachage.
+ *
+ * <p>Files are created with {@link BreachBloomFilterBuilder}.</p>
+ */
+final class BreachBloomFilter {
+    // --- Format du fichier / File format ---
+    private static final int MAGIC = 0x50474246; // "PGBF"
+    private static final int HEADER_SIZE = 16;
+    private static final long SEGMENT_SIZE = 1L << 30; // Bytes per mapping; a single mapping cannot exceed 2 GB
+    private static final int SEGMENT_SHIFT = 30;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+    private static final long MIN_BIT_COUNT = 64;
+
+    // --- Messages / Messages ---
+    private static final String ERROR_NOT_A_FILTER = "Not a Bloom filter file: ";
+    private static final String ERROR_INVALID_PARAMETERS = "Expected entries must be positive and the false positive rate between 0 and 1";
+
+    private final MappedByteBuffer[] segments;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BreachBloomFilter(final MappedByteBuffer[] segments, final long bitCount, final int hashCount) {
+        this.segments = segments;
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Memory-maps an existing filter file read-only and asks the OS to load it, so lookups do not page-fault.
+     * Projette en mémoire un fichier de filtre existant en lecture seule et demande au système de le charger,
+     * afin que les recherches ne provoquent pas de défauts de page.
+     * @param path The path of the filter file.
+     * @return The mapped filter.
+     * @throws IOException If the file cannot be read or is not a filter file.
+     * @param path Le chemin du fichier de filtre.
+     * @return Le filtre projeté.
+     * @throws IOException Si le fichier ne peut pas être lu ou n'est pas un fichier de filtre.
+     */
+    static BreachBloomFilter open(final String path) throws IOException {
+        final RandomAccessFile file = new RandomAccessFile(path, "r");
+        try {
+            if (file.length() < HEADER_SIZE || file.readInt() != MAGIC) {
+                throw new IOException(ERROR_NOT_A_FILTER + path);
+            }
+            final int hashCount = file.readInt();
+            final long bitCount = file.readLong();
+            if (hashCount < 1 || bitCount < MIN_BIT_COUNT || file.length() != HEADER_SIZE + byteCount(bitCount)) {
+                throw new IOException(ERROR_NOT_A_FILTER + path);
+            }
+            final MappedByteBuffer[] segments = map(file.getChannel(), FileChannel.MapMode.READ_ONLY, bitCount);
+            for (final MappedByteBuffer segment : segments) {
+                segment.load();
+            }
+            return new BreachBloomFilter(segments, bitCount, hashCount);
+        } finally {
+            file.close(); // Mappings remain valid once the file is closed
+        }
+    }
+
+    /**
+     * Creates an empty filter file sized for the given number of entries and false positive rate, mapped read-write.
+     * Call {@link #add(byte[])} for every digest, then {@link #force()}.
+     * Crée un fichier de filtre vide dimensionné pour le nombre d'entrées et le taux de faux positifs donnés, projeté en
+     * lecture-écriture. Appelez {@link #add(byte[])} pour chaque empreinte, puis {@link #force()}.
+     * @param path The path of the filter file, replaced if it exists.
+     * @param expectedEntries The number of digests that will be added.
+     * @param falsePositiveRate The target false positive rate, between 0 and 1 exclusive.
+     * @return The writable filter.
+     * @throws IOException If the file cannot be created.
+     * @param path Le chemin du fichier de filtre, remplacé s'il existe.
+     * @param expectedEntries Le nombre d'empreintes qui seront ajoutées.
+     * @param falsePositiveRate Le taux de faux positifs visé, strictement entre 0 et 1.
+     * @return Le filtre modifiable.
+     * @throws IOException Si le fichier ne peut pas être créé.
+     */
+    static BreachBloomFilter create(final String path, final long expectedEntries, final double falsePositiveRate) throws IOException {
+        if (expectedEntries <= 0 || !(falsePositiveRate > 0.0 && falsePositiveRate < 1.0)) {
+            throw new IllegalArgumentException(ERROR_INVALID_PARAMETERS);
+        }
+        // Optimal sizing: m = -n ln(p) / ln(2)^2 bits and k = (m / n) ln(2) = -ln(p) / ln(2) hash functions
+        final double ln2 = Math.log(2);
+        final long bitCount = Math.max(MIN_BIT_COUNT, (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        final int hashCount = Math.max(1, (int) Math.round(-Math.log(falsePositiveRate) / ln2));
+
+        final RandomAccessFile file = new RandomAccessFile(path, "rw");
+        try {
+            file.setLength(0); // Drop any previous content so every bit starts cleared
+            file.setLength(HEADER_SIZE + byteCount(bitCount));
+            file.writeInt(MAGIC);
+            file.writeInt(hashCount);
+            file.writeLong(bitCount);
+            return new BreachBloomFilter(map(file.getChannel(), FileChannel.MapMode.READ_WRITE, bitCount), bitCount, hashCount);
+        } finally {
+            file.close();
+        }
+    }
+
+    private static MappedByteBuffer[] map(final FileChannel channel, final FileChannel.MapMode mode, final long bitCount) throws IOException {
+        final long bytes = byteCount(bitCount);
+        final MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((bytes + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+        for (int i = 0; i < segments.length; i++) {
+            final long offset = i * SEGMENT_SIZE;
+            segments[i] = channel.map(mode, HEADER_SIZE + offset, Math.min(SEGMENT_SIZE, bytes - offset));
+        }
+        return segments;
+    }
+
+    private static long byteCount(final long bitCount) {
+        return (bitCount + 7) >>> 3;
+    }
+
+    /**
+     * Adds a digest to a filter opened with {@link #create(String, long, double)}. Not thread-safe.
+     * Ajoute une empreinte à un filtre ouvert avec {@link #create(String, long, double)}. Non sûr entre threads.
+     * @param digest A 20-byte SHA-1 digest.
+     * @param digest Une empreinte SHA-1 de 20 octets.
+     */
+    void add(final byte[] digest) {
+        final long first = wordAt(digest, 0);
+        final long second = wordAt(digest, 8) | 1; // Odd, so the probe sequence never collapses onto one position
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = ((first + i * second) >>> 1) % bitCount;
+            final MappedByteBuffer segment = segments[(int) ((bit >>> 3) >>> SEGMENT_SHIFT)];
+            final int index = (int) (bit >>> 3) & SEGMENT_MASK;
+            segment.put(index, (byte) (segment.get(index) | (1 << (bit & 7))));
+        }
+    }
+
+    /**
+     * Checks whether the digest may be in the filter. A {@code false} answer is certain; a {@code true} answer is
+     * wrong at most at the false positive rate the filter was built for.
+     * Vérifie si l'empreinte peut être dans le filtre. Une réponse {@code false} est certaine ; une réponse
+     * {@code true} n'est fausse qu'au plus au taux de faux positifs pour lequel le filtre a été construit.
+     * @param digest A 20-byte SHA-1 digest.
+     * @return {@code false} if the digest was definitely never added.
+     * @param digest Une empreinte SHA-1 de 20 octets.
+     * @return {@code false} si l'empreinte n'a certainement jamais été ajoutée.
+     */
+    boolean mightContain(final byte[] digest) {
+        final long first = wordAt(digest, 0);
+        final long second = wordAt(digest, 8) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = ((first + i * second) >>> 1) % bitCount;
+            final int index = (int) (bit >>> 3) & SEGMENT_MASK;
+            if ((segments[(int) ((bit >>> 3) >>> SEGMENT_SHIFT)].get(index) & (1 << (bit & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the bits set so far back to the file.
+     * Écrit dans le fichier les bits positionnés jusqu'ici.
+     */
+    void force() {
+        for (final MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Returns the size of the bit array.
+     * Retourne la taille du tableau de bits.
+     */
+    long getBitCount() {
+        return bitCount;
+    }
+
+    /**
+     * Returns the number of bits checked per lookup.
+     * Retourne le nombre de bits vérifiés par recherche.
+     */
+    int getHashCount() {
+        return hashCount;
+    }
+
+    private static long wordAt(final byte[] digest, final int offset) {
+        long word = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            word = (word << 8) | (digest[i] & 0xFF);
+        }
+        return word;
+    }
+}
@@ -0,0 +1,272 @@
+package passwordgenerator.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+
+/**
+ * Command-line tool that builds a {@link BreachBloomFilter} file from a breach list.
+ * The input is streamed twice (once to count entries, once to add them), so lists far larger than the heap can be
+ * processed; only the filter itself, memory-mapped, grows with the input.
+ * Outil en ligne de commande qui construit un fichier {@link BreachBloomFilter} à partir d'une liste de fuites.
+ * L'entrée est lue en flux deux fois (une pour compter les entrées, une pour les ajouter), ce qui permet de traiter
+ * des listes bien plus grandes que le tas ; seul le filtre, projeté en mémoire, grandit avec l'entrée.
+ *
+ * <p>Example: {@code java BreachBloomFilterBuilder --format sha1-hex --false-positive-rate 0.001 pwned-passwords-sha1.txt breach.bloom}</p>
+ */
+public final class BreachBloomFilterBuilder {
+
+    // --- Formats d'entrée / Input formats ---
+    private static final String FORMAT_SHA1_BINARY = "sha1-bin"; // Raw 20-byte digests, as read by BreachedPasswordCorpus
+    private static final String FORMAT_SHA1_HEX = "sha1-hex";    // One hex digest per line, optionally followed by ":COUNT"
+    private static final String FORMAT_TEXT = "text";            // One plain-text password per line
+
+    // --- Options de la ligne de commande / Command line options ---
+    private static final String FORMAT_OPTION = "--format";
+    private static final String FALSE_POSITIVE_RATE_OPTION = "--false-positive-rate";
+    private static final String HELP_OPTION = "--help";
+
+    // --- Valeurs par défaut / Default values ---
+    private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+    private static final int HEX_DIGEST_LENGTH = 2 * BreachedPasswordCorpus.RECORD_SIZE;
+    private static final Charset INPUT_CHARSET = Charset.forName("UTF-8");
+
+    // --- Codes de sortie / Exit codes ---
+    private static final int EXIT_OK = 0;
+    private static final int EXIT_BUILD_ERROR = 1;
+    private static final int EXIT_USAGE_ERROR = 2;
+
+    // --- Messages / Messages ---
+    private static final String USAGE_MESSAGE =
+            "Usage: java passwordgenerator.core.BreachBloomFilterBuilder [options] INPUT OUTPUT\n"
+            + "  --format F                 Input format: " + FORMAT_SHA1_BINARY + " (default), " + FORMAT_SHA1_HEX + " or " + FORMAT_TEXT + "\n"
+            + "  --false-positive-rate P    Target false positive rate (default " + DEFAULT_FALSE_POSITIVE_RATE + ")";
+    private static final String ERROR_MISSING_VALUE = "Missing value for ";
+    private static final String ERROR_INVALID_RATE = "The false positive rate must be between 0 and 1: ";
+    private static final String ERROR_UNKNOWN_FORMAT = "Unknown input format: ";
+    private static final String ERROR_UNKNOWN_OPTION = "Unknown option: ";
+    private static final String ERROR_ARGUMENTS = "Expected an input and an output file";
+    private static final String ERROR_EMPTY_INPUT = "The input contains no entries.";
+    private static final String ERROR_BUILD = "Unable to build the Bloom filter: ";
+    private static final String SKIPPED_LINES_MESSAGE = "Skipped malformed lines: ";
+
+    private BreachBloomFilterBuilder() {
+    }
+
+    /**
+     * Builds the filter described by the arguments and exits with a non-zero status on error.
+     * Construit le filtre décrit par les arguments et se termine avec un code non nul en cas d'erreur.
+     * @param args Command line arguments.
+     * @param args Arguments de la ligne de commande.
+     */
+    public static void main(final String[] args) {
+        final int status = run(args);
+        if (status != EXIT_OK) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Parses the arguments and builds the filter.
+     * Analyse les arguments et construit le filtre.
+     * @param args Command line arguments.
+     * @return The process exit status.
+     * @param args Arguments de la ligne de commande.
+     * @return Le code de sortie du processus.
+     */
+    static int run(final String[] args) {
+        String format = FORMAT_SHA1_BINARY;
+        double falsePositiveRate = DEFAULT_FALSE_POSITIVE_RATE;
+        String input = null;
+        String output = null;
+
+        for (int i = 0; i < args.length; i++) {
+            final String option = args[i];
+            if (HELP_OPTION.equals(option)) {
+                System.out.println(USAGE_MESSAGE);
+                return EXIT_OK;
+            } else if (FORMAT_OPTION.equals(option) || FALSE_POSITIVE_RATE_OPTION.equals(option)) {
+                if (i + 1 >= args.length) {
+                    return usageError(ERROR_MISSING_VALUE + option);
+                }
+                final String value = args[++i];
+                if (FORMAT_OPTION.equals(option)) {
+                    format = value;
+                    continue;
+                }
+                try {
+                    falsePositiveRate = Double.parseDouble(value);
+                } catch (final NumberFormatException e) {
+                    return usageError(ERROR_INVALID_RATE + value);
+                }
+                if (!(falsePositiveRate > 0.0 && falsePositiveRate < 1.0)) {
+                    return usageError(ERROR_INVALID_RATE + value);
+                }
+            } else if (option.startsWith("--")) {
+                return usageError(ERROR_UNKNOWN_OPTION + option);
+            } else if (input == null) {
+                input = option;
+            } else if (output == null) {
+                output = option;
+            } else {
+                return usageError(ERROR_ARGUMENTS);
+            }
+        }
+        if (input == null || output == null) {
+            return usageError(ERROR_ARGUMENTS);
+        }
+        if (!FORMAT_SHA1_BINARY.equals(format) && !FORMAT_SHA1_HEX.equals(format) && !FORMAT_TEXT.equals(format)) {
+            return usageError(ERROR_UNKNOWN_FORMAT + format);
+        }
+
+        try {
+            final long start = System.nanoTime();
+            final boolean binary = FORMAT_SHA1_BINARY.equals(format);
+            final long entries = binary ? countRecords(input) : countLines(input);
+            if (entries == 0) {
+                System.err.println(ERROR_EMPTY_INPUT);
+                return EXIT_BUILD_ERROR;
+            }
+            final BreachBloomFilter filter = BreachBloomFilter.create(output, entries, falsePositiveRate);
+            final long skipped = binary ? addRecords(input, filter) : addLines(input, FORMAT_TEXT.equals(format), filter);
+            filter.force();
+            if (skipped > 0) {
+                System.err.println(SKIPPED_LINES_MESSAGE + skipped);
+            }
+            System.err.println(String.format(Locale.ROOT, "%d entries, %d bits (%.1f MB), %d hashes, built in %.1f s",
+                    entries - skipped, filter.getBitCount(), filter.getBitCount() / 8.0 / (1024 * 1024),
+                    filter.getHashCount(), (System.nanoTime() - start) / 1e9));
+            return EXIT_OK;
+        } catch (final IOException e) {
+            System.err.println(ERROR_BUILD + e.getMessage());
+            return EXIT_BUILD_ERROR;
+        }
+    }
+
+    private static long countRecords(final String input) throws IOException {
+        final FileChannel channel = FileChannel.open(Paths.get(input), StandardOpenOption.READ);
+        try {
+            return channel.size() / BreachedPasswordCorpus.RECORD_SIZE;
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Counts the lines of a text file, including a last line without a line break, without decoding it.
+     * Compte les lignes d'un fichier texte, y compris une dernière ligne sans saut de ligne, sans le décoder.
+     */
+    private static long countLines(final String input) throws IOException {
+        final InputStream in = new FileInputStream(input);
+        try {
+            final byte[] buffer = new byte[READ_BUFFER_SIZE];
+            long lines = 0;
+            byte last = '\n';
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        lines++;
+                    }
+                }
+                if (read > 0) {
+                    last = buffer[read - 1];
+                }
+            }
+            return (last == '\n') ? lines : lines + 1;
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Adds every 20-byte record of a binary digest file.
+     * Ajoute chaque enregistrement de 20 octets d'un fichier binaire d'empreintes.
+     */
+    private static long addRecords(final String input, final BreachBloomFilter filter) throws IOException {
+        final FileChannel channel = FileChannel.open(Paths.get(input), StandardOpenOption.READ);
+        try {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE - READ_BUFFER_SIZE % BreachedPasswordCorpus.RECORD_SIZE);
+            final byte[] digest = new byte[BreachedPasswordCorpus.RECORD_SIZE];
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.remaining() >= digest.length) {
+                    buffer.get(digest);
+                    filter.add(digest);
+                }
+                buffer.compact();
+            }
+            return 0; // A trailing partial record is not counted by countRecords either
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Adds every line of a text file, either as a hex digest or as a password hashed with SHA-1.
+     * Ajoute chaque ligne d'un fichier texte, soit comme empreinte hexadécimale, soit comme mot de passe haché en SHA-1.
+     * @return The number of lines that could not be added (blank lines, or malformed hex digests).
+     * @return Le nombre de lignes qui n'ont pas pu être ajoutées (lignes vides, ou empreintes hexadécimales mal formées).
+     */
+    private static long addLines(final String input, final boolean plainText, final BreachBloomFilter filter) throws IOException {
+        final MessageDigest sha1;
+        try {
+            sha1 = MessageDigest.getInstance("SHA-1");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // SHA-1 is required on every Java platform
+        }
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(new BufferedInputStream(new FileInputStream(input), READ_BUFFER_SIZE), INPUT_CHARSET));
+        try {
+            final byte[] digest = new byte[BreachedPasswordCorpus.RECORD_SIZE];
+            long skipped = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    skipped++;
+                } else if (plainText) {
+                    filter.add(sha1.digest(line.getBytes(INPUT_CHARSET)));
+                } else if (decodeHexDigest(line, digest)) {
+                    filter.add(digest);
+                } else {
+                    skipped++;
+                }
+            }
+            return skipped;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static boolean decodeHexDigest(final String line, final byte[] digest) {
+        if (line.length() < HEX_DIGEST_LENGTH || (line.length() > HEX_DIGEST_LENGTH && line.charAt(HEX_DIGEST_LENGTH) != ':')) {
+            return false;
+        }
+        for (int i = 0; i < digest.length; i++) {
+            final int high = Character.digit(line.charAt(2 * i), 16);
+            final int low = Character.digit(line.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                return false;
+            }
+            digest[i] = (byte) ((high << 4) | low);
+        }
+        return true;
+    }
+
+    private static int usageError(final String message) {
+        System.err.println(message);
+        System.err.println(USAGE_MESSAGE);
+        return EXIT_USAGE_ERROR;
+    }
+}
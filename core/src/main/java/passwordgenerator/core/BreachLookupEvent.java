@@ -0,0 +1,37 @@
+package passwordgenerator.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one lookup in the breached password corpus. Lookups the Bloom filter answers alone never
+ * touch the memory-mapped corpus, so they tell cheap lookups from those that may fault pages in. Neither the password
+ * nor its digest is recorded. Disabled by default; see {@code core/passwordgenerator.jfc}.
+ * Événement Flight Recorder pour une recherche dans le corpus de mots de passe compromis. Les recherches auxquelles le
+ * filtre de Bloom répond seul ne touchent jamais le corpus projeté en mémoire : elles distinguent les recherches peu
+ * coûteuses de celles qui peuvent charger des pages. Ni le mot de passe ni son empreinte ne sont enregistrés.
+ * Désactivé par défaut ; voir {@code core/passwordgenerator.jfc}.
+ */
+@Name("passwordgenerator.BreachLookup")
+@Label("Breach Corpus Lookup")
+@Category("Password Generator")
+@Description("Lookup of one password in the breached password corpus")
+@Enabled(false)
+@StackTrace(false)
+final class BreachLookupEvent extends Event {
+    @Label("Found")
+    boolean found;
+
+    @Label("Rejected By Filter")
+    @Description("Answered by the Bloom filter without reading the corpus")
+    boolean rejectedByFilter;
+
+    @Label("Corpus Size")
+    @Description("Number of digests in the corpus")
+    long corpusSize;
+}
@@ -0,0 +1,249 @@
+package passwordgenerator.core;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Offline lookup of passwords in a local corpus of breached password hashes.
+ * The corpus is a binary file of raw 20-byte SHA-1 digests (of the UTF-8 password), sorted in ascending unsigned
+ * byte order, with no header and no separator. It is memory-mapped, never copied to the heap, and searched by
+ * interpolation (hashes are uniformly distributed) with a binary search fallback, so a lookup touches only a few
+ * pages even on a corpus of tens of gigabytes.
+ * Recherche hors ligne de mots de passe dans un corpus local d'empreintes de mots de passe compromis.
+ * Le corpus est un fichier binaire d'empreintes SHA-1 brutes de 20 octets (du mot de passe en UTF-8), triées par
+ * ordre croissant d'octets non signés, sans en-tête ni séparateur. Il est projeté en mémoire, jamais copié sur le tas,
+ * et parcouru par interpolation (les empreintes sont uniformément réparties) avec un repli en recherche dichotomique :
+ * une recherche ne touche que quelques pages, même sur un corpus de plusieurs dizaines de gigaoctets.
+ *
+ * <p>An optional {@link BreachBloomFilter} built from the same corpus answers most misses without touching it.</p>
+ *
+ * <p>A "Have I Been Pwned" SHA-1 dump ({@code HASH:COUNT} lines, sorted by hash) converts to this format by
+ * keeping the 40 hex digits of each line and decoding them to bytes.</p>
+ */
+final class BreachedPasswordCorpus {
+    // --- Propriétés système / System properties ---
+    static final String CORPUS_PROPERTY = "passwordgenerator.breach.corpus"; // Path of the corpus file
+    static final String FILTER_PROPERTY = "passwordgenerator.breach.filter"; // Path of its Bloom filter, optional
+
+    // --- Format du corpus / Corpus format ---
+    static final int RECORD_SIZE = 20; // Length of a SHA-1 digest
+    private static final String DIGEST_ALGORITHM = "SHA-1";
+    private static final Charset PASSWORD_CHARSET = Charset.forName("UTF-8");
+    // Largest mapping that holds a whole number of records; a single mapping cannot exceed Integer.MAX_VALUE bytes
+    private static final long SEGMENT_SIZE = (Integer.MAX_VALUE / RECORD_SIZE) * (long) RECORD_SIZE;
+    static final long RECORDS_PER_SEGMENT = SEGMENT_SIZE / RECORD_SIZE;
+
+    // --- Recherche / Search ---
+    // Interpolation converges in about log2(log2(n)) probes on uniform keys; past this many, fall back to halving
+    private static final int MAX_INTERPOLATION_PROBES = 8;
+
+    // --- Messages / Messages ---
+    private static final String ERROR_CORPUS_SIZE = "Breached password corpus size is not a multiple of " + RECORD_SIZE + " bytes: ";
+    private static final String CORPUS_UNAVAILABLE_MESSAGE = "Breached password corpus unavailable, lookups disabled: ";
+
+    private final MappedByteBuffer[] segments;
+    private final long recordsPerSegment;
+    private final long recordCount;
+    private final BreachBloomFilter filter; // null when every lookup searches the corpus
+    private final ThreadLocal<MessageDigest> digests = new ThreadLocal<MessageDigest>() {
+        @Override
+        protected MessageDigest initialValue() {
+            try {
+                return MessageDigest.getInstance(DIGEST_ALGORITHM);
+            } catch (final NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e); // SHA-1 is required on every Java platform
+            }
+        }
+    };
+
+    private BreachedPasswordCorpus(final MappedByteBuffer[] segments, final long recordsPerSegment, final long recordCount, final BreachBloomFilter filter) {
+        this.segments = segments;
+        this.recordsPerSegment = recordsPerSegment;
+        this.recordCount = recordCount;
+        this.filter = filter;
+    }
+
+    /**
+     * Memory-maps the given corpus file. The file is only read, and the mapping stays valid after this method returns.
+     * Projette en mémoire le fichier de corpus donné. Le fichier est seulement lu, et la projection reste valide après le retour.
+     * @param path The path of the sorted SHA-1 corpus.
+     * @param filter A Bloom filter built from the same corpus, checked before it; {@code null} for none.
+     * @return The mapped corpus.
+     * @throws IOException If the file cannot be read or its size is not a whole number of records.
+     * @param path Le chemin du corpus SHA-1 trié.
+     * @param filter Un filtre de Bloom construit à partir du même corpus, consulté avant lui ; {@code null} pour aucun.
+     * @return Le corpus projeté.
+     * @throws IOException Si le fichier ne peut pas être lu ou si sa taille n'est pas un nombre entier d'enregistrements.
+     */
+    static BreachedPasswordCorpus open(final String path, final BreachBloomFilter filter) throws IOException {
+        return open(path, filter, RECORDS_PER_SEGMENT);
+    }
+
+    /**
+     * Memory-maps the given corpus file in mappings of the given number of records, so that tests can cross mapping
+     * boundaries without a corpus of several gigabytes.
+     * Projette en mémoire le fichier de corpus donné par projections du nombre d'enregistrements donné, pour que les
+     * tests puissent franchir les limites de projection sans un corpus de plusieurs gigaoctets.
+     * @param path The path of the sorted SHA-1 corpus.
+     * @param filter A Bloom filter built from the same corpus, checked before it; {@code null} for none.
+     * @param recordsPerSegment The number of records per mapping, at most {@value #RECORDS_PER_SEGMENT}.
+     * @return The mapped corpus.
+     * @throws IOException If the file cannot be read or its size is not a whole number of records.
+     * @param path Le chemin du corpus SHA-1 trié.
+     * @param filter Un filtre de Bloom construit à partir du même corpus, consulté avant lui ; {@code null} pour aucun.
+     * @param recordsPerSegment Le nombre d'enregistrements par projection, au plus {@value #RECORDS_PER_SEGMENT}.
+     * @return Le corpus projeté.
+     * @throws IOException Si le fichier ne peut pas être lu ou si sa taille n'est pas un nombre entier d'enregistrements.
+     */
+    static BreachedPasswordCorpus open(final String path, final BreachBloomFilter filter, final long recordsPerSegment) throws IOException {
+        if (recordsPerSegment < 1 || recordsPerSegment > RECORDS_PER_SEGMENT) {
+            throw new IllegalArgumentException("recordsPerSegment must be between 1 and " + RECORDS_PER_SEGMENT + ": " + recordsPerSegment);
+        }
+        final long segmentSize = recordsPerSegment * RECORD_SIZE;
+        final FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+        try {
+            final long size = channel.size();
+            if (size % RECORD_SIZE != 0) {
+                throw new IOException(ERROR_CORPUS_SIZE + path);
+            }
+            final MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((size + segmentSize - 1) / segmentSize)];
+            for (int i = 0; i < segments.length; i++) {
+                final long offset = i * segmentSize;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(segmentSize, size - offset));
+            }
+            return new BreachedPasswordCorpus(segments, recordsPerSegment, size / RECORD_SIZE, filter);
+        } finally {
+            channel.close(); // Mappings remain valid once the channel is closed
+        }
+    }
+
+    /**
+     * Opens the corpus named by the {@code passwordgenerator.breach.corpus} system property, behind the Bloom filter
+     * named by {@code passwordgenerator.breach.filter} if that one is set.
+     * Ouvre le corpus désigné par la propriété système {@code passwordgenerator.breach.corpus}, derrière le filtre
+     * de Bloom désigné par {@code passwordgenerator.breach.filter} si celle-ci est définie.
+     * @return The mapped corpus, or {@code null} if none is configured or it cannot be opened (reported on standard error).
+     * @return Le corpus projeté, ou {@code null} si aucun n'est configuré ou s'il ne peut pas être ouvert (signalé sur la sortie d'erreur).
+     */
+    static BreachedPasswordCorpus fromSystemProperties() {
+        final String path = System.getProperty(CORPUS_PROPERTY);
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+        final String filterPath = System.getProperty(FILTER_PROPERTY);
+        try {
+            final BreachBloomFilter filter = (filterPath == null || filterPath.isEmpty()) ? null : BreachBloomFilter.open(filterPath);
+            return open(path, filter);
+        } catch (final IOException e) {
+            System.err.println(CORPUS_UNAVAILABLE_MESSAGE + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether the password appears in the corpus.
+     * Vérifie si le mot de passe figure dans le corpus.
+     * @param password The password to look up.
+     * @return {@code true} if its SHA-1 digest is in the corpus.
+     * @param password Le mot de passe à rechercher.
+     * @return {@code true} si son empreinte SHA-1 est dans le corpus.
+     */
+    boolean contains(final String password) {
+        final BreachLookupEvent event = FlightRecorderEvents.enabled() ? new BreachLookupEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        final byte[] digest = digests.get().digest(password.getBytes(PASSWORD_CHARSET));
+        final boolean found = containsDigest(digest);
+        if (event != null && event.shouldCommit()) {
+            event.found = found;
+            event.rejectedByFilter = filter != null && !found && !filter.mightContain(digest);
+            event.corpusSize = recordCount;
+            event.commit();
+        }
+        return found;
+    }
+
+    /**
+     * Checks whether the given SHA-1 digest is in the corpus.
+     * Vérifie si l'empreinte SHA-1 donnée est dans le corpus.
+     * @param digest A 20-byte SHA-1 digest.
+     * @return {@code true} if the digest is in the corpus.
+     * @param digest Une empreinte SHA-1 de 20 octets.
+     * @return {@code true} si l'empreinte est dans le corpus.
+     */
+    boolean containsDigest(final byte[] digest) {
+        if (filter != null && !filter.mightContain(digest)) {
+            return false; // Definitely absent: the corpus pages are never touched
+        }
+        final double target = toUnitInterval(prefixOf(digest));
+        long low = 0;
+        long high = recordCount - 1;
+        int probes = 0;
+        while (low <= high) {
+            final long middle;
+            if (probes++ < MAX_INTERPOLATION_PROBES) {
+                // Guess where the key should sit from the first 8 bytes of the bounds; compare() below keeps it exact
+                final double lowKey = toUnitInterval(recordPrefix(low));
+                final double highKey = toUnitInterval(recordPrefix(high));
+                final double fraction = (highKey > lowKey) ? (target - lowKey) / (highKey - lowKey) : 0.5;
+                middle = low + (long) ((high - low) * Math.max(0.0, Math.min(1.0, fraction)));
+            } else {
+                middle = (low + high) >>> 1;
+            }
+            final int comparison = compareRecord(middle, digest);
+            if (comparison == 0) {
+                return true;
+            } else if (comparison < 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of digests in the corpus.
+     * Retourne le nombre d'empreintes du corpus.
+     */
+    long size() {
+        return recordCount;
+    }
+
+    private int compareRecord(final long record, final byte[] digest) {
+        final MappedByteBuffer segment = segments[(int) (record / recordsPerSegment)];
+        final int offset = (int) (record % recordsPerSegment) * RECORD_SIZE;
+        for (int i = 0; i < RECORD_SIZE; i++) {
+            final int difference = (segment.get(offset + i) & 0xFF) - (digest[i] & 0xFF);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return 0;
+    }
+
+    private long recordPrefix(final long record) {
+        final MappedByteBuffer segment = segments[(int) (record / recordsPerSegment)];
+        return segment.getLong((int) (record % recordsPerSegment) * RECORD_SIZE); // Mapped buffers are big-endian
+    }
+
+    private static long prefixOf(final byte[] digest) {
+        long prefix = 0;
+        for (int i = 0; i < 8; i++) {
+            prefix = (prefix << 8) | (digest[i] & 0xFF);
+        }
+        return prefix;
+    }
+
+    // Maps an unsigned 64-bit prefix to [0, 1) while preserving its order
+    private static double toUnitInterval(final long unsignedPrefix) {
+        return (unsignedPrefix >>> 11) * 0x1.0p-53;
+    }
+}
@@ -0,0 +1,58 @@
+package passwordgenerator.core;
+
+import java.security.SecureRandom;
+
+/**
+ * Index source that pulls large blocks from {@link SecureRandom#nextBytes(byte[])} and serves bounded indices
+ * from them with Lemire's multiply-and-reject method, so the provider's synchronized engine is entered once
+ * per block instead of once per character.
+ * Source d'indices qui tire de grands blocs via {@link SecureRandom#nextBytes(byte[])} et en extrait des indices
+ * bornés par la méthode multiplication-rejet de Lemire : le moteur synchronisé du fournisseur n'est sollicité
+ * qu'une fois par bloc au lieu d'une fois par caractère.
+ */
+class BufferedRandomIndexSource implements RandomIndexSource {
+    private static final int BLOCK_SIZE = 4096; // Bytes fetched per nextBytes call
+
+    private final SecureRandom secureRandom;
+    private final byte[] block = new byte[BLOCK_SIZE];
+    private int position = BLOCK_SIZE; // Forces a refill on first use
+
+    BufferedRandomIndexSource(final SecureRandom secureRandom) {
+        this.secureRandom = secureRandom;
+    }
+
+    public synchronized int nextIndex(final int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive: " + bound);
+        }
+        // Map a 32-bit word to [0, bound) with one multiplication; reject the few low products
+        // that would make some indices more likely than others.
+        long product = (nextWord() & 0xFFFFFFFFL) * bound;
+        long low = product & 0xFFFFFFFFL;
+        if (low < bound) {
+            final long threshold = (0x100000000L - bound) % bound; // 2^32 mod bound
+            while (low < threshold) {
+                product = (nextWord() & 0xFFFFFFFFL) * bound;
+                low = product & 0xFFFFFFFFL;
+            }
+        }
+        return (int) (product >>> 32);
+    }
+
+    /**
+     * Returns the next 32 random bits from the block, refilling it when exhausted.
+     * Retourne les 32 bits aléatoires suivants du bloc, en le rechargeant lorsqu'il est épuisé.
+     */
+    protected int nextWord() {
+        if (position + 4 > BLOCK_SIZE) {
+            secureRandom.nextBytes(block);
+            position = 0;
+        }
+        final int word = (block[position] & 0xFF) << 24
+                | (block[position + 1] & 0xFF) << 16
+                | (block[position + 2] & 0xFF) << 8
+                | (block[position + 3] & 0xFF);
+        position += 4;
+        return word;
+    }
+}
@@ -0,0 +1,60 @@
+package passwordgenerator.core;
+
+/**
+ * Data class summarizing a bulk generation run: how many passwords were written and how long it took.
+ * Classe de données résumant une génération en masse : nombre de mots de passe écrits et durée totale.
+ */
+public final class BulkGenerationReport {
+    final long passwordCount;
+    final long elapsedNanos;
+
+    /**
+     * Constructs a new BulkGenerationReport.
+     * @param passwordCount The number of passwords written.
+     * @param elapsedNanos The wall-clock duration of the run in nanoseconds.
+     * Construit un nouveau BulkGenerationReport.
+     * @param passwordCount Le nombre de mots de passe écrits.
+     * @param elapsedNanos La durée réelle de la génération en nanosecondes.
+     */
+    public BulkGenerationReport(long passwordCount, long elapsedNanos) {
+        this.passwordCount = passwordCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of passwords written.
+     * Retourne le nombre de mots de passe écrits.
+     */
+    public long getPasswordCount() {
+        return passwordCount;
+    }
+
+    /**
+     * Returns the wall-clock duration of the run.
+     * Retourne la durée réelle de la génération.
+     * @return The duration in nanoseconds.
+     * @return La durée en nanosecondes.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the measured throughput.
+     * @return The number of passwords generated per second.
+     * Retourne le débit mesuré.
+     * @return Le nombre de mots de passe générés par seconde.
+     */
+    public double getPasswordsPerSecond() {
+        if (elapsedNanos <= 0) {
+            return 0.0;
+        }
+        return passwordCount * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return passwordCount + " passwords in " + String.format("%.3f", elapsedNanos / 1e9) + " s ("
+                + String.format("%.0f", getPasswordsPerSecond()) + " passwords/s)";
+    }
+}
@@ -0,0 +1,35 @@
+package passwordgenerator.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for the dictionary search of the pattern entropy model: how many characters were searched and
+ * how many dictionary words, forwards or backwards, were found in them, but not where or which. Disabled by default;
+ * see {@code core/passwordgenerator.jfc}.
+ * Événement Flight Recorder pour la recherche dans le dictionnaire du modèle d'entropie à motifs : combien de
+ * caractères ont été parcourus et combien de mots du dictionnaire, à l'endroit ou à l'envers, y ont été trouvés, mais
+ * ni où ni lesquels. Désactivé par défaut ; voir {@code core/passwordgenerator.jfc}.
+ */
+@Name("passwordgenerator.DictionaryLookup")
+@Label("Dictionary Lookup")
+@Category("Password Generator")
+@Description("Search of a password for dictionary words, including leetspeak spellings")
+@Enabled(false)
+@StackTrace(false)
+final class DictionaryLookupEvent extends Event {
+    @Label("Analyzed Length")
+    int analyzedLength;
+
+    @Label("Match Count")
+    int matchCount;
+
+    @Label("Dictionary Size")
+    @Description("Number of words in the dictionary")
+    int dictionarySize;
+}
@@ -0,0 +1,19 @@
+package passwordgenerator.core;
+
+import java.security.SecureRandom;
+
+/**
+ * Index source calling {@link SecureRandom#nextInt(int)} for every index.
+ * Source d'indices appelant {@link SecureRandom#nextInt(int)} pour chaque indice.
+ */
+final class DirectRandomIndexSource implements RandomIndexSource {
+    private final SecureRandom secureRandom;
+
+    DirectRandomIndexSource(final SecureRandom secureRandom) {
+        this.secureRandom = secureRandom;
+    }
+
+    public int nextIndex(final int bound) {
+        return secureRandom.nextInt(bound);
+    }
+}
@@ -0,0 +1,10 @@
+package passwordgenerator.core;
+
+/**
+ * Selects how {@link PasswordService} estimates the entropy reported with each evaluation.
+ * Sélectionne la façon dont {@link PasswordService} estime l'entropie rapportée avec chaque évaluation.
+ */
+public enum EntropyModel {
+    CHARSET_SIZE,     // length * log2(size of the character classes present) (original behaviour)
+    PATTERN_MATCHING  // log2 of the guesses needed by an attacker who knows common patterns, see PatternEntropyEstimator
+}
@@ -0,0 +1,36 @@
+package passwordgenerator.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one password strength evaluation: the length, the outcome and the kinds of weakness
+ * found, never the password. Disabled by default; see {@code core/passwordgenerator.jfc}.
+ * Événement Flight Recorder pour une évaluation de la force d'un mot de passe : la longueur, le résultat et les types
+ * de faiblesse trouvés, jamais le mot de passe. Désactivé par défaut ; voir {@code core/passwordgenerator.jfc}.
+ */
+@Name("passwordgenerator.Evaluation")
+@Label("Password Evaluation")
+@Category("Password Generator")
+@Description("Strength evaluation of one password")
+@Enabled(false)
+@StackTrace(false)
+final class EvaluationEvent extends Event {
+    @Label("Password Length")
+    int length;
+
+    @Label("Entropy Model")
+    String entropyModel;
+
+    @Label("Strength Level")
+    String strengthLevel;
+
+    @Label("Weaknesses")
+    @Description("Penalized pattern types found, e.g. sequence, weak-word; - for none")
+    String weaknesses;
+}
@@ -0,0 +1,32 @@
+package passwordgenerator.core;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Tells whether the Flight Recorder events of this package are worth creating. Creating the first one loads the
+ * event machinery of the JDK, about a hundred classes and several hundred milliseconds, even when no recording runs;
+ * this check only loads {@link FlightRecorder}, and lets a run without any recording skip the events altogether.
+ * Indique s'il vaut la peine de créer les événements Flight Recorder de ce paquetage. La création du premier charge
+ * la mécanique d'événements du JDK, une centaine de classes et plusieurs centaines de millisecondes, même sans
+ * enregistrement en cours ; cette vérification ne charge que {@link FlightRecorder}, et permet à une exécution sans
+ * enregistrement de se passer entièrement des événements.
+ *
+ * <p>Flight Recorder is initialized by the first recording, whether started with
+ * {@code -XX:StartFlightRecording}, with {@code jcmd <pid> JFR.start} or through the API, and stays so: events are
+ * created from then on, and their own settings decide whether they are committed.</p>
+ */
+final class FlightRecorderEvents {
+
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * Checks whether events should be created, i.e. whether a recording has been started in this JVM.
+     * Vérifie si les événements doivent être créés, c'est-à-dire si un enregistrement a été démarré dans cette JVM.
+     * @return {@code true} once Flight Recorder is initialized.
+     * @return {@code true} dès que Flight Recorder est initialisé.
+     */
+    static boolean enabled() {
+        return FlightRecorder.isInitialized();
+    }
+}
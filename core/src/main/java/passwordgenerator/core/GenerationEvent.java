@@ -0,0 +1,53 @@
+package passwordgenerator.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one password generation, or one batch of them in bulk generation: the policy's shape and
+ * the number of random draws, never the characters drawn. Disabled by default; see {@code core/passwordgenerator.jfc}.
+ * Événement Flight Recorder pour une génération de mot de passe, ou un lot en génération en masse : la forme de la
+ * politique et le nombre de tirages aléatoires, jamais les caractères tirés. Désactivé par défaut ; voir
+ * {@code core/passwordgenerator.jfc}.
+ */
+@Name("passwordgenerator.Generation")
+@Label("Password Generation")
+@Category("Password Generator")
+@Description("Generation of one password, or of a batch of passwords with the same policy")
+@Enabled(false)
+@StackTrace(false)
+final class GenerationEvent extends Event {
+    @Label("Password Length")
+    int length;
+
+    @Label("Pool Size")
+    @Description("Number of distinct characters the policy draws from")
+    int poolSize;
+
+    @Label("Character Classes")
+    int classCount;
+
+    @Label("Password Count")
+    long passwordCount;
+
+    @Label("Random Draws")
+    @Description("Calls to the random index source: one per character, plus one per swap of the shuffle")
+    long randomDraws;
+
+    /**
+     * Fills the fields from the policy, for {@code passwordCount} passwords.
+     * Remplit les champs à partir de la politique, pour {@code passwordCount} mots de passe.
+     */
+    void describe(final GenerationPolicy policy, final long passwordCount) {
+        this.length = policy.length;
+        this.poolSize = policy.pool.length;
+        this.classCount = policy.classSizes.length;
+        this.passwordCount = passwordCount;
+        this.randomDraws = passwordCount * (2L * policy.length - 1);
+    }
+}
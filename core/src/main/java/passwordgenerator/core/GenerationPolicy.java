@@ -0,0 +1,79 @@
+package passwordgenerator.core;
+
+import java.util.Arrays;
+
+/**
+ * Immutable, precompiled password generation policy.
+ * Holds the filtered character pool of every selected class, concatenated into one array, together with
+ * the offset and size of each class inside it. Two policies that generate from the same pools with the same
+ * length are equal, which makes a policy usable as a key for caches and metrics.
+ * Politique de génération de mots de passe immuable et précompilée.
+ * Contient le pool filtré de chaque classe sélectionnée, concaténé dans un seul tableau, ainsi que la position
+ * et la taille de chaque classe dans ce tableau. Deux politiques générant à partir des mêmes pools avec la même
+ * longueur sont égales, ce qui permet d'utiliser une politique comme clé de cache ou de métriques.
+ */
+public final class GenerationPolicy {
+    final int length;
+    final char[] pool;
+    final int[] classOffsets;
+    final int[] classSizes;
+    private final int hash; // Computed once: PasswordMetrics looks the policy up on every generation
+
+    /**
+     * Constructs a new GenerationPolicy. Use {@link PasswordService#compilePolicy} to create instances.
+     * @param length The effective password length.
+     * @param pool The concatenated, filtered character pools.
+     * @param classOffsets The start index of each character class in {@code pool}.
+     * @param classSizes The number of characters of each class in {@code pool}.
+     * Construit une nouvelle GenerationPolicy. Utiliser {@link PasswordService#compilePolicy} pour créer des instances.
+     * @param length La longueur effective du mot de passe.
+     * @param pool Les pools de caractères filtrés et concaténés.
+     * @param classOffsets L'indice de début de chaque classe de caractères dans {@code pool}.
+     * @param classSizes Le nombre de caractères de chaque classe dans {@code pool}.
+     */
+    GenerationPolicy(int length, char[] pool, int[] classOffsets, int[] classSizes) {
+        this.length = length;
+        this.pool = pool;
+        this.classOffsets = classOffsets;
+        this.classSizes = classSizes;
+        this.hash = 31 * (31 * length + Arrays.hashCode(pool)) + Arrays.hashCode(classSizes);
+    }
+
+    /**
+     * Returns the length of the passwords generated with this policy.
+     * @return The effective password length, at least the number of character classes.
+     * Retourne la longueur des mots de passe générés avec cette politique.
+     * @return La longueur effective du mot de passe, au moins le nombre de classes de caractères.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof GenerationPolicy)) {
+            return false;
+        }
+        final GenerationPolicy that = (GenerationPolicy) other;
+        return length == that.length
+                && Arrays.equals(pool, that.pool)
+                && Arrays.equals(classSizes, that.classSizes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Describes the policy without revealing anything about generated passwords.
+     * Décrit la politique sans rien révéler des mots de passe générés.
+     */
+    @Override
+    public String toString() {
+        return "length=" + length + ", pool=" + pool.length + ", classes=" + Arrays.toString(classSizes);
+    }
+}
@@ -0,0 +1,468 @@
+package passwordgenerator.core;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Keeps a password's strength evaluation up to date while it is being edited, for example from the
+ * {@code DocumentEvent}s of a text field. Each insertion or removal updates running state (character type counts,
+ * per-character counts, runs of three identical characters, keyboard walks, penalized pattern occurrences) in time
+ * proportional to the edit, instead of re-reading the whole password. {@link #evaluate()} then gives the same result
+ * as {@link PasswordService#evaluatePasswordStrength(String)} on the current text.
+ * Tient à jour l'évaluation de la force d'un mot de passe pendant sa saisie, par exemple à partir des
+ * {@code DocumentEvent} d'un champ de texte. Chaque insertion ou suppression met à jour un état courant (nombre de
+ * caractères par type, nombre d'occurrences de chaque caractère, suites de trois caractères identiques, parcours de
+ * clavier, occurrences de motifs pénalisés) en un temps proportionnel à la modification, au lieu de relire tout le
+ * mot de passe. {@link #evaluate()} donne ensuite le même résultat que
+ * {@link PasswordService#evaluatePasswordStrength(String)} sur le texte courant.
+ *
+ * <p>The text is held in a gap buffer, so consecutive edits at the same place cost nothing more than the edit.
+ * {@link #evaluate()} is not O(edit) in every case, though. The entropy estimate is cached, but the pattern model
+ * re-reads the first 64 characters, with its quadratic decomposition, after an edit among them or a change in the
+ * character types present. When a breach corpus is configured, the first evaluation after each edit copies and
+ * hashes the whole text. Likewise, the penalty patterns are looked for in the whole text, once per edit, when it is
+ * not plain ASCII or the default locale lowercases 'I' differently, since {@link String#toLowerCase()} then has to
+ * see it whole. Not thread-safe: use it from a single thread, such as the Swing event dispatch thread.</p>
+ */
+public final class IncrementalPasswordEvaluator {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int ASCII_SIZE = 128;
+
+    private final PasswordService passwordService;
+
+    // --- Texte courant (tampon à trou) / Current text (gap buffer) ---
+    private char[] buffer = new char[INITIAL_CAPACITY];
+    private int gapStart;                  // Index of the first free slot
+    private int gapEnd = INITIAL_CAPACITY; // Index of the first character after the gap
+    private final CharSequence text = new CharSequence() {
+        @Override
+        public int length() {
+            return buffer.length - (gapEnd - gapStart);
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return buffer[(index < gapStart) ? index : index + gapEnd - gapStart];
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            final char[] chars = new char[length()];
+            System.arraycopy(buffer, 0, chars, 0, gapStart);
+            System.arraycopy(buffer, gapEnd, chars, gapStart, buffer.length - gapEnd);
+            final String result = new String(chars);
+            Arrays.fill(chars, '\0');
+            return result;
+        }
+    };
+
+    // --- État courant / Running state ---
+    private final int[] classCounts = new int[4];                   // Indexed by PasswordService.*_CLASS
+    private final int[] asciiCounts = new int[ASCII_SIZE];           // Per-character counts, dense for ASCII...
+    private final Map<Character, Integer> otherCounts = new HashMap<Character, Integer>(); // ...and sparse beyond
+    private int[] countHistogram = new int[INITIAL_CAPACITY + 1];   // Fenwick tree: how many distinct chars occur v times
+    private long[] weightedHistogram = new long[INITIAL_CAPACITY + 1]; // Fenwick tree: same, weighted by v
+    private int tripleRepeats;                                      // Positions i where chars i, i+1 and i+2 are equal
+    private int keyboardWalks;                                      // Positions i where chars i to i+3 are a keyboard walk
+    private final int[] patternOccurrences = new int[2];            // Per PenaltyPatternMatcher category
+    private PenaltyPatternMatcher matcher;                          // The automaton patternOccurrences were counted with
+    private final int[] windowCounts = new int[2];                  // Scratch for updateWindow
+
+    // --- Résultats en cache / Cached results ---
+    private final CharSequence entropyPrefix = new CharSequence() { // The characters the entropy model analyzes
+        @Override
+        public int length() {
+            return Math.min(text.length(), entropyAnalyzedLength);
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return text.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return text.subSequence(start, end);
+        }
+    };
+    private boolean entropyPrefixEdited = true;    // An edit touched the analyzed prefix since prefixEntropy
+    private EntropyModel entropyModel;             // The model and charset size prefixEntropy was estimated with
+    private int entropyCharsetSize;
+    private int entropyAnalyzedLength;
+    private double prefixEntropy;
+    private int editCount;                         // Edits so far, so that the results below know if they are current
+    private int breachEditCount = -1;              // editCount when breached was looked up
+    private BreachedPasswordCorpus breachCorpus;   // The corpus breached was looked up in
+    private boolean breached;
+    private int lowerCaseEditCount = -1;           // editCount when lowerCaseCategories was matched
+    private Locale lowerCaseLocale;                // The locale and automaton lowerCaseCategories was matched with
+    private PenaltyPatternMatcher lowerCaseMatcher;
+    private int lowerCaseCategories;
+
+    /**
+     * Constructs an evaluator for an empty password.
+     * Construit un évaluateur pour un mot de passe vide.
+     * @param passwordService The service whose rules and settings are applied.
+     * @param passwordService Le service dont les règles et les réglages sont appliqués.
+     */
+    public IncrementalPasswordEvaluator(final PasswordService passwordService) {
+        this.passwordService = passwordService;
+        this.matcher = passwordService.getPenaltyMatcher();
+    }
+
+    /**
+     * Records the insertion of text at the given offset.
+     * Enregistre l'insertion d'un texte à la position donnée.
+     * @param offset The position of the first inserted character.
+     * @param inserted The inserted characters.
+     * @param offset La position du premier caractère inséré.
+     * @param inserted Les caractères insérés.
+     */
+    public void insert(final int offset, final CharSequence inserted) {
+        final int count = inserted.length();
+        if (count == 0) {
+            return;
+        }
+        recordEdit(offset);
+        // Forget whatever straddled the insertion point; it is rescanned once the new text is in place
+        final int windowStart = Math.max(0, offset - (matcher.getMaxPatternLength() - 1));
+        updateWindow(windowStart, Math.min(text.length(), offset + matcher.getMaxPatternLength() - 1), offset, offset - 1, -1);
+
+        moveGap(offset, count);
+        for (int i = 0; i < count; i++) {
+            final char c = inserted.charAt(i);
+            buffer[gapStart++] = c;
+            addCharacter(c, 1);
+        }
+
+        updateWindow(windowStart, Math.min(text.length(), offset + count + matcher.getMaxPatternLength() - 1), offset, offset + count - 1, 1);
+    }
+
+    /**
+     * Records the removal of characters at the given offset.
+     * Enregistre la suppression de caractères à la position donnée.
+     * @param offset The position of the first removed character.
+     * @param count The number of removed characters.
+     * @param offset La position du premier caractère supprimé.
+     * @param count Le nombre de caractères supprimés.
+     */
+    public void remove(final int offset, final int count) {
+        if (count == 0) {
+            return;
+        }
+        recordEdit(offset);
+        final int windowStart = Math.max(0, offset - (matcher.getMaxPatternLength() - 1));
+        updateWindow(windowStart, Math.min(text.length(), offset + count + matcher.getMaxPatternLength() - 1), offset, offset + count - 1, -1);
+
+        moveGap(offset, 0);
+        for (int i = 0; i < count; i++) {
+            addCharacter(buffer[gapEnd], -1);
+            buffer[gapEnd++] = '\0'; // Do not leave removed password characters behind
+        }
+
+        updateWindow(windowStart, Math.min(text.length(), offset + matcher.getMaxPatternLength() - 1), offset, offset - 1, 1);
+    }
+
+    /**
+     * Replaces the whole text, e.g. when the field is reset.
+     * Remplace tout le texte, par exemple lorsque le champ est réinitialisé.
+     * @param newText The new password.
+     * @param newText Le nouveau mot de passe.
+     */
+    public void reset(final CharSequence newText) {
+        clear();
+        insert(0, newText);
+    }
+
+    /**
+     * Forgets the text and wipes it from memory.
+     * Oublie le texte et l'efface de la mémoire.
+     */
+    public void clear() {
+        Arrays.fill(buffer, '\0');
+        gapStart = 0;
+        gapEnd = buffer.length;
+        Arrays.fill(classCounts, 0);
+        Arrays.fill(asciiCounts, 0);
+        otherCounts.clear();
+        Arrays.fill(countHistogram, 0);
+        Arrays.fill(weightedHistogram, 0);
+        tripleRepeats = 0;
+        keyboardWalks = 0;
+        Arrays.fill(patternOccurrences, 0);
+        matcher = passwordService.getPenaltyMatcher();
+        entropyPrefixEdited = true;
+        editCount++;
+    }
+
+    /**
+     * Evaluates the current text.
+     * Évalue le texte courant.
+     * @return The same result as {@link PasswordService#evaluatePasswordStrength(String)} would give.
+     * @return Le même résultat que donnerait {@link PasswordService#evaluatePasswordStrength(String)}.
+     */
+    public PasswordEvaluationResult evaluate() {
+        final int length = text.length();
+        if (length == 0) {
+            return new PasswordEvaluationResult(PasswordStrengthLevel.EMPTY, 0.0);
+        }
+        if (matcher != passwordService.getPenaltyMatcher()) {
+            // The dictionaries were extended since the occurrences were counted: count them again, once
+            matcher = passwordService.getPenaltyMatcher();
+            Arrays.fill(patternOccurrences, 0);
+            matcher.countOccurrences(text, 0, length, patternOccurrences);
+        }
+
+        final boolean hasLowerCase = classCounts[PasswordService.LOWERCASE_CLASS] > 0;
+        final boolean hasUpperCase = classCounts[PasswordService.UPPERCASE_CLASS] > 0;
+        final boolean hasDigit = classCounts[PasswordService.DIGIT_CLASS] > 0;
+        final boolean hasSymbol = classCounts[PasswordService.SYMBOL_CLASS] > 0;
+        final double entropy = estimateEntropy(PasswordService.charsetSize(hasLowerCase, hasUpperCase, hasDigit, hasSymbol));
+
+        int weaknesses = 0;
+        final Locale locale = Locale.getDefault();
+        if (otherCounts.isEmpty() && PenaltyPatternMatcher.foldsAsciiPerCharacter(locale)) {
+            if (patternOccurrences[0] > 0) {
+                weaknesses |= PasswordEvaluationResult.SEQUENCE;
+            }
+            if (patternOccurrences[1] > 0) {
+                weaknesses |= PasswordEvaluationResult.WEAK_WORD;
+            }
+        } else {
+            weaknesses |= matchLowerCase(locale);
+        }
+        if (tripleRepeats > 0) {
+            weaknesses |= PasswordEvaluationResult.TRIPLE_REPEAT;
+        }
+        if (keyboardWalks > 0) {
+            weaknesses |= PasswordEvaluationResult.KEYBOARD_WALK;
+        }
+        final int excessRepetitions = excessRepetitions(length);
+        if (excessRepetitions > 0) {
+            weaknesses |= PasswordEvaluationResult.REPETITION;
+        }
+        if (isBreached()) {
+            weaknesses |= PasswordEvaluationResult.BREACHED;
+        }
+        return passwordService.rateStrength(length, hasLowerCase, hasUpperCase, hasDigit, hasSymbol, entropy, weaknesses, excessRepetitions);
+    }
+
+    /**
+     * Returns the length of the current text.
+     * Retourne la longueur du texte courant.
+     */
+    public int length() {
+        return text.length();
+    }
+
+    // An edit at offset shifts or changes every character from there on
+    private void recordEdit(final int offset) {
+        editCount++;
+        if (offset < entropyAnalyzedLength) {
+            entropyPrefixEdited = true;
+        }
+    }
+
+    // Same value as PasswordService.estimateEntropy on the whole text: the prefix estimate, re-estimated only when
+    // stale, plus the same per-character rate for the rest
+    private double estimateEntropy(final int charsetSize) {
+        final EntropyModel model = passwordService.getEntropyModel();
+        if (entropyPrefixEdited || model != entropyModel || charsetSize != entropyCharsetSize) {
+            entropyModel = model;
+            entropyCharsetSize = charsetSize;
+            entropyAnalyzedLength = PasswordService.analyzedEntropyLength(model);
+            prefixEntropy = PasswordService.estimateEntropy(model, entropyPrefix, charsetSize);
+            entropyPrefixEdited = false;
+        }
+        final int unanalyzed = text.length() - entropyPrefix.length();
+        return prefixEntropy + unanalyzed * PasswordService.unanalyzedCharacterEntropy(model, charsetSize);
+    }
+
+    private boolean isBreached() {
+        final BreachedPasswordCorpus corpus = passwordService.getBreachCorpus();
+        if (corpus == null) {
+            return false;
+        }
+        if (breachEditCount != editCount || corpus != breachCorpus) {
+            breachCorpus = corpus;
+            breached = corpus.contains(text.toString());
+            breachEditCount = editCount;
+        }
+        return breached;
+    }
+
+    // The running pattern counts lowercase one character at a time, which String.toLowerCase does not do for
+    // non-ASCII text or in some locales: match the whole text then, as PasswordService does, once per edit
+    private int matchLowerCase(final Locale locale) {
+        if (lowerCaseEditCount != editCount || !locale.equals(lowerCaseLocale) || matcher != lowerCaseMatcher) {
+            final String password = text.toString();
+            int categories = matcher.matchLowerCase(password.toLowerCase(locale));
+            if ((categories & PasswordEvaluationResult.WEAK_WORD) == 0 && matcher.containsSubstitutedWeakWord(password)) {
+                categories |= PasswordEvaluationResult.WEAK_WORD;
+            }
+            lowerCaseCategories = categories;
+            lowerCaseEditCount = editCount;
+            lowerCaseLocale = locale;
+            lowerCaseMatcher = matcher;
+        }
+        return lowerCaseCategories;
+    }
+
+    // Adds (sign 1) or removes (sign -1) the triple repeats and keyboard walks that include a character of
+    // [firstChanged, lastChanged] or, when that range is empty, straddle firstChanged, and the pattern occurrences
+    // lying in [windowStart, windowEnd), as seen in the current text
+    private void updateWindow(final int windowStart, final int windowEnd, final int firstChanged, final int lastChanged, final int sign) {
+        final int length = text.length();
+        for (int i = Math.max(0, firstChanged - 2); i <= lastChanged && i + 2 < length; i++) {
+            if (text.charAt(i) == text.charAt(i + 1) && text.charAt(i + 1) == text.charAt(i + 2)) {
+                tripleRepeats += sign;
+            }
+        }
+        for (int i = Math.max(0, firstChanged - 3); i <= lastChanged && i + 3 < length; i++) {
+            if ((KeyboardLayout.adjacentLayouts(text.charAt(i), text.charAt(i + 1))
+                    & KeyboardLayout.adjacentLayouts(text.charAt(i + 1), text.charAt(i + 2))
+                    & KeyboardLayout.adjacentLayouts(text.charAt(i + 2), text.charAt(i + 3))) != 0
+                    && text.charAt(i + 2) != text.charAt(i) && text.charAt(i + 3) != text.charAt(i + 1)) {
+                keyboardWalks += sign;
+            }
+        }
+        windowCounts[0] = 0;
+        windowCounts[1] = 0;
+        matcher.countOccurrences(text, windowStart, windowEnd, windowCounts);
+        patternOccurrences[0] += sign * windowCounts[0];
+        patternOccurrences[1] += sign * windowCounts[1];
+    }
+
+    private void addCharacter(final char c, final int delta) {
+        final int characterClass = PasswordService.characterClass(c);
+        if (characterClass >= 0) {
+            classCounts[characterClass] += delta;
+        }
+        final int before = charCount(c);
+        final int after = before + delta;
+        if (after >= countHistogram.length) {
+            growHistograms();
+        }
+        if (before > 0) {
+            addToHistograms(before, -1);
+        }
+        if (after > 0) {
+            addToHistograms(after, 1);
+        }
+        setCharCount(c, after);
+    }
+
+    private int charCount(final char c) {
+        if (c < ASCII_SIZE) {
+            return asciiCounts[c];
+        }
+        final Integer count = otherCounts.get(c);
+        return (count == null) ? 0 : count;
+    }
+
+    private void setCharCount(final char c, final int count) {
+        if (c < ASCII_SIZE) {
+            asciiCounts[c] = count;
+        } else if (count == 0) {
+            otherCounts.remove(c);
+        } else {
+            otherCounts.put(c, count);
+        }
+    }
+
+    /**
+     * For each character occurring more than length / 3 times, sums the occurrences beyond that, as
+     * {@link PasswordService} does for passwords over 5 characters. With the count histograms this is two prefix sums.
+     * Pour chaque caractère présent plus de longueur / 3 fois, additionne les occurrences au-delà, comme le fait
+     * {@link PasswordService} pour les mots de passe de plus de 5 caractères. Avec les histogrammes de comptes,
+     * cela revient à deux sommes préfixes.
+     */
+    private int excessRepetitions(final int length) {
+        if (length <= 5) {
+            return 0;
+        }
+        final int threshold = length / 3;
+        final int topCount = countHistogram.length - 1;
+        if (threshold >= topCount) {
+            return 0; // No count goes past the histograms' range
+        }
+        final long charsAbove = prefixSum(topCount) - prefixSum(threshold);
+        final long occurrencesAbove = weightedPrefixSum(topCount) - weightedPrefixSum(threshold);
+        return (int) (occurrencesAbove - charsAbove * threshold);
+    }
+
+    // --- Arbres de Fenwick indexés par nombre d'occurrences / Fenwick trees indexed by occurrence count ---
+
+    private void addToHistograms(final int count, final int delta) {
+        for (int i = count; i < countHistogram.length; i += i & -i) {
+            countHistogram[i] += delta;
+            weightedHistogram[i] += (long) delta * count;
+        }
+    }
+
+    private long prefixSum(final int count) {
+        long sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += countHistogram[i];
+        }
+        return sum;
+    }
+
+    private long weightedPrefixSum(final int count) {
+        long sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += weightedHistogram[i];
+        }
+        return sum;
+    }
+
+    // Doubles the histograms' range; rebuilding costs one pass over the character counts, amortized over the growth
+    private void growHistograms() {
+        countHistogram = new int[2 * (countHistogram.length - 1) + 1];
+        weightedHistogram = new long[countHistogram.length];
+        for (final int count : asciiCounts) {
+            if (count > 0) {
+                addToHistograms(count, 1);
+            }
+        }
+        for (final int count : otherCounts.values()) {
+            addToHistograms(count, 1);
+        }
+    }
+
+    // --- Tampon à trou / Gap buffer ---
+
+    // Moves the gap to the given position and makes it at least the given size
+    private void moveGap(final int position, final int minimumGap) {
+        if (gapEnd - gapStart < minimumGap) {
+            final int length = text.length();
+            final char[] larger = new char[Math.max(2 * buffer.length, length + minimumGap + INITIAL_CAPACITY)];
+            System.arraycopy(buffer, 0, larger, 0, gapStart);
+            final int tail = buffer.length - gapEnd;
+            System.arraycopy(buffer, gapEnd, larger, larger.length - tail, tail);
+            Arrays.fill(buffer, '\0');
+            gapEnd = larger.length - tail;
+            buffer = larger;
+        }
+        if (position < gapStart) {
+            final int moved = gapStart - position;
+            System.arraycopy(buffer, position, buffer, gapEnd - moved, moved);
+            Arrays.fill(buffer, position, Math.min(gapStart, gapEnd - moved), '\0');
+            gapStart = position;
+            gapEnd -= moved;
+        } else if (position > gapStart) {
+            final int moved = position - gapStart;
+            System.arraycopy(buffer, gapEnd, buffer, gapStart, moved);
+            Arrays.fill(buffer, Math.max(gapEnd, gapStart + moved), gapEnd + moved, '\0');
+            gapStart += moved;
+            gapEnd += moved;
+        }
+    }
+}
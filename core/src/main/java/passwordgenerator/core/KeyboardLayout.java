@@ -0,0 +1,180 @@
+package passwordgenerator.core;
+
+import java.util.Arrays;
+
+/**
+ * Geometry of a keyboard layout, used to recognize keyboard walks such as "qwerty", "zxcvbn" or "7896321".
+ * Keys are placed on rows with a horizontal position in half-key units, which models both staggered keyboards
+ * (rows shifted by half a key) and aligned keypads. Two keys are adjacent when they touch: next to each other on
+ * the same row, or overlapping on the row above or below.
+ * Géométrie d'une disposition de clavier, utilisée pour reconnaître les parcours de clavier comme « qwerty »,
+ * « zxcvbn » ou « 7896321 ». Les touches sont placées sur des rangées avec une position horizontale en demi-touches,
+ * ce qui modélise à la fois les claviers décalés (rangées décalées d'une demi-touche) et les pavés alignés.
+ * Deux touches sont adjacentes lorsqu'elles se touchent : côte à côte sur la même rangée, ou se chevauchant
+ * sur la rangée du dessus ou du dessous.
+ *
+ * <p>Only Latin-1 characters are mapped, which covers the QWERTY, AZERTY and keypad layouts. Adjacency is
+ * precomputed into a bit matrix, so checking a pair of keys is one array access. Instances are immutable and
+ * thread-safe.</p>
+ */
+final class KeyboardLayout {
+    private static final int CHAR_LIMIT = 256; // Latin-1
+    private static final int KEY_WIDTH = 2;    // In half-key units
+    private static final char NO_KEY = '\0';   // In a row of shifted characters, a key with no shifted character
+
+    static final KeyboardLayout QWERTY = new KeyboardLayout(
+            new String[] {"`1234567890-=", "qwertyuiop[]\\", "asdfghjkl;'", "zxcvbnm,./"},
+            new String[] {"~!@#$%^&*()_+", "QWERTYUIOP{}|", "ASDFGHJKL:\"", "ZXCVBNM<>?"},
+            new int[] {0, 3, 4, 5});
+    static final KeyboardLayout AZERTY = new KeyboardLayout(
+            new String[] {"\u00b2&\u00e9\"'(-\u00e8_\u00e7\u00e0)=", "azertyuiop^$", "qsdfghjklm\u00f9*", "<wxcvbn,;:!"},
+            new String[] {NO_KEY + "1234567890\u00b0+", "AZERTYUIOP\u00a8\u00a3", "QSDFGHJKLM%\u00b5", ">WXCVBN?./\u00a7"},
+            new int[] {0, 3, 4, 3});
+    static final KeyboardLayout KEYPAD = new KeyboardLayout(
+            new String[] {"/*-", "789", "456", "123", "0."},
+            null,
+            new int[] {0, 0, 0, 0, 0});
+    static final KeyboardLayout[] LAYOUTS = {QWERTY, AZERTY, KEYPAD};
+
+    private final int[] rows = new int[CHAR_LIMIT];      // -1 for characters not on the layout
+    private final int[] positions = new int[CHAR_LIMIT]; // Horizontal position, in half-key units
+    private final boolean[] shifted = new boolean[CHAR_LIMIT];
+    private final long[] adjacency = new long[CHAR_LIMIT * CHAR_LIMIT / Long.SIZE]; // Bit a * CHAR_LIMIT + b
+    private final int keyCount;
+    private final double averageDegree;
+
+    /**
+     * Builds a layout from its rows of keys.
+     * Construit une disposition à partir de ses rangées de touches.
+     * @param unshiftedRows The characters typed without Shift, one string per row, from top to bottom.
+     * @param shiftedRows The characters typed with Shift on the same keys ({@code '\0'} for none), or {@code null} if there are none.
+     * @param rowOffsets The horizontal position of the first key of each row, in half-key units.
+     * @param unshiftedRows Les caractères tapés sans Maj, une chaîne par rangée, de haut en bas.
+     * @param shiftedRows Les caractères tapés avec Maj sur les mêmes touches ({@code '\0'} pour aucun), ou {@code null} s'il n'y en a pas.
+     * @param rowOffsets La position horizontale de la première touche de chaque rangée, en demi-touches.
+     */
+    KeyboardLayout(final String[] unshiftedRows, final String[] shiftedRows, final int[] rowOffsets) {
+        Arrays.fill(rows, -1);
+        int keys = 0;
+        for (int row = 0; row < unshiftedRows.length; row++) {
+            for (int column = 0; column < unshiftedRows[row].length(); column++) {
+                final int position = rowOffsets[row] + column * KEY_WIDTH;
+                place(unshiftedRows[row].charAt(column), row, position, false);
+                if (shiftedRows != null && shiftedRows[row].charAt(column) != NO_KEY) {
+                    place(shiftedRows[row].charAt(column), row, position, true);
+                }
+                keys++;
+            }
+        }
+        keyCount = keys;
+
+        int adjacentPairs = 0;
+        for (int a = 0; a < CHAR_LIMIT; a++) {
+            for (int b = 0; b < CHAR_LIMIT; b++) {
+                if (touch(a, b)) {
+                    final int bit = a * CHAR_LIMIT + b;
+                    adjacency[bit >>> 6] |= 1L << bit;
+                    if (!shifted[a] && !shifted[b]) {
+                        adjacentPairs++;
+                    }
+                }
+            }
+        }
+        averageDegree = (double) adjacentPairs / keyCount;
+    }
+
+    private void place(final char c, final int row, final int position, final boolean isShifted) {
+        rows[c] = row;
+        positions[c] = position;
+        shifted[c] = isShifted;
+    }
+
+    /**
+     * Checks whether the two characters are typed on distinct keys that touch each other.
+     * Vérifie si les deux caractères sont tapés sur des touches distinctes qui se touchent.
+     * @param a The first character.
+     * @param b The second character.
+     * @return {@code true} if both keys are adjacent on this layout.
+     * @param a Le premier caractère.
+     * @param b Le second caractère.
+     * @return {@code true} si les deux touches sont adjacentes sur cette disposition.
+     */
+    boolean areAdjacent(final char a, final char b) {
+        if (a >= CHAR_LIMIT || b >= CHAR_LIMIT) {
+            return false;
+        }
+        final int bit = a * CHAR_LIMIT + b;
+        return (adjacency[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Tells on which of the {@link #LAYOUTS} the two characters are typed on adjacent keys.
+     * Indique sur lesquelles des {@link #LAYOUTS} les deux caractères sont tapés sur des touches adjacentes.
+     * @param a The first character.
+     * @param b The second character.
+     * @return A bit mask with bit i set when they are adjacent on {@code LAYOUTS[i]}; 0 if on none.
+     * @param a Le premier caractère.
+     * @param b Le second caractère.
+     * @return Un masque de bits dont le bit i est positionné s'ils sont adjacents sur {@code LAYOUTS[i]} ; 0 sinon.
+     */
+    static int adjacentLayouts(final char a, final char b) {
+        int layouts = 0;
+        for (int i = 0; i < LAYOUTS.length; i++) {
+            if (LAYOUTS[i].areAdjacent(a, b)) {
+                layouts |= 1 << i;
+            }
+        }
+        return layouts;
+    }
+
+    // Whether both characters are on the layout, on distinct keys that touch
+    private boolean touch(final int a, final int b) {
+        if (rows[a] < 0 || rows[b] < 0) {
+            return false;
+        }
+        final int rowDistance = Math.abs(rows[a] - rows[b]);
+        final int positionDistance = Math.abs(positions[a] - positions[b]);
+        if (rowDistance == 0) {
+            return positionDistance == KEY_WIDTH;
+        }
+        return rowDistance == 1 && positionDistance <= KEY_WIDTH;
+    }
+
+    /**
+     * Returns a code identifying the direction of the move from one adjacent key to the other.
+     * Retourne un code identifiant la direction du déplacement d'une touche adjacente à l'autre.
+     * @param from The key moved from.
+     * @param to The key moved to; must be adjacent to {@code from}.
+     * @return Equal codes for moves in the same direction.
+     * @param from La touche de départ.
+     * @param to La touche d'arrivée ; doit être adjacente à {@code from}.
+     * @return Des codes égaux pour les déplacements dans la même direction.
+     */
+    int direction(final char from, final char to) {
+        return (rows[to] - rows[from] + 1) * (2 * KEY_WIDTH + 1) + (positions[to] - positions[from] + KEY_WIDTH);
+    }
+
+    /**
+     * Checks whether the character is typed with Shift on this layout.
+     * Vérifie si le caractère est tapé avec Maj sur cette disposition.
+     */
+    boolean isShifted(final char c) {
+        return c < CHAR_LIMIT && shifted[c];
+    }
+
+    /**
+     * Returns the number of keys, i.e. the possible starting points of a walk.
+     * Retourne le nombre de touches, c'est-à-dire les points de départ possibles d'un parcours.
+     */
+    int getKeyCount() {
+        return keyCount;
+    }
+
+    /**
+     * Returns the average number of neighbours of a key.
+     * Retourne le nombre moyen de voisines d'une touche.
+     */
+    double getAverageDegree() {
+        return averageDegree;
+    }
+}
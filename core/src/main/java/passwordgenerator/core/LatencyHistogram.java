@@ -0,0 +1,178 @@
+package passwordgenerator.core;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets, in the style of HdrHistogram: every power of two is split
+ * into {@value #SUB_BUCKETS} equal buckets, so any recorded value is known to within about 3% whatever its
+ * magnitude, from one nanosecond up to about a minute. Recording is one bucket index computation and one atomic
+ * add; it never locks and never allocates. Calls are counted apart, exactly, in a {@link LongAdder}, so that only
+ * a sample of them needs to be timed; each timed call is one value of the histogram. Batches, whose calls were not
+ * timed one by one, are kept apart too, as their number, size and total duration.
+ * Histogramme de latences sans verrou à seaux log-linéaires, à la manière de HdrHistogram : chaque puissance de deux
+ * est divisée en {@value #SUB_BUCKETS} seaux égaux, si bien que toute valeur enregistrée est connue à environ 3 % près
+ * quelle que soit sa grandeur, d'une nanoseconde à environ une minute. L'enregistrement se résume au calcul de
+ * l'indice du seau et à une addition atomique ; il ne verrouille ni n'alloue jamais. Les appels sont comptés à part,
+ * exactement, dans un {@link LongAdder}, si bien que seul un échantillon d'entre eux doit être chronométré ; chaque
+ * appel chronométré est une valeur de l'histogramme. Les lots, dont les appels n'ont pas été chronométrés un à un,
+ * sont aussi tenus à part : leur nombre, leur taille et leur durée totale.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_VALUE_BITS = 36;                  // 2^36 ns, about 69 s; longer values are clamped
+    private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    private static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedCalls = new LongAdder();
+    private final LongAdder batchNanos = new LongAdder();
+
+    /**
+     * Counts calls, timed or not.
+     * Compte des appels, chronométrés ou non.
+     * @param count The number of calls.
+     * @param count Le nombre d'appels.
+     */
+    void count(final long count) {
+        calls.add(count);
+    }
+
+    /**
+     * Records the latency of one timed call.
+     * Enregistre la latence d'un appel chronométré.
+     * @param nanos The latency in nanoseconds; negative values count as 0.
+     * @param nanos La latence en nanosecondes ; les valeurs négatives comptent pour 0.
+     */
+    void record(final long nanos) {
+        counts.incrementAndGet(bucketIndex(clamp(nanos)));
+    }
+
+    /**
+     * Records one batch of calls timed as a whole. It does not enter the percentiles, which only a single call can.
+     * Enregistre un lot d'appels chronométré dans son ensemble. Il n'entre pas dans les percentiles, où seul un appel
+     * isolé le peut.
+     * @param count The number of calls in the batch.
+     * @param nanos How long the whole batch took.
+     * @param count Le nombre d'appels du lot.
+     * @param nanos Le temps qu'a pris le lot entier.
+     */
+    void recordBatch(final long count, final long nanos) {
+        batches.increment();
+        batchedCalls.add(count);
+        batchNanos.add(Math.max(0, nanos));
+    }
+
+    /**
+     * Sets every bucket back to zero. Values recorded concurrently may survive the reset.
+     * Remet tous les seaux à zéro. Des valeurs enregistrées en même temps peuvent survivre à la remise à zéro.
+     */
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        calls.reset();
+        batches.reset();
+        batchedCalls.reset();
+        batchNanos.reset();
+    }
+
+    /**
+     * Copies the buckets into an immutable summary. Recording may go on meanwhile: the snapshot is consistent
+     * bucket by bucket, not as a whole.
+     * Copie les seaux dans un résumé immuable. L'enregistrement peut continuer pendant ce temps : l'instantané est
+     * cohérent seau par seau, pas dans son ensemble.
+     * @return The call count, the sampled latencies and the batches recorded so far.
+     * @return Le nombre d'appels, les latences échantillonnées et les lots enregistrés jusqu'ici.
+     */
+    LatencySnapshot snapshot() {
+        return snapshot(Collections.singletonList(this));
+    }
+
+    /**
+     * Merges the buckets of several histograms into one summary, as if every value had been recorded in one.
+     * Fusionne les seaux de plusieurs histogrammes en un seul résumé, comme si toutes les valeurs avaient été
+     * enregistrées dans un seul.
+     * @param histograms The histograms to merge.
+     * @return The call count, the sampled latencies and the batches of all of them.
+     * @param histograms Les histogrammes à fusionner.
+     * @return Le nombre d'appels, les latences échantillonnées et les lots de l'ensemble.
+     */
+    static LatencySnapshot snapshot(final Collection<LatencyHistogram> histograms) {
+        final long[] copy = new long[BUCKET_COUNT];
+        long callCount = 0;
+        long batchCount = 0;
+        long batchedCount = 0;
+        long batchTotalNanos = 0;
+        for (final LatencyHistogram histogram : histograms) {
+            callCount += histogram.calls.sum();
+            batchCount += histogram.batches.sum();
+            batchedCount += histogram.batchedCalls.sum();
+            batchTotalNanos += histogram.batchNanos.sum();
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                copy[i] += histogram.counts.get(i);
+            }
+        }
+        long total = 0;
+        double sum = 0.0;
+        int highest = -1;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (copy[i] != 0) {
+                total += copy[i];
+                sum += (double) copy[i] * bucketMidpoint(i);
+                highest = i;
+            }
+        }
+        if (total == 0) {
+            // No call timed on its own yet: only the counts and the batches are known
+            return (callCount == 0) ? LatencySnapshot.EMPTY
+                    : new LatencySnapshot(callCount, 0, 0.0, 0, 0, 0, 0, 0, batchCount, batchedCount, batchTotalNanos);
+        }
+        return new LatencySnapshot(callCount, total, sum / total,
+                valueAtPercentile(copy, total, 50.0), valueAtPercentile(copy, total, 90.0),
+                valueAtPercentile(copy, total, 99.0), valueAtPercentile(copy, total, 99.9),
+                bucketUpperBound(highest), batchCount, batchedCount, batchTotalNanos);
+    }
+
+    // The smallest bucket upper bound below which at least the given percentage of values fall
+    private static long valueAtPercentile(final long[] copy, final long total, final double percentile) {
+        final long rank = Math.max(1L, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < copy.length; i++) {
+            seen += copy[i];
+            if (seen >= rank) {
+                return bucketUpperBound(i);
+            }
+        }
+        return MAX_VALUE;
+    }
+
+    private static long clamp(final long nanos) {
+        return (nanos < 0) ? 0 : Math.min(nanos, MAX_VALUE);
+    }
+
+    // Values below 2 * SUB_BUCKETS have a bucket each; above, each power of two gets SUB_BUCKETS buckets
+    static int bucketIndex(final long value) {
+        final int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long bucketLowerBound(final int index) {
+        final int shift = Math.max(0, (index >> SUB_BUCKET_BITS) - 1);
+        return (long) (index - (shift << SUB_BUCKET_BITS)) << shift;
+    }
+
+    static long bucketUpperBound(final int index) {
+        final int shift = Math.max(0, (index >> SUB_BUCKET_BITS) - 1);
+        return bucketLowerBound(index) + (1L << shift) - 1;
+    }
+
+    private static double bucketMidpoint(final int index) {
+        return (bucketLowerBound(index) + bucketUpperBound(index)) / 2.0;
+    }
+}
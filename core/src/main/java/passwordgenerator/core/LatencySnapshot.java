@@ -0,0 +1,152 @@
+package passwordgenerator.core;
+
+import java.util.Locale;
+
+/**
+ * Data class summarizing the latencies recorded by one histogram of {@link PasswordMetrics}: how many calls, and the
+ * mean, percentiles and maximum of the sample of them that was timed, with the size of that sample, plus the batches
+ * timed as a whole. The counts are exact; the latencies are all 0 until one call has been timed on its own.
+ * Percentiles and maximum are bucket upper bounds, within about 3% of the exact value. Instances are immutable.
+ * Classe de données résumant les latences enregistrées par un histogramme de {@link PasswordMetrics} : nombre
+ * d'appels, et moyenne, percentiles et maximum de l'échantillon d'entre eux qui a été chronométré, avec la taille de
+ * cet échantillon, plus les lots chronométrés dans leur ensemble. Les nombres sont exacts ; les latences valent toutes
+ * 0 tant qu'aucun appel n'a été chronométré seul. Les percentiles et le maximum sont des bornes supérieures de seaux,
+ * à environ 3 % de la valeur exacte. Les instances sont immuables.
+ */
+public final class LatencySnapshot {
+    static final LatencySnapshot EMPTY = new LatencySnapshot(0, 0, 0.0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+    private final long count;
+    private final long sampleCount;
+    private final double meanNanos;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+    private final long maxNanos;
+    private final long batchCount;
+    private final long batchedCount;
+    private final long batchNanos;
+
+    /**
+     * Constructs a new LatencySnapshot.
+     * Construit un nouveau LatencySnapshot.
+     */
+    LatencySnapshot(long count, long sampleCount, double meanNanos, long p50Nanos, long p90Nanos, long p99Nanos, long p999Nanos, long maxNanos,
+            long batchCount, long batchedCount, long batchNanos) {
+        this.count = count;
+        this.sampleCount = sampleCount;
+        this.meanNanos = meanNanos;
+        this.p50Nanos = p50Nanos;
+        this.p90Nanos = p90Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+        this.maxNanos = maxNanos;
+        this.batchCount = batchCount;
+        this.batchedCount = batchedCount;
+        this.batchNanos = batchNanos;
+    }
+
+    /**
+     * Returns the number of calls recorded.
+     * Retourne le nombre d'appels enregistrés.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the number of calls timed on their own, which the mean, percentiles and maximum describe.
+     * Retourne le nombre d'appels chronométrés seuls, que décrivent la moyenne, les percentiles et le maximum.
+     */
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * Returns the mean latency, in nanoseconds.
+     * Retourne la latence moyenne, en nanosecondes.
+     */
+    public double getMeanNanos() {
+        return meanNanos;
+    }
+
+    /**
+     * Returns the median latency, in nanoseconds.
+     * Retourne la latence médiane, en nanosecondes.
+     */
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    /**
+     * Returns the 90th percentile of the latency, in nanoseconds.
+     * Retourne le 90e percentile de la latence, en nanosecondes.
+     */
+    public long getP90Nanos() {
+        return p90Nanos;
+    }
+
+    /**
+     * Returns the 99th percentile of the latency, in nanoseconds.
+     * Retourne le 99e percentile de la latence, en nanosecondes.
+     */
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    /**
+     * Returns the 99.9th percentile of the latency, in nanoseconds.
+     * Retourne le 99,9e percentile de la latence, en nanosecondes.
+     */
+    public long getP999Nanos() {
+        return p999Nanos;
+    }
+
+    /**
+     * Returns the longest latency recorded, in nanoseconds.
+     * Retourne la plus longue latence enregistrée, en nanosecondes.
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Returns the number of batches, each timed as a whole.
+     * Retourne le nombre de lots, chacun chronométré dans son ensemble.
+     */
+    public long getBatchCount() {
+        return batchCount;
+    }
+
+    /**
+     * Returns the number of calls made in batches, included in {@link #getCount()}.
+     * Retourne le nombre d'appels faits en lots, inclus dans {@link #getCount()}.
+     */
+    public long getBatchedCount() {
+        return batchedCount;
+    }
+
+    /**
+     * Returns the total duration of the batches, in nanoseconds.
+     * Retourne la durée totale des lots, en nanosecondes.
+     */
+    public long getBatchNanos() {
+        return batchNanos;
+    }
+
+    /**
+     * Formats the summary on one line, latencies in microseconds; the batches, if any, with their mean per call.
+     * Met en forme le résumé sur une ligne, latences en microsecondes ; les lots, s'il y en a, avec leur moyenne par appel.
+     */
+    @Override
+    public String toString() {
+        final String samples = String.format(Locale.ROOT, "count=%d samples=%d mean=%.2fus p50=%.2fus p90=%.2fus p99=%.2fus p99.9=%.2fus max=%.2fus",
+                count, sampleCount, meanNanos / 1e3, p50Nanos / 1e3, p90Nanos / 1e3, p99Nanos / 1e3, p999Nanos / 1e3, maxNanos / 1e3);
+        if (batchCount == 0) {
+            return samples;
+        }
+        return samples + String.format(Locale.ROOT, " batches=%d batched=%d batch-mean=%.2fus",
+                batchCount, batchedCount, batchNanos / 1e3 / batchedCount);
+    }
+}
@@ -0,0 +1,531 @@
+package passwordgenerator.core;
+
+import java.util.Arrays;
+
+/**
+ * Dictionary of words stored as a compact array-based trie, matched in passwords with common leetspeak substitutions
+ * ("p@ssw0rd", "4dm1n") undone while walking it. A substitute character such as {@code 1} follows both its own edge
+ * and those of the letters it can stand for ({@code i}, {@code l}), so the dictionary is never expanded: memory stays
+ * proportional to the characters of the word list, and a walk stops as soon as no word continues the prefix read so far.
+ * Matching is case-insensitive; each word has a rank, from 1 for the most common.
+ * Dictionnaire de mots stocké dans un trie compact à base de tableaux, recherché dans les mots de passe en défaisant
+ * les substitutions courantes du leetspeak (« p@ssw0rd », « 4dm1n ») pendant le parcours. Un caractère de
+ * substitution comme {@code 1} suit à la fois sa propre arête et celles des lettres qu'il peut remplacer
+ * ({@code i}, {@code l}) : le dictionnaire n'est jamais développé, la mémoire reste proportionnelle aux caractères
+ * de la liste de mots, et un parcours s'arrête dès qu'aucun mot ne prolonge le préfixe lu. La recherche ignore la
+ * casse ; chaque mot a un rang, à partir de 1 pour le plus courant.
+ *
+ * <p>Words are first added to a linked trie (first child and next sibling of each node in parallel arrays), which
+ * {@link #compile()} then packs into a double array: the child of the node at slot {@code s} for symbol {@code c} is
+ * at slot {@code base[s] + c} if {@code check[base[s] + c] == s}, so each step of a walk is one addition and one
+ * comparison. Lookups read the password once, left to right, following at most {@value #MAX_PATHS} substitution paths
+ * from each start position, so they take time linear in the password length. Compiled instances are immutable and
+ * thread-safe.</p>
+ */
+final class LeetDictionaryTrie {
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int NO_NODE = -1;
+    private static final int FREE = -1;      // check[] of an unused slot
+    private static final int NO_PARENT = -2; // check[] of the root slot
+    private static final int LATIN1_LIMIT = 256;
+    static final int MAX_PATHS = 16; // Substitution paths followed at once from one start position
+    // Per-thread scratch arrays for scan(): slots, start positions and substitution counts of the current and next paths
+    private static final ThreadLocal<int[][]> PATHS = new ThreadLocal<int[][]>() {
+        @Override
+        protected int[][] initialValue() {
+            return new int[6][0];
+        }
+    };
+
+    // --- Substitutions du leetspeak / Leetspeak substitutions ---
+    private static final int ASCII_LIMIT = 128;
+    private static final char[][] SUBSTITUTED_LETTERS = new char[ASCII_LIMIT][]; // Letters each character can stand for
+
+    static {
+        final String[][] substitutions = {
+            {"4", "a"}, {"@", "a"}, {"8", "b"}, {"(", "c"}, {"{", "c"}, {"[", "c"}, {"<", "c"}, {"3", "e"},
+            {"6", "g"}, {"9", "g"}, {"1", "il"}, {"!", "i"}, {"|", "il"}, {"7", "lt"}, {"0", "o"}, {"$", "s"},
+            {"5", "s"}, {"+", "t"}, {"%", "x"}, {"2", "z"}
+        };
+        for (final String[] substitution : substitutions) {
+            SUBSTITUTED_LETTERS[substitution[0].charAt(0)] = substitution[1].toCharArray();
+        }
+    }
+
+    /**
+     * Receives the words found by {@link #findMatches(CharSequence, int, int, MatchListener)}.
+     * Reçoit les mots trouvés par {@link #findMatches(CharSequence, int, int, MatchListener)}.
+     */
+    interface MatchListener {
+        /**
+         * Called for each dictionary word found.
+         * Appelée pour chaque mot du dictionnaire trouvé.
+         * @param start The index of the first character of the match.
+         * @param end The index of the last character of the match, inclusive.
+         * @param rank The rank of the word.
+         * @param substitutions How many characters of the match stand for another letter.
+         * @param start L'indice du premier caractère de la correspondance.
+         * @param end L'indice du dernier caractère de la correspondance, inclus.
+         * @param rank Le rang du mot.
+         * @param substitutions Le nombre de caractères de la correspondance qui remplacent une autre lettre.
+         */
+        void matchFound(int start, int end, int rank, int substitutions);
+    }
+
+    // --- Trie chaîné, pendant l'ajout des mots (le nœud 0 est la racine) / Linked trie, while adding words (node 0 is the root) ---
+    private char[] labels = new char[INITIAL_CAPACITY];
+    private int[] firstChildren = new int[INITIAL_CAPACITY];
+    private int[] nextSiblings = new int[INITIAL_CAPACITY]; // Siblings are kept sorted by label
+    private int[] ranks = new int[INITIAL_CAPACITY];        // Rank of the word ending at the node, 0 if none
+    private int nodeCount = 1;
+
+    // --- Double tableau, après compilation (l'emplacement 0 est la racine) / Double array, once compiled (slot 0 is the root) ---
+    private int[] base = new int[1];
+    private int[] check = {NO_PARENT};
+    private int[] slotRanks = new int[1];                           // Rank of the word ending at the slot, 0 if none
+    private final int[] latin1Symbols = new int[LATIN1_LIMIT];      // Lowercased Latin-1 char -> symbol, 0 if unused
+    private char[] otherChars = new char[0];                        // Sorted chars beyond Latin-1 used by the words
+    private final int[] foldedSymbols = new int[LATIN1_LIMIT];      // Latin-1 char -> symbol of its lowercase
+    private final int[][] substituteSymbols = new int[ASCII_LIMIT][]; // ASCII char -> symbols of the letters it stands for
+    private final boolean[] startCharacters = new boolean[LATIN1_LIMIT]; // Latin-1 chars some word can begin with
+    private int wordCount;
+    private int maxWordLength;
+
+    /**
+     * Constructs an empty dictionary, to be filled with {@link #add(char[], int, int, int)} then compiled.
+     * Construit un dictionnaire vide, à remplir avec {@link #add(char[], int, int, int)} puis à compiler.
+     */
+    LeetDictionaryTrie() {
+        firstChildren[0] = NO_NODE;
+        nextSiblings[0] = NO_NODE;
+    }
+
+    /**
+     * Constructs and compiles a dictionary of the given words, ranked in order. Null or empty words are ignored.
+     * Construit et compile un dictionnaire des mots donnés, classés dans l'ordre. Les mots nuls ou vides sont ignorés.
+     * @param words The words, most common first.
+     * @param words Les mots, les plus courants en premier.
+     */
+    LeetDictionaryTrie(final String[] words) {
+        this();
+        for (int i = 0; i < words.length; i++) {
+            if (words[i] != null) {
+                add(words[i].toCharArray(), 0, words[i].length(), i + 1);
+            }
+        }
+        compile();
+    }
+
+    /**
+     * Adds a word, lowercased. A word already present keeps its rank.
+     * Ajoute un mot, en minuscules. Un mot déjà présent garde son rang.
+     * @param chars The characters holding the word.
+     * @param from The index of its first character.
+     * @param to The index after its last character.
+     * @param rank The rank of the word, from 1 for the most common.
+     * @return {@code true} if the word was new.
+     * @throws IllegalStateException If the dictionary is already compiled.
+     * @param chars Les caractères contenant le mot.
+     * @param from L'indice de son premier caractère.
+     * @param to L'indice après son dernier caractère.
+     * @param rank Le rang du mot, à partir de 1 pour le plus courant.
+     * @return {@code true} si le mot était nouveau.
+     * @throws IllegalStateException Si le dictionnaire est déjà compilé.
+     */
+    boolean add(final char[] chars, final int from, final int to, final int rank) {
+        if (labels == null) {
+            throw new IllegalStateException("Dictionary already compiled");
+        }
+        if (to <= from) {
+            return false;
+        }
+        int node = 0;
+        for (int i = from; i < to; i++) {
+            node = childOrCreate(node, Character.toLowerCase(chars[i]));
+        }
+        if (ranks[node] != 0) {
+            return false;
+        }
+        ranks[node] = rank;
+        wordCount++;
+        maxWordLength = Math.max(maxWordLength, to - from);
+        return true;
+    }
+
+    /**
+     * Packs the words added so far into the double array used by lookups, and releases the linked trie.
+     * Words can no longer be added afterwards.
+     * Range les mots ajoutés jusqu'ici dans le double tableau utilisé par les recherches, et libère le trie chaîné.
+     * Aucun mot ne peut plus être ajouté ensuite.
+     */
+    void compile() {
+        if (labels == null) {
+            return;
+        }
+        // Symbols in increasing char order, so the sorted siblings of a node get increasing symbols
+        final boolean[] latin1Used = new boolean[LATIN1_LIMIT];
+        final StringBuilder others = new StringBuilder();
+        for (int node = 1; node < nodeCount; node++) {
+            final char c = labels[node];
+            if (c < LATIN1_LIMIT) {
+                latin1Used[c] = true;
+            } else if (others.indexOf(String.valueOf(c)) == -1) {
+                others.append(c);
+            }
+        }
+        int symbolCount = 0;
+        for (int c = 0; c < LATIN1_LIMIT; c++) {
+            latin1Symbols[c] = latin1Used[c] ? ++symbolCount : 0;
+        }
+        otherChars = others.toString().toCharArray();
+        Arrays.sort(otherChars);
+        final int maxSymbol = LATIN1_LIMIT + otherChars.length;
+
+        // Breadth-first: give the children of each node the first base where all their slots are free
+        int capacity = Math.max(INITIAL_CAPACITY, 2 * nodeCount + maxSymbol + 1);
+        int[] slotBases = new int[capacity];
+        int[] slotChecks = new int[capacity];
+        int[] ranksBySlot = new int[capacity];
+        int[] freeLinks = new int[capacity]; // See nextFree()
+        Arrays.fill(slotChecks, FREE);
+        slotChecks[0] = NO_PARENT;
+        for (int slot = 0; slot < capacity; slot++) {
+            freeLinks[slot] = slot;
+        }
+        freeLinks[0] = 1;
+        final int[] slots = new int[nodeCount]; // Linked node -> slot
+        final int[] queue = new int[nodeCount];
+        final int[] childSymbols = new int[maxSymbol];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = 0;
+        int lastUsed = 0;
+        while (head < tail) {
+            final int node = queue[head++];
+            int childCount = 0;
+            for (int child = firstChildren[node]; child != NO_NODE; child = nextSiblings[child]) {
+                childSymbols[childCount++] = symbolOf(labels[child]);
+            }
+            if (childCount == 0) {
+                continue; // Base 0: symbols >= 1 land on slots whose check is never this one
+            }
+            int candidate = nextFree(freeLinks, childSymbols[0] + 1); // Slot of the first child, for a base >= 1
+            int nodeBase;
+            while (true) {
+                if (candidate + maxSymbol >= capacity) {
+                    final int oldCapacity = capacity;
+                    capacity *= 2;
+                    slotBases = Arrays.copyOf(slotBases, capacity);
+                    ranksBySlot = Arrays.copyOf(ranksBySlot, capacity);
+                    slotChecks = Arrays.copyOf(slotChecks, capacity);
+                    Arrays.fill(slotChecks, oldCapacity, capacity, FREE);
+                    freeLinks = Arrays.copyOf(freeLinks, capacity);
+                    for (int slot = oldCapacity; slot < capacity; slot++) {
+                        freeLinks[slot] = slot;
+                    }
+                }
+                nodeBase = candidate - childSymbols[0];
+                boolean fits = slotChecks[candidate] == FREE;
+                for (int i = 1; i < childCount && fits; i++) {
+                    fits = slotChecks[nodeBase + childSymbols[i]] == FREE;
+                }
+                if (fits) {
+                    break;
+                }
+                candidate = nextFree(freeLinks, candidate + 1);
+            }
+            final int slot = slots[node];
+            slotBases[slot] = nodeBase;
+            int i = 0;
+            for (int child = firstChildren[node]; child != NO_NODE; child = nextSiblings[child]) {
+                final int childSlot = nodeBase + childSymbols[i++];
+                slotChecks[childSlot] = slot;
+                freeLinks[childSlot] = childSlot + 1;
+                ranksBySlot[childSlot] = ranks[child];
+                slots[child] = childSlot;
+                queue[tail++] = child;
+                lastUsed = Math.max(lastUsed, childSlot);
+            }
+        }
+        // Room for base + symbol past the last used slot, so lookups need no bounds test
+        final int length = lastUsed + maxSymbol + 1;
+        base = Arrays.copyOf(slotBases, length);
+        check = Arrays.copyOf(slotChecks, length);
+        slotRanks = Arrays.copyOf(ranksBySlot, length);
+        labels = null;
+        firstChildren = null;
+        nextSiblings = null;
+        ranks = null;
+
+        for (int c = 0; c < LATIN1_LIMIT; c++) {
+            foldedSymbols[c] = symbolOf(Character.toLowerCase((char) c));
+        }
+        for (int c = 0; c < ASCII_LIMIT; c++) {
+            substituteSymbols[c] = null;
+            if (SUBSTITUTED_LETTERS[c] != null) {
+                final int[] symbols = new int[SUBSTITUTED_LETTERS[c].length];
+                int count = 0;
+                for (final char letter : SUBSTITUTED_LETTERS[c]) {
+                    if (symbolOf(letter) != 0) {
+                        symbols[count++] = symbolOf(letter);
+                    }
+                }
+                substituteSymbols[c] = (count == 0) ? null : Arrays.copyOf(symbols, count);
+            }
+        }
+        for (int c = 0; c < LATIN1_LIMIT; c++) {
+            boolean starts = child(0, foldedSymbols[c]) != NO_NODE;
+            if (c < ASCII_LIMIT && substituteSymbols[c] != null) {
+                for (final int symbol : substituteSymbols[c]) {
+                    starts |= child(0, symbol) != NO_NODE;
+                }
+            }
+            startCharacters[c] = starts;
+        }
+    }
+
+    /**
+     * Reports every word lying within a range of the text, spelled as is or with leetspeak substitutions.
+     * Signale chaque mot situé dans une plage du texte, écrit tel quel ou avec des substitutions du leetspeak.
+     * @param text The text to search.
+     * @param from The first index of the range, inclusive.
+     * @param to The last index of the range, exclusive.
+     * @param listener Notified of each match, by increasing end.
+     * @param text Le texte à parcourir.
+     * @param from Le premier indice de la plage, inclus.
+     * @param to Le dernier indice de la plage, exclu.
+     * @param listener Notifié de chaque correspondance, par fin croissante.
+     */
+    void findMatches(final CharSequence text, final int from, final int to, final MatchListener listener) {
+        scan(text, from, to, listener, false, false);
+    }
+
+    /**
+     * Counts the words lying within a range of the text that are only found through at least one substitution,
+     * e.g. "p@ss" but not "pass". Used to maintain counts incrementally, like
+     * {@link PenaltyPatternMatcher#countOccurrences(CharSequence, int, int, int[])}.
+     * Compte les mots situés dans une plage du texte qui ne sont trouvés qu'au moyen d'au moins une substitution,
+     * par exemple « p@ss » mais pas « pass ». Sert à tenir des comptes à jour de façon incrémentale, comme
+     * {@link PenaltyPatternMatcher#countOccurrences(CharSequence, int, int, int[])}.
+     * @param text The text to search.
+     * @param from The first index of the range, inclusive.
+     * @param to The last index of the range, exclusive.
+     * @return The number of substituted matches.
+     * @param text Le texte à parcourir.
+     * @param from Le premier indice de la plage, inclus.
+     * @param to Le dernier indice de la plage, exclu.
+     * @return Le nombre de correspondances avec substitution.
+     */
+    int countSubstitutedMatches(final CharSequence text, final int from, final int to) {
+        if (!hasSubstitute(text, from, to)) {
+            return 0; // Nothing to undo: plain matches are the automaton's business
+        }
+        return scan(text, from, to, null, true, false);
+    }
+
+    /**
+     * Tells whether the text contains a word only found through at least one substitution.
+     * Indique si le texte contient un mot qui n'est trouvé qu'au moyen d'au moins une substitution.
+     * @param text The text to search.
+     * @return {@code true} if such a word was found.
+     * @param text Le texte à parcourir.
+     * @return {@code true} si un tel mot a été trouvé.
+     */
+    boolean containsSubstitutedMatch(final CharSequence text) {
+        final int length = text.length();
+        if (!hasSubstitute(text, 0, length)) {
+            return false;
+        }
+        return scan(text, 0, length, null, true, true) > 0;
+    }
+
+    /**
+     * Returns the number of words.
+     * Retourne le nombre de mots.
+     */
+    int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * Returns the length of the longest word.
+     * Retourne la longueur du mot le plus long.
+     */
+    int getMaxWordLength() {
+        return maxWordLength;
+    }
+
+    /**
+     * Returns the number of slots of the double array once compiled, for diagnostics.
+     * Retourne le nombre d'emplacements du double tableau une fois compilé, pour diagnostic.
+     */
+    int getSlotCount() {
+        return check.length;
+    }
+
+    /**
+     * Tells whether a character can stand for a letter in leetspeak.
+     * Indique si un caractère peut remplacer une lettre en leetspeak.
+     * @param c The character.
+     * @return {@code true} for characters such as {@code @}, {@code 0} or {@code $}.
+     * @param c Le caractère.
+     * @return {@code true} pour des caractères comme {@code @}, {@code 0} ou {@code $}.
+     */
+    static boolean isSubstitute(final char c) {
+        return c < ASCII_LIMIT && SUBSTITUTED_LETTERS[c] != null;
+    }
+
+    private static boolean hasSubstitute(final CharSequence text, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (isSubstitute(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Reads the range once: at each character, every live path, from any earlier start position, is extended by the
+    // character itself and by the letters it can stand for, and a new path starts from the root. Paths are grouped by
+    // start position, oldest first, and each start keeps at most MAX_PATHS of them, so what is found from a position
+    // does not depend on where the range begins. Reports the words ending within the range and returns their number,
+    // stopping after the first one if asked to
+    private int scan(final CharSequence text, final int from, final int to, final MatchListener listener,
+                     final boolean substitutedOnly, final boolean firstOnly) {
+        int[][] paths = PATHS.get();
+        final int capacity = MAX_PATHS * maxWordLength; // A path lives for at most maxWordLength characters
+        if (paths[0].length < capacity) {
+            paths = new int[6][capacity];
+            PATHS.set(paths);
+        }
+        int[] slots = paths[0];
+        int[] starts = paths[1];
+        int[] substitutions = paths[2];
+        int[] nextSlots = paths[3];
+        int[] nextStarts = paths[4];
+        int[] nextSubstitutions = paths[5];
+        int pathCount = 0;
+        int found = 0;
+        for (int i = from; i < to; i++) {
+            final char c = text.charAt(i);
+            final int symbol = (c < LATIN1_LIMIT) ? foldedSymbols[c] : symbolOf(Character.toLowerCase(c));
+            final int[] letterSymbols = (c < ASCII_LIMIT) ? substituteSymbols[c] : null;
+            final boolean startsHere = (c < LATIN1_LIMIT) ? startCharacters[c] : child(0, symbol) != NO_NODE;
+            final int extended = startsHere ? pathCount + 1 : pathCount; // The last one starts at i, from the root
+            int nextCount = 0;
+            int groupStart = -1;
+            int groupCount = 0;
+            for (int p = 0; p < extended; p++) {
+                final int slot = (p < pathCount) ? slots[p] : 0;
+                final int start = (p < pathCount) ? starts[p] : i;
+                final int substituted = (p < pathCount) ? substitutions[p] : 0;
+                if (start != groupStart) {
+                    groupStart = start;
+                    groupCount = 0;
+                }
+                final int child = child(slot, symbol);
+                if (child != NO_NODE && groupCount < MAX_PATHS) {
+                    nextSlots[nextCount] = child;
+                    nextStarts[nextCount] = start;
+                    nextSubstitutions[nextCount++] = substituted;
+                    groupCount++;
+                }
+                if (letterSymbols != null) {
+                    for (final int letterSymbol : letterSymbols) {
+                        final int substitute = base[slot] + letterSymbol;
+                        if (check[substitute] == slot && groupCount < MAX_PATHS) {
+                            nextSlots[nextCount] = substitute;
+                            nextStarts[nextCount] = start;
+                            nextSubstitutions[nextCount++] = substituted + 1;
+                            groupCount++;
+                        }
+                    }
+                }
+            }
+            for (int p = 0; p < nextCount; p++) {
+                final int rank = slotRanks[nextSlots[p]];
+                if (rank != 0 && (!substitutedOnly || nextSubstitutions[p] > 0)) {
+                    found++;
+                    if (listener != null) {
+                        listener.matchFound(nextStarts[p], i, rank, nextSubstitutions[p]);
+                    }
+                    if (firstOnly) {
+                        return found;
+                    }
+                }
+            }
+            final int[] swappedSlots = slots;
+            slots = nextSlots;
+            nextSlots = swappedSlots;
+            final int[] swappedStarts = starts;
+            starts = nextStarts;
+            nextStarts = swappedStarts;
+            final int[] swappedSubstitutions = substitutions;
+            substitutions = nextSubstitutions;
+            nextSubstitutions = swappedSubstitutions;
+            pathCount = nextCount;
+        }
+        return found;
+    }
+
+    // Slot of the child of the node at the given slot for a symbol, or NO_NODE. Symbol 0, a char no word uses, never
+    // matches: base + 0 is either a free slot or one whose check is another node
+    private int child(final int slot, final int symbol) {
+        final int child = base[slot] + symbol;
+        return (check[child] == slot && symbol != 0) ? child : NO_NODE;
+    }
+
+    // First free slot at or after the given one: a free slot links to itself and a used one to the next slot, and
+    // lookups halve the paths they follow, so packing skips runs of used slots in near-constant time
+    private static int nextFree(final int[] freeLinks, final int from) {
+        int slot = from;
+        while (freeLinks[slot] != slot) {
+            freeLinks[slot] = freeLinks[freeLinks[slot]];
+            slot = freeLinks[slot];
+        }
+        return slot;
+    }
+
+    // Symbol of a lowercased char, 0 if no word uses it
+    private int symbolOf(final char c) {
+        if (c < LATIN1_LIMIT) {
+            return latin1Symbols[c];
+        }
+        final int index = Arrays.binarySearch(otherChars, c);
+        return (index < 0) ? 0 : LATIN1_LIMIT + 1 + index; // Past every Latin-1 symbol
+    }
+
+    // --- Construction du trie chaîné / Building the linked trie ---
+
+    private int childOrCreate(final int node, final char c) {
+        int previous = NO_NODE;
+        int child = firstChildren[node];
+        while (child != NO_NODE && labels[child] < c) {
+            previous = child;
+            child = nextSiblings[child];
+        }
+        if (child != NO_NODE && labels[child] == c) {
+            return child;
+        }
+        if (nodeCount == labels.length) {
+            grow();
+        }
+        final int created = nodeCount++;
+        labels[created] = c;
+        firstChildren[created] = NO_NODE;
+        nextSiblings[created] = child;
+        if (previous == NO_NODE) {
+            firstChildren[node] = created;
+        } else {
+            nextSiblings[previous] = created;
+        }
+        return created;
+    }
+
+    private void grow() {
+        final int capacity = 2 * labels.length;
+        labels = Arrays.copyOf(labels, capacity);
+        firstChildren = Arrays.copyOf(firstChildren, capacity);
+        nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+        ranks = Arrays.copyOf(ranks, capacity);
+    }
+}
@@ -0,0 +1,229 @@
+package passwordgenerator.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Parallel bulk generator built on {@link PasswordService} and the fork/join framework.
+ * A request for N passwords is split into chunks; each chunk is generated by a fork/join task into its own
+ * byte buffer, drawing from the randomness of the worker thread that runs it (use a {@link PasswordService}
+ * with per-thread randomness so workers never share a generator). Chunks are written to the sink either in
+ * order, through a bounded window of in-flight chunks, or as soon as each one is ready.
+ * Générateur en masse parallèle reposant sur {@link PasswordService} et le framework fork/join.
+ * Une demande de N mots de passe est découpée en blocs ; chaque bloc est généré par une tâche fork/join dans son
+ * propre tampon d'octets, à partir de l'aléa du thread qui l'exécute (utiliser un {@link PasswordService} avec
+ * un aléa par thread pour que les threads ne partagent jamais de générateur). Les blocs sont écrits dans l'ordre,
+ * via une fenêtre bornée de blocs en cours, ou dès que chacun est prêt.
+ */
+public final class ParallelPasswordGenerator {
+    private static final int CHUNK_BYTES = 256 * 1024;         // Target size of one chunk's output buffer
+    private static final int ORDERED_WINDOW_PER_THREAD = 4;    // Chunks in flight per worker when order is kept
+
+    private final PasswordService passwordService;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a ParallelPasswordGenerator with its own fork/join pool.
+     * Construit un ParallelPasswordGenerator avec son propre pool fork/join.
+     * @param passwordService The service generating each password.
+     * @param parallelism The number of worker threads.
+     * @param passwordService Le service générant chaque mot de passe.
+     * @param parallelism Le nombre de threads de travail.
+     */
+    public ParallelPasswordGenerator(final PasswordService passwordService, final int parallelism) {
+        this.passwordService = passwordService;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Generates {@code count} passwords in parallel and writes them, one per line, to the given stream.
+     * Génère {@code count} mots de passe en parallèle et les écrit, un par ligne, dans le flux donné.
+     *
+     * @param count   The number of passwords to generate.
+     * @param policy  The compiled generation policy.
+     * @param out     The destination stream. It is flushed but not closed.
+     * @param ordered Whether chunks must be written in generation order. Unordered output avoids waiting
+     *                for slow chunks and keeps fewer buffers alive.
+     * @return A {@link BulkGenerationReport} with the count and throughput.
+     * @throws IOException If writing to the output stream fails.
+     * @param count   Le nombre de mots de passe à générer.
+     * @param policy  La politique de génération compilée.
+     * @param out     Le flux de destination. Il est vidé mais pas fermé.
+     * @param ordered Si les blocs doivent être écrits dans l'ordre de génération. Une sortie non ordonnée
+     *                évite d'attendre les blocs lents et garde moins de tampons en mémoire.
+     * @return Un {@link BulkGenerationReport} avec le nombre et le débit.
+     * @throws IOException Si l'écriture dans le flux de sortie échoue.
+     */
+    public BulkGenerationReport generate(final long count, final GenerationPolicy policy, final OutputStream out, final boolean ordered) throws IOException {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        final int passwordsPerChunk = Math.max(1, CHUNK_BYTES / (policy.length + 1));
+        final long chunkCount = (count + passwordsPerChunk - 1) / passwordsPerChunk;
+
+        final long start = System.nanoTime();
+        if (ordered) {
+            writeOrdered(count, policy, passwordsPerChunk, chunkCount, out);
+        } else {
+            writeUnordered(count, policy, passwordsPerChunk, chunkCount, out);
+        }
+        out.flush();
+        return new BulkGenerationReport(count, System.nanoTime() - start);
+    }
+
+    /**
+     * Keeps a bounded window of chunk tasks in flight and writes their buffers strictly in chunk order.
+     * Garde une fenêtre bornée de tâches en cours et écrit leurs tampons strictement dans l'ordre des blocs.
+     */
+    private void writeOrdered(final long count, final GenerationPolicy policy, final int passwordsPerChunk, final long chunkCount, final OutputStream out) throws IOException {
+        final int window = pool.getParallelism() * ORDERED_WINDOW_PER_THREAD;
+        final LinkedList<ForkJoinTask<byte[]>> inFlight = new LinkedList<ForkJoinTask<byte[]>>();
+        long nextChunk = 0;
+        try {
+            while (nextChunk < chunkCount && inFlight.size() < window) {
+                inFlight.addLast(pool.submit(new ChunkTask(count, policy, passwordsPerChunk, nextChunk++)));
+            }
+            while (!inFlight.isEmpty()) {
+                final byte[] chunk = inFlight.removeFirst().join();
+                if (nextChunk < chunkCount) {
+                    inFlight.addLast(pool.submit(new ChunkTask(count, policy, passwordsPerChunk, nextChunk++)));
+                }
+                out.write(chunk);
+                Arrays.fill(chunk, (byte) 0);
+            }
+        } finally {
+            // Only non-empty when writing failed
+            for (final ForkJoinTask<byte[]> task : inFlight) {
+                task.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Splits the chunk range recursively; every leaf writes its buffer as soon as it is ready.
+     * Découpe récursivement la plage de blocs ; chaque feuille écrit son tampon dès qu'il est prêt.
+     */
+    private void writeUnordered(final long count, final GenerationPolicy policy, final int passwordsPerChunk, final long chunkCount, final OutputStream out) throws IOException {
+        final AtomicReference<IOException> failure = new AtomicReference<IOException>();
+        pool.invoke(new ChunkRangeTask(count, policy, passwordsPerChunk, 0, chunkCount, out, failure));
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    /**
+     * Generates the passwords of one chunk into a new buffer sized exactly for them.
+     * Génère les mots de passe d'un bloc dans un nouveau tampon dimensionné exactement pour eux.
+     */
+    private byte[] generateChunk(final long count, final GenerationPolicy policy, final int passwordsPerChunk, final long chunkIndex) {
+        final int passwords = (int) Math.min(passwordsPerChunk, count - chunkIndex * passwordsPerChunk);
+        final byte[] buffer = new byte[passwords * (policy.length + 1)];
+        final char[] passwordChars = new char[policy.length];
+        int position = 0;
+        final GenerationEvent event = FlightRecorderEvents.enabled() ? new GenerationEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < passwords; i++) {
+            position = passwordService.writePasswordLine(policy, passwordChars, buffer, position);
+        }
+        PasswordMetrics.get().recordGenerations(policy, System.nanoTime() - start, passwords);
+        if (event != null && event.shouldCommit()) {
+            event.describe(policy, passwords);
+            event.commit();
+        }
+        Arrays.fill(passwordChars, '\0');
+        return buffer;
+    }
+
+    /**
+     * Shuts down the worker pool. Generation requests are rejected afterwards.
+     * Arrête le pool de threads. Les demandes de génération sont ensuite rejetées.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Fork/join task producing the buffer of a single chunk.
+     * Tâche fork/join produisant le tampon d'un seul bloc.
+     */
+    private final class ChunkTask extends RecursiveTask<byte[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final long count;
+        private final GenerationPolicy policy;
+        private final int passwordsPerChunk;
+        private final long chunkIndex;
+
+        ChunkTask(final long count, final GenerationPolicy policy, final int passwordsPerChunk, final long chunkIndex) {
+            this.count = count;
+            this.policy = policy;
+            this.passwordsPerChunk = passwordsPerChunk;
+            this.chunkIndex = chunkIndex;
+        }
+
+        @Override
+        protected byte[] compute() {
+            return generateChunk(count, policy, passwordsPerChunk, chunkIndex);
+        }
+    }
+
+    /**
+     * Fork/join task generating a range of chunks and writing each one to the shared sink when done.
+     * Tâche fork/join générant une plage de blocs et écrivant chacun dans la sortie partagée une fois terminé.
+     */
+    private final class ChunkRangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long count;
+        private final GenerationPolicy policy;
+        private final int passwordsPerChunk;
+        private final long fromChunk;
+        private final long toChunk;
+        private final OutputStream out;
+        private final AtomicReference<IOException> failure;
+
+        ChunkRangeTask(final long count, final GenerationPolicy policy, final int passwordsPerChunk, final long fromChunk, final long toChunk,
+                       final OutputStream out, final AtomicReference<IOException> failure) {
+            this.count = count;
+            this.policy = policy;
+            this.passwordsPerChunk = passwordsPerChunk;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.out = out;
+            this.failure = failure;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk > 1) {
+                final long middle = (fromChunk + toChunk) >>> 1;
+                invokeAll(new ChunkRangeTask(count, policy, passwordsPerChunk, fromChunk, middle, out, failure),
+                          new ChunkRangeTask(count, policy, passwordsPerChunk, middle, toChunk, out, failure));
+                return;
+            }
+            if (fromChunk == toChunk || failure.get() != null) {
+                return; // Empty request, or stop early after a write error
+            }
+            final byte[] chunk = generateChunk(count, policy, passwordsPerChunk, fromChunk);
+            try {
+                synchronized (out) {
+                    out.write(chunk);
+                }
+            } catch (final IOException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                Arrays.fill(chunk, (byte) 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package passwordgenerator.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel batch audit of existing passwords with the rules of {@link PasswordService#evaluatePasswordStrength(String)}.
+ * Passwords are read one per line (UTF-8, LF or CRLF) from a channel through a large direct buffer, cut into chunks
+ * at line boundaries, and evaluated by fork/join tasks. Results are written in input order, one line per input line,
+ * through a bounded window of in-flight chunks, so memory stays bounded whatever the size of the input. Each result
+ * line holds the strength level, the entropy and the weaknesses found, tab-separated; the password itself is never
+ * written.
+ * Audit en masse et en parallèle de mots de passe existants avec les règles de
+ * {@link PasswordService#evaluatePasswordStrength(String)}. Les mots de passe sont lus un par ligne (UTF-8, LF ou CRLF)
+ * depuis un canal via un grand tampon direct, découpés en blocs aux limites de lignes et évalués par des tâches
+ * fork/join. Les résultats sont écrits dans l'ordre de l'entrée, une ligne par ligne d'entrée, via une fenêtre bornée
+ * de blocs en cours : la mémoire reste bornée quelle que soit la taille de l'entrée. Chaque ligne de résultat contient
+ * le niveau de force, l'entropie et les faiblesses trouvées, séparés par des tabulations ; le mot de passe lui-même
+ * n'est jamais écrit.
+ */
+public final class PasswordAuditor {
+    private static final int INPUT_BUFFER_SIZE = 8 * 1024 * 1024; // Bytes read from the channel at a time
+    private static final int CHUNK_BYTES = 256 * 1024;            // Target size of one chunk of input lines
+    private static final int WINDOW_PER_THREAD = 4;               // Chunks in flight per worker
+    private static final Charset PASSWORD_CHARSET = Charset.forName("UTF-8");
+    private static final Charset RESULT_CHARSET = Charset.forName("US-ASCII");
+
+    private final PasswordService passwordService;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a PasswordAuditor with its own fork/join pool.
+     * Construit un PasswordAuditor avec son propre pool fork/join.
+     * @param passwordService The service evaluating each password.
+     * @param parallelism The number of worker threads.
+     * @param passwordService Le service évaluant chaque mot de passe.
+     * @param parallelism Le nombre de threads de travail.
+     */
+    public PasswordAuditor(final PasswordService passwordService, final int parallelism) {
+        this.passwordService = passwordService;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Audits every line of the input and writes one result line per input line.
+     * Audite chaque ligne de l'entrée et écrit une ligne de résultat par ligne d'entrée.
+     * @param in The passwords, one per line. It is read to the end but not closed.
+     * @param out The destination of the result lines. It is flushed but not closed.
+     * @return An {@link AuditReport} with the histogram of strength levels and the throughput.
+     * @throws IOException If reading the input or writing the results fails.
+     * @param in Les mots de passe, un par ligne. Il est lu jusqu'au bout mais pas fermé.
+     * @param out La destination des lignes de résultat. Elle est vidée mais pas fermée.
+     * @return Un {@link AuditReport} avec l'histogramme des niveaux de force et le débit.
+     * @throws IOException Si la lecture de l'entrée ou l'écriture des résultats échoue.
+     */
+    public AuditReport audit(final ReadableByteChannel in, final OutputStream out) throws IOException {
+        final long[] levelCounts = new long[PasswordStrengthLevel.values().length];
+        final int window = pool.getParallelism() * WINDOW_PER_THREAD;
+        final LinkedList<ForkJoinTask<ChunkResult>> inFlight = new LinkedList<ForkJoinTask<ChunkResult>>();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(INPUT_BUFFER_SIZE);
+        final long start = System.nanoTime();
+        try {
+            boolean endOfInput = false;
+            while (!endOfInput) {
+                endOfInput = in.read(buffer) < 0;
+                buffer.flip();
+                final int end = endOfInput ? buffer.limit() : lastLineEnd(buffer);
+                if (end < 0) {
+                    // No line break in a full buffer: a line longer than the buffer, which must grow to hold it
+                    if (buffer.limit() == buffer.capacity()) {
+                        buffer = grow(buffer);
+                    } else {
+                        buffer.position(buffer.limit()).limit(buffer.capacity());
+                    }
+                    continue;
+                }
+                while (buffer.position() < end) {
+                    final byte[] chunk = nextChunk(buffer, end);
+                    if (inFlight.size() >= window) {
+                        writeResult(inFlight.removeFirst().join(), out, levelCounts);
+                    }
+                    inFlight.addLast(pool.submit(new ChunkTask(chunk)));
+                }
+                wipe(buffer, 0, buffer.position()); // Consumed lines
+                buffer.compact();
+            }
+            while (!inFlight.isEmpty()) {
+                writeResult(inFlight.removeFirst().join(), out, levelCounts);
+            }
+        } finally {
+            // Only non-empty when reading or writing failed
+            for (final ForkJoinTask<ChunkResult> task : inFlight) {
+                task.cancel(true);
+            }
+            wipe(buffer, 0, buffer.capacity());
+        }
+        out.flush();
+        return new AuditReport(levelCounts, System.nanoTime() - start);
+    }
+
+    /**
+     * Shuts down the worker pool. Audit requests are rejected afterwards.
+     * Arrête le pool de threads. Les demandes d'audit sont ensuite rejetées.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // Returns the position just after the last line break of the buffer's content, or -1 if it has none
+    private static int lastLineEnd(final ByteBuffer buffer) {
+        for (int i = buffer.limit() - 1; i >= buffer.position(); i--) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    // Copies about CHUNK_BYTES of whole lines, up to end, out of the buffer and advances its position past them
+    private static byte[] nextChunk(final ByteBuffer buffer, final int end) {
+        final int from = buffer.position();
+        int to = Math.min(end, from + CHUNK_BYTES);
+        if (to < end) {
+            int lineEnd = to;
+            while (lineEnd > from && buffer.get(lineEnd - 1) != '\n') {
+                lineEnd--;
+            }
+            if (lineEnd == from) {
+                // A single line longer than a chunk: take it whole
+                lineEnd = to;
+                while (lineEnd < end && buffer.get(lineEnd - 1) != '\n') {
+                    lineEnd++;
+                }
+            }
+            to = lineEnd;
+        }
+        final byte[] chunk = new byte[to - from];
+        buffer.get(chunk);
+        return chunk;
+    }
+
+    private static ByteBuffer grow(final ByteBuffer buffer) {
+        final ByteBuffer larger = ByteBuffer.allocateDirect(2 * buffer.capacity());
+        buffer.rewind();
+        larger.put(buffer);
+        wipe(buffer, 0, buffer.capacity());
+        return larger;
+    }
+
+    private static void wipe(final ByteBuffer buffer, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            buffer.put(i, (byte) 0);
+        }
+    }
+
+    private static void writeResult(final ChunkResult result, final OutputStream out, final long[] levelCounts) throws IOException {
+        out.write(result.lines);
+        for (int i = 0; i < levelCounts.length; i++) {
+            levelCounts[i] += result.levelCounts[i];
+        }
+    }
+
+    /**
+     * Evaluates every line of a chunk, then wipes it.
+     * Évalue chaque ligne d'un bloc, puis l'efface.
+     */
+    private ChunkResult evaluateChunk(final byte[] chunk) {
+        final StringBuilder lines = new StringBuilder(chunk.length);
+        final long[] levelCounts = new long[PasswordStrengthLevel.values().length];
+        int lineStart = 0;
+        while (lineStart < chunk.length) {
+            int lineEnd = lineStart;
+            while (lineEnd < chunk.length && chunk[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            final int next = lineEnd + 1;
+            if (lineEnd > lineStart && chunk[lineEnd - 1] == '\r') {
+                lineEnd--;
+            }
+            final PasswordEvaluationResult result = passwordService.evaluatePasswordStrength(
+                    new String(chunk, lineStart, lineEnd - lineStart, PASSWORD_CHARSET));
+            levelCounts[result.strengthLevel.ordinal()]++;
+            lines.append(result.strengthLevel.name()).append('\t');
+            appendEntropy(lines, result.entropy);
+            lines.append('\t').append(result.describeWeaknesses()).append('\n');
+            lineStart = next;
+        }
+        Arrays.fill(chunk, (byte) 0);
+        return new ChunkResult(lines.toString().getBytes(RESULT_CHARSET), levelCounts);
+    }
+
+    // Appends the entropy with two decimals, like "%.2f" in the root locale but without a Formatter per line
+    private static void appendEntropy(final StringBuilder lines, final double entropy) {
+        final long hundredths = Math.round(entropy * 100);
+        lines.append(hundredths / 100).append('.');
+        final long fraction = hundredths % 100;
+        if (fraction < 10) {
+            lines.append('0');
+        }
+        lines.append(fraction);
+    }
+
+    /**
+     * The result lines of one chunk and its histogram of strength levels.
+     * Les lignes de résultat d'un bloc et son histogramme des niveaux de force.
+     */
+    private static final class ChunkResult {
+        final byte[] lines;
+        final long[] levelCounts;
+
+        ChunkResult(final byte[] lines, final long[] levelCounts) {
+            this.lines = lines;
+            this.levelCounts = levelCounts;
+        }
+    }
+
+    /**
+     * Fork/join task auditing a single chunk of input lines.
+     * Tâche fork/join auditant un seul bloc de lignes d'entrée.
+     */
+    private final class ChunkTask extends RecursiveTask<ChunkResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] chunk;
+
+        ChunkTask(final byte[] chunk) {
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected ChunkResult compute() {
+            return evaluateChunk(chunk);
+        }
+    }
+}
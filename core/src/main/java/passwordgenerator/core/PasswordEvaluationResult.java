@@ -0,0 +1,101 @@
+package passwordgenerator.core;
+
+/**
+ * Data class to hold password strength evaluation results, including strength level and entropy.
+ * Classe de données pour contenir les résultats de l'évaluation de la force du mot de passe,
+ * incluant le niveau de force et l'entropie.
+ * Instances are immutable.
+ * Les instances sont immuables.
+ */
+public final class PasswordEvaluationResult {
+    // --- Faiblesses détectées (bits de weaknesses) / Detected weaknesses (weaknesses bits) ---
+    public static final int SEQUENCE = PenaltyPatternMatcher.SEQUENCE;   // A common sequence such as "abc" or "123"
+    public static final int WEAK_WORD = PenaltyPatternMatcher.WEAK_WORD; // A common weak word such as "password"
+    public static final int TRIPLE_REPEAT = 4;                           // The same character 3 times in a row
+    public static final int REPETITION = 8;                              // One character making up over a third of it
+    public static final int BREACHED = 16;                               // Found in the breach corpus
+    public static final int KEYBOARD_WALK = 32;                          // 4+ adjacent keys in a row, never straight back, e.g. "1qaz" or "azerty"
+    private static final String[] WEAKNESS_NAMES = {"sequence", "weak-word", "triple-repeat", "repetition", "breached", "keyboard-walk"};
+
+    final PasswordStrengthLevel strengthLevel;
+    final double entropy;
+    final int weaknesses;
+
+    /**
+     * Constructs a new PasswordEvaluationResult with no detected weakness.
+     * @param strengthLevel The evaluated password strength level.
+     * @param entropy The calculated entropy in bits.
+     * Construit un nouveau PasswordEvaluationResult sans faiblesse détectée.
+     * @param strengthLevel Le niveau de force évalué du mot de passe.
+     * @param entropy L'entropie calculée en bits.
+     */
+    PasswordEvaluationResult(PasswordStrengthLevel strengthLevel, double entropy) {
+        this(strengthLevel, entropy, 0);
+    }
+
+    /**
+     * Constructs a new PasswordEvaluationResult.
+     * @param strengthLevel The evaluated password strength level.
+     * @param entropy The calculated entropy in bits.
+     * @param weaknesses The weaknesses found, as a combination of the constants of this class.
+     * Construit un nouveau PasswordEvaluationResult.
+     * @param strengthLevel Le niveau de force évalué du mot de passe.
+     * @param entropy L'entropie calculée en bits.
+     * @param weaknesses Les faiblesses trouvées, sous forme de combinaison des constantes de cette classe.
+     */
+    PasswordEvaluationResult(PasswordStrengthLevel strengthLevel, double entropy, int weaknesses) {
+        this.strengthLevel = strengthLevel;
+        this.entropy = entropy;
+        this.weaknesses = weaknesses;
+    }
+
+    /**
+     * Returns the evaluated strength level.
+     * Retourne le niveau de force évalué.
+     */
+    public PasswordStrengthLevel getStrengthLevel() {
+        return strengthLevel;
+    }
+
+    /**
+     * Returns the estimated entropy.
+     * Retourne l'entropie estimée.
+     * @return The entropy in bits.
+     * @return L'entropie en bits.
+     */
+    public double getEntropy() {
+        return entropy;
+    }
+
+    /**
+     * Returns the weaknesses found.
+     * Retourne les faiblesses trouvées.
+     * @return A combination of the constants of this class, 0 if none.
+     * @return Une combinaison des constantes de cette classe, 0 s'il n'y en a aucune.
+     */
+    public int getWeaknesses() {
+        return weaknesses;
+    }
+
+    /**
+     * Returns the names of the weaknesses found, comma-separated, or "-" if there are none.
+     * @return For example "sequence,repetition".
+     * Retourne les noms des faiblesses trouvées, séparés par des virgules, ou « - » s'il n'y en a aucune.
+     * @return Par exemple « sequence,repetition ».
+     */
+    public String describeWeaknesses() {
+        if (weaknesses == 0) {
+            return "-";
+        }
+        final StringBuilder names = new StringBuilder();
+        for (int i = 0; i < WEAKNESS_NAMES.length; i++) {
+            if ((weaknesses & (1 << i)) != 0) {
+                if (names.length() > 0) {
+                    names.append(',');
+                }
+                names.append(WEAKNESS_NAMES[i]);
+            }
+        }
+        return names.toString();
+    }
+}
@@ -0,0 +1,282 @@
+package passwordgenerator.core;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide latency and throughput of {@link PasswordService#generatePassword(GenerationPolicy, char[])} and
+ * {@link PasswordService#evaluatePasswordStrength(String)}, for every service instance: one {@link LatencyHistogram}
+ * per generation policy and one per resulting strength level. Every call is counted, but only one in
+ * {@value #SAMPLE_INTERVAL}, drawn at random, is timed: the two {@link System#nanoTime()} reads cost more than
+ * everything else, so sampling keeps recording at a few nanoseconds per call, without locks or allocation, and it
+ * stays on in production. Each timed call is recorded once, as one sample: the percentiles describe the sample, and
+ * the snapshots say how many samples they come from. Bulk generation records each batch once, as its size and total
+ * duration, apart from the samples.
+ * Latence et débit, pour tout le processus, de {@link PasswordService#generatePassword(GenerationPolicy, char[])} et
+ * de {@link PasswordService#evaluatePasswordStrength(String)}, toutes instances du service confondues : un
+ * {@link LatencyHistogram} par politique de génération et un par niveau de force obtenu. Chaque appel est compté,
+ * mais un seul sur {@value #SAMPLE_INTERVAL}, tiré au hasard, est chronométré : les deux lectures de
+ * {@link System#nanoTime()} coûtent plus que tout le reste, et l'échantillonnage ramène l'enregistrement à quelques
+ * nanosecondes par appel, sans verrou ni allocation ; il peut donc rester actif en production. Chaque appel
+ * chronométré est enregistré une fois, comme un échantillon : les percentiles décrivent l'échantillon, et les
+ * résumés indiquent de combien d'échantillons ils proviennent. La génération en masse enregistre chaque lot une seule
+ * fois, avec sa taille et sa durée totale, à part des échantillons.
+ *
+ * <p>Read through JMX once {@link #registerMBean()} has been called, or as text with {@link #dump()}.
+ * {@code -Dpasswordgenerator.metrics=false} turns recording off.</p>
+ */
+public final class PasswordMetrics implements PasswordMetricsMXBean {
+    /** System property turning recording off when {@code false}. / Propriété système désactivant l'enregistrement si {@code false}. */
+    public static final String ENABLED_PROPERTY = "passwordgenerator.metrics";
+    /** JMX name of the metrics. / Nom JMX des métriques. */
+    public static final String OBJECT_NAME = "passwordgenerator:type=PasswordMetrics";
+
+    static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+    static final int SAMPLE_INTERVAL = 8;       // One call in SAMPLE_INTERVAL is timed; a power of two
+    static final long NOT_TIMED = Long.MIN_VALUE; // start() of a call that is only counted
+    private static final int MAX_POLICIES = 64; // Policies beyond this share one histogram
+    private static final String OTHER_POLICIES = "other policies";
+    private static final PasswordMetrics INSTANCE = new PasswordMetrics();
+
+    private final ConcurrentMap<GenerationPolicy, LatencyHistogram> generationByPolicy = new ConcurrentHashMap<GenerationPolicy, LatencyHistogram>();
+    private final LatencyHistogram otherPolicies = new LatencyHistogram();
+    private final LatencyHistogram[] evaluationByLevel = new LatencyHistogram[PasswordStrengthLevel.values().length];
+    private volatile long startNanos = System.nanoTime();
+
+    private PasswordMetrics() {
+        for (int i = 0; i < evaluationByLevel.length; i++) {
+            evaluationByLevel[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Returns the metrics of this process.
+     * Retourne les métriques de ce processus.
+     */
+    public static PasswordMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server under {@value #OBJECT_NAME}, so that JConsole, VisualVM or
+     * any JMX agent can read them. Registering twice has no effect.
+     * Enregistre les métriques auprès du serveur MBean de la plateforme sous {@value #OBJECT_NAME}, pour que JConsole,
+     * VisualVM ou tout agent JMX puisse les lire. Un second enregistrement est sans effet.
+     * @throws IllegalStateException If the MBean server refuses the registration.
+     * @throws IllegalStateException Si le serveur MBean refuse l'enregistrement.
+     */
+    public static void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (final InstanceAlreadyExistsException e) {
+            // Already registered, e.g. by another front end in the same process
+        } catch (final JMException e) {
+            throw new IllegalStateException("Unable to register " + OBJECT_NAME, e);
+        }
+    }
+
+    // --- Enregistrement / Recording ---
+
+    /**
+     * Starts recording a call: decides whether to time it and, if so, reads the clock.
+     * Commence l'enregistrement d'un appel : décide s'il est chronométré et, si oui, lit l'horloge.
+     * @return The {@link System#nanoTime()} at the start of a timed call, {@link #NOT_TIMED} otherwise.
+     * @return La valeur de {@link System#nanoTime()} au début d'un appel chronométré, {@link #NOT_TIMED} sinon.
+     */
+    static long start() {
+        if (!ENABLED || (ThreadLocalRandom.current().nextInt() & (SAMPLE_INTERVAL - 1)) != 0) {
+            return NOT_TIMED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the generation of one password, which ends now.
+     * Enregistre la génération d'un mot de passe, qui se termine maintenant.
+     * @param policy The policy the password was generated with.
+     * @param start What {@link #start()} returned when the generation began.
+     * @param policy La politique avec laquelle le mot de passe a été généré.
+     * @param start Ce que {@link #start()} a retourné au début de la génération.
+     */
+    void recordGeneration(final GenerationPolicy policy, final long start) {
+        if (ENABLED) {
+            record(histogramFor(policy), start);
+        }
+    }
+
+    /**
+     * Records the generation of a batch of passwords, as one batch of {@code count} passwords taking {@code nanos}.
+     * Enregistre la génération d'un lot de mots de passe, comme un lot de {@code count} mots de passe prenant {@code nanos}.
+     * @param policy The policy the passwords were generated with.
+     * @param nanos How long the whole batch took.
+     * @param count The number of passwords in the batch.
+     * @param policy La politique avec laquelle les mots de passe ont été générés.
+     * @param nanos Le temps qu'a pris le lot entier.
+     * @param count Le nombre de mots de passe du lot.
+     */
+    void recordGenerations(final GenerationPolicy policy, final long nanos, final long count) {
+        if (ENABLED && count > 0) {
+            final LatencyHistogram histogram = histogramFor(policy);
+            histogram.count(count);
+            histogram.recordBatch(count, nanos);
+        }
+    }
+
+    /**
+     * Records the evaluation of one password, which ends now.
+     * Enregistre l'évaluation d'un mot de passe, qui se termine maintenant.
+     * @param level The resulting strength level.
+     * @param start What {@link #start()} returned when the evaluation began.
+     * @param level Le niveau de force obtenu.
+     * @param start Ce que {@link #start()} a retourné au début de l'évaluation.
+     */
+    void recordEvaluation(final PasswordStrengthLevel level, final long start) {
+        if (ENABLED) {
+            record(evaluationByLevel[level.ordinal()], start);
+        }
+    }
+
+    // A timed call is one sample, whatever the number of calls around it that were only counted
+    private static void record(final LatencyHistogram histogram, final long start) {
+        histogram.count(1);
+        if (start != NOT_TIMED) {
+            histogram.record(System.nanoTime() - start);
+        }
+    }
+
+    // The policy caches its hash code and a policy reused between calls matches by identity, so a lookup is cheap
+    private LatencyHistogram histogramFor(final GenerationPolicy policy) {
+        final LatencyHistogram histogram = generationByPolicy.get(policy);
+        if (histogram != null) {
+            return histogram;
+        }
+        if (generationByPolicy.size() >= MAX_POLICIES) {
+            return otherPolicies;
+        }
+        final LatencyHistogram created = new LatencyHistogram();
+        final LatencyHistogram existing = generationByPolicy.putIfAbsent(policy, created);
+        return (existing == null) ? created : existing;
+    }
+
+    // --- Lecture / Reading ---
+
+    @Override
+    public boolean isEnabled() {
+        return ENABLED;
+    }
+
+    @Override
+    public double getUptimeSeconds() {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+
+    @Override
+    public long getGenerationCount() {
+        return getGenerationLatency().getCount();
+    }
+
+    @Override
+    public double getGenerationsPerSecond() {
+        return perSecond(getGenerationCount());
+    }
+
+    @Override
+    public LatencySnapshot getGenerationLatency() {
+        final List<LatencyHistogram> histograms = new ArrayList<LatencyHistogram>(generationByPolicy.values());
+        histograms.add(otherPolicies);
+        return LatencyHistogram.snapshot(histograms);
+    }
+
+    @Override
+    public Map<String, LatencySnapshot> getGenerationLatencyByPolicy() {
+        final Map<String, LatencySnapshot> byPolicy = new TreeMap<String, LatencySnapshot>();
+        for (final Map.Entry<GenerationPolicy, LatencyHistogram> entry : generationByPolicy.entrySet()) {
+            byPolicy.put(entry.getKey().toString(), entry.getValue().snapshot());
+        }
+        final LatencySnapshot other = otherPolicies.snapshot();
+        if (other.getCount() > 0) {
+            byPolicy.put(OTHER_POLICIES, other);
+        }
+        return byPolicy;
+    }
+
+    @Override
+    public long getEvaluationCount() {
+        return getEvaluationLatency().getCount();
+    }
+
+    @Override
+    public double getEvaluationsPerSecond() {
+        return perSecond(getEvaluationCount());
+    }
+
+    @Override
+    public LatencySnapshot getEvaluationLatency() {
+        final List<LatencyHistogram> histograms = new ArrayList<LatencyHistogram>();
+        for (final LatencyHistogram histogram : evaluationByLevel) {
+            histograms.add(histogram);
+        }
+        return LatencyHistogram.snapshot(histograms);
+    }
+
+    @Override
+    public Map<String, LatencySnapshot> getEvaluationLatencyByStrengthLevel() {
+        final Map<String, LatencySnapshot> byLevel = new LinkedHashMap<String, LatencySnapshot>();
+        for (final PasswordStrengthLevel level : PasswordStrengthLevel.values()) {
+            byLevel.put(level.name(), evaluationByLevel[level.ordinal()].snapshot());
+        }
+        return byLevel;
+    }
+
+    @Override
+    public String dump() {
+        final double uptime = getUptimeSeconds();
+        final StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "Password metrics over %.3f s%s%n", uptime, ENABLED ? "" : " (disabled)"));
+        final LatencySnapshot generation = getGenerationLatency();
+        text.append(String.format(Locale.ROOT, "generation %.1f/s %s%n", generation.getCount() / uptime, generation));
+        for (final Map.Entry<String, LatencySnapshot> entry : getGenerationLatencyByPolicy().entrySet()) {
+            appendNonEmpty(text, entry.getKey(), entry.getValue());
+        }
+        final LatencySnapshot evaluation = getEvaluationLatency();
+        text.append(String.format(Locale.ROOT, "evaluation %.1f/s %s%n", evaluation.getCount() / uptime, evaluation));
+        for (final Map.Entry<String, LatencySnapshot> entry : getEvaluationLatencyByStrengthLevel().entrySet()) {
+            appendNonEmpty(text, entry.getKey(), entry.getValue());
+        }
+        return text.toString();
+    }
+
+    @Override
+    public void reset() {
+        for (final LatencyHistogram histogram : generationByPolicy.values()) {
+            histogram.reset();
+        }
+        otherPolicies.reset();
+        for (final LatencyHistogram histogram : evaluationByLevel) {
+            histogram.reset();
+        }
+        startNanos = System.nanoTime();
+    }
+
+    private double perSecond(final long count) {
+        return count / getUptimeSeconds();
+    }
+
+    private static void appendNonEmpty(final StringBuilder text, final String label, final LatencySnapshot snapshot) {
+        if (snapshot.getCount() > 0) {
+            text.append("  ").append(label).append(": ").append(snapshot).append(String.format("%n"));
+        }
+    }
+}
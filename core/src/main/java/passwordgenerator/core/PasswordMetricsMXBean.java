@@ -0,0 +1,94 @@
+package passwordgenerator.core;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link PasswordMetrics}, registered as {@value PasswordMetrics#OBJECT_NAME} by
+ * {@link PasswordMetrics#registerMBean()}. Latency summaries appear as composite data in JMX clients; their
+ * percentiles describe the calls timed on their own, as many as {@link LatencySnapshot#getSampleCount()}.
+ * Interface de gestion de {@link PasswordMetrics}, enregistrée sous {@value PasswordMetrics#OBJECT_NAME} par
+ * {@link PasswordMetrics#registerMBean()}. Les résumés de latence apparaissent comme données composites dans les
+ * clients JMX ; leurs percentiles décrivent les appels chronométrés seuls, au nombre de
+ * {@link LatencySnapshot#getSampleCount()}.
+ */
+public interface PasswordMetricsMXBean {
+
+    /**
+     * Returns whether calls are being recorded; see {@link PasswordMetrics#ENABLED_PROPERTY}.
+     * Indique si les appels sont enregistrés ; voir {@link PasswordMetrics#ENABLED_PROPERTY}.
+     */
+    boolean isEnabled();
+
+    /**
+     * Returns the time over which the metrics were recorded, since they were first used or last reset.
+     * Retourne la durée sur laquelle les métriques ont été enregistrées, depuis leur première utilisation ou la
+     * dernière remise à zéro.
+     * @return The duration in seconds.
+     * @return La durée en secondes.
+     */
+    double getUptimeSeconds();
+
+    /**
+     * Returns the number of passwords generated.
+     * Retourne le nombre de mots de passe générés.
+     */
+    long getGenerationCount();
+
+    /**
+     * Returns the mean generation throughput over the uptime.
+     * Retourne le débit moyen de génération sur la durée d'enregistrement.
+     * @return Passwords per second.
+     * @return Mots de passe par seconde.
+     */
+    double getGenerationsPerSecond();
+
+    /**
+     * Returns the latency of every generation, whatever the policy.
+     * Retourne la latence de toutes les générations, quelle que soit la politique.
+     */
+    LatencySnapshot getGenerationLatency();
+
+    /**
+     * Returns the generation latency of each policy, keyed by {@link GenerationPolicy#toString()}.
+     * Retourne la latence de génération de chaque politique, indexée par {@link GenerationPolicy#toString()}.
+     */
+    Map<String, LatencySnapshot> getGenerationLatencyByPolicy();
+
+    /**
+     * Returns the number of passwords evaluated.
+     * Retourne le nombre de mots de passe évalués.
+     */
+    long getEvaluationCount();
+
+    /**
+     * Returns the mean evaluation throughput over the uptime.
+     * Retourne le débit moyen d'évaluation sur la durée d'enregistrement.
+     * @return Passwords per second.
+     * @return Mots de passe par seconde.
+     */
+    double getEvaluationsPerSecond();
+
+    /**
+     * Returns the latency of every evaluation, whatever the result.
+     * Retourne la latence de toutes les évaluations, quel que soit le résultat.
+     */
+    LatencySnapshot getEvaluationLatency();
+
+    /**
+     * Returns the evaluation latency for each resulting strength level, keyed by {@link PasswordStrengthLevel#name()}.
+     * Retourne la latence d'évaluation pour chaque niveau de force obtenu, indexée par {@link PasswordStrengthLevel#name()}.
+     */
+    Map<String, LatencySnapshot> getEvaluationLatencyByStrengthLevel();
+
+    /**
+     * Formats every metric as plain text, one histogram per line.
+     * Met en forme toutes les métriques en texte brut, un histogramme par ligne.
+     */
+    String dump();
+
+    /**
+     * Clears every counter and histogram and restarts the uptime.
+     * Efface tous les compteurs et histogrammes et redémarre la durée d'enregistrement.
+     */
+    void reset();
+}
@@ -0,0 +1,254 @@
+package passwordgenerator.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded stock of passwords generated, and optionally evaluated, in advance, one per active generation policy, so
+ * that a Generate click or a service request only pops a ready password instead of paying for generation and
+ * evaluation.
+ * Each stock is a lock-free stack of at most {@code capacity} passwords; a single background thread tops the stocks
+ * up, round-robin, whenever one falls to half, and sleeps otherwise. Taking never blocks and never waits for the
+ * thread: an empty or unknown stock returns {@code null} and the caller generates inline.
+ * Stock borné de mots de passe générés, et éventuellement évalués, à l'avance, un par politique de génération
+ * active, pour qu'un clic sur Générer ou une requête au service se contente de dépiler un mot de passe prêt au lieu
+ * de payer la génération et l'évaluation. Chaque stock est une pile sans verrou d'au plus {@code capacity} mots de passe ; un unique thread
+ * d'arrière-plan réapprovisionne les stocks, à tour de rôle, dès que l'un tombe à moitié, et dort le reste du temps.
+ * Prendre un mot de passe ne bloque jamais et n'attend jamais le thread : un stock vide ou inconnu retourne
+ * {@code null} et l'appelant génère lui-même.
+ *
+ * <p>Waiting passwords are secrets kept in memory: {@link #invalidate()} wipes them when the options they were
+ * generated for change, and {@link #shutdown()} when the application exits. Evaluating them is optional, because an
+ * evaluation, like every evaluation of {@link PasswordService}, goes through a {@code String} that cannot be wiped.
+ * Refills are not recorded in {@link PasswordMetrics} nor as JFR events, which describe what callers asked for.
+ * A policy whose refill fails is reported once and stays disabled, still counted among the kept policies, until
+ * {@link #invalidate()}.</p>
+ */
+public final class PasswordReservoir {
+    private static final String THREAD_NAME = "password-reservoir";
+    private static final String REFILL_ERROR_MESSAGE = "Password reservoir refill failed: ";
+
+    private final PasswordService passwordService;
+    private final int capacity;
+    private final int maxPolicies;
+    private final boolean evaluate;
+    private final ConcurrentMap<GenerationPolicy, Stock> stocks = new ConcurrentHashMap<GenerationPolicy, Stock>();
+    private final Thread refiller;
+    private volatile boolean shutDown;
+
+    /**
+     * Constructs a reservoir and starts its refill thread, a daemon that never keeps the application alive.
+     * Construit un réservoir et démarre son thread de réapprovisionnement, un démon qui ne maintient jamais
+     * l'application en vie.
+     * @param passwordService The service generating and evaluating the passwords.
+     * @param capacity The number of passwords kept ready per policy.
+     * @param maxPolicies The number of policies kept at once; others are always generated inline.
+     * @param evaluate Whether to evaluate the passwords in advance too, see {@link ReservedPassword#getEvaluation()}.
+     * @param passwordService Le service générant et évaluant les mots de passe.
+     * @param capacity Le nombre de mots de passe tenus prêts par politique.
+     * @param maxPolicies Le nombre de politiques gardées à la fois ; les autres sont toujours générées à la demande.
+     * @param evaluate S'il faut aussi évaluer les mots de passe à l'avance, voir {@link ReservedPassword#getEvaluation()}.
+     */
+    public PasswordReservoir(final PasswordService passwordService, final int capacity, final int maxPolicies, final boolean evaluate) {
+        if (capacity < 1 || maxPolicies < 1) {
+            throw new IllegalArgumentException("capacity and maxPolicies must be positive: " + capacity + ", " + maxPolicies);
+        }
+        this.passwordService = passwordService;
+        this.capacity = capacity;
+        this.maxPolicies = maxPolicies;
+        this.evaluate = evaluate;
+        this.refiller = new Thread(new Runnable() {
+            public void run() {
+                refill();
+            }
+        }, THREAD_NAME);
+        this.refiller.setDaemon(true);
+        this.refiller.start();
+    }
+
+    /**
+     * Starts keeping passwords ready for a policy, unless {@code maxPolicies} are already kept.
+     * Commence à tenir des mots de passe prêts pour une politique, sauf si {@code maxPolicies} le sont déjà.
+     * @param policy The policy about to be used.
+     * @param policy La politique sur le point d'être utilisée.
+     */
+    public void activate(final GenerationPolicy policy) {
+        if (shutDown || stocks.containsKey(policy) || stocks.size() >= maxPolicies) {
+            return;
+        }
+        if (stocks.putIfAbsent(policy, new Stock(policy)) == null) {
+            LockSupport.unpark(refiller);
+        }
+    }
+
+    /**
+     * Pops a ready password for the policy. A policy seen for the first time is activated for the next calls.
+     * Dépile un mot de passe prêt pour la politique. Une politique vue pour la première fois est activée pour les
+     * appels suivants.
+     * @param policy The policy the password must follow.
+     * @return A password the caller now owns and should wipe, or {@code null} if none is ready.
+     * @param policy La politique que le mot de passe doit respecter.
+     * @return Un mot de passe qui appartient désormais à l'appelant, qui doit l'effacer, ou {@code null} si aucun
+     * n'est prêt.
+     */
+    public ReservedPassword take(final GenerationPolicy policy) {
+        final Stock stock = stocks.get(policy);
+        if (stock == null) {
+            activate(policy);
+            return null;
+        }
+        final ReservedPassword password = stock.pop();
+        if (stock.size() <= capacity / 2 && !stock.invalidated) {
+            LockSupport.unpark(refiller);
+        }
+        return password;
+    }
+
+    /**
+     * Wipes and forgets every waiting password and every active policy, e.g. when the generation options change.
+     * Passwords being generated meanwhile are wiped as soon as they are ready.
+     * Efface et oublie tous les mots de passe en attente et toutes les politiques actives, par exemple quand les
+     * options de génération changent. Les mots de passe en cours de génération sont effacés dès qu'ils sont prêts.
+     */
+    public void invalidate() {
+        for (final GenerationPolicy policy : stocks.keySet()) {
+            final Stock stock = stocks.remove(policy);
+            if (stock != null) {
+                stock.invalidate();
+            }
+        }
+    }
+
+    /**
+     * Stops the refill thread and wipes every waiting password. The reservoir stays usable but always empty.
+     * Arrête le thread de réapprovisionnement et efface tous les mots de passe en attente. Le réservoir reste
+     * utilisable mais toujours vide.
+     */
+    public void shutdown() {
+        shutDown = true;
+        invalidate();
+        LockSupport.unpark(refiller);
+    }
+
+    /**
+     * Returns the passwords waiting for the policy, most recent first, without taking them; for tests.
+     * Retourne les mots de passe en attente pour la politique, les plus récents en premier, sans les prendre ; pour
+     * les tests.
+     */
+    List<ReservedPassword> waiting(final GenerationPolicy policy) {
+        final List<ReservedPassword> passwords = new ArrayList<ReservedPassword>();
+        final Stock stock = stocks.get(policy);
+        for (Node node = (stock == null) ? null : stock.top.get(); node != null; node = node.below) {
+            passwords.add(node.password);
+        }
+        return passwords;
+    }
+
+    // One password per stock and per round, so that no policy waits for another to be full; parks once all are
+    private void refill() {
+        while (!shutDown) {
+            boolean added = false;
+            for (final Stock stock : stocks.values()) {
+                if (stock.size() < capacity && !stock.invalidated) {
+                    added |= refill(stock);
+                }
+            }
+            if (!added) {
+                LockSupport.park(this);
+            }
+        }
+    }
+
+    private boolean refill(final Stock stock) {
+        final GenerationPolicy policy = stock.policy;
+        final char[] chars = new char[policy.length];
+        try {
+            passwordService.fillPassword(policy, chars);
+            final PasswordEvaluationResult evaluation = evaluate ? passwordService.evaluate(new String(chars)) : null;
+            stock.push(new ReservedPassword(chars, evaluation));
+        } catch (final RuntimeException e) {
+            // Left in place, disabled: removing it would let the next take() activate the policy and fail again
+            System.err.println(REFILL_ERROR_MESSAGE + e.getMessage());
+            Arrays.fill(chars, '\0');
+            stock.invalidate();
+            return false;
+        }
+        if (stock.invalidated || shutDown) {
+            stock.drain(); // Invalidated while the password was being generated: invalidate() may have missed it
+        }
+        return true;
+    }
+
+    /**
+     * Lock-free bounded stack (Treiber stack) of the passwords ready for one policy. Only the refill thread pushes;
+     * any thread pops. Every node knows the depth of the stack below it, so the size is one volatile read.
+     * Pile bornée sans verrou (pile de Treiber) des mots de passe prêts pour une politique. Seul le thread de
+     * réapprovisionnement empile ; tout thread dépile. Chaque nœud connaît la profondeur de la pile sous lui, si bien
+     * que la taille se lit en une lecture volatile.
+     */
+    private static final class Stock {
+        final GenerationPolicy policy;
+        private final AtomicReference<Node> top = new AtomicReference<Node>();
+        volatile boolean invalidated;
+
+        Stock(final GenerationPolicy policy) {
+            this.policy = policy;
+        }
+
+        int size() {
+            final Node node = top.get();
+            return (node == null) ? 0 : node.depth;
+        }
+
+        void push(final ReservedPassword password) {
+            while (true) {
+                final Node below = top.get();
+                if (top.compareAndSet(below, new Node(password, below))) {
+                    return;
+                }
+            }
+        }
+
+        ReservedPassword pop() {
+            while (true) {
+                final Node node = top.get();
+                if (node == null) {
+                    return null;
+                }
+                if (top.compareAndSet(node, node.below)) {
+                    return node.password;
+                }
+            }
+        }
+
+        // The flag is raised before draining, and the refill thread checks it after pushing: one of them wipes
+        void invalidate() {
+            invalidated = true;
+            drain();
+        }
+
+        void drain() {
+            ReservedPassword password;
+            while ((password = pop()) != null) {
+                password.wipe();
+            }
+        }
+    }
+
+    private static final class Node {
+        final ReservedPassword password;
+        final Node below;
+        final int depth;
+
+        Node(final ReservedPassword password, final Node below) {
+            this.password = password;
+            this.below = below;
+            this.depth = (below == null) ? 1 : below.depth + 1;
+        }
+    }
+}
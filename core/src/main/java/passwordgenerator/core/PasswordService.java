@@ -0,0 +1,1043 @@
+package passwordgenerator.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Handles password generation and strength evaluation logic.
+ * This class is designed to be testable and independent of the UI. It is the entry point of the core library and
+ * is thread-safe: one instance can be shared by every thread of an application.
+ * Gère la logique de génération et d'évaluation de la force des mots de passe.
+ * Cette classe est conçue pour être testable et indépendante de l'interface utilisateur. C'est le point d'entrée de
+ * la bibliothèque et elle est sûre entre threads : une instance peut être partagée par tous les threads d'une application.
+ */
+public final class PasswordService {
+    private final SecureRandom secureRandom;
+    private final SecureRandomFactory randomFactory;
+    private final RandomnessMode randomnessMode;
+    private final RandomIndexSource sharedRandomSource;         // Used when randomness is shared by all threads
+    private final ThreadLocal<RandomIndexSource> threadRandomSources; // Used when each thread has its own generator
+    private final RandomIndexSource[] stripedRandomSources;     // Used when callers pick one of a fixed set at random
+    private volatile PenaltyPatternMatcher penaltyMatcher = DEFAULT_PENALTY_MATCHER;
+    private final List<String> extraSequences = new ArrayList<String>();  // User-supplied, guarded by "this"
+    private final List<String> extraWeakWords = new ArrayList<String>();  // User-supplied, guarded by "this"
+    private volatile BreachedPasswordCorpus breachCorpus;                 // null when no corpus is configured
+    private volatile EntropyModel entropyModel = EntropyModel.PATTERN_MATCHING;
+
+    // --- Ensembles de caractères pour la génération de mots de passe / Character sets for password generation ---
+    private static final String UPPERCASE_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String LOWERCASE_CHARS = "abcdefghijklmnopqrstuvwxyz";
+    private static final String NUMBERS_CHARS = "0123456789";
+    private static final String SYMBOLS_CHARS = "!@#$%^&*()_-+=<>?/{}[]|";
+
+    // --- Constantes pour l'évaluation de la force des mots de passe / Constants for password strength evaluation ---
+    static final int LOWERCASE_CLASS = 0;
+    static final int UPPERCASE_CLASS = 1;
+    static final int DIGIT_CLASS = 2;
+    static final int SYMBOL_CLASS = 3;
+    private static final int SCORE_THRESHOLD_VERY_STRONG = 45;
+    private static final int SCORE_THRESHOLD_STRONG = 30;
+    private static final int SCORE_THRESHOLD_MEDIUM = 15;
+
+    // --- Listes pour les pénalités d'évaluation de la force / Lists for strength evaluation penalties ---
+    private static final String[] COMMON_SEQUENCES_LOWER = {
+        "abc", "bcd", "cde", "def", "efg", "fgh", "ghi", "hij", "ijk", "jkl", "klm", "lmn", "mno", "nop", "opq", "pqr", "qrs", "rst", "stu", "tuv", "uvw", "vwx", "wxy", "xyz",
+        "qwe", "wer", "ert", "rty", "tyu", "yui", "uio", "iop",
+        "asd", "sdf", "dfg", "fgh", "ghj", "hjk", "jkl",
+        "zxc", "xcv", "cvb", "vbn", "bnm"
+    };
+    private static final String[] COMMON_SEQUENCES_NUM = {"123", "234", "345", "456", "567", "678", "789", "890", "098", "987", "876", "765", "654", "543", "432", "321"};
+    private static final String[] COMMON_WEAK_WORDS = {"password", "pass", "admin", "administrator", "user", "username", "login", "logon", "guest", "test", "secret", "qwerty", "azerty", "12345", "123456", "1234567", "12345678", "123456789", "root", "support", "service", "welcome", "example", "demo", "changeme"};
+    private static final PenaltyPatternMatcher DEFAULT_PENALTY_MATCHER = new PenaltyPatternMatcher(concat(COMMON_SEQUENCES_LOWER, COMMON_SEQUENCES_NUM), COMMON_WEAK_WORDS);
+    private static final int ASCII_LIMIT = 128;
+    private static final int[] ASCII_CLASSES = new int[ASCII_LIMIT]; // characterClass() of each ASCII char
+    // Per-thread character frequencies for the evaluation scan, left cleared after each use
+    private static final ThreadLocal<int[]> ASCII_COUNTS = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[ASCII_LIMIT];
+        }
+    };
+
+    static {
+        for (char c = 0; c < ASCII_LIMIT; c++) {
+            ASCII_CLASSES[c] = characterClass(c);
+        }
+    }
+
+    // --- Génération en masse / Bulk generation ---
+    private static final int BULK_BUFFER_SIZE = 64 * 1024; // Bytes buffered before each write to the output stream
+
+    // --- Aléa par thread / Per-thread randomness ---
+    private static final int THREAD_SEED_BYTES = 32; // Seed drawn from the shared generator for each thread's generator
+
+    /**
+     * Constructs a PasswordService and initializes {@link SecureRandom}, using entropy-efficient buffered randomness
+     * with one generator per thread.
+     * Construit un PasswordService et initialise {@link SecureRandom}, avec un aléa tamponné économe en entropie
+     * et un générateur par thread.
+     */
+    public PasswordService() {
+        this(RandomnessMode.ENTROPY_EFFICIENT, true);
+    }
+
+    /**
+     * Constructs a PasswordService with the given randomness mode, with one generator per thread.
+     * Construit un PasswordService avec le mode d'aléa donné, avec un générateur par thread.
+     * @param randomnessMode How SecureRandom output is turned into character indices.
+     * @param randomnessMode La façon dont la sortie de SecureRandom est transformée en indices de caractères.
+     */
+    public PasswordService(final RandomnessMode randomnessMode) {
+        this(randomnessMode, true);
+    }
+
+    /**
+     * Constructs a PasswordService with the given randomness mode and threading strategy.
+     * With per-thread randomness, each calling thread lazily gets its own {@link SecureRandom}, seeded from the
+     * shared one, so concurrent callers never wait on each other's generator lock; {@code GenerationScalingBenchmark},
+     * in the benchmarks module, measures the throughput of both strategies from 1 to 16 threads.
+     * Construit un PasswordService avec le mode d'aléa et la stratégie de threads donnés.
+     * Avec un aléa par thread, chaque thread appelant obtient à la demande son propre {@link SecureRandom},
+     * initialisé à partir du générateur partagé, de sorte que les appels concurrents n'attendent jamais
+     * le verrou du générateur d'un autre thread ; {@code GenerationScalingBenchmark}, dans le module benchmarks,
+     * mesure le débit des deux stratégies de 1 à 16 threads.
+     * @param randomnessMode How SecureRandom output is turned into character indices.
+     * @param perThreadRandomness Whether each thread uses its own generator instead of the shared one.
+     * @param randomnessMode La façon dont la sortie de SecureRandom est transformée en indices de caractères.
+     * @param perThreadRandomness Si chaque thread utilise son propre générateur au lieu du générateur partagé.
+     */
+    public PasswordService(final RandomnessMode randomnessMode, final boolean perThreadRandomness) {
+        this(randomnessMode, perThreadRandomness, 0, SecureRandomFactory.fromSystemProperties());
+    }
+
+    /**
+     * Constructs a PasswordService drawing from a fixed set of generators, each password from one picked at random.
+     * Meant for callers that are many and short-lived, such as a virtual thread per request: per-thread generators
+     * would each be created, seeded under the shared generator's lock and fill a whole block for one password,
+     * while a fixed set is seeded once and spreads concurrent callers over several locks.
+     * Construit un PasswordService tirant d'un ensemble fixe de générateurs, chaque mot de passe d'un générateur
+     * choisi au hasard. Destiné aux appelants nombreux et éphémères, comme un thread virtuel par requête : des
+     * générateurs par thread seraient chacun créés, initialisés sous le verrou du générateur partagé et rempliraient
+     * un bloc entier pour un seul mot de passe, alors qu'un ensemble fixe est initialisé une fois et répartit les
+     * appels concurrents sur plusieurs verrous.
+     * @param randomnessMode How SecureRandom output is turned into character indices.
+     * @param randomStripes The number of generators; a few per core keeps contention low.
+     * @param randomnessMode La façon dont la sortie de SecureRandom est transformée en indices de caractères.
+     * @param randomStripes Le nombre de générateurs ; quelques-uns par cœur suffisent à limiter la contention.
+     */
+    public PasswordService(final RandomnessMode randomnessMode, final int randomStripes) {
+        this(randomnessMode, false, randomStripes, SecureRandomFactory.fromSystemProperties());
+    }
+
+    /**
+     * Constructs a PasswordService whose generators are created by the given factory.
+     * Construit un PasswordService dont les générateurs sont créés par la fabrique donnée.
+     * @param randomnessMode How SecureRandom output is turned into character indices.
+     * @param perThreadRandomness Whether each thread uses its own generator instead of the shared one.
+     * @param randomStripes The size of the fixed set of generators to use instead, or 0 for none.
+     * @param randomFactory The factory selecting the SecureRandom algorithm and provider.
+     * @param randomnessMode La façon dont la sortie de SecureRandom est transformée en indices de caractères.
+     * @param perThreadRandomness Si chaque thread utilise son propre générateur au lieu du générateur partagé.
+     * @param randomStripes La taille de l'ensemble fixe de générateurs à utiliser à la place, ou 0 pour aucun.
+     * @param randomFactory La fabrique choisissant l'algorithme et le fournisseur de SecureRandom.
+     */
+    PasswordService(final RandomnessMode randomnessMode, final boolean perThreadRandomness, final int randomStripes, final SecureRandomFactory randomFactory) {
+        if (randomStripes < 0) {
+            throw new IllegalArgumentException("randomStripes must not be negative: " + randomStripes);
+        }
+        this.randomFactory = randomFactory;
+        this.secureRandom = randomFactory.create();
+        this.randomnessMode = randomnessMode;
+        this.breachCorpus = BreachedPasswordCorpus.fromSystemProperties();
+        if (perThreadRandomness) {
+            this.sharedRandomSource = null;
+            this.stripedRandomSources = null;
+            this.threadRandomSources = new ThreadLocal<RandomIndexSource>() {
+                @Override
+                protected RandomIndexSource initialValue() {
+                    return createRandomSource(newSeededSecureRandom());
+                }
+            };
+        } else if (randomStripes > 0) {
+            this.sharedRandomSource = null;
+            this.threadRandomSources = null;
+            this.stripedRandomSources = new RandomIndexSource[randomStripes];
+            for (int i = 0; i < randomStripes; i++) {
+                stripedRandomSources[i] = createRandomSource(newSeededSecureRandom());
+            }
+        } else {
+            this.sharedRandomSource = createRandomSource(secureRandom);
+            this.threadRandomSources = null;
+            this.stripedRandomSources = null;
+        }
+    }
+
+    /**
+     * Creates an index source of the configured mode on top of the given generator.
+     * Crée une source d'indices du mode configuré au-dessus du générateur donné.
+     * @param random The underlying generator.
+     * @return The new index source.
+     * @param random Le générateur sous-jacent.
+     * @return La nouvelle source d'indices.
+     */
+    private RandomIndexSource createRandomSource(final SecureRandom random) {
+        if (randomnessMode == RandomnessMode.DIRECT) {
+            return new DirectRandomIndexSource(random);
+        } else if (randomnessMode == RandomnessMode.BUFFERED) {
+            return new BufferedRandomIndexSource(random);
+        }
+        return new EntropyEfficientRandomIndexSource(random);
+    }
+
+    /**
+     * Creates a generator for the calling thread, or for one of the fixed set, self-seeded, then mixed with fresh
+     * bytes from the shared generator.
+     * Some algorithms, SHA1PRNG among them, take a seed set before their first output as their only seed instead of
+     * seeding themselves; drawing from the generator first makes it self-seed, so the extra seed can only add to it.
+     * Crée un générateur pour le thread appelant, ou pour l'un de l'ensemble fixe, auto-initialisé, puis mélangé à
+     * des octets frais du générateur partagé. Certains algorithmes, dont SHA1PRNG, prennent une graine fournie avant leur première sortie comme seule
+     * graine au lieu de s'initialiser eux-mêmes ; tirer d'abord du générateur le force à s'auto-initialiser, si bien
+     * que la graine supplémentaire ne peut que s'y ajouter.
+     * @return The new generator.
+     * @return Le nouveau générateur.
+     */
+    private SecureRandom newSeededSecureRandom() {
+        final SecureRandom threadRandom = randomFactory.create();
+        final byte[] seed = new byte[THREAD_SEED_BYTES];
+        threadRandom.nextBytes(seed); // Forces self-seeding before setSeed(); the bytes are overwritten below
+        secureRandom.nextBytes(seed);
+        threadRandom.setSeed(seed);   // Mixed into the self-seeded state
+        Arrays.fill(seed, (byte) 0);
+        return threadRandom;
+    }
+
+    /**
+     * Returns the index source to use from the calling thread.
+     * Retourne la source d'indices à utiliser depuis le thread appelant.
+     */
+    private RandomIndexSource currentRandomSource() {
+        if (threadRandomSources != null) {
+            return threadRandomSources.get();
+        }
+        if (stripedRandomSources != null) {
+            return stripedRandomSources[ThreadLocalRandom.current().nextInt(stripedRandomSources.length)];
+        }
+        return sharedRandomSource;
+    }
+
+    /**
+     * Filters a character set by removing specified characters.
+     * This ensures that excluded characters (e.g., ambiguous ones) are not used.
+     * Filtre un ensemble de caractères en supprimant les caractères spécifiés.
+     * Cela garantit que les caractères exclus (par exemple, les caractères ambigus) ne sont pas utilisés.
+     *
+     * @param charSet The original character set string.
+     * @param excludeChars The string of characters to exclude. Can be null or empty.
+     * @return A new string with excluded characters removed. Returns the original charSet if excludeChars is null/empty.
+     * @param charSet La chaîne de caractères de l'ensemble original.
+     * @param excludeChars La chaîne de caractères à exclure. Peut être null ou vide.
+     * @return Une nouvelle chaîne sans les caractères exclus. Retourne l'ensemble original si excludeChars est null/vide.
+     */
+    String filterChars(final String charSet, final String excludeChars) {
+        if (excludeChars == null || excludeChars.isEmpty()) {
+            return charSet;
+        }
+        final StringBuilder filtered = new StringBuilder();
+        for (int i = 0; i < charSet.length(); i++) {
+            final char c = charSet.charAt(i);
+            if (excludeChars.indexOf(c) == -1) { // If char is not in excludeChars
+                filtered.append(c);
+            }
+        }
+        return filtered.toString();
+    }
+
+    /**
+     * Compiles generation options into an immutable {@link GenerationPolicy}.
+     * Character sets are filtered once here, so the policy can be reused for any number of passwords
+     * without repeating the exclusion work.
+     * Compile les options de génération en une {@link GenerationPolicy} immuable.
+     * Les ensembles de caractères sont filtrés une seule fois ici, afin que la politique puisse être
+     * réutilisée pour un nombre quelconque de mots de passe sans refaire le travail d'exclusion.
+     *
+     * @param length       The desired length of the password.
+     * @param useUpperCase Whether to include uppercase letters.
+     * @param useLowerCase Whether to include lowercase letters.
+     * @param useNumbers   Whether to include numbers.
+     * @param useSymbols   Whether to include symbols.
+     * @param excludeChars Characters to exclude from the generated password.
+     * @return The compiled policy, or {@code null} if no valid character types are selected or the
+     * effective character pool becomes empty after exclusions.
+     * @param length       La longueur désirée du mot de passe.
+     * @param useUpperCase Si les lettres majuscules doivent être incluses.
+     * @param useLowerCase Si les lettres minuscules doivent être incluses.
+     * @param useNumbers   Si les chiffres doivent être inclus.
+     * @param useSymbols   Si les symboles doivent être inclus.
+     * @param excludeChars Caractères à exclure du mot de passe généré.
+     * @return La politique compilée, ou {@code null} si aucun type de caractère valide n'est sélectionné
+     * ou si le pool de caractères effectif devient vide après les exclusions.
+     */
+    public GenerationPolicy compilePolicy(final int length, final boolean useUpperCase, final boolean useLowerCase, final boolean useNumbers, final boolean useSymbols, final String excludeChars) {
+        // Check if at least one character type is selected
+        if (!useUpperCase && !useLowerCase && !useNumbers && !useSymbols) {
+            return null;
+        }
+
+        final StringBuilder charPool = new StringBuilder();
+        final int[] classOffsets = new int[4];
+        final int[] classSizes = new int[4];
+        int classCount = 0;
+
+        // Filter character sets based on exclusions and build the main character pool
+        final String[] selectedSets = {
+            useUpperCase ? filterChars(UPPERCASE_CHARS, excludeChars) : "",
+            useLowerCase ? filterChars(LOWERCASE_CHARS, excludeChars) : "",
+            useNumbers ? filterChars(NUMBERS_CHARS, excludeChars) : "",
+            useSymbols ? filterChars(SYMBOLS_CHARS, excludeChars) : ""
+        };
+        for (int i = 0; i < selectedSets.length; i++) {
+            if (!selectedSets[i].isEmpty()) {
+                classOffsets[classCount] = charPool.length();
+                classSizes[classCount] = selectedSets[i].length();
+                classCount++;
+                charPool.append(selectedSets[i]);
+            }
+        }
+
+        // If the character pool is empty after filtering/selection, we cannot generate a password
+        if (charPool.length() == 0) {
+            return null;
+        }
+
+        final int[] offsets = new int[classCount];
+        final int[] sizes = new int[classCount];
+        System.arraycopy(classOffsets, 0, offsets, 0, classCount);
+        System.arraycopy(classSizes, 0, sizes, 0, classCount);
+
+        // The password must be at least as long as the number of required characters (one per class)
+        return new GenerationPolicy(Math.max(length, classCount), charPool.toString().toCharArray(), offsets, sizes);
+    }
+
+    /**
+     * Generates a password based on the specified criteria.
+     *
+     * @param length       The desired length of the password.
+     * @param useUpperCase Whether to include uppercase letters.
+     * @param useLowerCase Whether to include lowercase letters.
+     * @param useNumbers   Whether to include numbers.
+     * @param useSymbols   Whether to include symbols.
+     * @param excludeChars Characters to exclude from the generated password.
+     * @return The generated password, or {@code null} if no valid character types are selected or the
+     * effective character pool becomes empty after exclusions.
+     * Génère un mot de passe basé sur les critères spécifiés.
+     *
+     * @param length       La longueur désirée du mot de passe.
+     * @param useUpperCase Si les lettres majuscules doivent être incluses.
+     * @param useLowerCase Si les lettres minuscules doivent être incluses.
+     * @param useNumbers   Si les chiffres doivent être inclus.
+     * @param useSymbols   Si les symboles doivent être inclus.
+     * @param excludeChars Caractères à exclure du mot de passe généré.
+     * @return Le mot de passe généré, ou {@code null} si aucun type de caractère valide n'est sélectionné
+     * ou si le pool de caractères effectif devient vide après les exclusions.
+     */
+    public String generatePassword(final int length, final boolean useUpperCase, final boolean useLowerCase, final boolean useNumbers, final boolean useSymbols, final String excludeChars) {
+        final GenerationPolicy policy = compilePolicy(length, useUpperCase, useLowerCase, useNumbers, useSymbols, excludeChars);
+        if (policy == null) {
+            return null;
+        }
+        return generatePassword(policy);
+    }
+
+    /**
+     * Generates a password from a precompiled policy.
+     * The result contains at least one character of each class of the policy.
+     * Génère un mot de passe à partir d'une politique précompilée.
+     * Le résultat contient au moins un caractère de chaque classe de la politique.
+     *
+     * @param policy The compiled generation policy.
+     * @return The generated password.
+     * @param policy La politique de génération compilée.
+     * @return Le mot de passe généré.
+     */
+    public String generatePassword(final GenerationPolicy policy) {
+        final char[] passwordChars = new char[policy.length];
+        generatePassword(policy, passwordChars);
+        final String password = new String(passwordChars);
+        Arrays.fill(passwordChars, '\0'); // Do not leave a copy of the password behind
+        return password;
+    }
+
+    /**
+     * Generates a password from a precompiled policy directly into a caller-supplied buffer.
+     * Characters are drawn and shuffled in place (Fisher–Yates) on the primitive array, so this method
+     * allocates nothing and the caller can reuse and wipe the buffer afterwards.
+     * Génère un mot de passe à partir d'une politique précompilée directement dans un tampon fourni par l'appelant.
+     * Les caractères sont tirés et mélangés sur place (Fisher–Yates) dans le tableau primitif : cette méthode
+     * n'alloue rien et l'appelant peut réutiliser puis effacer le tampon.
+     *
+     * @param policy      The compiled generation policy.
+     * @param destination The buffer to fill, starting at index 0. Must hold at least {@code policy.length} chars.
+     * @return The number of characters written, i.e. the password length.
+     * @param policy      La politique de génération compilée.
+     * @param destination Le tampon à remplir, à partir de l'indice 0. Doit contenir au moins {@code policy.length} caractères.
+     * @return Le nombre de caractères écrits, c'est-à-dire la longueur du mot de passe.
+     */
+    public int generatePassword(final GenerationPolicy policy, final char[] destination) {
+        final GenerationEvent event = FlightRecorderEvents.enabled() ? new GenerationEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        final long start = PasswordMetrics.start();
+        final int length = fillPassword(policy, destination);
+        PasswordMetrics.get().recordGeneration(policy, start);
+        if (event != null && event.shouldCommit()) {
+            event.describe(policy, 1);
+            event.commit();
+        }
+        return length;
+    }
+
+    // Draws a password into the buffer, without recording metrics or events; also used by PasswordReservoir
+    int fillPassword(final GenerationPolicy policy, final char[] destination) {
+        final int length = policy.length;
+        if (destination.length < length) {
+            throw new IllegalArgumentException("destination holds " + destination.length + " chars, " + length + " needed");
+        }
+        final char[] pool = policy.pool;
+        final int classCount = policy.classOffsets.length;
+        final RandomIndexSource randomSource = currentRandomSource();
+
+        // Add one required character from each selected class first
+        for (int i = 0; i < classCount; i++) {
+            destination[i] = pool[policy.classOffsets[i] + randomSource.nextIndex(policy.classSizes[i])];
+        }
+
+        // Fill the remaining length with random characters from the combined pool
+        for (int i = classCount; i < length; i++) {
+            destination[i] = pool[randomSource.nextIndex(pool.length)];
+        }
+
+        // Shuffle in place so the required characters end up at random positions
+        for (int i = length - 1; i > 0; i--) {
+            final int j = randomSource.nextIndex(i + 1);
+            final char tmp = destination[i];
+            destination[i] = destination[j];
+            destination[j] = tmp;
+        }
+        return length;
+    }
+
+    /**
+     * Generates {@code count} passwords and streams them, one per line, to the given output stream.
+     * The options are compiled once into a {@link GenerationPolicy} before generation starts.
+     * Génère {@code count} mots de passe et les écrit, un par ligne, dans le flux de sortie donné.
+     * Les options sont compilées une seule fois en une {@link GenerationPolicy} avant la génération.
+     *
+     * @param count        The number of passwords to generate.
+     * @param length       The desired length of each password.
+     * @param useUpperCase Whether to include uppercase letters.
+     * @param useLowerCase Whether to include lowercase letters.
+     * @param useNumbers   Whether to include numbers.
+     * @param useSymbols   Whether to include symbols.
+     * @param excludeChars Characters to exclude from the generated passwords.
+     * @param out          The destination stream. It is flushed but not closed.
+     * @return A {@link BulkGenerationReport} with the count and throughput, or {@code null} if no password
+     * can be generated with these options (nothing is written in that case).
+     * @throws IOException If writing to the output stream fails.
+     * @param count        Le nombre de mots de passe à générer.
+     * @param length       La longueur désirée de chaque mot de passe.
+     * @param useUpperCase Si les lettres majuscules doivent être incluses.
+     * @param useLowerCase Si les lettres minuscules doivent être incluses.
+     * @param useNumbers   Si les chiffres doivent être inclus.
+     * @param useSymbols   Si les symboles doivent être inclus.
+     * @param excludeChars Caractères à exclure des mots de passe générés.
+     * @param out          Le flux de destination. Il est vidé mais pas fermé.
+     * @return Un {@link BulkGenerationReport} avec le nombre et le débit, ou {@code null} si aucun mot de passe
+     * ne peut être généré avec ces options (rien n'est écrit dans ce cas).
+     * @throws IOException Si l'écriture dans le flux de sortie échoue.
+     */
+    public BulkGenerationReport generatePasswords(final long count, final int length, final boolean useUpperCase, final boolean useLowerCase, final boolean useNumbers, final boolean useSymbols, final String excludeChars, final OutputStream out) throws IOException {
+        final GenerationPolicy policy = compilePolicy(length, useUpperCase, useLowerCase, useNumbers, useSymbols, excludeChars);
+        if (policy == null) {
+            return null;
+        }
+        return generatePasswords(count, policy, out);
+    }
+
+    /**
+     * Generates {@code count} passwords from a precompiled policy and streams them, one per line,
+     * to the given output stream.
+     * Passwords are encoded into a single reusable byte buffer that is written out whenever it fills up,
+     * so memory usage stays flat no matter how many passwords are requested.
+     * Génère {@code count} mots de passe à partir d'une politique précompilée et les écrit, un par ligne,
+     * dans le flux de sortie donné.
+     * Les mots de passe sont encodés dans un tampon d'octets réutilisé, vidé dès qu'il est plein,
+     * de sorte que la mémoire reste constante quel que soit le nombre de mots de passe demandés.
+     *
+     * @param count  The number of passwords to generate.
+     * @param policy The compiled generation policy.
+     * @param out    The destination stream. It is flushed but not closed.
+     * @return A {@link BulkGenerationReport} with the count and throughput.
+     * @throws IOException If writing to the output stream fails.
+     * @param count  Le nombre de mots de passe à générer.
+     * @param policy La politique de génération compilée.
+     * @param out    Le flux de destination. Il est vidé mais pas fermé.
+     * @return Un {@link BulkGenerationReport} avec le nombre et le débit.
+     * @throws IOException Si l'écriture dans le flux de sortie échoue.
+     */
+    public BulkGenerationReport generatePasswords(final long count, final GenerationPolicy policy, final OutputStream out) throws IOException {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+
+        // One line can never exceed the buffer, even for very long passwords
+        final byte[] buffer = new byte[Math.max(BULK_BUFFER_SIZE, policy.length + 1)];
+        int position = 0;
+
+        final char[] passwordChars = new char[policy.length];
+
+        final GenerationEvent event = FlightRecorderEvents.enabled() ? new GenerationEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        final long start = System.nanoTime();
+        for (long n = 0; n < count; n++) {
+            if (position + policy.length + 1 > buffer.length) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+            position = writePasswordLine(policy, passwordChars, buffer, position);
+        }
+        out.write(buffer, 0, position);
+        out.flush();
+        Arrays.fill(passwordChars, '\0');
+        Arrays.fill(buffer, (byte) 0);
+
+        final long elapsed = System.nanoTime() - start;
+        PasswordMetrics.get().recordGenerations(policy, elapsed, count);
+        if (event != null && event.shouldCommit()) {
+            event.describe(policy, count);
+            event.commit();
+        }
+        return new BulkGenerationReport(count, elapsed);
+    }
+
+    /**
+     * Generates one password and encodes it, followed by a line feed, into a byte buffer.
+     * Génère un mot de passe et l'encode, suivi d'un saut de ligne, dans un tampon d'octets.
+     *
+     * @param policy        The compiled generation policy.
+     * @param passwordChars Scratch buffer of at least {@code policy.length} chars.
+     * @param buffer        The destination buffer. Must have room for {@code policy.length + 1} bytes.
+     * @param position      The index at which to start writing.
+     * @return The position just after the line feed.
+     * @param policy        La politique de génération compilée.
+     * @param passwordChars Tampon de travail d'au moins {@code policy.length} caractères.
+     * @param buffer        Le tampon de destination. Doit avoir la place pour {@code policy.length + 1} octets.
+     * @param position      L'indice à partir duquel écrire.
+     * @return La position juste après le saut de ligne.
+     */
+    int writePasswordLine(final GenerationPolicy policy, final char[] passwordChars, final byte[] buffer, int position) {
+        final int passwordLength = fillPassword(policy, passwordChars);
+        // All character sets are ASCII, so each char maps to exactly one byte
+        for (int i = 0; i < passwordLength; i++) {
+            buffer[position++] = (byte) passwordChars[i];
+        }
+        buffer[position++] = '\n';
+        return position;
+    }
+
+    /**
+     * Evaluates the strength of a given password and calculates its entropy.
+     * The strength is categorized into levels (Weak, Medium, Strong, Very Strong)
+     * and a quantitative entropy value (in bits) is provided.
+     * Évalue la force d'un mot de passe donné et calcule son entropie.
+     * La force est catégorisée en niveaux (Faible, Moyen, Fort, Très Fort)
+     * et une valeur d'entropie quantitative (en bits) est fournie.
+     *
+     * @param password The password string to evaluate.
+     * @return A {@link PasswordEvaluationResult} containing the strength level and entropy.
+     * @param password La chaîne du mot de passe à évaluer.
+     * @return Un {@link PasswordEvaluationResult} contenant le niveau de force et l'entropie.
+     */
+    public PasswordEvaluationResult evaluatePasswordStrength(final String password) {
+        final EvaluationEvent event = FlightRecorderEvents.enabled() ? new EvaluationEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        final long start = PasswordMetrics.start();
+        final PasswordEvaluationResult result = evaluate(password);
+        PasswordMetrics.get().recordEvaluation(result.strengthLevel, start);
+        if (event != null && event.shouldCommit()) {
+            // The length and the kinds of weakness only: nothing that narrows down the password itself
+            event.length = (password == null) ? 0 : password.length();
+            event.entropyModel = entropyModel.name();
+            event.strengthLevel = result.strengthLevel.name();
+            event.weaknesses = result.describeWeaknesses();
+            event.commit();
+        }
+        return result;
+    }
+
+    // Rates the password, without recording metrics or events; also used by PasswordReservoir
+    PasswordEvaluationResult evaluate(final String password) {
+        if (password == null || password.isEmpty()) {
+            return new PasswordEvaluationResult(PasswordStrengthLevel.EMPTY, 0.0);
+        }
+
+        final int length = password.length();
+        final PenaltyPatternMatcher matcher = penaltyMatcher;
+        final int[] asciiCounts = ASCII_COUNTS.get();
+        Map<Character, Integer> otherCounts = null; // Only allocated for passwords with non-ASCII characters
+
+        // --- Analyse en une seule passe / Single-pass scan ---
+        // Character types, penalized patterns, runs of identical characters and character frequencies together
+        int classFlags = 0;
+        int weaknesses = 0;
+        int state = 0;
+        int run = 0;
+        char previous = 0;
+        int pairLayouts = 0;         // KeyboardLayout.LAYOUTS on which the last two characters are adjacent keys
+        int earlierPairLayouts = 0;  // Same, one character earlier
+        int earliestPairLayouts = 0; // Same, two characters earlier
+        for (int i = 0; i < length; i++) {
+            final char c = password.charAt(i);
+            if (c < ASCII_CLASSES.length) {
+                final int characterClass = ASCII_CLASSES[c];
+                if (characterClass >= 0) {
+                    classFlags |= 1 << characterClass;
+                }
+                asciiCounts[c]++;
+            } else {
+                final int characterClass = characterClass(c);
+                if (characterClass >= 0) {
+                    classFlags |= 1 << characterClass;
+                }
+                if (otherCounts == null) {
+                    otherCounts = new HashMap<Character, Integer>();
+                }
+                final Integer count = otherCounts.get(c);
+                otherCounts.put(c, (count == null) ? 1 : count.intValue() + 1);
+            }
+
+            // Common sequences (letters or numbers) and common weak words, one automaton step per character
+            state = matcher.next(state, c);
+            weaknesses |= matcher.categoriesAt(state);
+
+            // Excessive character repetition (3+ consecutive identical chars)
+            run = (i > 0 && c == previous) ? run + 1 : 1;
+            if (run == 3) {
+                weaknesses |= PasswordEvaluationResult.TRIPLE_REPEAT;
+            }
+
+            // Keyboard walks (4+ keys in a row, each next to the previous one on the same layout, turns allowed but
+            // never straight back to the key before, so that alternating neighbours such as "qwqw" or "1212" are not walks)
+            earliestPairLayouts = earlierPairLayouts;
+            earlierPairLayouts = pairLayouts;
+            pairLayouts = (i > 0) ? KeyboardLayout.adjacentLayouts(previous, c) : 0;
+            if ((pairLayouts & earlierPairLayouts & earliestPairLayouts) != 0
+                    && c != password.charAt(i - 2) && previous != password.charAt(i - 3)) {
+                weaknesses |= PasswordEvaluationResult.KEYBOARD_WALK;
+            }
+            previous = c;
+        }
+
+        // The automaton lowercased one character at a time, which is only what String.toLowerCase does for ASCII
+        // text in most locales: otherwise match the password lowercased as a whole, as the penalties are defined
+        final Locale locale = Locale.getDefault();
+        if (otherCounts != null || !PenaltyPatternMatcher.foldsAsciiPerCharacter(locale)) {
+            weaknesses &= ~(PasswordEvaluationResult.SEQUENCE | PasswordEvaluationResult.WEAK_WORD);
+            weaknesses |= matcher.matchLowerCase(password.toLowerCase(locale));
+        }
+
+        // Overall character repetition (if one char is > 1/3 of password); also clears the scratch counts
+        final int threshold = length / 3;
+        int excessRepetitions = 0;
+        for (int c = 0; c < asciiCounts.length; c++) {
+            if (asciiCounts[c] > threshold) {
+                excessRepetitions += asciiCounts[c] - threshold;
+            }
+            asciiCounts[c] = 0;
+        }
+        if (otherCounts != null) {
+            for (final Integer count : otherCounts.values()) {
+                if (count.intValue() > threshold) {
+                    excessRepetitions += count.intValue() - threshold;
+                }
+            }
+        }
+        if (length <= 5) {
+            excessRepetitions = 0;
+        }
+        if (excessRepetitions > 0) {
+            weaknesses |= PasswordEvaluationResult.REPETITION;
+        }
+
+        // Weak words in leetspeak, e.g. "p@ssw0rd": only looked for when the automaton found none as is
+        if ((weaknesses & PasswordEvaluationResult.WEAK_WORD) == 0 && matcher.containsSubstitutedWeakWord(password)) {
+            weaknesses |= PasswordEvaluationResult.WEAK_WORD;
+        }
+
+        final boolean hasLowerCase = (classFlags & (1 << LOWERCASE_CLASS)) != 0;
+        final boolean hasUpperCase = (classFlags & (1 << UPPERCASE_CLASS)) != 0;
+        final boolean hasDigit = (classFlags & (1 << DIGIT_CLASS)) != 0;
+        final boolean hasSymbol = (classFlags & (1 << SYMBOL_CLASS)) != 0;
+        final double entropy = estimateEntropy(password, charsetSize(hasLowerCase, hasUpperCase, hasDigit, hasSymbol));
+        if (isBreached(password)) {
+            weaknesses |= PasswordEvaluationResult.BREACHED;
+        }
+        return rateStrength(length, hasLowerCase, hasUpperCase, hasDigit, hasSymbol, entropy, weaknesses, excessRepetitions);
+    }
+
+    /**
+     * Classifies a character the way the strength evaluation counts character types.
+     * Classe un caractère de la façon dont l'évaluation de la force compte les types de caractères.
+     * @param c The character to classify.
+     * @return One of the {@code *_CLASS} constants, or -1 for a character of no counted type.
+     * @param c Le caractère à classer.
+     * @return L'une des constantes {@code *_CLASS}, ou -1 pour un caractère d'aucun type compté.
+     */
+    static int characterClass(final char c) {
+        if (Character.isLowerCase(c)) {
+            return LOWERCASE_CLASS;
+        } else if (Character.isUpperCase(c)) {
+            return UPPERCASE_CLASS;
+        } else if (Character.isDigit(c)) {
+            return DIGIT_CLASS;
+        } else if (SYMBOLS_CHARS.indexOf(c) != -1) {
+            return SYMBOL_CLASS;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the size of the character set an attacker must cover for the character types present.
+     * Retourne la taille du jeu de caractères qu'un attaquant doit couvrir pour les types de caractères présents.
+     */
+    static int charsetSize(final boolean hasLowerCase, final boolean hasUpperCase, final boolean hasDigit, final boolean hasSymbol) {
+        int estimatedCharsetSize = 0;
+        if (hasLowerCase) { estimatedCharsetSize += 26; }
+        if (hasUpperCase) { estimatedCharsetSize += 26; }
+        if (hasDigit) { estimatedCharsetSize += 10; }
+        if (hasSymbol) { estimatedCharsetSize += SYMBOLS_CHARS.length(); }
+        return estimatedCharsetSize;
+    }
+
+    /**
+     * Estimates the entropy of a password with the configured {@link EntropyModel}.
+     * Estime l'entropie d'un mot de passe avec le {@link EntropyModel} configuré.
+     * @param password The password; only its first characters are read with the pattern model.
+     * @param estimatedCharsetSize The size of the character set of the types present.
+     * @return The entropy in bits.
+     * @param password Le mot de passe ; seuls ses premiers caractères sont lus avec le modèle à motifs.
+     * @param estimatedCharsetSize La taille du jeu de caractères des types présents.
+     * @return L'entropie en bits.
+     */
+    double estimateEntropy(final CharSequence password, final int estimatedCharsetSize) {
+        return estimateEntropy(entropyModel, password, estimatedCharsetSize);
+    }
+
+    /**
+     * Estimates the entropy of a password with the given model. The estimate of a password longer than
+     * {@link #analyzedEntropyLength(EntropyModel)} is exactly that of its analyzed prefix plus
+     * {@link #unanalyzedCharacterEntropy(EntropyModel, int)} per further character.
+     * Estime l'entropie d'un mot de passe avec le modèle donné. L'estimation d'un mot de passe plus long que
+     * {@link #analyzedEntropyLength(EntropyModel)} est exactement celle de son préfixe analysé plus
+     * {@link #unanalyzedCharacterEntropy(EntropyModel, int)} par caractère supplémentaire.
+     * @param model The entropy model.
+     * @param password The password.
+     * @param estimatedCharsetSize The size of the character set of the types present.
+     * @return The entropy in bits.
+     * @param model Le modèle d'entropie.
+     * @param password Le mot de passe.
+     * @param estimatedCharsetSize La taille du jeu de caractères des types présents.
+     * @return L'entropie en bits.
+     */
+    static double estimateEntropy(final EntropyModel model, final CharSequence password, final int estimatedCharsetSize) {
+        if (model == EntropyModel.PATTERN_MATCHING) {
+            // log2 of the guesses needed by an attacker trying common passwords, sequences, walks and dates first
+            return PatternEstimatorHolder.ESTIMATOR.estimateEntropy(password, estimatedCharsetSize);
+        }
+        if (estimatedCharsetSize > 1) { // Avoid log(0) or log(1) issues
+            // Entropy = length * log2(charset_size)
+            // Math.log is natural logarithm (ln), so log2(x) = ln(x) / ln(2)
+            return password.length() * (Math.log(estimatedCharsetSize) / Math.log(2));
+        }
+        return 0.0;
+    }
+
+    // Built on the first pattern-matching estimate, so that runs which only generate never load its dictionaries
+    private static final class PatternEstimatorHolder {
+        static final PatternEntropyEstimator ESTIMATOR = PatternEntropyEstimator.fromSystemProperties();
+    }
+
+    /**
+     * Returns the number of leading characters the given model actually examines.
+     * Retourne le nombre de caractères de tête que le modèle donné examine réellement.
+     * @param model The entropy model.
+     * @return The analyzed prefix length; 0 when every character counts the same.
+     * @param model Le modèle d'entropie.
+     * @return La longueur du préfixe analysé ; 0 quand tous les caractères comptent pareil.
+     */
+    static int analyzedEntropyLength(final EntropyModel model) {
+        return (model == EntropyModel.PATTERN_MATCHING) ? PatternEntropyEstimator.MAX_ANALYZED_LENGTH : 0;
+    }
+
+    /**
+     * Returns the entropy the given model adds for each character beyond the analyzed prefix.
+     * Retourne l'entropie que le modèle donné ajoute pour chaque caractère au-delà du préfixe analysé.
+     * @param model The entropy model.
+     * @param estimatedCharsetSize The size of the character set of the types present.
+     * @return The entropy in bits per character.
+     * @param model Le modèle d'entropie.
+     * @param estimatedCharsetSize La taille du jeu de caractères des types présents.
+     * @return L'entropie en bits par caractère.
+     */
+    static double unanalyzedCharacterEntropy(final EntropyModel model, final int estimatedCharsetSize) {
+        if (model == EntropyModel.PATTERN_MATCHING) {
+            return PatternEntropyEstimator.log2Cardinality(estimatedCharsetSize);
+        }
+        return (estimatedCharsetSize > 1) ? Math.log(estimatedCharsetSize) / Math.log(2) : 0.0;
+    }
+
+    /**
+     * Returns the configured entropy model.
+     * Retourne le modèle d'entropie configuré.
+     */
+    EntropyModel getEntropyModel() {
+        return entropyModel;
+    }
+
+    /**
+     * Returns the configured breach corpus, so that callers can skip building the password string when there is none
+     * and know when it was replaced.
+     * Retourne le corpus de fuites configuré, ce qui permet de ne pas construire la chaîne du mot de passe quand il n'y
+     * en a pas, et de savoir quand il a été remplacé.
+     * @return The corpus, or {@code null} if none is configured.
+     * @return Le corpus, ou {@code null} si aucun n'est configuré.
+     */
+    BreachedPasswordCorpus getBreachCorpus() {
+        return breachCorpus;
+    }
+
+    /**
+     * Checks the password against the configured breach corpus, if any.
+     * Vérifie le mot de passe dans le corpus de fuites configuré, s'il y en a un.
+     * @param password The password to look up.
+     * @return {@code true} if the password is known to have been breached.
+     * @param password Le mot de passe à rechercher.
+     * @return {@code true} si le mot de passe est connu pour avoir fuité.
+     */
+    boolean isBreached(final String password) {
+        final BreachedPasswordCorpus corpus = breachCorpus;
+        return corpus != null && corpus.contains(password);
+    }
+
+    /**
+     * Turns the measured features of a non-empty password into its strength level.
+     * Transforme les caractéristiques mesurées d'un mot de passe non vide en son niveau de force.
+     * @param length The password length.
+     * @param hasLowerCase Whether it contains lowercase letters.
+     * @param hasUpperCase Whether it contains uppercase letters.
+     * @param hasDigit Whether it contains digits.
+     * @param hasSymbol Whether it contains symbols.
+     * @param entropy The estimated entropy, returned as is.
+     * @param weaknesses The weaknesses found, as a combination of the {@link PasswordEvaluationResult} constants.
+     * @param excessRepetitions For each character used more than length / 3 times (passwords over 5 characters), the occurrences beyond that, summed.
+     * @return The evaluation result.
+     * @param length La longueur du mot de passe.
+     * @param hasLowerCase S'il contient des minuscules.
+     * @param hasUpperCase S'il contient des majuscules.
+     * @param hasDigit S'il contient des chiffres.
+     * @param hasSymbol S'il contient des symboles.
+     * @param entropy L'entropie estimée, retournée telle quelle.
+     * @param weaknesses Les faiblesses trouvées, sous forme de combinaison des constantes de {@link PasswordEvaluationResult}.
+     * @param excessRepetitions Pour chaque caractère utilisé plus de longueur / 3 fois (mots de passe de plus de 5 caractères), les occurrences au-delà, additionnées.
+     * @return Le résultat de l'évaluation.
+     */
+    PasswordEvaluationResult rateStrength(final int length, final boolean hasLowerCase, final boolean hasUpperCase,
+            final boolean hasDigit, final boolean hasSymbol, final double entropy, final int weaknesses, final int excessRepetitions) {
+        int score = 0;
+
+        // A password found in a breach corpus is in every attacker's dictionary, whatever its composition
+        if ((weaknesses & PasswordEvaluationResult.BREACHED) != 0) {
+            return new PasswordEvaluationResult(PasswordStrengthLevel.WEAK, entropy, weaknesses);
+        }
+
+        // --- Évaluation de la force (scoring) / Strength Evaluation (Scoring) ---
+        if (length < 8) { // Passwords shorter than 8 characters are considered weak
+            return new PasswordEvaluationResult(PasswordStrengthLevel.WEAK, entropy, weaknesses);
+        }
+
+        // Penalty if no character types are found (should be rare with generated passwords)
+        if (!hasLowerCase && !hasUpperCase && !hasDigit && !hasSymbol) {
+             return new PasswordEvaluationResult(PasswordStrengthLevel.WEAK, entropy, weaknesses);
+        }
+
+        // Score based on length
+        score += calculateLengthScore(length);
+
+        // Score based on presence of character types
+        if (hasLowerCase) { score += 5; }
+        if (hasUpperCase) { score += 8; }
+        if (hasDigit) { score += 8; }
+        if (hasSymbol) { score += 12; }
+
+        // Bonus for number of distinct character types
+        int typesCount = 0;
+        if (hasLowerCase) { typesCount++; }
+        if (hasUpperCase) { typesCount++; }
+        if (hasDigit) { typesCount++; }
+        if (hasSymbol) { typesCount++; }
+
+        score += calculateDistinctCharacterTypesBonus(typesCount, length);
+
+        // Apply penalties for common weaknesses
+        score -= penaltyFor(weaknesses, excessRepetitions);
+
+
+        // Final categorization based on score and character types
+        final PasswordStrengthLevel strengthLevel;
+        if (typesCount == 4 && score >= SCORE_THRESHOLD_VERY_STRONG) {
+            strengthLevel = PasswordStrengthLevel.VERY_STRONG;
+        } else if (typesCount >= 3 && score >= SCORE_THRESHOLD_STRONG) {
+            strengthLevel = PasswordStrengthLevel.STRONG;
+        } else if (typesCount >= 2 && score >= SCORE_THRESHOLD_MEDIUM) {
+            strengthLevel = PasswordStrengthLevel.MEDIUM;
+        } else {
+            strengthLevel = PasswordStrengthLevel.WEAK;
+        }
+        return new PasswordEvaluationResult(strengthLevel, entropy, weaknesses);
+    }
+
+    /**
+     * Calculates score based on password length. Longer passwords get higher scores.
+     * Calcule le score basé sur la longueur du mot de passe. Les mots de passe plus longs obtiennent des scores plus élevés.
+     * @param length The length of the password.
+     * @return The score contribution from length.
+     * @param length La longueur du mot de passe.
+     * @return La contribution au score de la longueur.
+     */
+    private int calculateLengthScore(final int length) {
+        if (length >= 8 && length <= 9) { return -5; } // Slight penalty for bare minimum acceptable length
+        if (length >= 10 && length <= 12) { return 10; }
+        if (length >= 13 && length <= 15) { return 15; }
+        if (length >= 16 && length <= 20) { return 20; }
+        if (length > 20) { return 25; }
+        return 0;
+    }
+
+    /**
+     * Calculates bonus score based on the number of distinct character types used.
+     * Calcule le score bonus basé sur le nombre de types de caractères distincts utilisés.
+     * @param typesCount The number of distinct character types (lowercase, uppercase, digit, symbol).
+     * @param length The length of the password.
+     * @return The score contribution from distinct character types.
+     * @param typesCount Le nombre de types de caractères distincts (minuscules, majuscules, chiffres, symboles).
+     * @param length La longueur du mot de passe.
+     * @return La contribution au score des types de caractères distincts.
+     */
+    private int calculateDistinctCharacterTypesBonus(final int typesCount, final int length) {
+        if (typesCount == 1 && length >= 8) { return -5; } // Penalty if only one type, even if long
+        if (typesCount == 2) { return 7; }
+        if (typesCount == 3) { return 12; }
+        if (typesCount == 4) { return 18; }
+        return 0;
+    }
+
+    /**
+     * Adds user-supplied patterns to the penalty dictionaries. The built-in lists are kept; the automaton is
+     * recompiled once and swapped in atomically, so concurrent evaluations are never blocked.
+     * Ajoute des motifs fournis par l'utilisateur aux dictionnaires de pénalités. Les listes intégrées sont conservées ;
+     * l'automate est recompilé une seule fois puis remplacé de manière atomique, sans bloquer les évaluations concurrentes.
+     * @param sequences Additional sequences penalized like the built-in ones. May be empty.
+     * @param weakWords Additional weak words penalized like the built-in ones. May be empty.
+     * @param sequences Séquences supplémentaires pénalisées comme celles intégrées. Peut être vide.
+     * @param weakWords Mots faibles supplémentaires pénalisés comme ceux intégrés. Peut être vide.
+     */
+    public synchronized void extendPenaltyDictionaries(final Collection<String> sequences, final Collection<String> weakWords) {
+        extraSequences.addAll(sequences);
+        extraWeakWords.addAll(weakWords);
+        final List<String> allSequences = new ArrayList<String>(Arrays.asList(concat(COMMON_SEQUENCES_LOWER, COMMON_SEQUENCES_NUM)));
+        allSequences.addAll(extraSequences);
+        final List<String> allWeakWords = new ArrayList<String>(Arrays.asList(COMMON_WEAK_WORDS));
+        allWeakWords.addAll(extraWeakWords);
+        penaltyMatcher = new PenaltyPatternMatcher(allSequences.toArray(new String[allSequences.size()]), allWeakWords.toArray(new String[allWeakWords.size()]));
+    }
+
+    /**
+     * Sets the corpus of breached passwords checked by {@link #evaluatePasswordStrength(String)}; any password found
+     * there is rated {@link PasswordStrengthLevel#WEAK}. By default the corpus named by the
+     * {@code passwordgenerator.breach.corpus} system property is used, if any.
+     * Définit le corpus de mots de passe compromis consulté par {@link #evaluatePasswordStrength(String)} ; tout mot de
+     * passe qui s'y trouve est jugé {@link PasswordStrengthLevel#WEAK}. Par défaut, le corpus désigné par la propriété
+     * système {@code passwordgenerator.breach.corpus} est utilisé, s'il y en a un.
+     * @param corpus The corpus to check, or {@code null} to disable the lookup.
+     * @param corpus Le corpus à consulter, ou {@code null} pour désactiver la recherche.
+     */
+    void setBreachCorpus(final BreachedPasswordCorpus corpus) {
+        this.breachCorpus = corpus;
+    }
+
+    /**
+     * Selects how the entropy reported by {@link #evaluatePasswordStrength(String)} is estimated. The strength level
+     * does not depend on it. Defaults to {@link EntropyModel#PATTERN_MATCHING}.
+     * Sélectionne la façon dont l'entropie rapportée par {@link #evaluatePasswordStrength(String)} est estimée.
+     * Le niveau de force n'en dépend pas. Par défaut {@link EntropyModel#PATTERN_MATCHING}.
+     * @param model The entropy model to use.
+     * @param model Le modèle d'entropie à utiliser.
+     */
+    public void setEntropyModel(final EntropyModel model) {
+        this.entropyModel = model;
+    }
+
+    private static String[] concat(final String[] first, final String[] second) {
+        final String[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    /**
+     * Adds up the penalties for the weaknesses found in a password.
+     * Additionne les pénalités pour les faiblesses trouvées dans un mot de passe.
+     * @param weaknesses The weaknesses found, as a combination of the {@link PasswordEvaluationResult} constants.
+     * @param excessRepetitions For each character used more than length / 3 times (passwords over 5 characters), the occurrences beyond that, summed.
+     * @return The total penalty.
+     * @param weaknesses Les faiblesses trouvées, sous forme de combinaison des constantes de {@link PasswordEvaluationResult}.
+     * @param excessRepetitions Pour chaque caractère utilisé plus de longueur / 3 fois (mots de passe de plus de 5 caractères), les occurrences au-delà, additionnées.
+     * @return La pénalité totale.
+     */
+    static int penaltyFor(final int weaknesses, final int excessRepetitions) {
+        int penalty = 0;
+        if ((weaknesses & PasswordEvaluationResult.SEQUENCE) != 0) {
+            penalty += 7;
+        }
+        if ((weaknesses & PasswordEvaluationResult.WEAK_WORD) != 0) {
+            penalty += 12;
+        }
+        if ((weaknesses & PasswordEvaluationResult.TRIPLE_REPEAT) != 0) {
+            penalty += 6;
+        }
+        if ((weaknesses & PasswordEvaluationResult.KEYBOARD_WALK) != 0) {
+            penalty += 10;
+        }
+        return penalty + excessRepetitions * 3;
+    }
+
+    /**
+     * Returns the automaton currently used to find penalized patterns.
+     * Retourne l'automate actuellement utilisé pour trouver les motifs pénalisés.
+     */
+    PenaltyPatternMatcher getPenaltyMatcher() {
+        return penaltyMatcher;
+    }
+}
@@ -0,0 +1,41 @@
+package passwordgenerator.core;
+
+/**
+ * Represents the evaluated strength of a password.
+ * Représente le niveau de force évalué d'un mot de passe.
+ */
+public enum PasswordStrengthLevel {
+    EMPTY("N/A", 0xFFFFFF), // Non applicable, for empty or unevaluated passwords
+    WEAK("Faible", 0xFF5050),         // Red
+    MEDIUM("Moyen", 0xFFB432),        // Orange
+    STRONG("Fort", 0x64DC64),         // Light Green
+    VERY_STRONG("Très Fort", 0x32C8FF); // Bright Blue/Cyan
+
+    private final String displayName;
+    private final int displayRgb; // Kept as a plain RGB value so headless code never loads java.awt
+
+    PasswordStrengthLevel(String displayName, int displayRgb) {
+        this.displayName = displayName;
+        this.displayRgb = displayRgb;
+    }
+
+    /**
+     * Returns the display name for the strength level.
+     * @return The display name (e.g., "Faible", "Fort").
+     * Retourne le nom d'affichage pour le niveau de force.
+     * @return Le nom d'affichage (ex: "Faible", "Fort").
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Returns the color associated with the strength level for UI display.
+     * @return The display color as a 0xRRGGBB value.
+     * Retourne la couleur associée au niveau de force pour l'affichage UI.
+     * @return La couleur d'affichage sous forme de valeur 0xRRGGBB.
+     */
+    public int getDisplayRgb() {
+        return displayRgb;
+    }
+}
@@ -0,0 +1,756 @@
+package passwordgenerator.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Estimates password entropy the way a guessing attacker sees it, following the zxcvbn model: the password is
+ * split into patterns (common passwords, character sequences, repeats, keyboard walks, dates) and brute-forced
+ * gaps, each with an estimated number of guesses, and dynamic programming picks the decomposition needing the
+ * fewest guesses overall. The entropy is log2 of that number.
+ * Unlike zxcvbn, which charges 10 guesses per brute-forced character, gaps are charged the size of the character
+ * classes present, so a random password without patterns keeps the entropy of the charset-size formula.
+ * Estime l'entropie d'un mot de passe telle que la voit un attaquant qui devine, selon le modèle de zxcvbn :
+ * le mot de passe est découpé en motifs (mots de passe courants, séquences de caractères, répétitions, parcours
+ * de clavier, dates) et en trous attaqués par force brute, chacun avec un nombre estimé d'essais, et la
+ * programmation dynamique choisit le découpage qui demande le moins d'essais au total. L'entropie est le log2 de ce nombre.
+ * Contrairement à zxcvbn, qui compte 10 essais par caractère attaqué par force brute, les trous sont comptés à la
+ * taille des classes de caractères présentes : un mot de passe aléatoire sans motif garde l'entropie de la formule
+ * fondée sur la taille du jeu de caractères.
+ *
+ * <p>All computations are done on log2 values, so long passwords never overflow. Only the first
+ * {@value #MAX_ANALYZED_LENGTH} characters are analyzed; the rest is counted as brute force.
+ * Instances are immutable and thread-safe. Their working memory is kept per thread and wiped after each estimate,
+ * so once a thread has made one, an estimate allocates nothing but its JFR event, and that only while Flight
+ * Recorder runs.</p>
+ *
+ * <p>Dictionary words are also found with leetspeak substitutions ("p@ssw0rd"), through a {@link LeetDictionaryTrie}.
+ * Besides the built-in common passwords, word lists named by the {@code passwordgenerator.dictionary.files} system
+ * property (UTF-8, one word per line, most common first, e.g. English and French frequency lists) rank after them.</p>
+ */
+final class PatternEntropyEstimator {
+    // --- Propriétés système / System properties ---
+    static final String DICTIONARY_PROPERTY = "passwordgenerator.dictionary.files"; // Word list paths, comma-separated
+
+    // --- Paramètres du modèle (repris de zxcvbn) / Model parameters (from zxcvbn) ---
+    static final int MAX_ANALYZED_LENGTH = 64;
+    private static final int MIN_BRUTEFORCE_CARDINALITY = 10;
+    private static final double LOG2_MIN_SINGLE_CHAR_GUESSES = log2(10);  // Floor for a one-character match
+    private static final double LOG2_MIN_MULTI_CHAR_GUESSES = log2(50);   // Floor for a longer match
+    private static final double LOG2_MIN_SINGLE_CHAR_BRUTEFORCE = log2(11); // One guess more than the floor
+    private static final double LOG2_MIN_GUESSES_BEFORE_GROWING_SEQUENCE = log2(10000); // Cost of each extra match
+    private static final int MAX_SEQUENCE_DELTA = 5;
+    private static final String OBVIOUS_SEQUENCE_STARTS = "aAzZ019";
+    private static final int MIN_YEAR_SPACE = 20;
+    private static final int DATE_MIN_YEAR = 1000;
+    private static final int DATE_MAX_YEAR = 2050;
+    private static final int REFERENCE_YEAR = Year.now(ZoneOffset.UTC).getValue(); // No Calendar: it loads the locale data
+    private static final KeyboardLayout[] KEYBOARD_LAYOUTS = KeyboardLayout.LAYOUTS;
+    private static final double[] LOG2_FACTORIALS = new double[MAX_ANALYZED_LENGTH + 1];
+    private static final Charset WORD_LIST_CHARSET = Charset.forName("UTF-8");
+    private static final String DICTIONARY_UNAVAILABLE_MESSAGE = "Word list unavailable, built-in dictionary only: ";
+    private static final int INITIAL_MATCH_CAPACITY = 64;
+    private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<Scratch>() {
+        @Override
+        protected Scratch initialValue() {
+            return new Scratch(MAX_ANALYZED_LENGTH);
+        }
+    };
+
+    // Positions splitting an all-digit date of 4 to 8 characters into day, month and year, in any order
+    private static final int[][][] DATE_SPLITS = {
+        {{1, 2}, {2, 3}},                 // 4 digits, e.g. 1/1/91
+        {{1, 3}, {2, 3}},                 // 5 digits, e.g. 1/11/91, 11/1/91
+        {{1, 2}, {2, 4}, {4, 5}},         // 6 digits, e.g. 1/1/1991, 11/11/91, 1991/1/1
+        {{1, 3}, {2, 3}, {4, 5}, {4, 6}}, // 7 digits
+        {{2, 4}, {4, 6}}                  // 8 digits, e.g. 11/11/1991, 1991/11/11
+    };
+
+    // --- Dictionnaire des mots de passe courants, par fréquence décroissante / Common passwords, most frequent first ---
+    private static final String[] COMMON_PASSWORDS = {
+        "123456", "password", "123456789", "12345678", "12345", "qwerty", "1234567", "111111", "1234567890", "123123",
+        "abc123", "1234", "password1", "iloveyou", "1q2w3e4r", "000000", "qwerty123", "zaq12wsx", "dragon", "sunshine",
+        "princess", "letmein", "654321", "monkey", "azerty", "1qaz2wsx", "123321", "qwertyuiop", "superman", "asdfghjkl",
+        "football", "baseball", "welcome", "admin", "master", "shadow", "michael", "soleil", "bonjour", "motdepasse",
+        "doudou", "chouchou", "loulou", "marseille", "nicolas", "jetaime", "trustno1", "starwars", "hello", "charlie",
+        "freedom", "whatever", "login", "passw0rd", "access", "flower", "loveme", "hunter", "batman", "pokemon",
+        "secret", "test", "guest", "root", "user", "pass", "changeme", "demo", "example", "support",
+        "service", "administrator", "username", "logon", "summer", "winter", "spring", "autumn", "jordan", "thomas",
+        "daniel", "camille", "julien", "alexandre", "maxime", "chocolat", "coucou", "nounours", "amour", "paris",
+        "france", "toulouse", "orange", "cheese", "computer", "internet", "samsung", "google", "apple", "killer",
+        "soccer", "hockey", "ranger", "buster", "harley", "tigger", "ginger", "pepper", "cookie", "banana",
+        "matrix", "mustang", "ferrari", "corvette", "yankees", "liverpool", "arsenal", "chelsea", "naruto", "garfield"
+    };
+
+    static {
+        for (int i = 1; i < LOG2_FACTORIALS.length; i++) {
+            LOG2_FACTORIALS[i] = LOG2_FACTORIALS[i - 1] + log2(i);
+        }
+    }
+
+    private final LeetDictionaryTrie dictionary = new LeetDictionaryTrie();
+    private final LeetDictionaryTrie reversedDictionary = new LeetDictionaryTrie(); // Words spelled backwards
+    private int nextRank = 1;
+
+    /**
+     * Working memory of one estimate: the analyzed characters, the patterns found in them, each covering
+     * {@code matchStarts[i]} to {@code matchEnds[i]} inclusive, and the dynamic programming tables. A repeated block
+     * is estimated in {@link #nested()}, half as large. It also receives the dictionary matches.
+     * Mémoire de travail d'une estimation : les caractères analysés, les motifs qui y sont trouvés, chacun couvrant
+     * {@code matchStarts[i]} à {@code matchEnds[i]} inclus, et les tables de la programmation dynamique. Un bloc
+     * répété est estimé dans {@link #nested()}, deux fois plus petit. Elle reçoit aussi les mots du dictionnaire trouvés.
+     */
+    private static final class Scratch implements LeetDictionaryTrie.MatchListener {
+        final char[] chars;
+        final CharSequence text;      // View of chars for the dictionaries
+        int length;                   // Characters of chars being analyzed
+        int matchCount;
+        int[] matchStarts = new int[INITIAL_MATCH_CAPACITY];
+        int[] matchEnds = new int[INITIAL_MATCH_CAPACITY];
+        double[] matchGuesses = new double[INITIAL_MATCH_CAPACITY];
+        int[] nextMatches = new int[INITIAL_MATCH_CAPACITY]; // Next match with the same end, -1 for none
+        final int[] firstMatches;     // end -> last match added with that end, -1 for none
+        final double[] best;          // Row k, column l at k * (length + 1) + l
+        final double[] bestBruteforceStart;
+        double extraGuesses;          // Added to the dictionary matches received: 1 bit for words typed backwards
+        private Scratch nested;
+
+        Scratch(final int capacity) {
+            chars = new char[capacity];
+            text = CharBuffer.wrap(chars);
+            firstMatches = new int[capacity];
+            best = new double[capacity * (capacity + 1)];
+            bestBruteforceStart = new double[capacity + 1];
+        }
+
+        public void matchFound(final int start, final int end, final int rank, final int substitutions) {
+            addMatch(start, end, log2(rank) + log2UppercaseVariations(chars, start, end) + substitutions + extraGuesses);
+        }
+
+        void addMatch(final int start, final int end, final double log2Guesses) {
+            if (matchCount == matchStarts.length) {
+                matchStarts = Arrays.copyOf(matchStarts, 2 * matchCount);
+                matchEnds = Arrays.copyOf(matchEnds, 2 * matchCount);
+                matchGuesses = Arrays.copyOf(matchGuesses, 2 * matchCount);
+                nextMatches = Arrays.copyOf(nextMatches, 2 * matchCount);
+            }
+            matchStarts[matchCount] = start;
+            matchEnds[matchCount] = end;
+            matchGuesses[matchCount] = log2Guesses;
+            matchCount++;
+        }
+
+        // A repeated block is at most half of the characters
+        Scratch nested() {
+            if (nested == null) {
+                nested = new Scratch(chars.length / 2);
+            }
+            return nested;
+        }
+
+        // The characters are the password's, or blocks of it, not necessarily the last one the longest
+        void wipe() {
+            Arrays.fill(chars, '\0');
+            length = 0;
+            if (nested != null) {
+                nested.wipe();
+            }
+        }
+    }
+
+    /**
+     * Constructs an estimator using the built-in dictionary of common passwords.
+     * Construit un estimateur utilisant le dictionnaire intégré de mots de passe courants.
+     */
+    PatternEntropyEstimator() {
+        addCommonPasswords();
+        dictionary.compile();
+        reversedDictionary.compile();
+    }
+
+    /**
+     * Constructs an estimator using the built-in dictionary followed by the given word lists.
+     * Construit un estimateur utilisant le dictionnaire intégré suivi des listes de mots données.
+     * @param wordListPaths The word lists, UTF-8, one word per line, most common first; ranked in the given order.
+     * @throws IOException If a word list cannot be read.
+     * @param wordListPaths Les listes de mots, en UTF-8, un mot par ligne, les plus courants en premier ; classées dans l'ordre donné.
+     * @throws IOException Si une liste de mots ne peut pas être lue.
+     */
+    PatternEntropyEstimator(final List<String> wordListPaths) throws IOException {
+        addCommonPasswords();
+        for (final String path : wordListPaths) {
+            loadWordList(path);
+        }
+        dictionary.compile();
+        reversedDictionary.compile();
+    }
+
+    /**
+     * Constructs an estimator with the word lists named by the {@code passwordgenerator.dictionary.files} system
+     * property, if any.
+     * Construit un estimateur avec les listes de mots désignées par la propriété système
+     * {@code passwordgenerator.dictionary.files}, s'il y en a.
+     * @return The estimator; with the built-in dictionary only if a list cannot be read (reported on standard error).
+     * @return L'estimateur ; avec le seul dictionnaire intégré si une liste ne peut pas être lue (signalé sur la sortie d'erreur).
+     */
+    static PatternEntropyEstimator fromSystemProperties() {
+        final String paths = System.getProperty(DICTIONARY_PROPERTY);
+        if (paths == null || paths.trim().isEmpty()) {
+            return new PatternEntropyEstimator();
+        }
+        final List<String> wordListPaths = new ArrayList<String>();
+        for (final String path : paths.split(",")) {
+            if (!path.trim().isEmpty()) {
+                wordListPaths.add(path.trim());
+            }
+        }
+        try {
+            return new PatternEntropyEstimator(wordListPaths);
+        } catch (final IOException e) {
+            System.err.println(DICTIONARY_UNAVAILABLE_MESSAGE + e.getMessage());
+            return new PatternEntropyEstimator();
+        }
+    }
+
+    /**
+     * Returns the number of dictionary words, for diagnostics.
+     * Retourne le nombre de mots du dictionnaire, pour diagnostic.
+     */
+    int getDictionarySize() {
+        return dictionary.getWordCount();
+    }
+
+    // Decodes the whole list at once and adds its words straight from the decoded characters, without a String each
+    private void loadWordList(final String path) throws IOException {
+        final CharBuffer decoded = WORD_LIST_CHARSET.decode(ByteBuffer.wrap(Files.readAllBytes(Paths.get(path))));
+        final char[] chars = decoded.array();
+        final int end = decoded.limit();
+        final char[] reversed = new char[MAX_ANALYZED_LENGTH];
+        int lineStart = 0;
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            while (lineEnd < end && chars[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            final int next = lineEnd + 1;
+            if (lineEnd > lineStart && chars[lineEnd - 1] == '\r') {
+                lineEnd--;
+            }
+            addWord(chars, lineStart, lineEnd, reversed);
+            lineStart = next;
+        }
+    }
+
+    private void addCommonPasswords() {
+        final char[] reversed = new char[MAX_ANALYZED_LENGTH];
+        for (final String word : COMMON_PASSWORDS) {
+            final char[] chars = word.toCharArray();
+            addWord(chars, 0, chars.length, reversed);
+        }
+    }
+
+    // Gives the word the next rank, in both directions; a word seen before keeps its rank, and one too long to match is skipped
+    private void addWord(final char[] chars, final int from, final int to, final char[] reversed) {
+        final int length = to - from;
+        if (length == 0 || length > MAX_ANALYZED_LENGTH) {
+            return;
+        }
+        final int rank = nextRank;
+        if (!dictionary.add(chars, from, to, rank)) {
+            return;
+        }
+        nextRank++;
+        boolean palindrome = true;
+        for (int i = 0; i < length; i++) {
+            reversed[i] = chars[to - 1 - i];
+            palindrome &= Character.toLowerCase(reversed[i]) == Character.toLowerCase(chars[from + i]);
+        }
+        if (!palindrome) {
+            reversedDictionary.add(reversed, 0, length, rank);
+        }
+    }
+
+    /**
+     * Estimates the entropy of the password, in bits.
+     * Estime l'entropie du mot de passe, en bits.
+     * @param password The password to evaluate.
+     * @param charsetSize The size of the character classes present, i.e. the guesses per brute-forced character.
+     * @return log2 of the estimated number of guesses; 0 for an empty password.
+     * @param password Le mot de passe à évaluer.
+     * @param charsetSize La taille des classes de caractères présentes, c'est-à-dire les essais par caractère attaqué par force brute.
+     * @return Le log2 du nombre d'essais estimé ; 0 pour un mot de passe vide.
+     */
+    double estimateEntropy(final CharSequence password, final int charsetSize) {
+        final int length = password.length();
+        if (length == 0) {
+            return 0.0;
+        }
+        final int analyzed = Math.min(length, MAX_ANALYZED_LENGTH);
+        final Scratch scratch = SCRATCH.get();
+        for (int i = 0; i < analyzed; i++) {
+            scratch.chars[i] = password.charAt(i);
+        }
+        scratch.length = analyzed;
+        final double log2Cardinality = log2Cardinality(charsetSize);
+        try {
+            return log2Guesses(scratch, log2Cardinality) + (length - analyzed) * log2Cardinality;
+        } finally {
+            scratch.wipe();
+        }
+    }
+
+    /**
+     * Returns the bits of each brute-forced character, which is also what each character beyond
+     * {@link #MAX_ANALYZED_LENGTH} adds to the estimate.
+     * Retourne les bits de chaque caractère attaqué par force brute, qui sont aussi ce qu'ajoute à l'estimation chaque
+     * caractère au-delà de {@link #MAX_ANALYZED_LENGTH}.
+     * @param charsetSize The size of the character classes present.
+     * @return log2 of the guesses per brute-forced character.
+     * @param charsetSize La taille des classes de caractères présentes.
+     * @return Le log2 du nombre d'essais par caractère attaqué par force brute.
+     */
+    static double log2Cardinality(final int charsetSize) {
+        return log2(Math.max(charsetSize, MIN_BRUTEFORCE_CARDINALITY));
+    }
+
+    private double log2Guesses(final Scratch scratch, final double log2Cardinality) {
+        scratch.matchCount = 0;
+        addDictionaryMatches(scratch);
+        addSequenceMatches(scratch);
+        addRepeatMatches(scratch, log2Cardinality);
+        addSpatialMatches(scratch);
+        addDateMatches(scratch);
+        return mostGuessableDecomposition(scratch, log2Cardinality);
+    }
+
+    /**
+     * Finds the decomposition of the password into matches and brute-forced gaps that needs the fewest guesses.
+     * As in zxcvbn, a decomposition into l parts costs l! * (product of the guesses of its parts) + D^(l - 1),
+     * which charges the attacker for not knowing in advance how many patterns the password is made of.
+     * Trouve le découpage du mot de passe en motifs et en trous attaqués par force brute qui demande le moins d'essais.
+     * Comme dans zxcvbn, un découpage en l parties coûte l! * (produit des essais de ses parties) + D^(l - 1),
+     * ce qui fait payer à l'attaquant le fait de ne pas connaître à l'avance le nombre de motifs du mot de passe.
+     */
+    private static double mostGuessableDecomposition(final Scratch scratch, final double log2Cardinality) {
+        final int length = scratch.length;
+        final int stride = length + 1;
+        // best[k * stride + l]: least log2(product of guesses) covering characters 0..k with exactly l parts
+        final double[] best = scratch.best;
+        Arrays.fill(best, 0, length * stride, Double.POSITIVE_INFINITY);
+        // Matches chained by end; each row only reads earlier ones, so the order within a row does not matter
+        final int[] firstMatches = scratch.firstMatches;
+        Arrays.fill(firstMatches, 0, length, -1);
+        for (int m = 0; m < scratch.matchCount; m++) {
+            scratch.nextMatches[m] = firstMatches[scratch.matchEnds[m]];
+            firstMatches[scratch.matchEnds[m]] = m;
+        }
+        // bestBruteforceStart[l]: min over p of best[p][l] - p * log2(C), so that a brute-forced gap of two or more
+        // characters ending at k, preceded by a prefix ending at p, costs bestBruteforceStart[l] + k * log2(C)
+        final double[] bestBruteforceStart = scratch.bestBruteforceStart;
+        Arrays.fill(bestBruteforceStart, 0, length + 1, Double.POSITIVE_INFINITY);
+
+        for (int k = 0; k < length; k++) {
+            for (int m = firstMatches[k]; m != -1; m = scratch.nextMatches[m]) {
+                final int start = scratch.matchStarts[m];
+                final int matchLength = k - start + 1;
+                double guesses = scratch.matchGuesses[m];
+                if (matchLength < length) {
+                    guesses = Math.max(guesses, (matchLength == 1) ? LOG2_MIN_SINGLE_CHAR_GUESSES : LOG2_MIN_MULTI_CHAR_GUESSES);
+                }
+                extend(best, stride, start, k, guesses);
+            }
+            // Brute force of the last character alone
+            extend(best, stride, k, k, Math.max(log2Cardinality, LOG2_MIN_SINGLE_CHAR_BRUTEFORCE));
+            // Brute force of the last two or more characters
+            final int row = k * stride;
+            if (k >= 1) {
+                relax(best, row + 1, (k + 1) * log2Cardinality);
+            }
+            if (k >= 2) {
+                final int prefix = (k - 2) * stride;
+                for (int l = 1; l <= k - 1; l++) {
+                    bestBruteforceStart[l] = Math.min(bestBruteforceStart[l], best[prefix + l] - (k - 2) * log2Cardinality);
+                }
+                for (int l = 1; l <= k - 1; l++) {
+                    relax(best, row + l + 1, bestBruteforceStart[l] + k * log2Cardinality);
+                }
+            }
+        }
+
+        double result = Double.POSITIVE_INFINITY;
+        final int complete = (length - 1) * stride;
+        for (int l = 1; l <= length; l++) {
+            if (best[complete + l] != Double.POSITIVE_INFINITY) {
+                final double guesses = log2Sum(LOG2_FACTORIALS[l] + best[complete + l], (l - 1) * LOG2_MIN_GUESSES_BEFORE_GROWING_SEQUENCE);
+                result = Math.min(result, guesses);
+            }
+        }
+        return result;
+    }
+
+    // Appends a part covering start..end to every decomposition of the characters before start
+    private static void extend(final double[] best, final int stride, final int start, final int end, final double log2Guesses) {
+        final int row = end * stride;
+        if (start == 0) {
+            relax(best, row + 1, log2Guesses);
+            return;
+        }
+        final int prefix = (start - 1) * stride;
+        for (int l = 1; l <= start; l++) {
+            relax(best, row + l + 1, best[prefix + l] + log2Guesses);
+        }
+    }
+
+    private static void relax(final double[] best, final int cell, final double log2Guesses) {
+        if (log2Guesses < best[cell]) {
+            best[cell] = log2Guesses;
+        }
+    }
+
+    // --- Motifs de dictionnaire / Dictionary matches ---
+
+    // Each substituted character, e.g. the "@" and "0" of "p@ssw0rd", doubles the guesses: it may or may not be substituted
+    private void addDictionaryMatches(final Scratch scratch) {
+        final DictionaryLookupEvent event = FlightRecorderEvents.enabled() ? new DictionaryLookupEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        final int matchesBefore = scratch.matchCount;
+        scratch.extraGuesses = 0.0;
+        dictionary.findMatches(scratch.text, 0, scratch.length, scratch);
+        // The same word typed backwards, e.g. "drowssap": twice the guesses
+        scratch.extraGuesses = 1.0;
+        reversedDictionary.findMatches(scratch.text, 0, scratch.length, scratch);
+        if (event != null && event.shouldCommit()) {
+            event.analyzedLength = scratch.length;
+            event.matchCount = scratch.matchCount - matchesBefore;
+            event.dictionarySize = dictionary.getWordCount();
+            event.commit();
+        }
+    }
+
+    // Guesses needed to find the capitalization: none for all lowercase, 2 for the common Title/UPPER/lasT forms
+    private static double log2UppercaseVariations(final char[] chars, final int start, final int end) {
+        int upper = 0;
+        int lower = 0;
+        for (int i = start; i <= end; i++) {
+            if (Character.isUpperCase(chars[i])) {
+                upper++;
+            } else if (Character.isLowerCase(chars[i])) {
+                lower++;
+            }
+        }
+        if (upper == 0) {
+            return 0.0;
+        }
+        final boolean firstOnly = upper == 1 && Character.isUpperCase(chars[start]);
+        final boolean lastOnly = upper == 1 && Character.isUpperCase(chars[end]);
+        if (lower == 0 || firstOnly || lastOnly) {
+            return 1.0;
+        }
+        double variations = 0.0;
+        for (int i = 1; i <= Math.min(upper, lower); i++) {
+            variations += binomial(upper + lower, i);
+        }
+        return log2(variations);
+    }
+
+    // --- Séquences / Sequences ---
+
+    private static void addSequenceMatches(final Scratch scratch) {
+        final char[] chars = scratch.chars;
+        final int length = scratch.length;
+        int start = 0;
+        while (start < length - 2) {
+            final int delta = chars[start + 1] - chars[start];
+            int end = start + 1;
+            while (end + 1 < length && chars[end + 1] - chars[end] == delta && sameSequenceClass(chars[start], chars[end + 1])) {
+                end++;
+            }
+            if (end - start >= 2 && delta != 0 && Math.abs(delta) <= MAX_SEQUENCE_DELTA && sameSequenceClass(chars[start], chars[start + 1])) {
+                final char first = chars[start];
+                final int base;
+                if (OBVIOUS_SEQUENCE_STARTS.indexOf(first) != -1) {
+                    base = 4;
+                } else if (first >= '0' && first <= '9') {
+                    base = 10;
+                } else {
+                    base = 26;
+                }
+                scratch.addMatch(start, end, log2(base) + log2(end - start + 1) + ((delta < 0) ? 1.0 : 0.0));
+                start = end;
+            } else {
+                start++;
+            }
+        }
+    }
+
+    private static boolean sameSequenceClass(final char a, final char b) {
+        return (a >= 'a' && a <= 'z' && b >= 'a' && b <= 'z')
+                || (a >= 'A' && a <= 'Z' && b >= 'A' && b <= 'Z')
+                || (a >= '0' && a <= '9' && b >= '0' && b <= '9');
+    }
+
+    // --- Répétitions / Repeats ---
+
+    private void addRepeatMatches(final Scratch scratch, final double log2Cardinality) {
+        final char[] chars = scratch.chars;
+        final int length = scratch.length;
+        int start = 0;
+        while (start < length - 1) {
+            // Longest run of a repeated block starting here; the shortest block wins ties ("aaaa" is "a" x 4)
+            int bestBlock = 0;
+            int bestCount = 0;
+            for (int block = 1; start + 2 * block <= length; block++) {
+                int count = 1;
+                while (start + (count + 1) * block <= length && sameBlock(chars, start, start + count * block, block)) {
+                    count++;
+                }
+                if (count >= 2 && block * count > bestBlock * bestCount) {
+                    bestBlock = block;
+                    bestCount = count;
+                }
+            }
+            if (bestCount == 0) {
+                start++;
+                continue;
+            }
+            final Scratch block = scratch.nested();
+            System.arraycopy(chars, start, block.chars, 0, bestBlock);
+            block.length = bestBlock;
+            final double blockGuesses = log2Guesses(block, log2Cardinality);
+            scratch.addMatch(start, start + bestBlock * bestCount - 1, blockGuesses + log2(bestCount));
+            start += bestBlock * bestCount;
+        }
+    }
+
+    private static boolean sameBlock(final char[] chars, final int first, final int second, final int block) {
+        for (int i = 0; i < block; i++) {
+            if (chars[first + i] != chars[second + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // --- Parcours de clavier / Keyboard walks ---
+
+    private static void addSpatialMatches(final Scratch scratch) {
+        final char[] chars = scratch.chars;
+        final int length = scratch.length;
+        for (final KeyboardLayout layout : KEYBOARD_LAYOUTS) {
+            int start = 0;
+            while (start < length - 2) {
+                int end = start;
+                int turns = 0;
+                int lastDirection = -1;
+                int shiftedCount = layout.isShifted(chars[start]) ? 1 : 0;
+                while (end + 1 < length && layout.areAdjacent(chars[end], chars[end + 1])) {
+                    final int direction = layout.direction(chars[end], chars[end + 1]);
+                    if (direction != lastDirection) {
+                        turns++;
+                        lastDirection = direction;
+                    }
+                    end++;
+                    if (layout.isShifted(chars[end])) {
+                        shiftedCount++;
+                    }
+                }
+                if (end - start >= 2) {
+                    scratch.addMatch(start, end, log2SpatialGuesses(layout, end - start + 1, turns, shiftedCount));
+                }
+                start = end + 1;
+            }
+        }
+    }
+
+    // Counts the walks of this length with at most this many turns, from any key, times the Shift placements
+    private static double log2SpatialGuesses(final KeyboardLayout layout, final int length, final int turns, final int shiftedCount) {
+        final double startingPositions = layout.getKeyCount();
+        final double degree = layout.getAverageDegree();
+        double guesses = 0.0;
+        for (int i = 2; i <= length; i++) {
+            for (int j = 1; j <= Math.min(turns, i - 1); j++) {
+                guesses += binomial(i - 1, j - 1) * startingPositions * Math.pow(degree, j);
+            }
+        }
+        if (shiftedCount > 0) {
+            final int unshiftedCount = length - shiftedCount;
+            if (unshiftedCount == 0) {
+                guesses *= 2;
+            } else {
+                double variations = 0.0;
+                for (int i = 1; i <= Math.min(shiftedCount, unshiftedCount); i++) {
+                    variations += binomial(shiftedCount + unshiftedCount, i);
+                }
+                guesses *= variations;
+            }
+        }
+        return log2(guesses);
+    }
+
+    // --- Dates / Dates ---
+
+    private static void addDateMatches(final Scratch scratch) {
+        final char[] chars = scratch.chars;
+        final int length = scratch.length;
+        for (int start = 0; start < length; start++) {
+            // Bare years, e.g. "1987"
+            if (start + 4 <= length && isDigits(chars, start, start + 4) && (chars[start] == '1' && chars[start + 1] == '9' || chars[start] == '2' && chars[start + 1] == '0')) {
+                scratch.addMatch(start, start + 3, log2(yearSpace(parse(chars, start, start + 4))));
+            }
+            // Dates without separator, e.g. "13121987" or "871213"
+            for (int end = start + 4; end <= Math.min(length, start + 8); end++) {
+                if (!isDigits(chars, start, end)) {
+                    break;
+                }
+                int bestYear = -1;
+                for (final int[] split : DATE_SPLITS[end - start - 4]) {
+                    final int year = dateYear(parse(chars, start, start + split[0]), parse(chars, start + split[0], start + split[1]), parse(chars, start + split[1], end));
+                    if (year != -1 && (bestYear == -1 || Math.abs(year - REFERENCE_YEAR) < Math.abs(bestYear - REFERENCE_YEAR))) {
+                        bestYear = year;
+                    }
+                }
+                if (bestYear != -1) {
+                    scratch.addMatch(start, end - 1, log2(yearSpace(bestYear) * 365.0));
+                }
+            }
+            // Dates with a separator, e.g. "13/12/1987" or "1987-12-13"
+            for (int end = start + 6; end <= Math.min(length, start + 10); end++) {
+                final int year = separatedDateYear(chars, start, end);
+                if (year != -1) {
+                    scratch.addMatch(start, end - 1, log2(yearSpace(year) * 365.0 * 4));
+                }
+            }
+        }
+    }
+
+    private static int separatedDateYear(final char[] chars, final int start, final int end) {
+        int firstEnd = start;
+        while (firstEnd < end && chars[firstEnd] >= '0' && chars[firstEnd] <= '9') {
+            firstEnd++;
+        }
+        if (firstEnd == start || firstEnd - start > 4 || firstEnd >= end) {
+            return -1;
+        }
+        final char separator = chars[firstEnd];
+        if (" /\\_.-".indexOf(separator) == -1) {
+            return -1;
+        }
+        int secondEnd = firstEnd + 1;
+        while (secondEnd < end && chars[secondEnd] >= '0' && chars[secondEnd] <= '9') {
+            secondEnd++;
+        }
+        if (secondEnd == firstEnd + 1 || secondEnd - firstEnd - 1 > 2 || secondEnd >= end || chars[secondEnd] != separator) {
+            return -1;
+        }
+        if (end - secondEnd - 1 < 1 || end - secondEnd - 1 > 4 || !isDigits(chars, secondEnd + 1, end)) {
+            return -1;
+        }
+        return dateYear(parse(chars, start, firstEnd), parse(chars, firstEnd + 1, secondEnd), parse(chars, secondEnd + 1, end));
+    }
+
+    /**
+     * Reads three integers as a day, month and year in any plausible order, as zxcvbn does.
+     * Lit trois entiers comme un jour, un mois et une année dans n'importe quel ordre plausible, comme zxcvbn.
+     * @return The four-digit year, or -1 if the integers cannot form a date.
+     * @return L'année sur quatre chiffres, ou -1 si les entiers ne peuvent pas former une date.
+     */
+    private static int dateYear(final int first, final int second, final int third) {
+        if (second > 31 || second <= 0) {
+            return -1;
+        }
+        if (!isDatePart(first) || !isDatePart(second) || !isDatePart(third)) {
+            return -1;
+        }
+        final int over12 = countAbove(12, first, second, third);
+        final int over31 = countAbove(31, first, second, third);
+        final int under1 = 3 - countAbove(0, first, second, third);
+        if (over31 >= 2 || over12 == 3 || under1 >= 2) {
+            return -1;
+        }
+        // A four-digit year first or last decides the order on its own
+        if (third >= DATE_MIN_YEAR && third <= DATE_MAX_YEAR) {
+            return isDayMonth(first, second) ? third : -1;
+        }
+        if (first >= DATE_MIN_YEAR && first <= DATE_MAX_YEAR) {
+            return isDayMonth(second, third) ? first : -1;
+        }
+        if (isDayMonth(first, second)) {
+            return twoToFourDigitYear(third);
+        }
+        if (isDayMonth(second, third)) {
+            return twoToFourDigitYear(first);
+        }
+        return -1;
+    }
+
+    private static boolean isDatePart(final int value) {
+        return (value <= 99 || value >= DATE_MIN_YEAR) && value <= DATE_MAX_YEAR;
+    }
+
+    private static int countAbove(final int limit, final int first, final int second, final int third) {
+        return ((first > limit) ? 1 : 0) + ((second > limit) ? 1 : 0) + ((third > limit) ? 1 : 0);
+    }
+
+    private static boolean isDayMonth(final int a, final int b) {
+        return (a >= 1 && a <= 31 && b >= 1 && b <= 12) || (b >= 1 && b <= 31 && a >= 1 && a <= 12);
+    }
+
+    private static int twoToFourDigitYear(final int year) {
+        if (year > 99) {
+            return year;
+        }
+        return (year > 50) ? 1900 + year : 2000 + year;
+    }
+
+    private static double yearSpace(final int year) {
+        return Math.max(Math.abs(year - REFERENCE_YEAR), MIN_YEAR_SPACE);
+    }
+
+    private static boolean isDigits(final char[] chars, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (chars[i] < '0' || chars[i] > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int parse(final char[] chars, final int start, final int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (chars[i] - '0');
+        }
+        return value;
+    }
+
+    // --- Calculs / Arithmetic ---
+
+    private static double binomial(final int n, final int k) {
+        double result = 1.0;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+
+    // log2(2^a + 2^b) without leaving the log domain
+    private static double log2Sum(final double a, final double b) {
+        final double larger = Math.max(a, b);
+        return larger + log2(1.0 + Math.pow(2.0, Math.min(a, b) - larger));
+    }
+
+    private static double log2(final double x) {
+        return Math.log(x) / Math.log(2);
+    }
+}
@@ -0,0 +1,325 @@
+package passwordgenerator.core;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Aho–Corasick automaton finding every penalty pattern (common sequences and weak words) in a single pass.
+ * All dictionaries are compiled into one deterministic automaton whose transitions, failure links included,
+ * are precomputed in a flat {@code int[]} table. Matching reads each character of the password exactly once,
+ * so its cost does not depend on how many patterns are registered. Matching is case-insensitive.
+ * Automate d'Aho–Corasick trouvant tous les motifs pénalisants (séquences courantes et mots faibles) en une seule passe.
+ * Tous les dictionnaires sont compilés en un automate déterministe dont les transitions, liens d'échec compris,
+ * sont précalculées dans une table {@code int[]} plate. La recherche lit chaque caractère du mot de passe une seule
+ * fois : son coût ne dépend pas du nombre de motifs enregistrés. La recherche ignore la casse.
+ *
+ * <p>Matching lowercases the password one character at a time. For ASCII text this is what {@link String#toLowerCase()}
+ * gives, except in the locales that dot or undot the i ({@link #foldsAsciiPerCharacter(Locale)}). Any other text
+ * must be lowercased as a whole by the caller and given to {@link #matchLowerCase(CharSequence)}, because
+ * {@link String#toLowerCase()} may turn one character into several, e.g. 'İ' (U+0130) into an 'i' followed by a
+ * combining dot (U+0307).</p>
+ *
+ * <p>Weak words are also found spelled with leetspeak substitutions, such as "p@ssw0rd" or "4dm1n", through a
+ * {@link LeetDictionaryTrie} of the same words; it is only walked when the password contains a substitute character.</p>
+ *
+ * <p>Instances are immutable and thread-safe.</p>
+ */
+final class PenaltyPatternMatcher {
+    // --- Catégories de motifs (masque de bits) / Pattern categories (bit mask) ---
+    static final int SEQUENCE = 1;
+    static final int WEAK_WORD = 2;
+    private static final int ALL_CATEGORIES = SEQUENCE | WEAK_WORD;
+
+    private static final int ASCII_LIMIT = 128;
+    private static final String[] SPECIAL_CASING_LANGUAGES = {"tr", "az", "lt"}; // Where String.toLowerCase() changes 'I'
+
+    private final int alphabetSize;
+    private final int[] asciiSymbols;      // ASCII char -> symbol index, -1 if no pattern uses it
+    private final int[] foldedSymbols;     // Same, after lowercasing, so ASCII input skips Character.toLowerCase
+    private final char[] otherChars;       // Sorted non-ASCII chars used by the patterns
+    private final int[] transitions;       // state * alphabetSize + symbol -> next state
+    private final int[] outputs;           // state -> categories of every pattern ending there
+    private final int[] sequenceCounts;    // state -> number of sequence patterns ending there
+    private final int[] weakWordCounts;    // state -> number of weak word patterns ending there
+    private final int maxPatternLength;
+    private final LeetDictionaryTrie weakWordTrie; // Weak words, for their leetspeak spellings
+
+    /**
+     * Compiles the given dictionaries into an automaton. Null or empty patterns are ignored.
+     * Compile les dictionnaires donnés en un automate. Les motifs nuls ou vides sont ignorés.
+     * @param sequencePatterns Patterns reported as {@link #SEQUENCE}.
+     * @param weakWordPatterns Patterns reported as {@link #WEAK_WORD}.
+     * @param sequencePatterns Motifs signalés comme {@link #SEQUENCE}.
+     * @param weakWordPatterns Motifs signalés comme {@link #WEAK_WORD}.
+     */
+    PenaltyPatternMatcher(final String[] sequencePatterns, final String[] weakWordPatterns) {
+        // Collect the alphabet so the transition table only has columns for characters that matter
+        final boolean[] asciiUsed = new boolean[ASCII_LIMIT];
+        final StringBuilder others = new StringBuilder();
+        int maxStates = 1;
+        int longest = 0;
+        final String[][] groups = {sequencePatterns, weakWordPatterns};
+        for (final String[] group : groups) {
+            for (final String pattern : group) {
+                if (pattern == null) {
+                    continue;
+                }
+                maxStates += pattern.length();
+                longest = Math.max(longest, pattern.length());
+                for (int i = 0; i < pattern.length(); i++) {
+                    final char c = Character.toLowerCase(pattern.charAt(i));
+                    if (c < ASCII_LIMIT) {
+                        asciiUsed[c] = true;
+                    } else if (others.indexOf(String.valueOf(c)) == -1) {
+                        others.append(c);
+                    }
+                }
+            }
+        }
+        otherChars = others.toString().toCharArray();
+        Arrays.sort(otherChars);
+        asciiSymbols = new int[ASCII_LIMIT];
+        int symbolCount = 0;
+        for (int c = 0; c < ASCII_LIMIT; c++) {
+            asciiSymbols[c] = asciiUsed[c] ? symbolCount++ : -1;
+        }
+        alphabetSize = symbolCount + otherChars.length;
+        foldedSymbols = new int[ASCII_LIMIT];
+        for (int c = 0; c < ASCII_LIMIT; c++) {
+            foldedSymbols[c] = asciiSymbols[Character.toLowerCase(c)];
+        }
+        maxPatternLength = longest;
+
+        // Build the trie; -1 marks a missing edge until the automaton is completed below
+        final int[] trie = new int[maxStates * Math.max(alphabetSize, 1)];
+        Arrays.fill(trie, -1);
+        final int[] stateOutputs = new int[maxStates];
+        final int[][] stateCounts = {new int[maxStates], new int[maxStates]}; // Per category, in group order
+        int stateCount = 1;
+        for (int g = 0; g < groups.length; g++) {
+            final int category = (g == 0) ? SEQUENCE : WEAK_WORD;
+            for (final String pattern : groups[g]) {
+                if (pattern == null || pattern.isEmpty()) {
+                    continue;
+                }
+                int state = 0;
+                for (int i = 0; i < pattern.length(); i++) {
+                    final int edge = state * alphabetSize + symbolOf(Character.toLowerCase(pattern.charAt(i)));
+                    if (trie[edge] == -1) {
+                        trie[edge] = stateCount++;
+                    }
+                    state = trie[edge];
+                }
+                stateOutputs[state] |= category;
+                stateCounts[g][state]++;
+            }
+        }
+
+        // Breadth-first pass: compute failure links and turn missing edges into failure transitions
+        final int[] failure = new int[stateCount];
+        final int[] queue = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            final int child = trie[symbol];
+            if (child == -1) {
+                trie[symbol] = 0;
+            } else {
+                failure[child] = 0;
+                queue[tail++] = child;
+            }
+        }
+        while (head < tail) {
+            final int state = queue[head++];
+            stateOutputs[state] |= stateOutputs[failure[state]];
+            stateCounts[0][state] += stateCounts[0][failure[state]];
+            stateCounts[1][state] += stateCounts[1][failure[state]];
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                final int edge = state * alphabetSize + symbol;
+                final int child = trie[edge];
+                final int fallback = trie[failure[state] * alphabetSize + symbol];
+                if (child == -1) {
+                    trie[edge] = fallback;
+                } else {
+                    failure[child] = fallback;
+                    queue[tail++] = child;
+                }
+            }
+        }
+
+        transitions = Arrays.copyOf(trie, stateCount * alphabetSize);
+        outputs = Arrays.copyOf(stateOutputs, stateCount);
+        sequenceCounts = Arrays.copyOf(stateCounts[0], stateCount);
+        weakWordCounts = Arrays.copyOf(stateCounts[1], stateCount);
+        weakWordTrie = new LeetDictionaryTrie(weakWordPatterns);
+    }
+
+    /**
+     * Scans the password once and reports which categories of patterns it contains.
+     * Parcourt le mot de passe une seule fois et indique quelles catégories de motifs il contient.
+     * @param password The password to scan.
+     * @return A bit mask of {@link #SEQUENCE} and {@link #WEAK_WORD}; 0 if nothing matched.
+     * @param password Le mot de passe à analyser.
+     * @return Un masque de bits de {@link #SEQUENCE} et {@link #WEAK_WORD} ; 0 si rien ne correspond.
+     */
+    int match(final CharSequence password) {
+        int state = 0;
+        int categories = 0;
+        final int length = password.length();
+        for (int i = 0; i < length; i++) {
+            final int symbol = symbolOf(Character.toLowerCase(password.charAt(i)));
+            // A character that appears in no pattern cannot be part of a match: restart from the root
+            state = (symbol < 0) ? 0 : transitions[state * alphabetSize + symbol];
+            categories |= outputs[state];
+            if (categories == ALL_CATEGORIES) {
+                break; // Nothing more to learn
+            }
+        }
+        if ((categories & WEAK_WORD) == 0 && weakWordTrie.containsSubstitutedMatch(password)) {
+            categories |= WEAK_WORD;
+        }
+        return categories;
+    }
+
+    /**
+     * Scans a password already lowercased with {@link String#toLowerCase(Locale)} and reports which categories of
+     * patterns it contains, leaving its characters as they are. Leetspeak spellings are not looked for.
+     * Parcourt un mot de passe déjà mis en minuscules avec {@link String#toLowerCase(Locale)} et indique quelles
+     * catégories de motifs il contient, sans modifier ses caractères. Les écritures en leetspeak ne sont pas cherchées.
+     * @param lowerCase The lowercased password.
+     * @return A bit mask of {@link #SEQUENCE} and {@link #WEAK_WORD}; 0 if nothing matched.
+     * @param lowerCase Le mot de passe en minuscules.
+     * @return Un masque de bits de {@link #SEQUENCE} et {@link #WEAK_WORD} ; 0 si rien ne correspond.
+     */
+    int matchLowerCase(final CharSequence lowerCase) {
+        int state = 0;
+        int categories = 0;
+        final int length = lowerCase.length();
+        for (int i = 0; i < length && categories != ALL_CATEGORIES; i++) {
+            final int symbol = symbolOf(lowerCase.charAt(i));
+            state = (symbol < 0) ? 0 : transitions[state * alphabetSize + symbol];
+            categories |= outputs[state];
+        }
+        return categories;
+    }
+
+    /**
+     * Tells whether lowercasing ASCII text one character at a time, as {@link #next(int, char)} and
+     * {@link #countOccurrences(CharSequence, int, int, int[])} do, gives the same text as
+     * {@link String#toLowerCase(Locale)} in the given locale. Not in Turkish and Azeri, where 'I' becomes a dotless
+     * 'ı', nor in Lithuanian.
+     * Indique si mettre un texte ASCII en minuscules caractère par caractère, comme le font {@link #next(int, char)}
+     * et {@link #countOccurrences(CharSequence, int, int, int[])}, donne le même texte que
+     * {@link String#toLowerCase(Locale)} dans la langue donnée. Ce n'est pas le cas en turc et en azéri, où « I »
+     * devient un « ı » sans point, ni en lituanien.
+     * @param locale The locale the password is lowercased in.
+     * @return {@code true} if the per-character scan is exact for ASCII text.
+     * @param locale La langue dans laquelle le mot de passe est mis en minuscules.
+     * @return {@code true} si le parcours caractère par caractère est exact pour un texte ASCII.
+     */
+    static boolean foldsAsciiPerCharacter(final Locale locale) {
+        final String language = locale.getLanguage();
+        for (final String special : SPECIAL_CASING_LANGUAGES) {
+            if (special.equals(language)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether the password contains a weak word spelled with leetspeak substitutions, e.g. "p@ssw0rd".
+     * Weak words spelled as is are found by the automaton.
+     * Indique si le mot de passe contient un mot faible écrit avec des substitutions du leetspeak, par exemple
+     * « p@ssw0rd ». Les mots faibles écrits tels quels sont trouvés par l'automate.
+     * @param password The password to scan.
+     * @return {@code true} if such a weak word was found.
+     * @param password Le mot de passe à analyser.
+     * @return {@code true} si un tel mot faible a été trouvé.
+     */
+    boolean containsSubstitutedWeakWord(final CharSequence password) {
+        return weakWordTrie.containsSubstitutedMatch(password);
+    }
+
+    /**
+     * Advances the automaton by one character, for callers that scan the password themselves.
+     * Start from state 0; {@link #categoriesAt(int)} then tells which patterns end at this character.
+     * Fait avancer l'automate d'un caractère, pour les appelants qui parcourent eux-mêmes le mot de passe.
+     * Commencer à l'état 0 ; {@link #categoriesAt(int)} indique ensuite quels motifs se terminent sur ce caractère.
+     * @param state The current state.
+     * @param c The next character of the password.
+     * @return The new state.
+     * @param state L'état courant.
+     * @param c Le caractère suivant du mot de passe.
+     * @return Le nouvel état.
+     */
+    int next(final int state, final char c) {
+        final int symbol = (c < ASCII_LIMIT) ? foldedSymbols[c] : symbolOf(Character.toLowerCase(c));
+        return (symbol < 0) ? 0 : transitions[state * alphabetSize + symbol];
+    }
+
+    /**
+     * Returns the categories of the patterns ending at a state.
+     * Retourne les catégories des motifs se terminant à un état.
+     * @param state A state returned by {@link #next(int, char)}.
+     * @return A bit mask of {@link #SEQUENCE} and {@link #WEAK_WORD}.
+     * @param state Un état retourné par {@link #next(int, char)}.
+     * @return Un masque de bits de {@link #SEQUENCE} et {@link #WEAK_WORD}.
+     */
+    int categoriesAt(final int state) {
+        return outputs[state];
+    }
+
+    /**
+     * Counts the pattern occurrences lying entirely within a range of the text, by category, weak words spelled with
+     * leetspeak substitutions included. Used to maintain
+     * counts incrementally: an edit can only change occurrences within {@link #getMaxPatternLength()} - 1
+     * characters of it.
+     * Compte les occurrences de motifs situées entièrement dans une plage du texte, par catégorie, mots faibles écrits
+     * avec des substitutions du leetspeak compris. Sert à tenir
+     * des comptes à jour de façon incrémentale : une modification ne peut changer que les occurrences situées
+     * à moins de {@link #getMaxPatternLength()} - 1 caractères d'elle.
+     * @param text The text to scan.
+     * @param from The first index of the range, inclusive.
+     * @param to The last index of the range, exclusive.
+     * @param occurrences Receives the counts: index 0 for {@link #SEQUENCE}, index 1 for {@link #WEAK_WORD}; added to the existing values.
+     * @param text Le texte à analyser.
+     * @param from Le premier indice de la plage, inclus.
+     * @param to Le dernier indice de la plage, exclu.
+     * @param occurrences Reçoit les comptes : indice 0 pour {@link #SEQUENCE}, indice 1 pour {@link #WEAK_WORD} ; ajoutés aux valeurs existantes.
+     */
+    void countOccurrences(final CharSequence text, final int from, final int to, final int[] occurrences) {
+        int state = 0;
+        for (int i = from; i < to; i++) {
+            final int symbol = symbolOf(Character.toLowerCase(text.charAt(i)));
+            state = (symbol < 0) ? 0 : transitions[state * alphabetSize + symbol];
+            occurrences[0] += sequenceCounts[state];
+            occurrences[1] += weakWordCounts[state];
+        }
+        occurrences[1] += weakWordTrie.countSubstitutedMatches(text, from, to);
+    }
+
+    /**
+     * Returns the length of the longest pattern.
+     * Retourne la longueur du motif le plus long.
+     */
+    int getMaxPatternLength() {
+        return maxPatternLength;
+    }
+
+    /**
+     * Returns the number of automaton states, for diagnostics.
+     * Retourne le nombre d'états de l'automate, pour diagnostic.
+     */
+    int getStateCount() {
+        return outputs.length;
+    }
+
+    private int symbolOf(final char c) {
+        if (c < ASCII_LIMIT) {
+            return asciiSymbols[c];
+        }
+        final int index = Arrays.binarySearch(otherChars, c);
+        return (index < 0) ? -1 : alphabetSize - otherChars.length + index;
+    }
+}
@@ -0,0 +1,17 @@
+package passwordgenerator.core;
+
+/**
+ * Source of uniformly distributed, unbiased indices used by password generation.
+ * Source d'indices uniformément distribués et sans biais utilisée par la génération de mots de passe.
+ */
+interface RandomIndexSource {
+    /**
+     * Returns a uniformly distributed index.
+     * @param bound The exclusive upper bound. Must be positive.
+     * @return An index in {@code [0, bound)}.
+     * Retourne un indice uniformément distribué.
+     * @param bound La borne supérieure exclusive. Doit être positive.
+     * @return Un indice dans {@code [0, bound)}.
+     */
+    int nextIndex(int bound);
+}
@@ -0,0 +1,13 @@
+package passwordgenerator.core;
+
+import java.security.SecureRandom;
+
+/**
+ * Selects how {@link PasswordService} turns {@link SecureRandom} output into character indices.
+ * Sélectionne la façon dont {@link PasswordService} transforme la sortie de {@link SecureRandom} en indices de caractères.
+ */
+public enum RandomnessMode {
+    DIRECT,            // One SecureRandom.nextInt call per index (original behaviour)
+    BUFFERED,          // Large nextBytes blocks, one 32-bit word per index with rejection sampling
+    ENTROPY_EFFICIENT  // Large nextBytes blocks, several indices extracted from each random word
+}
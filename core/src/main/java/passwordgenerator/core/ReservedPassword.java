@@ -0,0 +1,55 @@
+package passwordgenerator.core;
+
+import java.util.Arrays;
+
+/**
+ * Data class holding a password taken from a {@link PasswordReservoir}, with its strength evaluated in advance if the
+ * reservoir evaluates its passwords.
+ * The characters belong to whoever took the password, who should {@link #wipe()} them once they are no longer needed.
+ * Classe de données contenant un mot de passe pris dans un {@link PasswordReservoir}, avec sa force évaluée à
+ * l'avance si le réservoir évalue ses mots de passe. Les caractères appartiennent à qui a pris le mot de passe, qui doit les effacer avec {@link #wipe()} dès
+ * qu'ils ne sont plus utiles.
+ */
+public final class ReservedPassword {
+    final char[] chars;
+    final PasswordEvaluationResult evaluation;
+
+    /**
+     * Constructs a new ReservedPassword.
+     * @param chars The password characters, owned by this instance.
+     * @param evaluation The strength of the password, or {@code null} if it was not evaluated.
+     * Construit un nouveau ReservedPassword.
+     * @param chars Les caractères du mot de passe, détenus par cette instance.
+     * @param evaluation La force du mot de passe, ou {@code null} si elle n'a pas été évaluée.
+     */
+    ReservedPassword(char[] chars, PasswordEvaluationResult evaluation) {
+        this.chars = chars;
+        this.evaluation = evaluation;
+    }
+
+    /**
+     * Returns the password characters. The array is not copied, so that {@link #wipe()} clears it.
+     * Retourne les caractères du mot de passe. Le tableau n'est pas copié, afin que {@link #wipe()} l'efface.
+     */
+    public char[] getChars() {
+        return chars;
+    }
+
+    /**
+     * Returns the strength of the password, evaluated when it was generated.
+     * Retourne la force du mot de passe, évaluée lors de sa génération.
+     * @return The evaluation, or {@code null} if the reservoir does not evaluate its passwords.
+     * @return L'évaluation, ou {@code null} si le réservoir n'évalue pas ses mots de passe.
+     */
+    public PasswordEvaluationResult getEvaluation() {
+        return evaluation;
+    }
+
+    /**
+     * Overwrites the password characters with zeros.
+     * Écrase les caractères du mot de passe avec des zéros.
+     */
+    public void wipe() {
+        Arrays.fill(chars, '\0');
+    }
+}
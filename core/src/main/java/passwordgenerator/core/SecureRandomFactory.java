@@ -0,0 +1,179 @@
+package passwordgenerator.core;
+
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * Creates the {@link SecureRandom} instances used by {@link PasswordService}, for a configurable algorithm
+ * and provider (DRBG, NativePRNGNonBlocking, SHA1PRNG...).
+ * The choice is read from system properties, or made by a short startup probe that times each available
+ * algorithm and keeps the fastest one meeting a minimum security strength.
+ * Crée les instances de {@link SecureRandom} utilisées par {@link PasswordService}, pour un algorithme et un
+ * fournisseur configurables (DRBG, NativePRNGNonBlocking, SHA1PRNG...).
+ * Le choix est lu dans les propriétés système, ou fait par une courte sonde au démarrage qui chronomètre chaque
+ * algorithme disponible et garde le plus rapide atteignant une force de sécurité minimale.
+ */
+final class SecureRandomFactory {
+    // --- Propriétés système / System properties ---
+    static final String ALGORITHM_PROPERTY = "passwordgenerator.rng.algorithm";       // e.g. DRBG
+    static final String PROVIDER_PROPERTY = "passwordgenerator.rng.provider";         // e.g. SUN
+    static final String PROBE_PROPERTY = "passwordgenerator.rng.probe";               // true to benchmark at startup
+    static final String MIN_STRENGTH_PROPERTY = "passwordgenerator.rng.minStrength";  // bits, used by the probe
+
+    // --- Sonde de démarrage / Startup probe ---
+    // Blocking variants are never probed: they may stall startup waiting for OS entropy.
+    private static final String[] PROBE_CANDIDATES = {"DRBG", "NativePRNGNonBlocking", "NativePRNG", "Windows-PRNG", "SHA1PRNG"};
+    // Nominal security strength credited to each candidate, in bits. SHA1PRNG is SHA-1 based and not an SP 800-90A DRBG.
+    private static final int[] CANDIDATE_STRENGTHS = {128, 128, 128, 128, 80};
+    private static final int DEFAULT_MIN_STRENGTH = 128;
+    private static final long PROBE_DURATION_NANOS = 5000000L; // Time spent measuring each candidate
+    private static final int PROBE_BLOCK_SIZE = 4096;
+
+    // --- Messages / Messages ---
+    private static final String RNG_FALLBACK_MESSAGE = "SecureRandom configuration unavailable, using the JDK default instead: ";
+    private static final String RNG_PROBE_MESSAGE = "SecureRandom probe selected ";
+
+    static final SecureRandomFactory JDK_DEFAULT = new SecureRandomFactory(null, null);
+
+    final String algorithm; // null for the JDK default
+    final String provider;  // null for any provider
+
+    private SecureRandomFactory(final String algorithm, final String provider) {
+        this.algorithm = algorithm;
+        this.provider = provider;
+    }
+
+    /**
+     * Returns a factory for the given algorithm and provider, checking that they are available.
+     * Falls back to the JDK default, with a message on standard error, when they are not.
+     * Retourne une fabrique pour l'algorithme et le fournisseur donnés, en vérifiant leur disponibilité.
+     * Se replie sur l'algorithme par défaut du JDK, avec un message sur la sortie d'erreur, s'ils ne le sont pas.
+     * @param algorithm The SecureRandom algorithm name, or {@code null} for the JDK default.
+     * @param provider The provider name, or {@code null} for any provider.
+     * @return The validated factory.
+     * @param algorithm Le nom de l'algorithme SecureRandom, ou {@code null} pour celui par défaut du JDK.
+     * @param provider Le nom du fournisseur, ou {@code null} pour n'importe quel fournisseur.
+     * @return La fabrique validée.
+     */
+    static SecureRandomFactory of(final String algorithm, final String provider) {
+        if (algorithm == null || algorithm.isEmpty()) {
+            return JDK_DEFAULT;
+        }
+        final SecureRandomFactory factory = new SecureRandomFactory(algorithm, (provider == null || provider.isEmpty()) ? null : provider);
+        try {
+            factory.newInstance();
+            return factory;
+        } catch (final GeneralSecurityException e) {
+            System.err.println(RNG_FALLBACK_MESSAGE + e.getMessage());
+            return JDK_DEFAULT;
+        }
+    }
+
+    /**
+     * Returns the factory described by the {@code passwordgenerator.rng.*} system properties. The properties are
+     * read, and the probe run, once per process on first use: every {@link PasswordService} then shares the result.
+     * Retourne la fabrique décrite par les propriétés système {@code passwordgenerator.rng.*}. Les propriétés sont
+     * lues, et la sonde exécutée, une seule fois par processus à la première utilisation : tous les
+     * {@link PasswordService} partagent ensuite le résultat.
+     * @return The configured factory; the JDK default when nothing is configured.
+     * @return La fabrique configurée ; celle par défaut du JDK si rien n'est configuré.
+     */
+    static SecureRandomFactory fromSystemProperties() {
+        return Configured.FACTORY;
+    }
+
+    /**
+     * Lazy holder of the configured factory: the class, hence the probe, is only initialized on first access.
+     * Détenteur paresseux de la fabrique configurée : la classe, donc la sonde, n'est initialisée qu'au premier accès.
+     */
+    private static final class Configured {
+        static final SecureRandomFactory FACTORY = resolveSystemProperties();
+    }
+
+    private static SecureRandomFactory resolveSystemProperties() {
+        if (Boolean.getBoolean(PROBE_PROPERTY)) {
+            return probeFastest(Integer.getInteger(MIN_STRENGTH_PROPERTY, DEFAULT_MIN_STRENGTH).intValue());
+        }
+        return of(System.getProperty(ALGORITHM_PROPERTY), System.getProperty(PROVIDER_PROPERTY));
+    }
+
+    /**
+     * Times every available candidate algorithm for a few milliseconds and returns the fastest one whose
+     * nominal strength is at least {@code minStrength}. The choice is reported on standard error.
+     * Chronomètre chaque algorithme candidat disponible pendant quelques millisecondes et retourne le plus rapide
+     * dont la force nominale est d'au moins {@code minStrength}. Le choix est signalé sur la sortie d'erreur.
+     * @param minStrength The minimum security strength, in bits.
+     * @return The fastest acceptable factory, or the JDK default if no candidate qualifies.
+     * @param minStrength La force de sécurité minimale, en bits.
+     * @return La fabrique acceptable la plus rapide, ou celle par défaut du JDK si aucun candidat ne convient.
+     */
+    static SecureRandomFactory probeFastest(final int minStrength) {
+        SecureRandomFactory best = JDK_DEFAULT;
+        double bestBytesPerNano = 0.0;
+        final byte[] block = new byte[PROBE_BLOCK_SIZE];
+
+        for (int i = 0; i < PROBE_CANDIDATES.length; i++) {
+            if (CANDIDATE_STRENGTHS[i] < minStrength) {
+                continue;
+            }
+            final SecureRandom candidate;
+            try {
+                candidate = SecureRandom.getInstance(PROBE_CANDIDATES[i]);
+            } catch (final NoSuchAlgorithmException e) {
+                continue; // Not available on this platform
+            }
+            candidate.nextBytes(block); // Warm-up, also triggers self-seeding
+
+            long bytes = 0;
+            long elapsed;
+            final long start = System.nanoTime();
+            do {
+                candidate.nextBytes(block);
+                bytes += block.length;
+                elapsed = System.nanoTime() - start;
+            } while (elapsed < PROBE_DURATION_NANOS);
+
+            final double bytesPerNano = (double) bytes / elapsed;
+            if (bytesPerNano > bestBytesPerNano) {
+                bestBytesPerNano = bytesPerNano;
+                best = new SecureRandomFactory(PROBE_CANDIDATES[i], candidate.getProvider().getName());
+            }
+        }
+        Arrays.fill(block, (byte) 0);
+
+        System.err.println(RNG_PROBE_MESSAGE + best + String.format(" (%.1f MB/s, minimum strength %d bits)", bestBytesPerNano * 1000, minStrength));
+        return best;
+    }
+
+    /**
+     * Creates a new, independently seeded generator.
+     * Crée un nouveau générateur, initialisé indépendamment.
+     * @return The new generator.
+     * @return Le nouveau générateur.
+     */
+    SecureRandom create() {
+        try {
+            return newInstance();
+        } catch (final GeneralSecurityException e) {
+            // Availability was checked when the factory was built
+            throw new IllegalStateException(RNG_FALLBACK_MESSAGE + e.getMessage(), e);
+        }
+    }
+
+    private SecureRandom newInstance() throws GeneralSecurityException {
+        if (algorithm == null) {
+            return new SecureRandom();
+        }
+        return (provider == null) ? SecureRandom.getInstance(algorithm) : SecureRandom.getInstance(algorithm, provider);
+    }
+
+    @Override
+    public String toString() {
+        if (algorithm == null) {
+            return "JDK default";
+        }
+        return (provider == null) ? algorithm : algorithm + " (" + provider + ")";
+    }
+}
@@ -0,0 +1,180 @@
+package passwordgenerator.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Round trips through {@link BreachBloomFilterBuilder} for each input format: every entry added must be reported as
+ * possibly present, the false positive rate must stay near its target, and a corpus behind the filter must give the
+ * same answers as without it.
+ * Allers-retours par {@link BreachBloomFilterBuilder} pour chaque format d'entrée : chaque entrée ajoutée doit être
+ * signalée comme peut-être présente, le taux de faux positifs doit rester proche de sa cible, et un corpus derrière le
+ * filtre doit donner les mêmes réponses que sans lui.
+ */
+class BreachBloomFilterTest {
+    private static final String[] PASSWORDS = {"letmein", "Password1", "p@ssw0rd2024", "Passwörd", "correct horse"};
+    private static final int ENTRIES = 5000;
+    private static final int PROBES = 50000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final long SEED = 0xB100L;
+
+    @Test
+    void binaryRoundTrip() throws IOException {
+        final List<byte[]> digests = randomDigests(new SplittableRandom(SEED), ENTRIES);
+        final File input = BreachedPasswordCorpusTest.writeDigests(digests);
+        final File output = File.createTempFile("breach", ".bloom");
+        try {
+            assertEquals(0, BreachBloomFilterBuilder.run(new String[] {"--false-positive-rate", "0.01", input.getPath(), output.getPath()}));
+            final BreachBloomFilter filter = BreachBloomFilter.open(output.getPath());
+            for (final byte[] digest : digests) {
+                assertTrue(filter.mightContain(digest));
+            }
+            assertFalsePositiveRate(filter, new SplittableRandom(SEED + 1));
+
+            // Behind the filter, the corpus answers exactly as alone
+            final BreachedPasswordCorpus alone = BreachedPasswordCorpus.open(input.getPath(), null);
+            final BreachedPasswordCorpus filtered = BreachedPasswordCorpus.open(input.getPath(), filter);
+            for (final byte[] digest : digests) {
+                assertTrue(filtered.containsDigest(digest));
+            }
+            for (final byte[] digest : randomDigests(new SplittableRandom(SEED + 2), ENTRIES)) {
+                assertEquals(alone.containsDigest(digest), filtered.containsDigest(digest));
+            }
+        } finally {
+            input.delete();
+            output.delete();
+        }
+    }
+
+    // Hex digests with and without a ":COUNT" suffix, in any case; blank and malformed lines are skipped
+    @Test
+    void hexRoundTrip() throws IOException {
+        final List<byte[]> digests = randomDigests(new SplittableRandom(SEED + 3), ENTRIES);
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < digests.size(); i++) {
+            final String hex = hex(digests.get(i));
+            text.append((i % 2 == 0) ? hex : hex.toLowerCase()).append((i % 3 == 0) ? ":" + i : "").append('\n');
+        }
+        text.append('\n').append("not a digest\n").append("ZZ").append(hex(digests.get(0)).substring(2)).append('\n');
+        final File input = writeText(text.toString());
+        final File output = File.createTempFile("breach", ".bloom");
+        try {
+            assertEquals(0, BreachBloomFilterBuilder.run(new String[] {"--format", "sha1-hex", input.getPath(), output.getPath()}));
+            final BreachBloomFilter filter = BreachBloomFilter.open(output.getPath());
+            for (final byte[] digest : digests) {
+                assertTrue(filter.mightContain(digest));
+            }
+            assertFalsePositiveRate(filter, new SplittableRandom(SEED + 4));
+        } finally {
+            input.delete();
+            output.delete();
+        }
+    }
+
+    // Plain-text passwords are hashed as UTF-8, like BreachedPasswordCorpus.contains() does; no trailing line break
+    @Test
+    void textRoundTrip() throws IOException {
+        final StringBuilder text = new StringBuilder();
+        for (final String password : PASSWORDS) {
+            text.append(text.length() > 0 ? "\n" : "").append(password);
+        }
+        final File input = writeText(text.toString());
+        final File output = File.createTempFile("breach", ".bloom");
+        try {
+            assertEquals(0, BreachBloomFilterBuilder.run(new String[] {"--format", "text", input.getPath(), output.getPath()}));
+            final BreachBloomFilter filter = BreachBloomFilter.open(output.getPath());
+            for (final String password : PASSWORDS) {
+                assertTrue(filter.mightContain(BreachedPasswordCorpusTest.sha1(password)), password);
+            }
+        } finally {
+            input.delete();
+            output.delete();
+        }
+    }
+
+    @Test
+    void sizesForTheTargetRate() throws IOException {
+        final File output = File.createTempFile("breach", ".bloom");
+        try {
+            final BreachBloomFilter filter = BreachBloomFilter.create(output.getPath(), 1000, 0.001);
+            // m = -n ln(p) / ln(2)^2 = 14378 bits and k = -ln(p) / ln(2) = 9.97, rounded to 10
+            assertEquals(14378, filter.getBitCount());
+            assertEquals(10, filter.getHashCount());
+        } finally {
+            output.delete();
+        }
+    }
+
+    @Test
+    void rejectsBadArgumentsAndFiles() throws IOException {
+        assertEquals(2, BreachBloomFilterBuilder.run(new String[] {"only-input"}));
+        assertEquals(2, BreachBloomFilterBuilder.run(new String[] {"--false-positive-rate", "1.5", "in", "out"}));
+        assertEquals(2, BreachBloomFilterBuilder.run(new String[] {"--format", "md5", "in", "out"}));
+        final File notAFilter = writeText("0123456789abcdef0123456789abcdef");
+        try {
+            assertThrows(IOException.class, new Executable() {
+                public void execute() throws IOException {
+                    BreachBloomFilter.open(notAFilter.getPath());
+                }
+            });
+        } finally {
+            notAFilter.delete();
+        }
+    }
+
+    // Never above three times the target on this many probes: a real sizing or hashing error overshoots far more
+    private static void assertFalsePositiveRate(final BreachBloomFilter filter, final SplittableRandom random) {
+        int falsePositives = 0;
+        for (final byte[] digest : randomDigests(random, PROBES)) {
+            if (filter.mightContain(digest)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 3 * FALSE_POSITIVE_RATE * PROBES, falsePositives + " false positives in " + PROBES);
+    }
+
+    private static List<byte[]> randomDigests(final SplittableRandom random, final int count) {
+        final List<byte[]> digests = new ArrayList<byte[]>();
+        for (int n = 0; n < count; n++) {
+            final byte[] digest = new byte[BreachedPasswordCorpus.RECORD_SIZE];
+            for (int i = 0; i < digest.length; i++) {
+                digest[i] = (byte) random.nextInt(256);
+            }
+            digests.add(digest);
+        }
+        return digests;
+    }
+
+    private static String hex(final byte[] digest) {
+        final StringBuilder hex = new StringBuilder();
+        for (final byte b : digest) {
+            hex.append(String.format("%02X", b & 0xFF));
+        }
+        return hex.toString();
+    }
+
+    private static File writeText(final String text) throws IOException {
+        final File file = File.createTempFile("breach", ".txt");
+        final Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
+        try {
+            writer.write(text);
+        } finally {
+            writer.close();
+        }
+        return file;
+    }
+}
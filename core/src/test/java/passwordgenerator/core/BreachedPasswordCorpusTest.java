@@ -0,0 +1,203 @@
+package passwordgenerator.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Checks of the memory-mapped corpus lookup: every digest of a corpus is found and digests around them are not, with
+ * uniform digests where interpolation converges at once, with clustered digests where it must fall back to halving,
+ * and with mappings of a few records so that lookups cross segment boundaries.
+ * Vérifications de la recherche dans le corpus projeté en mémoire : chaque empreinte d'un corpus est trouvée et les
+ * empreintes voisines ne le sont pas, avec des empreintes uniformes où l'interpolation converge aussitôt, avec des
+ * empreintes groupées où elle doit se replier sur la dichotomie, et avec des projections de quelques enregistrements
+ * pour que les recherches franchissent les limites de segments.
+ */
+class BreachedPasswordCorpusTest {
+    private static final int RECORDS = 2000;
+    private static final long[] SEGMENT_RECORDS = {1, 3, 7, 64, BreachedPasswordCorpus.RECORDS_PER_SEGMENT};
+    private static final long SEED = 0xB2EAC4L;
+
+    @Test
+    void findsUniformDigestsAndOnlyThem() throws IOException {
+        assertFindsExactly(randomDigests(new SplittableRandom(SEED), RECORDS, 0));
+    }
+
+    // Digests sharing their first 7 bytes give interpolation nothing to work with
+    @Test
+    void findsClusteredDigestsAndOnlyThem() throws IOException {
+        final List<byte[]> digests = randomDigests(new SplittableRandom(SEED + 1), RECORDS / 2, 7);
+        digests.addAll(randomDigests(new SplittableRandom(SEED + 2), RECORDS / 2, 0));
+        assertFindsExactly(digests);
+    }
+
+    // The smallest and largest digests are the first and last records, at the edges of the interpolation range
+    @Test
+    void findsExtremeDigests() throws IOException {
+        final List<byte[]> digests = randomDigests(new SplittableRandom(SEED + 3), 10, 0);
+        final byte[] lowest = new byte[BreachedPasswordCorpus.RECORD_SIZE];
+        final byte[] highest = new byte[BreachedPasswordCorpus.RECORD_SIZE];
+        Arrays.fill(highest, (byte) 0xFF);
+        digests.add(lowest);
+        digests.add(highest);
+        assertFindsExactly(digests);
+    }
+
+    @Test
+    void findsPasswordsByTheirSha1() throws IOException {
+        final File file = writeDigests(Arrays.asList(sha1("letmein"), sha1("Passwörd"), sha1("hunter2")));
+        try {
+            final BreachedPasswordCorpus corpus = BreachedPasswordCorpus.open(file.getPath(), null);
+            assertEquals(3, corpus.size());
+            assertTrue(corpus.contains("letmein"));
+            assertTrue(corpus.contains("Passwörd")); // Hashed as UTF-8
+            assertTrue(corpus.contains("hunter2"));
+            assertFalse(corpus.contains("hunter3"));
+            assertFalse(corpus.contains(""));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    void emptyCorpusContainsNothing() throws IOException {
+        final File file = writeDigests(new ArrayList<byte[]>());
+        try {
+            final BreachedPasswordCorpus corpus = BreachedPasswordCorpus.open(file.getPath(), null);
+            assertEquals(0, corpus.size());
+            assertFalse(corpus.contains("letmein"));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    void rejectsTruncatedCorpus() throws IOException {
+        final File file = File.createTempFile("breach-corpus", ".bin");
+        try {
+            final OutputStream out = new FileOutputStream(file);
+            out.write(new byte[BreachedPasswordCorpus.RECORD_SIZE + 1]);
+            out.close();
+            assertThrows(IOException.class, new Executable() {
+                public void execute() throws IOException {
+                    BreachedPasswordCorpus.open(file.getPath(), null);
+                }
+            });
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static void assertFindsExactly(final List<byte[]> digests) throws IOException {
+        final File file = writeDigests(digests);
+        try {
+            final List<byte[]> sorted = sorted(digests);
+            for (final long segmentRecords : SEGMENT_RECORDS) {
+                final BreachedPasswordCorpus corpus = BreachedPasswordCorpus.open(file.getPath(), null, segmentRecords);
+                assertEquals(sorted.size(), corpus.size());
+                for (int i = 0; i < sorted.size(); i++) {
+                    final byte[] digest = sorted.get(i);
+                    assertTrue(corpus.containsDigest(digest), "record " + i + " with " + segmentRecords + " records per segment");
+                    // Just below and just above a record: absent unless it is the neighbouring record
+                    final byte[] below = neighbour(digest, -1);
+                    final byte[] above = neighbour(digest, +1);
+                    assertEquals(contains(sorted, below), corpus.containsDigest(below), "below record " + i);
+                    assertEquals(contains(sorted, above), corpus.containsDigest(above), "above record " + i);
+                }
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    // Random digests whose first prefixBytes bytes are all 0x5A
+    private static List<byte[]> randomDigests(final SplittableRandom random, final int count, final int prefixBytes) {
+        final List<byte[]> digests = new ArrayList<byte[]>();
+        for (int n = 0; n < count; n++) {
+            final byte[] digest = new byte[BreachedPasswordCorpus.RECORD_SIZE];
+            for (int i = 0; i < digest.length; i++) {
+                digest[i] = (i < prefixBytes) ? (byte) 0x5A : (byte) random.nextInt(256);
+            }
+            digests.add(digest);
+        }
+        return digests;
+    }
+
+    // The digest plus or minus one, as a 160-bit unsigned number; saturates at the ends of the range
+    private static byte[] neighbour(final byte[] digest, final int delta) {
+        final byte[] result = digest.clone();
+        for (int i = result.length - 1; i >= 0; i--) {
+            final int value = (result[i] & 0xFF) + delta;
+            result[i] = (byte) value;
+            if (value >= 0 && value <= 0xFF) {
+                return result;
+            }
+        }
+        return digest.clone();
+    }
+
+    private static boolean contains(final List<byte[]> sorted, final byte[] digest) {
+        return Collections.binarySearch(sorted, digest, UNSIGNED_ORDER) >= 0;
+    }
+
+    private static List<byte[]> sorted(final List<byte[]> digests) {
+        final List<byte[]> sorted = new ArrayList<byte[]>(digests);
+        Collections.sort(sorted, UNSIGNED_ORDER);
+        return sorted;
+    }
+
+    static final Comparator<byte[]> UNSIGNED_ORDER = new Comparator<byte[]>() {
+        public int compare(final byte[] a, final byte[] b) {
+            for (int i = 0; i < a.length; i++) {
+                final int difference = (a[i] & 0xFF) - (b[i] & 0xFF);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+            return 0;
+        }
+    };
+
+    /**
+     * Writes digests in the corpus format: raw, in ascending unsigned order, with no header.
+     * Écrit des empreintes au format du corpus : brutes, par ordre croissant non signé, sans en-tête.
+     */
+    static File writeDigests(final List<byte[]> digests) throws IOException {
+        final File file = File.createTempFile("breach-corpus", ".bin");
+        final OutputStream out = new FileOutputStream(file);
+        try {
+            for (final byte[] digest : sorted(digests)) {
+                out.write(digest);
+            }
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+    static byte[] sha1(final String password) {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package passwordgenerator.core;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the events, which are only created once Flight Recorder is initialized, still reach a recording
+ * started while the process runs, as {@code jcmd <pid> JFR.start} would.
+ * Vérifie que les événements, créés seulement une fois Flight Recorder initialisé, parviennent bien à un
+ * enregistrement démarré pendant l'exécution du processus, comme le ferait {@code jcmd <pid> JFR.start}.
+ */
+class FlightRecorderEventsTest {
+    private static final String[] EVENT_NAMES = {"passwordgenerator.Generation", "passwordgenerator.Evaluation", "passwordgenerator.DictionaryLookup"};
+
+    @Test
+    void recordsEventsOnceARecordingStarts() throws IOException {
+        final PasswordService service = new PasswordService();
+        final File file = File.createTempFile("events", ".jfr");
+        final Recording recording = new Recording();
+        try {
+            for (final String name : EVENT_NAMES) {
+                recording.enable(name).withoutThreshold();
+            }
+            recording.start();
+            assertTrue(FlightRecorderEvents.enabled());
+            service.generatePassword(service.compilePolicy(16, true, true, true, true, null));
+            service.evaluatePasswordStrength("correct horse");
+            recording.stop();
+            recording.dump(file.toPath());
+
+            final Set<String> recorded = new HashSet<String>();
+            for (final RecordedEvent event : RecordingFile.readAllEvents(file.toPath())) {
+                recorded.add(event.getEventType().getName());
+            }
+            for (final String name : EVENT_NAMES) {
+                assertTrue(recorded.contains(name), name + " not recorded, only " + recorded);
+            }
+        } finally {
+            recording.close();
+            file.delete();
+        }
+    }
+}
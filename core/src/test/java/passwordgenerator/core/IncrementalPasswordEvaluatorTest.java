@@ -0,0 +1,151 @@
+package passwordgenerator.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Differential checks of the incremental evaluator: after every edit of a random sequence, its result must be
+ * exactly the one {@link PasswordService#evaluatePasswordStrength(String)} gives on the whole text, entropy included,
+ * with both entropy models, past the analyzed prefix, with non-ASCII characters and with a breach corpus.
+ * Vérifications différentielles de l'évaluateur incrémental : après chaque modification d'une suite aléatoire, son
+ * résultat doit être exactement celui que donne {@link PasswordService#evaluatePasswordStrength(String)} sur tout le
+ * texte, entropie comprise, avec les deux modèles d'entropie, au-delà du préfixe analysé, avec des caractères non
+ * ASCII et avec un corpus de fuites.
+ */
+class IncrementalPasswordEvaluatorTest {
+    // Fragments that trigger every weakness, mixed with single characters of every class
+    private static final String[] FRAGMENTS = {
+        "a", "Z", "7", "#", "é", "İ", "ß", "€", "🔑", "aaa", "abcd", "4321", "qwerty", "azer", "p@ssw0rd",
+        "PASSWORD", "admin", "1984", "2024-01-31", "zz", "qwqw", "1212"
+    };
+    private static final String[] BREACHED = {"letmein", "Password1", "p@ssw0rd2024"};
+    private static final int EDITS = 3000;
+    private static final int MAX_LENGTH = 150; // Well past the 64 characters the pattern model analyzes
+    private static final long SEED = 0x1DE17AL;
+
+    @Test
+    void matchesFullEvaluationWithPatternModel() {
+        assertMatchesAfterRandomEdits(new PasswordService(), SEED);
+    }
+
+    @Test
+    void matchesFullEvaluationWithCharsetModel() {
+        final PasswordService service = new PasswordService();
+        service.setEntropyModel(EntropyModel.CHARSET_SIZE);
+        assertMatchesAfterRandomEdits(service, SEED + 1);
+    }
+
+    // Switching the model between evaluations must not reuse the other model's cached estimate
+    @Test
+    void followsEntropyModelChanges() {
+        final PasswordService service = new PasswordService();
+        final IncrementalPasswordEvaluator evaluator = new IncrementalPasswordEvaluator(service);
+        final String password = "Tr0ub4dor&3-correct-horse-battery-staple-and-a-long-tail-beyond-sixty-four-chars";
+        evaluator.reset(password);
+        assertSame(service, evaluator, password);
+        service.setEntropyModel(EntropyModel.CHARSET_SIZE);
+        assertSame(service, evaluator, password);
+        service.setEntropyModel(EntropyModel.PATTERN_MATCHING);
+        assertSame(service, evaluator, password);
+    }
+
+    @Test
+    void matchesFullEvaluationWithBreachCorpus() throws IOException, NoSuchAlgorithmException {
+        final File corpusFile = writeCorpus(BREACHED);
+        try {
+            final PasswordService service = new PasswordService();
+            service.setBreachCorpus(BreachedPasswordCorpus.open(corpusFile.getPath(), null));
+            final IncrementalPasswordEvaluator evaluator = new IncrementalPasswordEvaluator(service);
+            final StringBuilder expected = new StringBuilder();
+            // Typing a breached password then its continuation: breached only while exactly equal
+            for (final char c : "p@ssw0rd2024!".toCharArray()) {
+                evaluator.insert(expected.length(), String.valueOf(c));
+                expected.append(c);
+                assertSame(service, evaluator, expected.toString());
+                assertSame(service, evaluator, expected.toString()); // Second evaluation from the cache
+            }
+            evaluator.remove(expected.length() - 1, 1);
+            expected.setLength(expected.length() - 1);
+            assertSame(service, evaluator, expected.toString());
+            // Replacing the corpus without editing the text must not keep the old answer
+            service.setBreachCorpus(null);
+            assertSame(service, evaluator, expected.toString());
+            assertMatchesAfterRandomEdits(service, SEED + 2);
+        } finally {
+            corpusFile.delete();
+        }
+    }
+
+    private static void assertMatchesAfterRandomEdits(final PasswordService service, final long seed) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        final IncrementalPasswordEvaluator evaluator = new IncrementalPasswordEvaluator(service);
+        final StringBuilder expected = new StringBuilder();
+        for (int edit = 0; edit < EDITS; edit++) {
+            if (expected.length() > 0 && (expected.length() >= MAX_LENGTH || random.nextInt(3) == 0)) {
+                final int offset = random.nextInt(expected.length());
+                final int count = 1 + random.nextInt(Math.min(8, expected.length() - offset));
+                evaluator.remove(offset, count);
+                expected.delete(offset, offset + count);
+            } else {
+                final int offset = random.nextInt(expected.length() + 1);
+                final String fragment = FRAGMENTS[random.nextInt(FRAGMENTS.length)];
+                evaluator.insert(offset, fragment);
+                expected.insert(offset, fragment);
+            }
+            assertSame(service, evaluator, expected.toString());
+        }
+    }
+
+    private static void assertSame(final PasswordService service, final IncrementalPasswordEvaluator evaluator, final String password) {
+        final PasswordEvaluationResult full = service.evaluatePasswordStrength(password);
+        final PasswordEvaluationResult incremental = evaluator.evaluate();
+        assertEquals(full.getStrengthLevel(), incremental.getStrengthLevel(), "level of " + password);
+        assertEquals(full.getWeaknesses(), incremental.getWeaknesses(), "weaknesses of " + password);
+        assertEquals(full.getEntropy(), incremental.getEntropy(), 0.0, "entropy of " + password);
+        assertEquals(password.length(), evaluator.length());
+    }
+
+    // The corpus format: raw SHA-1 digests of the UTF-8 passwords, in ascending unsigned order
+    private static File writeCorpus(final String[] passwords) throws IOException, NoSuchAlgorithmException {
+        final MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+        final List<byte[]> digests = new ArrayList<byte[]>();
+        for (final String password : passwords) {
+            digests.add(sha1.digest(password.getBytes(Charset.forName("UTF-8"))));
+        }
+        Collections.sort(digests, new Comparator<byte[]>() {
+            public int compare(final byte[] a, final byte[] b) {
+                for (int i = 0; i < a.length; i++) {
+                    final int difference = (a[i] & 0xFF) - (b[i] & 0xFF);
+                    if (difference != 0) {
+                        return difference;
+                    }
+                }
+                return 0;
+            }
+        });
+        final File file = File.createTempFile("breach-corpus", ".bin");
+        final OutputStream out = new FileOutputStream(file);
+        try {
+            for (final byte[] digest : digests) {
+                out.write(digest);
+            }
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+}
@@ -0,0 +1,101 @@
+package passwordgenerator.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks of the keyboard geometry, and of the keyboard walks the evaluation flags with it: four keys in a row on
+ * one layout, turns allowed, but never straight back to the key before.
+ * Vérifications de la géométrie des claviers, et des parcours de clavier que l'évaluation signale grâce à elle :
+ * quatre touches à la suite sur une même disposition, virages permis, mais jamais de retour direct à la touche
+ * précédente.
+ */
+class KeyboardLayoutTest {
+    private static final String[] WALKS = {"qwer", "1qaz2wsx", "azertyuiop", "wxcv", "7412", "zxcvbnm", "QWER", "!QAZ", "poiu"};
+    private static final String[] NOT_WALKS = {"qwqw", "1212", "asas", "wewe", "qwqwe", "7474", "qwe", "qwxz", "qw er"};
+
+    @Test
+    void adjacentKeysOnQwerty() {
+        final KeyboardLayout qwerty = KeyboardLayout.QWERTY;
+        assertTrue(qwerty.areAdjacent('q', 'w'));  // Same row
+        assertTrue(qwerty.areAdjacent('w', 'q'));  // Both ways
+        assertTrue(qwerty.areAdjacent('q', 'a'));  // Row below, half a key right
+        assertTrue(qwerty.areAdjacent('w', 'a'));  // Row below, half a key left
+        assertTrue(qwerty.areAdjacent('1', 'q'));
+        assertTrue(qwerty.areAdjacent('a', 'z'));
+        assertTrue(qwerty.areAdjacent('Q', '@'));  // Shifted characters keep their key
+        assertTrue(qwerty.areAdjacent('q', 'W'));
+        assertFalse(qwerty.areAdjacent('q', 'q')); // Not a distinct key
+        assertFalse(qwerty.areAdjacent('q', 'Q')); // The same key
+        assertFalse(qwerty.areAdjacent('q', 'e'));
+        assertFalse(qwerty.areAdjacent('q', 's')); // One and a half keys apart
+        assertFalse(qwerty.areAdjacent('q', 'z')); // Two rows apart
+        assertFalse(qwerty.areAdjacent('q', 'ā'));
+        assertTrue(qwerty.isShifted('Q'));
+        assertTrue(qwerty.isShifted('!'));
+        assertFalse(qwerty.isShifted('q'));
+    }
+
+    @Test
+    void adjacentKeysOnAzertyAndKeypad() {
+        assertTrue(KeyboardLayout.AZERTY.areAdjacent('a', 'z'));
+        assertTrue(KeyboardLayout.AZERTY.areAdjacent('w', 'x'));
+        assertTrue(KeyboardLayout.AZERTY.areAdjacent('m', 'ù'));
+        assertTrue(KeyboardLayout.AZERTY.areAdjacent('1', '2')); // Shifted digits of the top row
+        assertTrue(KeyboardLayout.AZERTY.areAdjacent('q', 'w'));  // The bottom row starts with '<', so w is under q
+        assertFalse(KeyboardLayout.AZERTY.areAdjacent('a', 'w'));
+        assertTrue(KeyboardLayout.KEYPAD.areAdjacent('5', '1'));  // Aligned keys: diagonals touch
+        assertTrue(KeyboardLayout.KEYPAD.areAdjacent('0', '1'));
+        assertFalse(KeyboardLayout.KEYPAD.areAdjacent('7', '1'));
+        assertFalse(KeyboardLayout.KEYPAD.isShifted('7'));
+    }
+
+    // Bit i for LAYOUTS[i]: QWERTY, AZERTY, KEYPAD
+    @Test
+    void adjacentLayoutMasks() {
+        assertEquals(0b001, KeyboardLayout.adjacentLayouts('a', 's'));
+        assertEquals(0b010, KeyboardLayout.adjacentLayouts('w', 'x'));
+        assertEquals(0b011, KeyboardLayout.adjacentLayouts('e', 'r'));
+        assertEquals(0b111, KeyboardLayout.adjacentLayouts('1', '2'));
+        assertEquals(0b100, KeyboardLayout.adjacentLayouts('1', '4'));
+        assertEquals(0, KeyboardLayout.adjacentLayouts('a', 'p'));
+    }
+
+    @Test
+    void directionsAndSizes() {
+        final KeyboardLayout qwerty = KeyboardLayout.QWERTY;
+        assertEquals(qwerty.direction('q', 'w'), qwerty.direction('w', 'e'));
+        assertEquals(qwerty.direction('q', 'a'), qwerty.direction('w', 's'));
+        assertNotEquals(qwerty.direction('q', 'w'), qwerty.direction('w', 'q'));
+        assertNotEquals(qwerty.direction('q', 'w'), qwerty.direction('q', 'a'));
+        assertEquals(47, qwerty.getKeyCount());
+        assertEquals(14, KeyboardLayout.KEYPAD.getKeyCount());
+        assertTrue(qwerty.getAverageDegree() > 3.0 && qwerty.getAverageDegree() < 6.0, "degree " + qwerty.getAverageDegree());
+    }
+
+    // Alone and inside other characters, with the full and the incremental evaluation
+    @Test
+    void walksNeverGoStraightBack() {
+        final PasswordService service = new PasswordService();
+        final IncrementalPasswordEvaluator evaluator = new IncrementalPasswordEvaluator(service);
+        for (final String walk : WALKS) {
+            assertWalk(true, service, evaluator, walk);
+            assertWalk(true, service, evaluator, "K7" + walk + "%j");
+        }
+        for (final String notWalk : NOT_WALKS) {
+            assertWalk(false, service, evaluator, notWalk);
+            assertWalk(false, service, evaluator, "K7" + notWalk + "%j");
+        }
+    }
+
+    private static void assertWalk(final boolean expected, final PasswordService service, final IncrementalPasswordEvaluator evaluator, final String password) {
+        final boolean walk = (service.evaluatePasswordStrength(password).getWeaknesses() & PasswordEvaluationResult.KEYBOARD_WALK) != 0;
+        assertEquals(expected, walk, password);
+        evaluator.reset(password);
+        assertEquals(expected, (evaluator.evaluate().getWeaknesses() & PasswordEvaluationResult.KEYBOARD_WALK) != 0, password);
+    }
+}
@@ -0,0 +1,119 @@
+package passwordgenerator.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks of the log-linear bucketing, and of the snapshots: percentiles from the timed calls only, each counted
+ * once, and batches kept apart as their size and total duration.
+ * Vérifications du découpage log-linéaire en seaux, et des instantanés : percentiles tirés des seuls appels
+ * chronométrés, chacun compté une fois, et lots tenus à part avec leur taille et leur durée totale.
+ */
+class LatencyHistogramTest {
+    private static final long MAX_VALUE = (1L << 36) - 1;
+
+    // Every value falls inside its own bucket, buckets tile the range without gaps, and are at most 1/32 wide
+    @Test
+    void bucketsTileTheRange() {
+        final int last = LatencyHistogram.bucketIndex(MAX_VALUE);
+        assertEquals(0, LatencyHistogram.bucketLowerBound(0));
+        for (int i = 0; i <= last; i++) {
+            final long lower = LatencyHistogram.bucketLowerBound(i);
+            final long upper = LatencyHistogram.bucketUpperBound(i);
+            assertTrue(lower <= upper, "bucket " + i);
+            assertEquals(i, LatencyHistogram.bucketIndex(lower));
+            assertEquals(i, LatencyHistogram.bucketIndex(upper));
+            if (i > 0) {
+                assertEquals(LatencyHistogram.bucketUpperBound(i - 1) + 1, lower, "gap before bucket " + i);
+            }
+            assertTrue(upper - lower + 1 <= Math.max(1, lower / LatencyHistogram.SUB_BUCKETS), "bucket " + i + " too wide");
+        }
+        assertEquals(MAX_VALUE, LatencyHistogram.bucketUpperBound(last));
+    }
+
+    // Below 2 * SUB_BUCKETS each value has its own bucket
+    @Test
+    void smallValuesAreExact() {
+        for (long value = 0; value < 2 * LatencyHistogram.SUB_BUCKETS; value++) {
+            final int index = LatencyHistogram.bucketIndex(value);
+            assertEquals(value, LatencyHistogram.bucketLowerBound(index));
+            assertEquals(value, LatencyHistogram.bucketUpperBound(index));
+        }
+    }
+
+    @Test
+    void percentilesOfTimedCalls() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 1000; nanos++) {
+            histogram.count(1);
+            histogram.record(nanos * 1000);
+        }
+        histogram.count(7000); // Counted, not timed
+        final LatencySnapshot snapshot = histogram.snapshot();
+        assertEquals(8000, snapshot.getCount());
+        assertEquals(1000, snapshot.getSampleCount());
+        assertWithinBucket(500000, snapshot.getP50Nanos());
+        assertWithinBucket(900000, snapshot.getP90Nanos());
+        assertWithinBucket(990000, snapshot.getP99Nanos());
+        assertTrue(snapshot.getP999Nanos() >= snapshot.getP99Nanos() && snapshot.getP999Nanos() <= snapshot.getMaxNanos());
+        assertWithinBucket(1000000, snapshot.getMaxNanos());
+        assertEquals(500500.0, snapshot.getMeanNanos(), 500500.0 / LatencyHistogram.SUB_BUCKETS);
+        assertEquals(0, snapshot.getBatchCount());
+    }
+
+    // A batch adds to the call count and its own totals, never to the sampled latencies
+    @Test
+    void batchesStayOutOfThePercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.count(1000);
+        histogram.recordBatch(1000, 5000000);
+        histogram.count(10);
+        histogram.recordBatch(10, 100000);
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertEquals(1010, snapshot.getCount());
+        assertEquals(0, snapshot.getSampleCount());
+        assertEquals(0, snapshot.getP50Nanos());
+        assertEquals(2, snapshot.getBatchCount());
+        assertEquals(1010, snapshot.getBatchedCount());
+        assertEquals(5100000, snapshot.getBatchNanos());
+
+        histogram.count(1);
+        histogram.record(2000);
+        snapshot = histogram.snapshot();
+        assertEquals(1011, snapshot.getCount());
+        assertEquals(1, snapshot.getSampleCount());
+        assertWithinBucket(2000, snapshot.getP999Nanos());
+        assertTrue(snapshot.toString().contains(" samples=1 "), snapshot.toString());
+        assertTrue(snapshot.toString().contains(" batches=2 batched=1010 "), snapshot.toString());
+    }
+
+    @Test
+    void mergesClampsAndResets() {
+        final LatencyHistogram first = new LatencyHistogram();
+        final LatencyHistogram second = new LatencyHistogram();
+        first.count(1);
+        first.record(-5);
+        second.count(1);
+        second.record(Long.MAX_VALUE);
+        second.recordBatch(3, 300);
+        final LatencySnapshot merged = LatencyHistogram.snapshot(Arrays.asList(first, second));
+        assertEquals(2, merged.getCount());
+        assertEquals(2, merged.getSampleCount());
+        assertEquals(0, merged.getP50Nanos());
+        assertEquals(MAX_VALUE, merged.getMaxNanos());
+        assertEquals(1, merged.getBatchCount());
+
+        second.reset();
+        assertSame(LatencySnapshot.EMPTY, second.snapshot());
+    }
+
+    private static void assertWithinBucket(final long expected, final long actual) {
+        final int index = LatencyHistogram.bucketIndex(expected);
+        assertEquals(LatencyHistogram.bucketUpperBound(index), actual, "value " + expected);
+    }
+}
@@ -0,0 +1,190 @@
+package passwordgenerator.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Differential checks of the single-pass evaluation: {@link PasswordService#evaluatePasswordStrength(String)} must
+ * give exactly the result of a straightforward implementation of the scoring, which lowercases the whole password with
+ * {@link String#toLowerCase()}, looks for each penalty pattern with {@link String#contains(CharSequence)} and counts
+ * characters in a map. Inputs are random, adversarial (dictionary words, runs, walks, case-folding edge cases such as
+ * U+0130 and U+212A, lone surrogates), and evaluated in the root and Turkish locales.
+ * Vérifications différentielles de l'évaluation en une passe : {@link PasswordService#evaluatePasswordStrength(String)}
+ * doit donner exactement le résultat d'une mise en œuvre directe de la notation, qui met tout le mot de passe en
+ * minuscules avec {@link String#toLowerCase()}, cherche chaque motif pénalisé avec
+ * {@link String#contains(CharSequence)} et compte les caractères dans une table. Les entrées sont aléatoires,
+ * adverses (mots du dictionnaire, répétitions, parcours de clavier, cas limites de la mise en minuscules comme U+0130
+ * et U+212A, demi-codets isolés), et évaluées dans la langue racine et en turc.
+ */
+class PasswordEvaluationDifferentialTest {
+    // The penalty dictionaries, as the scoring defines them
+    private static final String[] SEQUENCES_LOWER = {
+        "abc", "bcd", "cde", "def", "efg", "fgh", "ghi", "hij", "ijk", "jkl", "klm", "lmn", "mno", "nop", "opq", "pqr", "qrs", "rst", "stu", "tuv", "uvw", "vwx", "wxy", "xyz",
+        "qwe", "wer", "ert", "rty", "tyu", "yui", "uio", "iop",
+        "asd", "sdf", "dfg", "fgh", "ghj", "hjk", "jkl",
+        "zxc", "xcv", "cvb", "vbn", "bnm"
+    };
+    private static final String[] SEQUENCES_NUM = {"123", "234", "345", "456", "567", "678", "789", "890", "098", "987", "876", "765", "654", "543", "432", "321"};
+    private static final String[] WEAK_WORDS = {"password", "pass", "admin", "administrator", "user", "username", "login", "logon", "guest", "test", "secret", "qwerty", "azerty", "12345", "123456", "1234567", "12345678", "123456789", "root", "support", "service", "welcome", "example", "demo", "changeme"};
+
+    // Passwords whose score changed when each character was lowercased on its own
+    private static final String[] ADVERSARIAL = {
+        "İoPASSWORD", "Admin[yİOp|E***", "yİop", "İOP", "ADMİN", "ADMIN", "QWİERTY",
+        "Koala-PASS", "İİİ", "İpassİ", "sİgmaΣΣ", "ΣADMINΣ", "?oPASSWORD",
+        "LOGINİ", "ßECRET", "GÜEST", "🔑Welcome1!", "\ud83dadmin\udd11", "IOPIOPIOP"
+    };
+    private static final String[] FRAGMENTS = {
+        "a", "Z", "7", "#", "I", "i", "İ", "ı", "K", "ß", "é", "Σ", "€", "\ud83d",
+        "\udd11", "🔑", "aaa", "abcd", "4321", "qwerty", "iop", "IOP", "azer", "p@ssw0rd", "PASSWORD", "Admin",
+        "LOGIN", "2024-01-31", "zz", "qwqw", "1212"
+    };
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789!@#$%^&*()_-+=<>?/{}[]| ";
+    private static final int RANDOM_PASSWORDS = 20000;
+    private static final long SEED = 0xD1FFL;
+
+    @Test
+    void matchesReferenceInRootLocale() {
+        assertMatchesReference(Locale.ROOT, SEED);
+    }
+
+    // Turkish lowercases 'I' to a dotless 'ı', even in plain ASCII text
+    @Test
+    void matchesReferenceInTurkishLocale() {
+        assertMatchesReference(new Locale("tr", "TR"), SEED + 1);
+    }
+
+    @Test
+    void incrementalEvaluatorMatchesInTurkishLocale() {
+        final Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            final PasswordService service = new PasswordService();
+            final IncrementalPasswordEvaluator evaluator = new IncrementalPasswordEvaluator(service);
+            for (final String password : ADVERSARIAL) {
+                evaluator.reset(password);
+                assertSameResult(service.evaluatePasswordStrength(password), evaluator.evaluate(), password);
+            }
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    private static void assertMatchesReference(final Locale locale, final long seed) {
+        final Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(locale);
+        try {
+            final PasswordService service = new PasswordService();
+            for (final String password : ADVERSARIAL) {
+                assertSameResult(reference(service, password), service.evaluatePasswordStrength(password), password);
+            }
+            final SplittableRandom random = new SplittableRandom(seed);
+            for (int n = 0; n < RANDOM_PASSWORDS; n++) {
+                final String password = randomPassword(random);
+                assertSameResult(reference(service, password), service.evaluatePasswordStrength(password), password);
+            }
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    private static String randomPassword(final SplittableRandom random) {
+        final int length = 1 + random.nextInt(32);
+        final StringBuilder password = new StringBuilder();
+        while (password.length() < length) {
+            if (random.nextInt(3) == 0) {
+                password.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            } else {
+                password.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+        }
+        return password.toString();
+    }
+
+    private static void assertSameResult(final PasswordEvaluationResult expected, final PasswordEvaluationResult actual, final String password) {
+        final String label = " of " + escape(password);
+        assertEquals(expected.getStrengthLevel(), actual.getStrengthLevel(), "level" + label);
+        assertEquals(expected.getWeaknesses(), actual.getWeaknesses(), "weaknesses" + label);
+        assertEquals(expected.getEntropy(), actual.getEntropy(), 0.0, "entropy" + label);
+    }
+
+    // The scoring, one feature at a time; only the leetspeak lookup and the final rating are shared with the service
+    private static PasswordEvaluationResult reference(final PasswordService service, final String password) {
+        final int length = password.length();
+        boolean hasLowerCase = false;
+        boolean hasUpperCase = false;
+        boolean hasDigit = false;
+        boolean hasSymbol = false;
+        for (int i = 0; i < length; i++) {
+            final int characterClass = PasswordService.characterClass(password.charAt(i));
+            hasLowerCase |= characterClass == PasswordService.LOWERCASE_CLASS;
+            hasUpperCase |= characterClass == PasswordService.UPPERCASE_CLASS;
+            hasDigit |= characterClass == PasswordService.DIGIT_CLASS;
+            hasSymbol |= characterClass == PasswordService.SYMBOL_CLASS;
+        }
+
+        int weaknesses = 0;
+        final String passwordLower = password.toLowerCase();
+        if (containsAny(passwordLower, SEQUENCES_LOWER) || containsAny(password, SEQUENCES_NUM)) {
+            weaknesses |= PasswordEvaluationResult.SEQUENCE;
+        }
+        if (containsAny(passwordLower, WEAK_WORDS) || service.getPenaltyMatcher().containsSubstitutedWeakWord(password)) {
+            weaknesses |= PasswordEvaluationResult.WEAK_WORD;
+        }
+        for (int i = 0; i + 2 < length; i++) {
+            if (password.charAt(i) == password.charAt(i + 1) && password.charAt(i + 1) == password.charAt(i + 2)) {
+                weaknesses |= PasswordEvaluationResult.TRIPLE_REPEAT;
+            }
+        }
+        for (int i = 0; i + 3 < length; i++) {
+            if ((KeyboardLayout.adjacentLayouts(password.charAt(i), password.charAt(i + 1))
+                    & KeyboardLayout.adjacentLayouts(password.charAt(i + 1), password.charAt(i + 2))
+                    & KeyboardLayout.adjacentLayouts(password.charAt(i + 2), password.charAt(i + 3))) != 0
+                    && password.charAt(i + 2) != password.charAt(i) && password.charAt(i + 3) != password.charAt(i + 1)) {
+                weaknesses |= PasswordEvaluationResult.KEYBOARD_WALK;
+            }
+        }
+        int excessRepetitions = 0;
+        if (length > 5) {
+            final Map<Character, Integer> counts = new HashMap<Character, Integer>();
+            for (int i = 0; i < length; i++) {
+                final Integer count = counts.get(password.charAt(i));
+                counts.put(password.charAt(i), (count == null) ? 1 : count + 1);
+            }
+            for (final int count : counts.values()) {
+                if (count > length / 3) {
+                    excessRepetitions += count - length / 3;
+                }
+            }
+        }
+        if (excessRepetitions > 0) {
+            weaknesses |= PasswordEvaluationResult.REPETITION;
+        }
+
+        final double entropy = service.estimateEntropy(password, PasswordService.charsetSize(hasLowerCase, hasUpperCase, hasDigit, hasSymbol));
+        return service.rateStrength(length, hasLowerCase, hasUpperCase, hasDigit, hasSymbol, entropy, weaknesses, excessRepetitions);
+    }
+
+    private static boolean containsAny(final String text, final String[] patterns) {
+        for (final String pattern : patterns) {
+            if (text.contains(pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String escape(final String password) {
+        final StringBuilder escaped = new StringBuilder();
+        for (int i = 0; i < password.length(); i++) {
+            final char c = password.charAt(i);
+            escaped.append((c < 128) ? String.valueOf(c) : String.format("\\u%04X", (int) c));
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,70 @@
+package passwordgenerator.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks of what {@link PasswordMetrics} records per generation policy: each timed call once, untimed calls only
+ * counted, and a batch as one observation of its size and duration. Each test uses a policy of its own, since the
+ * metrics are shared by the whole process.
+ * Vérifications de ce que {@link PasswordMetrics} enregistre par politique de génération : chaque appel chronométré
+ * une fois, les appels non chronométrés seulement comptés, et un lot comme une observation de sa taille et de sa
+ * durée. Chaque test utilise sa propre politique, car les métriques sont partagées par tout le processus.
+ */
+class PasswordMetricsTest {
+    private final PasswordService service = new PasswordService();
+    private final PasswordMetrics metrics = PasswordMetrics.get();
+
+    @Test
+    void recordsEachTimedCallOnce() {
+        final GenerationPolicy policy = service.compilePolicy(91, true, false, false, false, null);
+        for (int i = 0; i < 5; i++) {
+            metrics.recordGeneration(policy, System.nanoTime());
+        }
+        for (int i = 0; i < 35; i++) {
+            metrics.recordGeneration(policy, PasswordMetrics.NOT_TIMED);
+        }
+        final LatencySnapshot snapshot = metrics.getGenerationLatencyByPolicy().get(policy.toString());
+        assertEquals(40, snapshot.getCount());
+        assertEquals(5, snapshot.getSampleCount());
+        assertEquals(0, snapshot.getBatchCount());
+    }
+
+    @Test
+    void recordsABatchAsOneObservation() {
+        final GenerationPolicy policy = service.compilePolicy(92, false, true, false, false, null);
+        metrics.recordGenerations(policy, 3000000, 1000);
+        metrics.recordGenerations(policy, 500, 0); // Empty batch: nothing happened
+        final LatencySnapshot snapshot = metrics.getGenerationLatencyByPolicy().get(policy.toString());
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(0, snapshot.getSampleCount());
+        assertEquals(0, snapshot.getMaxNanos());
+        assertEquals(1, snapshot.getBatchCount());
+        assertEquals(1000, snapshot.getBatchedCount());
+        assertEquals(3000000, snapshot.getBatchNanos());
+    }
+
+    // Equal policies compiled apart share one histogram
+    @Test
+    void keysByPolicyValue() {
+        final GenerationPolicy first = service.compilePolicy(93, true, true, true, false, "0O");
+        final GenerationPolicy second = service.compilePolicy(93, true, true, true, false, "O0");
+        metrics.recordGeneration(first, PasswordMetrics.NOT_TIMED);
+        metrics.recordGeneration(second, PasswordMetrics.NOT_TIMED);
+        assertEquals(2, metrics.getGenerationLatencyByPolicy().get(first.toString()).getCount());
+        assertTrue(metrics.getGenerationLatency().getCount() >= 2);
+    }
+
+    // Metrics are kept beside the policies, which stay safe to share between threads
+    @Test
+    void policiesHaveOnlyFinalFields() {
+        for (final Field field : GenerationPolicy.class.getDeclaredFields()) {
+            assertTrue(field.isSynthetic() || Modifier.isFinal(field.getModifiers()), field.getName());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package passwordgenerator.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks of the reservoir's handling of the secrets it keeps: waiting passwords are wiped by {@link
+ * PasswordReservoir#invalidate()} and {@link PasswordReservoir#shutdown()}, a password taken is the caller's and is
+ * left alone, and a policy whose refill fails stays disabled until invalidated.
+ * Vérifications du traitement par le réservoir des secrets qu'il garde : les mots de passe en attente sont effacés
+ * par {@link PasswordReservoir#invalidate()} et {@link PasswordReservoir#shutdown()}, un mot de passe pris appartient
+ * à l'appelant et n'est pas touché, et une politique dont le réapprovisionnement échoue reste désactivée jusqu'à
+ * l'invalidation.
+ */
+class PasswordReservoirTest {
+    private static final int CAPACITY = 8;
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    private final PasswordService service = new PasswordService();
+    private final GenerationPolicy policy = service.compilePolicy(20, true, true, true, false, null);
+
+    @Test
+    void invalidateWipesWaitingPasswords() throws InterruptedException {
+        final PasswordReservoir reservoir = new PasswordReservoir(service, CAPACITY, 4, false);
+        try {
+            final List<ReservedPassword> waiting = awaitFull(reservoir);
+            reservoir.invalidate();
+            assertWiped(waiting);
+            assertTrue(reservoir.waiting(policy).isEmpty());
+
+            // Forgotten: the next take() only activates the policy again, and fresh passwords follow
+            assertNull(reservoir.take(policy));
+            for (final ReservedPassword password : awaitFull(reservoir)) {
+                assertFalse(isWiped(password));
+                assertFalse(waiting.contains(password));
+            }
+        } finally {
+            reservoir.shutdown();
+        }
+    }
+
+    @Test
+    void shutdownWipesAndStaysEmpty() throws InterruptedException {
+        final PasswordReservoir reservoir = new PasswordReservoir(service, CAPACITY, 4, false);
+        final List<ReservedPassword> waiting = awaitFull(reservoir);
+        reservoir.shutdown();
+        assertWiped(waiting);
+        reservoir.activate(policy);
+        Thread.sleep(50);
+        assertNull(reservoir.take(policy));
+        assertTrue(reservoir.waiting(policy).isEmpty());
+    }
+
+    @Test
+    void takenPasswordsBelongToTheCaller() throws InterruptedException {
+        final PasswordReservoir reservoir = new PasswordReservoir(service, CAPACITY, 4, true);
+        try {
+            awaitFull(reservoir);
+            final ReservedPassword taken = reservoir.take(policy);
+            assertNotNull(taken);
+            assertEquals(policy.getLength(), taken.getChars().length);
+            assertEquals(service.evaluatePasswordStrength(new String(taken.getChars())).getStrengthLevel(), taken.getEvaluation().getStrengthLevel());
+            reservoir.invalidate();
+            assertFalse(isWiped(taken));
+            taken.wipe();
+            assertTrue(isWiped(taken));
+        } finally {
+            reservoir.shutdown();
+        }
+    }
+
+    // A class offset past the pool makes every fill throw
+    @Test
+    void failedRefillStaysDisabledUntilInvalidated() throws InterruptedException, UnsupportedEncodingException {
+        final GenerationPolicy broken = new GenerationPolicy(8, new char[] {'x'}, new int[] {5}, new int[] {1});
+        final PrintStream stderr = System.err;
+        final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(errors, true, "UTF-8"));
+        final PasswordReservoir reservoir = new PasswordReservoir(service, CAPACITY, 4, false);
+        try {
+            reservoir.activate(broken);
+            awaitReports(errors, 1);
+            assertNull(reservoir.take(broken));
+            Thread.sleep(50);
+            assertEquals(1, reports(errors)); // Not retried, even after take()
+            reservoir.invalidate();
+            assertNull(reservoir.take(broken)); // Activates it again, and it fails again
+            awaitReports(errors, 2);
+        } finally {
+            reservoir.shutdown();
+            System.setErr(stderr);
+        }
+    }
+
+    private List<ReservedPassword> awaitFull(final PasswordReservoir reservoir) throws InterruptedException {
+        reservoir.activate(policy);
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        List<ReservedPassword> waiting = reservoir.waiting(policy);
+        while (waiting.size() < CAPACITY) {
+            assertTrue(System.currentTimeMillis() < deadline, "reservoir not refilled");
+            Thread.sleep(1);
+            waiting = reservoir.waiting(policy);
+        }
+        return waiting;
+    }
+
+    private static void awaitReports(final ByteArrayOutputStream errors, final int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (reports(errors) < count) {
+            assertTrue(System.currentTimeMillis() < deadline, "refill failure not reported");
+            Thread.sleep(1);
+        }
+    }
+
+    private static int reports(final ByteArrayOutputStream errors) {
+        return new String(errors.toByteArray(), StandardCharsets.UTF_8).split("Password reservoir refill failed", -1).length - 1;
+    }
+
+    private static void assertWiped(final List<ReservedPassword> passwords) {
+        assertEquals(CAPACITY, passwords.size());
+        for (final ReservedPassword password : passwords) {
+            assertTrue(isWiped(password), "password left in memory");
+        }
+    }
+
+    private static boolean isWiped(final ReservedPassword password) {
+        for (final char c : password.getChars()) {
+            if (c != '\0') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,111 @@
+package passwordgenerator.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Year;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks of each pattern matcher of the estimator: where a password is a single pattern, its estimate is log2 of the
+ * guesses of that pattern plus one, the cost of a one-part decomposition; where the exact count depends on the
+ * keyboard geometry, the estimate must be far below brute force and grow with what the attacker cannot predict.
+ * Vérifications de chaque détecteur de motifs de l'estimateur : quand un mot de passe est un seul motif, son
+ * estimation est le log2 des essais de ce motif plus un, le coût d'un découpage en une partie ; quand le compte exact
+ * dépend de la géométrie du clavier, l'estimation doit être bien en dessous de la force brute et croître avec ce que
+ * l'attaquant ne peut pas prévoir.
+ */
+class PatternEntropyEstimatorTest {
+    private static final int LOWERCASE = 26;
+    private static final int DIGITS = 10;
+    private static final int DIGITS_AND_SYMBOLS = 33;
+    private static final double DELTA = 1e-9;
+    private static final double WALK_SAVINGS = 7.0; // Bits; every walk below is at least this far under brute force
+
+    private final PatternEntropyEstimator estimator = new PatternEntropyEstimator();
+
+    // Ranks 2 ("password"), 14 ("iloveyou") and 19 ("dragon") of the built-in dictionary
+    @Test
+    void dictionaryWords() {
+        assertEquals(log2(2 + 1), estimator.estimateEntropy("password", LOWERCASE), DELTA);
+        assertEquals(log2(14 + 1), estimator.estimateEntropy("iloveyou", LOWERCASE), DELTA);
+        assertEquals(log2(19 + 1), estimator.estimateEntropy("dragon", LOWERCASE), DELTA);
+        assertEquals(log2(2 * 2 + 1), estimator.estimateEntropy("Password", 2 * LOWERCASE), DELTA); // Capitalized
+        assertEquals(log2(2 * 2 + 1), estimator.estimateEntropy("drowssap", LOWERCASE), DELTA);    // Backwards
+        assertEquals(log2(2 * 2 + 1), estimator.estimateEntropy("passw0rd", 36), DELTA);           // Below its own rank, 54
+        assertEquals(log2(2 * 4 + 1), estimator.estimateEntropy("p@ssw0rd", 94), DELTA);           // Two substitutions
+    }
+
+    // Base 4 from an obvious start, times the length, times 2 when descending
+    @Test
+    void sequences() {
+        assertEquals(log2(4 * 8 + 1), estimator.estimateEntropy("abcdefgh", LOWERCASE), DELTA);
+        assertEquals(log2(4 * 6 * 2 + 1), estimator.estimateEntropy("zyxwvu", LOWERCASE), DELTA);
+        assertEquals(log2(26 * 5 + 1), estimator.estimateEntropy("moqsu", LOWERCASE), DELTA); // Step of 2
+        assertEquals(log2(10 * 4 + 1), estimator.estimateEntropy("3579", DIGITS), DELTA);
+    }
+
+    // The block's own estimate times the repeat count
+    @Test
+    void repeats() {
+        // "a" is one brute-forced character: 26 guesses, 27 as a one-part decomposition
+        assertEquals(log2(27 * 8 + 1), estimator.estimateEntropy("aaaaaaaa", LOWERCASE), DELTA);
+        // "abc" is a sequence: 4 * 3 guesses, 13 as a one-part decomposition
+        assertEquals(log2(13 * 3 + 1), estimator.estimateEntropy("abcabcabc", LOWERCASE), DELTA);
+        final double random = estimator.estimateEntropy("kqzvnm", LOWERCASE);
+        assertTrue(estimator.estimateEntropy("kqzvnmkqzvnm", LOWERCASE) < random + 2.0);
+    }
+
+    @Test
+    void spatialWalks() {
+        final double straight = estimator.estimateEntropy("zxcvbn", LOWERCASE);
+        assertWalk("zxcvbn", LOWERCASE);
+        assertWalk("wxcvbn", LOWERCASE); // AZERTY only
+        assertWalk("qwedsa", LOWERCASE);
+        assertWalk("7896321", DIGITS);   // Keypad only
+        // Each turn is a choice the attacker must guess
+        assertTrue(estimator.estimateEntropy("qwedsa", LOWERCASE) > straight);
+        // Shift on every key doubles the guesses
+        assertEquals(straight + 1.0, estimator.estimateEntropy("ZXCVBN", 2 * LOWERCASE), 0.01);
+    }
+
+    // Guesses are the years between the date and now, at least 20, times the days and the separators
+    @Test
+    void dates() {
+        assertEquals(log2(yearSpace(1987) + 1), estimator.estimateEntropy("1987", DIGITS), DELTA);
+        assertEquals(log2(yearSpace(1987) * 365 + 1), estimator.estimateEntropy("13121987", DIGITS), DELTA);
+        assertEquals(log2(yearSpace(1987) * 365 * 4 + 1), estimator.estimateEntropy("13/12/1987", DIGITS_AND_SYMBOLS), DELTA);
+        assertEquals(log2(yearSpace(2024) * 365 * 4 + 1), estimator.estimateEntropy("2024-02-29", DIGITS_AND_SYMBOLS), DELTA);
+        // Not a date: no month 13 or day 32 in any order
+        assertTrue(estimator.estimateEntropy("13/32/1987", DIGITS_AND_SYMBOLS) > estimator.estimateEntropy("13/12/1987", DIGITS_AND_SYMBOLS) + 10.0);
+    }
+
+    // Without patterns, the charset-size formula; beyond the analyzed prefix, each character adds the same
+    @Test
+    void bruteForceAndLongPasswords() {
+        assertEquals(0.0, estimator.estimateEntropy("", LOWERCASE), DELTA);
+        final String random = "kqzvnmhwjt";
+        assertEquals(random.length() * log2(LOWERCASE), estimator.estimateEntropy(random, LOWERCASE), 0.5);
+        final StringBuilder longPassword = new StringBuilder();
+        while (longPassword.length() < PatternEntropyEstimator.MAX_ANALYZED_LENGTH) {
+            longPassword.append(random);
+        }
+        final double analyzed = estimator.estimateEntropy(longPassword.substring(0, PatternEntropyEstimator.MAX_ANALYZED_LENGTH), LOWERCASE);
+        assertEquals(analyzed + 3 * log2(LOWERCASE), estimator.estimateEntropy(longPassword.substring(0, PatternEntropyEstimator.MAX_ANALYZED_LENGTH) + "abc", LOWERCASE), DELTA);
+    }
+
+    private void assertWalk(final String walk, final int charsetSize) {
+        final double entropy = estimator.estimateEntropy(walk, charsetSize);
+        assertTrue(entropy < walk.length() * log2(charsetSize) - WALK_SAVINGS, walk + ": " + entropy + " bits");
+    }
+
+    private static double yearSpace(final int year) {
+        return Math.max(Math.abs(year - Year.now(ZoneOffset.UTC).getValue()), 20);
+    }
+
+    private static double log2(final double x) {
+        return Math.log(x) / Math.log(2);
+    }
+}
@@ -0,0 +1,178 @@
+package passwordgenerator.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Statistical checks of the buffered index sources: a chi-square uniformity test per bound, including bounds that
+ * are not powers of two and the largest one, a test of independence between consecutive indices, and the number of
+ * random bits each index consumes. The random bytes come from a seeded generator, so every run sees the same
+ * sequence and the significance level (1 in 10,000) cannot make the tests flaky.
+ * Vérifications statistiques des sources d'indices tamponnées : un test d'uniformité du khi-deux par borne, y
+ * compris des bornes qui ne sont pas des puissances de deux et la plus grande, un test d'indépendance entre indices
+ * consécutifs, et le nombre de bits aléatoires consommés par indice. Les octets aléatoires proviennent d'un
+ * générateur à graine fixe : chaque exécution voit la même séquence, et le seuil de signification (1 sur 10 000) ne
+ * peut pas rendre les tests aléatoirement instables.
+ */
+class RandomIndexSourceTest {
+    // 3 * 2^29: plain "word mod bound" would make the lower two thirds of the indices half again as likely
+    private static final int[] BOUNDS = {2, 10, 23, 62, 85, 1000, 1 << 20, 3 << 29, Integer.MAX_VALUE};
+    private static final int SAMPLES = 200000;
+    private static final int MAX_CELLS = 1000;   // Large bounds are grouped into this many cells of equal width
+    private static final double Z_CRITICAL = 3.719; // Standard normal quantile for a 1e-4 significance level
+    private static final long SEED = 0x5EED5EEDL;
+
+    @Test
+    void bufferedIndicesAreUniform() {
+        for (final int bound : BOUNDS) {
+            assertUniform(new BufferedRandomIndexSource(new CountingRandom(SEED + bound)), bound, "BUFFERED");
+        }
+    }
+
+    @Test
+    void entropyEfficientIndicesAreUniform() {
+        for (final int bound : BOUNDS) {
+            assertUniform(new EntropyEfficientRandomIndexSource(new CountingRandom(SEED + bound)), bound, "ENTROPY_EFFICIENT");
+        }
+    }
+
+    // Generation alternates bounds (class sizes, pool size, shuffle); the quotient carried over must stay uniform
+    @Test
+    void entropyEfficientIndicesAreUniformWithInterleavedBounds() {
+        final RandomIndexSource source = new EntropyEfficientRandomIndexSource(new CountingRandom(SEED));
+        final int[] bounds = {85, 23, 10, 62, 2};
+        final long[][] counts = new long[bounds.length][];
+        for (int b = 0; b < bounds.length; b++) {
+            counts[b] = new long[bounds[b]];
+        }
+        for (int i = 0; i < SAMPLES; i++) {
+            for (int b = 0; b < bounds.length; b++) {
+                counts[b][source.nextIndex(bounds[b])]++;
+            }
+        }
+        for (int b = 0; b < bounds.length; b++) {
+            assertChiSquare(counts[b], uniformExpectations(bounds[b], bounds[b], SAMPLES), "interleaved bound " + bounds[b]);
+        }
+    }
+
+    // Consecutive indices must be independent: each of the bound * bound pairs is equally likely
+    @Test
+    void consecutiveIndicesAreIndependent() {
+        final RandomIndexSource[] sources = {
+            new BufferedRandomIndexSource(new CountingRandom(SEED)),
+            new EntropyEfficientRandomIndexSource(new CountingRandom(SEED))
+        };
+        final int bound = 23;
+        for (final RandomIndexSource source : sources) {
+            final long[] pairs = new long[bound * bound];
+            for (int i = 0; i < SAMPLES; i++) {
+                pairs[source.nextIndex(bound) * bound + source.nextIndex(bound)]++;
+            }
+            assertChiSquare(pairs, uniformExpectations(pairs.length, pairs.length, SAMPLES), source.getClass().getSimpleName() + " pairs");
+        }
+    }
+
+    @Test
+    void bufferedSpendsOneWordPerIndex() {
+        for (final int bound : new int[] {10, 85}) {
+            final CountingRandom random = new CountingRandom(SEED);
+            final double bits = bitsPerIndex(new BufferedRandomIndexSource(random), random, bound);
+            assertEquals(32.0, bits, 0.5, "BUFFERED bits per index for bound " + bound);
+        }
+    }
+
+    // Within 2% of the information content of an index, plus the last partially used block
+    @Test
+    void entropyEfficientSpendsAboutLog2BoundBitsPerIndex() {
+        for (final int bound : new int[] {10, 23, 62, 85, 1000, Integer.MAX_VALUE}) {
+            final CountingRandom random = new CountingRandom(SEED);
+            final double bits = bitsPerIndex(new EntropyEfficientRandomIndexSource(random), random, bound);
+            final double log2Bound = Math.log(bound) / Math.log(2);
+            assertTrue(bits >= log2Bound - 0.05, "ENTROPY_EFFICIENT cannot spend less than log2(" + bound + ") bits: " + bits);
+            assertTrue(bits <= log2Bound * 1.02 + 0.05, "ENTROPY_EFFICIENT bits per index for bound " + bound + ": " + bits);
+        }
+    }
+
+    private static double bitsPerIndex(final RandomIndexSource source, final CountingRandom random, final int bound) {
+        final int draws = 1000000;
+        for (int i = 0; i < draws; i++) {
+            source.nextIndex(bound);
+        }
+        return random.bytes * 8.0 / draws;
+    }
+
+    private static void assertUniform(final RandomIndexSource source, final int bound, final String mode) {
+        final int cells = Math.min(bound, MAX_CELLS);
+        final long[] counts = new long[cells];
+        for (int i = 0; i < SAMPLES; i++) {
+            final int index = source.nextIndex(bound);
+            assertTrue(index >= 0 && index < bound, mode + " index out of [0, " + bound + "): " + index);
+            counts[cell(index, bound, cells)]++;
+        }
+        assertChiSquare(counts, uniformExpectations(bound, cells, SAMPLES), mode + " bound " + bound);
+    }
+
+    private static int cell(final long index, final int bound, final int cells) {
+        return (int) (index * cells / bound);
+    }
+
+    // Expected count of each cell: its share of the bound indices, cells being as equal as integers allow
+    private static double[] uniformExpectations(final int bound, final int cells, final long samples) {
+        final double[] expected = new double[cells];
+        for (int c = 0; c < cells; c++) {
+            final long first = ((long) c * bound + cells - 1) / cells;      // Smallest index with cell(index) == c
+            final long next = ((long) (c + 1) * bound + cells - 1) / cells;
+            expected[c] = (double) samples * (next - first) / bound;
+        }
+        return expected;
+    }
+
+    private static void assertChiSquare(final long[] counts, final double[] expected, final String label) {
+        double chiSquare = 0.0;
+        for (int i = 0; i < counts.length; i++) {
+            final double difference = counts[i] - expected[i];
+            chiSquare += difference * difference / expected[i];
+        }
+        final double critical = chiSquareCritical(counts.length - 1);
+        assertTrue(chiSquare < critical, label + ": chi-square " + chiSquare + " exceeds " + critical);
+    }
+
+    // Wilson-Hilferty approximation of the chi-square quantile, accurate to a few percent from 1 degree of freedom
+    private static double chiSquareCritical(final int degrees) {
+        final double a = 2.0 / (9.0 * degrees);
+        final double cube = 1.0 - a + Z_CRITICAL * Math.sqrt(a);
+        return degrees * cube * cube * cube;
+    }
+
+    /**
+     * SecureRandom whose bytes come from a seeded generator, counting how many were requested.
+     * SecureRandom dont les octets proviennent d'un générateur à graine fixe, comptant combien ont été demandés.
+     */
+    private static final class CountingRandom extends SecureRandom {
+        private static final long serialVersionUID = 1L;
+
+        private final SplittableRandom random;
+        long bytes;
+
+        CountingRandom(final long seed) {
+            this.random = new SplittableRandom(seed);
+        }
+
+        @Override
+        public synchronized void nextBytes(final byte[] destination) {
+            bytes += destination.length;
+            for (int i = 0; i < destination.length; i += 8) {
+                long word = random.nextLong();
+                for (int j = i; j < Math.min(i + 8, destination.length); j++) {
+                    destination[j] = (byte) word;
+                    word >>>= 8;
+                }
+            }
+        }
+    }
+}
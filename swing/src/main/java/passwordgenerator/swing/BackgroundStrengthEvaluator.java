@@ -0,0 +1,179 @@
+package passwordgenerator.swing;
+
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import passwordgenerator.core.IncrementalPasswordEvaluator;
+import passwordgenerator.core.PasswordEvaluationResult;
+import passwordgenerator.core.PasswordService;
+
+/**
+ * Evaluates a password's strength off the Event Dispatch Thread while it is being edited.
+ * Edits are forwarded, in order, to an {@link IncrementalPasswordEvaluator} owned by a single background thread.
+ * Evaluation waits for a short pause in typing (debounce), runs on that thread as a {@link SwingWorker}, and only the
+ * latest evaluation is published: a newer edit cancels any pending one, and a result that arrives after a newer edit
+ * is dropped.
+ * Évalue la force d'un mot de passe en dehors du thread de distribution des événements pendant sa saisie.
+ * Les modifications sont transmises, dans l'ordre, à un {@link IncrementalPasswordEvaluator} détenu par un unique
+ * thread d'arrière-plan. L'évaluation attend une courte pause dans la frappe (anti-rebond), s'exécute sur ce thread
+ * sous forme de {@link SwingWorker}, et seule la dernière évaluation est publiée : une modification plus récente
+ * annule toute évaluation en attente, et un résultat arrivé après une modification plus récente est ignoré.
+ *
+ * <p>All methods must be called on the Event Dispatch Thread; the listener is notified there too. The time they
+ * spend on it is recorded in the given {@link EdtBlockingMetric}.</p>
+ */
+final class BackgroundStrengthEvaluator {
+    private static final String THREAD_NAME = "password-strength-evaluator";
+    private static final String EVALUATION_ERROR_MESSAGE = "Password strength evaluation failed: ";
+
+    /**
+     * Receives published evaluations on the Event Dispatch Thread.
+     * Reçoit les évaluations publiées sur le thread de distribution des événements.
+     */
+    interface ResultListener {
+        /**
+         * Called with the evaluation of the latest text.
+         * Appelée avec l'évaluation du texte le plus récent.
+         * @param result The evaluation result.
+         * @param result Le résultat de l'évaluation.
+         */
+        void strengthEvaluated(PasswordEvaluationResult result);
+    }
+
+    private final IncrementalPasswordEvaluator evaluator; // Only touched from the worker thread
+    private final ExecutorService worker;                 // Single thread: edits and evaluations run in order
+    private final Timer debounceTimer;
+    private final ResultListener listener;
+    private final EdtBlockingMetric edtMetric;
+    private SwingWorker<PasswordEvaluationResult, Void> pendingEvaluation; // The latest evaluation, null once published
+
+    /**
+     * Constructs an evaluator for an empty password.
+     * Construit un évaluateur pour un mot de passe vide.
+     * @param passwordService The service whose rules and settings are applied.
+     * @param debounceMillis How long typing must pause before an evaluation starts.
+     * @param listener Notified of each published evaluation.
+     * @param edtMetric Records the time spent on the Event Dispatch Thread.
+     * @param passwordService Le service dont les règles et les réglages sont appliqués.
+     * @param debounceMillis La durée de pause dans la frappe avant qu'une évaluation ne démarre.
+     * @param listener Notifié de chaque évaluation publiée.
+     * @param edtMetric Enregistre le temps passé sur le thread de distribution des événements.
+     */
+    BackgroundStrengthEvaluator(final PasswordService passwordService, final int debounceMillis,
+                                final ResultListener listener, final EdtBlockingMetric edtMetric) {
+        this.evaluator = new IncrementalPasswordEvaluator(passwordService);
+        this.listener = listener;
+        this.edtMetric = edtMetric;
+        this.worker = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, THREAD_NAME);
+                thread.setDaemon(true); // Never keeps the application alive
+                return thread;
+            }
+        });
+        this.debounceTimer = new Timer(debounceMillis, new ActionListener() {
+            public void actionPerformed(final ActionEvent e) {
+                final long start = System.nanoTime();
+                startEvaluation();
+                BackgroundStrengthEvaluator.this.edtMetric.record(start);
+            }
+        });
+        this.debounceTimer.setRepeats(false);
+    }
+
+    /**
+     * Records the insertion of text at the given offset.
+     * Enregistre l'insertion d'un texte à la position donnée.
+     * @param offset The position of the first inserted character.
+     * @param inserted The inserted characters.
+     * @param offset La position du premier caractère inséré.
+     * @param inserted Les caractères insérés.
+     */
+    void insert(final int offset, final String inserted) {
+        final long start = System.nanoTime();
+        submitEdit(new Runnable() {
+            public void run() {
+                evaluator.insert(offset, inserted);
+            }
+        });
+        edtMetric.record(start);
+    }
+
+    /**
+     * Records the removal of characters at the given offset.
+     * Enregistre la suppression de caractères à la position donnée.
+     * @param offset The position of the first removed character.
+     * @param count The number of removed characters.
+     * @param offset La position du premier caractère supprimé.
+     * @param count Le nombre de caractères supprimés.
+     */
+    void remove(final int offset, final int count) {
+        final long start = System.nanoTime();
+        submitEdit(new Runnable() {
+            public void run() {
+                evaluator.remove(offset, count);
+            }
+        });
+        edtMetric.record(start);
+    }
+
+    /**
+     * Replaces the whole text, e.g. to resynchronize with the field.
+     * Remplace tout le texte, par exemple pour se resynchroniser avec le champ.
+     * @param text The new password.
+     * @param text Le nouveau mot de passe.
+     */
+    void reset(final String text) {
+        final long start = System.nanoTime();
+        submitEdit(new Runnable() {
+            public void run() {
+                evaluator.reset(text);
+            }
+        });
+        edtMetric.record(start);
+    }
+
+    // Queues the edit behind earlier ones, supersedes any pending evaluation and restarts the debounce delay
+    private void submitEdit(final Runnable edit) {
+        if (pendingEvaluation != null) {
+            pendingEvaluation.cancel(false); // Not started: it never runs; running: its result is dropped
+            pendingEvaluation = null;
+        }
+        worker.execute(edit);
+        debounceTimer.restart();
+    }
+
+    private void startEvaluation() {
+        final SwingWorker<PasswordEvaluationResult, Void> evaluation = new SwingWorker<PasswordEvaluationResult, Void>() {
+            @Override
+            protected PasswordEvaluationResult doInBackground() {
+                return evaluator.evaluate();
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || pendingEvaluation != this) {
+                    return; // Superseded by a newer edit
+                }
+                final long start = System.nanoTime();
+                pendingEvaluation = null;
+                try {
+                    listener.strengthEvaluated(get());
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (final ExecutionException e) {
+                    System.err.println(EVALUATION_ERROR_MESSAGE + e.getCause());
+                }
+                edtMetric.record(start);
+            }
+        };
+        pendingEvaluation = evaluation;
+        worker.execute(evaluation); // Runs after every edit queued so far, on the thread that owns the evaluator
+    }
+}
@@ -0,0 +1,69 @@
+package passwordgenerator.swing;
+
+/**
+ * Accumulates how long the Swing Event Dispatch Thread spends in password strength feedback: the number of
+ * blocking sections, their total and longest duration, and how many exceeded one frame at 60 Hz.
+ * Accumule le temps passé par le thread de distribution des événements Swing dans le retour sur la force du mot de
+ * passe : nombre de sections bloquantes, durée totale et plus longue, et nombre de celles qui ont dépassé une image
+ * à 60 Hz.
+ *
+ * <p>Enabled at startup by {@code -Dpasswordgenerator.ui.edtMetrics=true}, which prints the summary on standard
+ * error when the application exits.</p>
+ */
+final class EdtBlockingMetric {
+    static final String ENABLED_PROPERTY = "passwordgenerator.ui.edtMetrics";
+    private static final long FRAME_NANOS = 16666667L; // One frame at 60 Hz
+
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+    private long overFrameCount;
+
+    /**
+     * Records one section of work done on the Event Dispatch Thread.
+     * Enregistre une section de travail effectuée sur le thread de distribution des événements.
+     * @param startNanos The {@link System#nanoTime()} at which the section started; it ends now.
+     * @param startNanos La valeur de {@link System#nanoTime()} au début de la section ; elle se termine maintenant.
+     */
+    synchronized void record(final long startNanos) {
+        final long elapsed = System.nanoTime() - startNanos;
+        count++;
+        totalNanos += elapsed;
+        maxNanos = Math.max(maxNanos, elapsed);
+        if (elapsed > FRAME_NANOS) {
+            overFrameCount++;
+        }
+    }
+
+    /**
+     * Returns the number of sections recorded so far.
+     * Retourne le nombre de sections enregistrées jusqu'ici.
+     */
+    synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the total time spent in recorded sections, in nanoseconds.
+     * Retourne le temps total passé dans les sections enregistrées, en nanosecondes.
+     */
+    synchronized long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Returns the longest recorded section, in nanoseconds.
+     * Retourne la plus longue section enregistrée, en nanosecondes.
+     */
+    synchronized long getMaxNanos() {
+        return maxNanos;
+    }
+
+    @Override
+    public synchronized String toString() {
+        final double meanMicros = (count == 0) ? 0.0 : totalNanos / 1e3 / count;
+        return "EDT strength feedback: " + count + " sections, " + String.format("%.3f", totalNanos / 1e6) + " ms total, "
+                + String.format("%.1f", meanMicros) + " us mean, " + String.format("%.3f", maxNanos / 1e6) + " ms max, "
+                + overFrameCount + " over one frame";
+    }
+}
@@ -1,7 +1,12 @@
+package passwordgenerator.swing;
+
 import javax.swing.*;
 import javax.swing.border.Border;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
 import java.awt.*;
 import java.awt.datatransfer.Clipboard;
 import java.awt.datatransfer.StringSelection;
@@ -11,10 +16,16 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.security.SecureRandom;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+
+import passwordgenerator.cli.PasswordGeneratorCli;
+import passwordgenerator.core.GenerationPolicy;
+import passwordgenerator.core.PasswordEvaluationResult;
+import passwordgenerator.core.PasswordMetrics;
+import passwordgenerator.core.PasswordReservoir;
+import passwordgenerator.core.PasswordService;
+import passwordgenerator.core.PasswordStrengthLevel;
+import passwordgenerator.core.ReservedPassword;
 
 /**
  * PasswordGeneratorApp is a graphical user interface application
@@ -35,7 +46,7 @@ import java.util.Map;
  * <li>Ephemeral session history of generated passwords for convenience without persistence.</li>
  * </ul>
  *
- * <p>Designed for Java 6 compatibility.</p>
+ * <p>Designed for Java 7 compatibility (the parallel bulk generator relies on the fork/join framework).</p>
  */
 public class PasswordGeneratorApp {
 
@@ -81,6 +92,8 @@ public class PasswordGeneratorApp {
     private static final int PASSWORD_HISTORY_MAX_SIZE = 10;
     private static final int HISTORY_DIALOG_WIDTH = 400;
     private static final int HISTORY_DIALOG_HEIGHT = 300;
+    private static final int STRENGTH_DEBOUNCE_MILLIS = 120; // Pause in typing before the strength is re-evaluated
+    private static final int RESERVOIR_CAPACITY = 8; // Passwords generated in advance for the current options
 
 
     // --- Couleurs UI / UI Colors ---
@@ -120,437 +133,13 @@ public class PasswordGeneratorApp {
 
     // --- Service pour la logique des mots de passe / Service for password logic ---
     private final PasswordService passwordService;
+    private final BackgroundStrengthEvaluator strengthEvaluator; // Mirrors the password field, edit by edit
+    private final PasswordReservoir passwordReservoir;             // Only holds passwords for the current options
+    private final EdtBlockingMetric edtMetric = new EdtBlockingMetric();
 
     // --- Historique des mots de passe (en mémoire pour la session courante) / Password History (in-memory for current session) ---
     private final List<String> passwordHistory;
 
-    /**
-     * Represents the evaluated strength of a password.
-     * Représente le niveau de force évalué d'un mot de passe.
-     */
-    public enum PasswordStrengthLevel {
-        EMPTY("N/A", Color.WHITE), // Non applicable, for empty or unevaluated passwords
-        WEAK("Faible", new Color(255, 80, 80)),         // Red
-        MEDIUM("Moyen", new Color(255, 180, 50)),       // Orange
-        STRONG("Fort", new Color(100, 220, 100)),       // Light Green
-        VERY_STRONG("Très Fort", new Color(50, 200, 255)); // Bright Blue/Cyan
-
-        private final String displayName;
-        private final Color displayColor;
-
-        PasswordStrengthLevel(String displayName, Color displayColor) {
-            this.displayName = displayName;
-            this.displayColor = displayColor;
-        }
-
-        /**
-         * Returns the display name for the strength level.
-         * @return The display name (e.g., "Faible", "Fort").
-         * Retourne le nom d'affichage pour le niveau de force.
-         * @return Le nom d'affichage (ex: "Faible", "Fort").
-         */
-        public String getDisplayName() {
-            return displayName;
-        }
-
-        /**
-         * Returns the color associated with the strength level for UI display.
-         * @return The display color.
-         * Retourne la couleur associée au niveau de force pour l'affichage UI.
-         * @return La couleur d'affichage.
-         */
-        public Color getDisplayColor() {
-            return displayColor;
-        }
-    }
-
-    /**
-     * Data class to hold password strength evaluation results, including strength level and entropy.
-     * Classe de données pour contenir les résultats de l'évaluation de la force du mot de passe,
-     * incluant le niveau de force et l'entropie.
-     */
-    private static class PasswordEvaluationResult {
-        final PasswordStrengthLevel strengthLevel;
-        final double entropy;
-
-        /**
-         * Constructs a new PasswordEvaluationResult.
-         * @param strengthLevel The evaluated password strength level.
-         * @param entropy The calculated entropy in bits.
-         * Construit un nouveau PasswordEvaluationResult.
-         * @param strengthLevel Le niveau de force évalué du mot de passe.
-         * @param entropy L'entropie calculée en bits.
-         */
-        PasswordEvaluationResult(PasswordStrengthLevel strengthLevel, double entropy) {
-            this.strengthLevel = strengthLevel;
-            this.entropy = entropy;
-        }
-    }
-
-    /**
-     * Handles password generation and strength evaluation logic.
-     * This class is designed to be testable and independent of the UI.
-     * Gère la logique de génération et d'évaluation de la force des mots de passe.
-     * Cette classe est conçue pour être testable et indépendante de l'interface utilisateur.
-     */
-    private static class PasswordService {
-        private final SecureRandom secureRandom;
-
-        // --- Ensembles de caractères pour la génération de mots de passe / Character sets for password generation ---
-        private static final String UPPERCASE_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
-        private static final String LOWERCASE_CHARS = "abcdefghijklmnopqrstuvwxyz";
-        private static final String NUMBERS_CHARS = "0123456789";
-        private static final String SYMBOLS_CHARS = "!@#$%^&*()_-+=<>?/{}[]|";
-
-        // --- Constantes pour l'évaluation de la force des mots de passe / Constants for password strength evaluation ---
-        private static final int SCORE_THRESHOLD_VERY_STRONG = 45;
-        private static final int SCORE_THRESHOLD_STRONG = 30;
-        private static final int SCORE_THRESHOLD_MEDIUM = 15;
-
-        // --- Listes pour les pénalités d'évaluation de la force / Lists for strength evaluation penalties ---
-        private static final String[] COMMON_SEQUENCES_LOWER = {
-            "abc", "bcd", "cde", "def", "efg", "fgh", "ghi", "hij", "ijk", "jkl", "klm", "lmn", "mno", "nop", "opq", "pqr", "qrs", "rst", "stu", "tuv", "uvw", "vwx", "wxy", "xyz",
-            "qwe", "wer", "ert", "rty", "tyu", "yui", "uio", "iop",
-            "asd", "sdf", "dfg", "fgh", "ghj", "hjk", "jkl",
-            "zxc", "xcv", "cvb", "vbn", "bnm"
-        };
-        private static final String[] COMMON_SEQUENCES_NUM = {"123", "234", "345", "456", "567", "678", "789", "890", "098", "987", "876", "765", "654", "543", "432", "321"};
-        private static final String[] COMMON_WEAK_WORDS = {"password", "pass", "admin", "administrator", "user", "username", "login", "logon", "guest", "test", "secret", "qwerty", "azerty", "12345", "123456", "1234567", "12345678", "123456789", "root", "support", "service", "welcome", "example", "demo", "changeme"};
-
-        /**
-         * Constructs a PasswordService and initializes {@link SecureRandom}.
-         * Construit un PasswordService et initialise {@link SecureRandom}.
-         */
-        public PasswordService() {
-            this.secureRandom = new SecureRandom();
-        }
-
-        /**
-         * Filters a character set by removing specified characters.
-         * This ensures that excluded characters (e.g., ambiguous ones) are not used.
-         * Filtre un ensemble de caractères en supprimant les caractères spécifiés.
-         * Cela garantit que les caractères exclus (par exemple, les caractères ambigus) ne sont pas utilisés.
-         *
-         * @param charSet The original character set string.
-         * @param excludeChars The string of characters to exclude. Can be null or empty.
-         * @return A new string with excluded characters removed. Returns the original charSet if excludeChars is null/empty.
-         * @param charSet La chaîne de caractères de l'ensemble original.
-         * @param excludeChars La chaîne de caractères à exclure. Peut être null ou vide.
-         * @return Une nouvelle chaîne sans les caractères exclus. Retourne l'ensemble original si excludeChars est null/vide.
-         */
-        private String filterChars(final String charSet, final String excludeChars) {
-            if (excludeChars == null || excludeChars.isEmpty()) {
-                return charSet;
-            }
-            final StringBuilder filtered = new StringBuilder();
-            for (int i = 0; i < charSet.length(); i++) {
-                final char c = charSet.charAt(i);
-                if (excludeChars.indexOf(c) == -1) { // If char is not in excludeChars
-                    filtered.append(c);
-                }
-            }
-            return filtered.toString();
-        }
-
-        /**
-         * Generates a password based on the specified criteria.
-         *
-         * @param length       The desired length of the password.
-         * @param useUpperCase Whether to include uppercase letters.
-         * @param useLowerCase Whether to include lowercase letters.
-         * @param useNumbers   Whether to include numbers.
-         * @param useSymbols   Whether to include symbols.
-         * @param excludeChars Characters to exclude from the generated password.
-         * @return The generated password, or {@code null} if no valid character types are selected or the
-         * effective character pool becomes empty after exclusions.
-         * Génère un mot de passe basé sur les critères spécifiés.
-         *
-         * @param length       La longueur désirée du mot de passe.
-         * @param useUpperCase Si les lettres majuscules doivent être incluses.
-         * @param useLowerCase Si les lettres minuscules doivent être incluses.
-         * @param useNumbers   Si les chiffres doivent être inclus.
-         * @param useSymbols   Si les symboles doivent être inclus.
-         * @param excludeChars Caractères à exclure du mot de passe généré.
-         * @return Le mot de passe généré, ou {@code null} si aucun type de caractère valide n'est sélectionné
-         * ou si le pool de caractères effectif devient vide après les exclusions.
-         */
-        public String generatePassword(final int length, final boolean useUpperCase, final boolean useLowerCase, final boolean useNumbers, final boolean useSymbols, final String excludeChars) {
-            // Check if at least one character type is selected
-            if (!useUpperCase && !useLowerCase && !useNumbers && !useSymbols) {
-                return null;
-            }
-
-            final StringBuilder charPool = new StringBuilder();
-            final List<Character> requiredChars = new ArrayList<Character>();
-
-            // Filter character sets based on exclusions and build the main character pool
-            final String filteredUpperCase = filterChars(UPPERCASE_CHARS, excludeChars);
-            final String filteredLowerCase = filterChars(LOWERCASE_CHARS, excludeChars);
-            final String filteredNumbers = filterChars(NUMBERS_CHARS, excludeChars);
-            final String filteredSymbols = filterChars(SYMBOLS_CHARS, excludeChars);
-
-            if (useUpperCase && !filteredUpperCase.isEmpty()) {
-                charPool.append(filteredUpperCase);
-                requiredChars.add(filteredUpperCase.charAt(secureRandom.nextInt(filteredUpperCase.length())));
-            }
-            if (useLowerCase && !filteredLowerCase.isEmpty()) {
-                charPool.append(filteredLowerCase);
-                requiredChars.add(filteredLowerCase.charAt(secureRandom.nextInt(filteredLowerCase.length())));
-            }
-            if (useNumbers && !filteredNumbers.isEmpty()) {
-                charPool.append(filteredNumbers);
-                requiredChars.add(filteredNumbers.charAt(secureRandom.nextInt(filteredNumbers.length())));
-            }
-            if (useSymbols && !filteredSymbols.isEmpty()) {
-                charPool.append(filteredSymbols);
-                requiredChars.add(filteredSymbols.charAt(secureRandom.nextInt(filteredSymbols.length())));
-            }
-
-            // If the character pool is empty after filtering/selection, we cannot generate a password
-            if (charPool.length() == 0) {
-                return null;
-            }
-
-            // Determine the actual password length, ensuring it's at least as long as the number of required unique characters
-            final int actualLength = Math.max(length, requiredChars.size());
-
-            final List<Character> passwordChars = new ArrayList<Character>(actualLength);
-
-            // Add all required characters first
-            passwordChars.addAll(requiredChars);
-
-            // Fill the remaining length with random characters from the combined pool
-            for (int i = requiredChars.size(); i < actualLength; i++) {
-                passwordChars.add(charPool.charAt(secureRandom.nextInt(charPool.length())));
-            }
-
-            // Shuffle the entire list of characters to ensure randomness
-            Collections.shuffle(passwordChars, secureRandom);
-
-            // Construct the final password string from the shuffled characters
-            final StringBuilder finalPassword = new StringBuilder(actualLength);
-            for (final Character ch : passwordChars) {
-                finalPassword.append(ch);
-            }
-
-            return finalPassword.toString();
-        }
-
-        /**
-         * Evaluates the strength of a given password and calculates its entropy.
-         * The strength is categorized into levels (Weak, Medium, Strong, Very Strong)
-         * and a quantitative entropy value (in bits) is provided.
-         * Évalue la force d'un mot de passe donné et calcule son entropie.
-         * La force est catégorisée en niveaux (Faible, Moyen, Fort, Très Fort)
-         * et une valeur d'entropie quantitative (en bits) est fournie.
-         *
-         * @param password The password string to evaluate.
-         * @return A {@link PasswordEvaluationResult} containing the strength level and entropy.
-         * @param password La chaîne du mot de passe à évaluer.
-         * @return Un {@link PasswordEvaluationResult} contenant le niveau de force et l'entropie.
-         */
-        public PasswordEvaluationResult evaluatePasswordStrength(final String password) {
-            if (password == null || password.isEmpty()) {
-                return new PasswordEvaluationResult(PasswordStrengthLevel.EMPTY, 0.0);
-            }
-
-            int score = 0;
-            final int length = password.length();
-
-            // --- Calcul de l'entropie / Entropy Calculation ---
-            // A simplified calculation based on character types present.
-            // Une estimation simplifiée basée sur les types de caractères présents.
-            int estimatedCharsetSize = 0;
-            boolean hasLowerCase = false;
-            boolean hasUpperCase = false;
-            boolean hasDigit = false;
-            boolean hasSymbol = false;
-
-            for (int i = 0; i < length; i++) {
-                final char c = password.charAt(i);
-                if (Character.isLowerCase(c)) {
-                    hasLowerCase = true;
-                } else if (Character.isUpperCase(c)) {
-                    hasUpperCase = true;
-                } else if (Character.isDigit(c)) {
-                    hasDigit = true;
-                } else if (SYMBOLS_CHARS.indexOf(c) != -1) {
-                    hasSymbol = true;
-                }
-            }
-
-            if (hasLowerCase) { estimatedCharsetSize += 26; }
-            if (hasUpperCase) { estimatedCharsetSize += 26; }
-            if (hasDigit) { estimatedCharsetSize += 10; }
-            if (hasSymbol) { estimatedCharsetSize += SYMBOLS_CHARS.length(); }
-
-            double entropy = 0.0;
-            // Entropy = length * log2(charset_size)
-            // Math.log is natural logarithm (ln), so log2(x) = ln(x) / ln(2)
-            if (estimatedCharsetSize > 1) { // Avoid log(0) or log(1) issues
-                entropy = length * (Math.log(estimatedCharsetSize) / Math.log(2));
-            }
-
-
-            // --- Évaluation de la force (scoring) / Strength Evaluation (Scoring) ---
-            if (length < 8) { // Passwords shorter than 8 characters are considered weak
-                return new PasswordEvaluationResult(PasswordStrengthLevel.WEAK, entropy);
-            }
-
-            // Penalty if no character types are found (should be rare with generated passwords)
-            if (!hasLowerCase && !hasUpperCase && !hasDigit && !hasSymbol) {
-                 return new PasswordEvaluationResult(PasswordStrengthLevel.WEAK, entropy);
-            }
-
-            // Score based on length
-            score += calculateLengthScore(length);
-
-            // Score based on presence of character types
-            if (hasLowerCase) { score += 5; }
-            if (hasUpperCase) { score += 8; }
-            if (hasDigit) { score += 8; }
-            if (hasSymbol) { score += 12; }
-
-            // Bonus for number of distinct character types
-            int typesCount = 0;
-            if (hasLowerCase) { typesCount++; }
-            if (hasUpperCase) { typesCount++; }
-            if (hasDigit) { typesCount++; }
-            if (hasSymbol) { typesCount++; }
-
-            score += calculateDistinctCharacterTypesBonus(typesCount, length);
-
-            // Apply penalties for common weaknesses
-            score = applyPenalties(password, score);
-
-
-            // Final categorization based on score and character types
-            final PasswordStrengthLevel strengthLevel;
-            if (typesCount == 4 && score >= SCORE_THRESHOLD_VERY_STRONG) {
-                strengthLevel = PasswordStrengthLevel.VERY_STRONG;
-            } else if (typesCount >= 3 && score >= SCORE_THRESHOLD_STRONG) {
-                strengthLevel = PasswordStrengthLevel.STRONG;
-            } else if (typesCount >= 2 && score >= SCORE_THRESHOLD_MEDIUM) {
-                strengthLevel = PasswordStrengthLevel.MEDIUM;
-            } else {
-                strengthLevel = PasswordStrengthLevel.WEAK;
-            }
-            return new PasswordEvaluationResult(strengthLevel, entropy);
-        }
-
-        /**
-         * Calculates score based on password length. Longer passwords get higher scores.
-         * Calcule le score basé sur la longueur du mot de passe. Les mots de passe plus longs obtiennent des scores plus élevés.
-         * @param length The length of the password.
-         * @return The score contribution from length.
-         * @param length La longueur du mot de passe.
-         * @return La contribution au score de la longueur.
-         */
-        private int calculateLengthScore(final int length) {
-            if (length >= 8 && length <= 9) { return -5; } // Slight penalty for bare minimum acceptable length
-            if (length >= 10 && length <= 12) { return 10; }
-            if (length >= 13 && length <= 15) { return 15; }
-            if (length >= 16 && length <= 20) { return 20; }
-            if (length > 20) { return 25; }
-            return 0;
-        }
-
-        /**
-         * Calculates bonus score based on the number of distinct character types used.
-         * Calcule le score bonus basé sur le nombre de types de caractères distincts utilisés.
-         * @param typesCount The number of distinct character types (lowercase, uppercase, digit, symbol).
-         * @param length The length of the password.
-         * @return The score contribution from distinct character types.
-         * @param typesCount Le nombre de types de caractères distincts (minuscules, majuscules, chiffres, symboles).
-         * @param length La longueur du mot de passe.
-         * @return La contribution au score des types de caractères distincts.
-         */
-        private int calculateDistinctCharacterTypesBonus(final int typesCount, final int length) {
-            if (typesCount == 1 && length >= 8) { return -5; } // Penalty if only one type, even if long
-            if (typesCount == 2) { return 7; }
-            if (typesCount == 3) { return 12; }
-            if (typesCount == 4) { return 18; }
-            return 0;
-        }
-
-        /**
-         * Applies penalties to the score based on common password weaknesses like sequences, weak words, and repetitions.
-         * Applique des pénalités au score en fonction des faiblesses courantes des mots de passe
-         * comme les séquences, les mots faibles et les répétitions.
-         * @param password The password string.
-         * @param currentScore The current score before applying penalties.
-         * @return The updated score after applying penalties.
-         * @param password La chaîne du mot de passe.
-         * @param currentScore Le score actuel avant l'application des pénalités.
-         * @return Le score mis à jour après l'application des pénalités.
-         */
-        private int applyPenalties(final String password, int currentScore) {
-            final String passwordLower = password.toLowerCase();
-            final int length = password.length();
-
-            // Penalty for common sequences (letters or numbers)
-            boolean sequenceFound = false;
-            for (int i = 0; i < COMMON_SEQUENCES_LOWER.length; i++) {
-                final String seq = COMMON_SEQUENCES_LOWER[i];
-                if (passwordLower.contains(seq)) {
-                    currentScore -= 7;
-                    sequenceFound = true;
-                    break;
-                }
-            }
-            if (!sequenceFound) {
-                for (int i = 0; i < COMMON_SEQUENCES_NUM.length; i++) {
-                    final String seq = COMMON_SEQUENCES_NUM[i];
-                    if (password.contains(seq)) {
-                        currentScore -= 7;
-                        break;
-                    }
-                }
-            }
-
-            // Penalty for common weak words
-            for (int i = 0; i < COMMON_WEAK_WORDS.length; i++) {
-                final String weakWord = COMMON_WEAK_WORDS[i];
-                if (passwordLower.contains(weakWord)) {
-                    currentScore -= 12;
-                    break;
-                }
-            }
-
-            // Penalty for excessive character repetition (3+ consecutive identical chars)
-            for (int i = 0; i < length - 2; i++) {
-                if (password.charAt(i) == password.charAt(i + 1) &&
-                    password.charAt(i + 1) == password.charAt(i + 2)) {
-                    currentScore -= 6;
-                    break;
-                }
-            }
-
-            // Penalty for overall character repetition (if one char is > 1/3 of password)
-            if (length > 5) {
-                final Map<Character, Integer> charCounts = new HashMap<Character, Integer>();
-                for (int i = 0; i < password.length(); i++) {
-                    final char c = password.charAt(i);
-                    // Java 6 compatible way to update map count. Autoboxing handles Integer conversion.
-                    if (charCounts.containsKey(c)) {
-                        charCounts.put(c, charCounts.get(c) + 1);
-                    } else {
-                        charCounts.put(c, 1);
-                    }
-                }
-                // Iterate over Map.EntrySet as direct for-each over Map is Java 8+
-                final java.util.Iterator<Map.Entry<Character, Integer>> it = charCounts.entrySet().iterator();
-                while (it.hasNext()) {
-                    final Map.Entry<Character, Integer> entry = it.next();
-                    if (entry.getValue().intValue() > length / 3) {
-                        currentScore -= (entry.getValue().intValue() - (length / 3)) * 3;
-                    }
-                }
-            }
-            return currentScore;
-        }
-    }
-
     /**
      * Constructor for PasswordGeneratorApp.
      * Initializes the password service and history, then builds the UI.
@@ -559,8 +148,30 @@ public class PasswordGeneratorApp {
      */
     public PasswordGeneratorApp() {
         this.passwordService = new PasswordService();
+        this.strengthEvaluator = new BackgroundStrengthEvaluator(passwordService, STRENGTH_DEBOUNCE_MILLIS,
+                new BackgroundStrengthEvaluator.ResultListener() {
+                    public void strengthEvaluated(final PasswordEvaluationResult result) {
+                        updateStrengthLabel(result.getStrengthLevel(), result.getEntropy());
+                    }
+                }, edtMetric);
+        this.passwordReservoir = new PasswordReservoir(passwordService, RESERVOIR_CAPACITY, 1, true); // Shown at once
+        Runtime.getRuntime().addShutdownHook(new Thread() {
+            @Override
+            public void run() {
+                passwordReservoir.shutdown(); // Wipes the passwords nobody took
+            }
+        });
+        if (Boolean.getBoolean(EdtBlockingMetric.ENABLED_PROPERTY)) {
+            Runtime.getRuntime().addShutdownHook(new Thread() {
+                @Override
+                public void run() {
+                    System.err.println(edtMetric);
+                }
+            });
+        }
         this.passwordHistory = new ArrayList<String>(); // Initialize history
         initializeUI();
+        refreshReservoir();
     }
 
     /**
@@ -708,6 +319,31 @@ public class PasswordGeneratorApp {
         gbc.gridy = 5;
         optionsPanel.add(excludeCharsField, gbc);
 
+        // Any change of the options makes the passwords generated in advance unusable
+        lengthSlider.addChangeListener(new ChangeListener() {
+            public void stateChanged(final ChangeEvent e) {
+                if (!lengthSlider.getValueIsAdjusting()) {
+                    refreshReservoir();
+                }
+            }
+        });
+        final ActionListener optionListener = new ActionListener() {
+            public void actionPerformed(final ActionEvent e) { refreshReservoir(); }
+        };
+        upperCaseCheckBox.addActionListener(optionListener);
+        lowerCaseCheckBox.addActionListener(optionListener);
+        numbersCheckBox.addActionListener(optionListener);
+        symbolsCheckBox.addActionListener(optionListener);
+        excludeCharsField.getDocument().addDocumentListener(new DocumentListener() {
+            public void changedUpdate(final DocumentEvent e) {
+                // Attribute changes only: the excluded characters are unchanged
+            }
+
+            public void removeUpdate(final DocumentEvent e) { refreshReservoir(); }
+
+            public void insertUpdate(final DocumentEvent e) { refreshReservoir(); }
+        });
+
         // Error Label Section
         charSetErrorLabel = new JLabel(" "); // Placeholder for error messages
         charSetErrorLabel.setFont(new Font("Inter", Font.ITALIC, 13));
@@ -749,24 +385,30 @@ public class PasswordGeneratorApp {
         gbcBottom.weightx = 1.0;
         bottomPanel.add(passwordDisplayField, gbcBottom);
 
-        // Add DocumentListener for real-time strength feedback
+        // Add DocumentListener for real-time strength feedback, fed with each edit rather than the whole text.
+        // Evaluation runs in the background once typing pauses; the labels are updated with the latest result.
         passwordDisplayField.getDocument().addDocumentListener(new DocumentListener() {
-            public void changedUpdate(final DocumentEvent e) { updateStrengthFromField(); }
-            public void removeUpdate(final DocumentEvent e) { updateStrengthFromField(); }
-            public void insertUpdate(final DocumentEvent e) { updateStrengthFromField(); }
-
-            private void updateStrengthFromField() {
-                final String currentPassword = passwordDisplayField.getText();
-                final PasswordEvaluationResult result = passwordService.evaluatePasswordStrength(currentPassword);
-                updateStrengthLabel(result.strengthLevel, result.entropy);
+            public void changedUpdate(final DocumentEvent e) {
+                // Attribute changes only: the text, hence the strength, is unchanged
             }
-        });
 
+            public void removeUpdate(final DocumentEvent e) {
+                strengthEvaluator.remove(e.getOffset(), e.getLength());
+            }
+
+            public void insertUpdate(final DocumentEvent e) {
+                try {
+                    strengthEvaluator.insert(e.getOffset(), e.getDocument().getText(e.getOffset(), e.getLength()));
+                } catch (final BadLocationException ex) {
+                    strengthEvaluator.reset(passwordDisplayField.getText()); // Resynchronize from the whole text
+                }
+            }
+        });
 
         // Password Strength Label
         strengthLabel = new JLabel(STRENGTH_LABEL_PREFIX + PasswordStrengthLevel.EMPTY.getDisplayName(), SwingConstants.CENTER);
         strengthLabel.setFont(new Font("Inter", Font.BOLD, 16));
-        strengthLabel.setForeground(PasswordStrengthLevel.EMPTY.getDisplayColor());
+        strengthLabel.setForeground(new Color(PasswordStrengthLevel.EMPTY.getDisplayRgb()));
         gbcBottom.gridy = 1;
         gbcBottom.insets = new Insets(8, INSETS_VERTICAL, 0, INSETS_VERTICAL);
         bottomPanel.add(strengthLabel, gbcBottom);
@@ -897,11 +539,36 @@ public class PasswordGeneratorApp {
         return button;
     }
 
+    /**
+     * Compiles the options currently selected in the UI.
+     * Compile les options actuellement sélectionnées dans l'interface utilisateur.
+     * @return The policy, or {@code null} if no password can be generated with these options.
+     * @return La politique, ou {@code null} si aucun mot de passe ne peut être généré avec ces options.
+     */
+    private GenerationPolicy compileSelectedPolicy() {
+        return passwordService.compilePolicy(lengthSlider.getValue(), upperCaseCheckBox.isSelected(), lowerCaseCheckBox.isSelected(),
+                numbersCheckBox.isSelected(), symbolsCheckBox.isSelected(), excludeCharsField.getText());
+    }
+
+    /**
+     * Wipes the passwords generated in advance and starts generating them for the options now selected.
+     * Efface les mots de passe générés à l'avance et commence à les générer pour les options désormais sélectionnées.
+     */
+    private void refreshReservoir() {
+        passwordReservoir.invalidate();
+        final GenerationPolicy policy = compileSelectedPolicy();
+        if (policy != null) {
+            passwordReservoir.activate(policy);
+        }
+    }
+
     /**
      * Handles the password generation request.
-     * Retrieves options from the UI, calls the PasswordService, and updates the display.
+     * Retrieves options from the UI, takes a password generated in advance for them, or generates one when none
+     * is ready, and updates the display.
      * Gère la requête de génération de mot de passe.
-     * Récupère les options de l'interface utilisateur, appelle le PasswordService et met à jour l'affichage.
+     * Récupère les options de l'interface utilisateur, prend un mot de passe généré à l'avance pour elles, ou en
+     * génère un si aucun n'est prêt, et met à jour l'affichage.
      */
     private void handleGeneratePassword() {
         charSetErrorLabel.setText(" "); // Clear previous error
@@ -910,7 +577,6 @@ public class PasswordGeneratorApp {
         final boolean useLowerCase = lowerCaseCheckBox.isSelected();
         final boolean useNumbers = numbersCheckBox.isSelected();
         final boolean useSymbols = symbolsCheckBox.isSelected();
-        final String excludeChars = excludeCharsField.getText(); // Get excluded characters from UI
 
         if (!useUpperCase && !useLowerCase && !useNumbers && !useSymbols) {
             charSetErrorLabel.setText(ERROR_NO_CHARSET_SELECTED);
@@ -919,17 +585,27 @@ public class PasswordGeneratorApp {
             return;
         }
 
-        final int length = lengthSlider.getValue();
-        final String generatedPassword = passwordService.generatePassword(length, useUpperCase, useLowerCase, useNumbers, useSymbols, excludeChars);
+        final GenerationPolicy policy = compileSelectedPolicy();
+        final ReservedPassword reserved = (policy == null) ? null : passwordReservoir.take(policy);
+        final String generatedPassword;
+        if (reserved != null) {
+            generatedPassword = new String(reserved.getChars());
+            reserved.wipe();
+        } else {
+            generatedPassword = (policy == null) ? null : passwordService.generatePassword(policy);
+        }
 
         if (generatedPassword != null) {
             passwordDisplayField.setText(generatedPassword);
+            if (reserved != null) {
+                // Already evaluated: show it now rather than after the background evaluation of the field
+                updateStrengthLabel(reserved.getEvaluation().getStrengthLevel(), reserved.getEvaluation().getEntropy());
+            }
             passwordHistory.add(0, generatedPassword); // Add to history (most recent first)
             if (passwordHistory.size() > PASSWORD_HISTORY_MAX_SIZE) { // Keep history limited
                 passwordHistory.remove(passwordHistory.size() - 1);
             }
-            final PasswordEvaluationResult result = passwordService.evaluatePasswordStrength(generatedPassword);
-            updateStrengthLabel(result.strengthLevel, result.entropy);
+            // The strength labels follow from the field's document events, evaluated in the background
         } else {
             passwordDisplayField.setText("");
             updateStrengthLabel(PasswordStrengthLevel.EMPTY, 0.0);
@@ -952,7 +628,7 @@ public class PasswordGeneratorApp {
         final PasswordStrengthLevel displayStrength = (strengthLevel == null) ? PasswordStrengthLevel.EMPTY : strengthLevel;
 
         strengthLabel.setText(STRENGTH_LABEL_PREFIX + displayStrength.getDisplayName());
-        strengthLabel.setForeground(displayStrength.getDisplayColor());
+        strengthLabel.setForeground(new Color(displayStrength.getDisplayRgb()));
         entropyLabel.setText(ENTROPY_LABEL_PREFIX + String.format("%.2f", entropy) + " bits");
     }
 
@@ -1039,18 +715,29 @@ public class PasswordGeneratorApp {
 
     /**
      * Main method to launch the application.
-     * Ensures UI operations are done on the Event Dispatch Thread.
+     * Ensures UI operations are done on the Event Dispatch Thread. When arguments are given, runs the
+     * headless command line ({@link PasswordGeneratorCli}) instead of the user interface; launching
+     * {@code password-generator-cli.jar} directly avoids loading this class and AWT altogether.
+     * The user interface registers {@link PasswordMetrics} with JMX.
      * Méthode principale pour lancer l'application.
      * Assure que les opérations de l'interface utilisateur sont exécutées sur le
-     * Event Dispatch Thread (EDT).
-     * @param args Command line arguments (not used).
-     * @param args Arguments de la ligne de commande (non utilisés).
+     * Event Dispatch Thread (EDT). Lorsque des arguments sont fournis, exécute la ligne de commande
+     * sans interface graphique ({@link PasswordGeneratorCli}) au lieu de l'interface utilisateur ;
+     * lancer {@code password-generator-cli.jar} directement évite de charger cette classe et AWT.
+     * L'interface utilisateur enregistre {@link PasswordMetrics} auprès de JMX.
+     * @param args Command line arguments.
+     * @param args Arguments de la ligne de commande.
      */
     public static void main(final String[] args) {
+        if (args.length > 0) {
+            PasswordGeneratorCli.main(args);
+            return;
+        }
         SwingUtilities.invokeLater(new Runnable() {
             public void run() {
                 new PasswordGeneratorApp();
             }
         });
+        PasswordMetrics.registerMBean(); // On the main thread, while the EDT builds the window
     }
 }
\ No newline at end of file